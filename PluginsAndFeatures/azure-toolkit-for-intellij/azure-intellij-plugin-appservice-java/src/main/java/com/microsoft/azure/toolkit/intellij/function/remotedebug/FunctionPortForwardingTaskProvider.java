@@ -8,12 +8,16 @@ package com.microsoft.azure.toolkit.intellij.function.remotedebug;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.intellij.execution.BeforeRunTask;
 import com.intellij.execution.BeforeRunTaskProvider;
+import com.intellij.execution.ExecutionListener;
+import com.intellij.execution.ExecutionManager;
 import com.intellij.execution.configurations.RunConfiguration;
+import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.remote.RemoteConfiguration;
 import com.intellij.execution.runners.ExecutionEnvironment;
 import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.util.Key;
+import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.xmlb.XmlSerializerUtil;
 import com.microsoft.azure.toolkit.ide.appservice.function.remotedebugging.FunctionPortForwarder;
 import com.microsoft.azure.toolkit.ide.common.icon.AzureIcons;
@@ -64,7 +68,7 @@ public class FunctionPortForwardingTaskProvider extends BeforeRunTaskProvider<Fu
     @Override
     public boolean executeTask(@NotNull DataContext context, @NotNull RunConfiguration configuration, @NotNull ExecutionEnvironment environment, @Nonnull FunctionPortForwarderBeforeRunTask task) {
         if (configuration instanceof RemoteConfiguration) {
-            return task.startPortForwarding(Integer.parseInt(((RemoteConfiguration) configuration).PORT));
+            return task.startPortForwarding(Integer.parseInt(((RemoteConfiguration) configuration).PORT), environment);
         }
         return false;
     }
@@ -80,6 +84,7 @@ public class FunctionPortForwardingTaskProvider extends BeforeRunTaskProvider<Fu
     public static class FunctionPortForwarderBeforeRunTask extends BeforeRunTask<FunctionPortForwarderBeforeRunTask>
             implements PersistentStateComponent<FunctionPortForwarderConfig> {
         private final RunConfiguration config;
+        @Nullable
         private FunctionPortForwarder forwarder;
         private FunctionPortForwarderConfig portForwarderConfig = new FunctionPortForwarderConfig();
 
@@ -96,15 +101,19 @@ public class FunctionPortForwardingTaskProvider extends BeforeRunTaskProvider<Fu
             return Optional.ofNullable(this.portForwarderConfig).map(FunctionPortForwarderConfig::getResourceId).orElse(null);
         }
 
-        public boolean startPortForwarding(int localPort) {
+        public boolean startPortForwarding(int localPort, @Nonnull ExecutionEnvironment environment) {
             if (this.config instanceof RemoteConfiguration && StringUtils.isNotEmpty(portForwarderConfig.getResourceId())) {
                 return AzureTaskManager.getInstance().runInBackground(AzureString.format("Start port forward for remote debugging"), () -> {
+                    // the forwarder of the last run may still hold the local port
+                    stopPortForwarding();
                     try {
                         final FunctionAppBase<?, ?, ?> target = Azure.az(AzureFunctions.class).getById(portForwarderConfig.getResourceId());
                         Objects.requireNonNull(target).ping();
-                        this.forwarder = new FunctionPortForwarder(target);
-                        this.forwarder.initLocalSocket(localPort);
-                        AzureTaskManager.getInstance().runOnPooledThread(() -> this.forwarder.startForward(localPort));
+                        final FunctionPortForwarder forwarder = new FunctionPortForwarder(target);
+                        this.forwarder = forwarder;
+                        addStopForwardingListener(environment, forwarder);
+                        forwarder.initLocalSocket(localPort);
+                        AzureTaskManager.getInstance().runOnPooledThread(() -> forwarder.startForward(localPort));
                         return true;
                     } catch (final IOException | RuntimeException e) {
                         AzureMessager.getMessager().error(e);
@@ -115,6 +124,33 @@ public class FunctionPortForwardingTaskProvider extends BeforeRunTaskProvider<Fu
             return false;
         }
 
+        public void stopPortForwarding() {
+            Optional.ofNullable(this.forwarder).ifPresent(FunctionPortForwarder::stopForward);
+            this.forwarder = null;
+        }
+
+        private void addStopForwardingListener(@Nonnull ExecutionEnvironment environment, @Nonnull FunctionPortForwarder forwarder) {
+            final MessageBusConnection messageBusConnection = environment.getProject().getMessageBus().connect();
+            messageBusConnection.subscribe(ExecutionManager.EXECUTION_TOPIC, new ExecutionListener() {
+                @Override
+                public void processNotStarted(@Nonnull String executorId, @Nonnull ExecutionEnvironment env) {
+                    stop(env);
+                }
+
+                @Override
+                public void processTerminated(@Nonnull String executorId, @Nonnull ExecutionEnvironment env, @Nonnull ProcessHandler handler, int exitCode) {
+                    stop(env);
+                }
+
+                private void stop(@Nonnull ExecutionEnvironment env) {
+                    if (env.getExecutionId() == environment.getExecutionId()) {
+                        forwarder.stopForward();
+                        messageBusConnection.disconnect();
+                    }
+                }
+            });
+        }
+
         @Override
         public FunctionPortForwarderConfig getState() {
             return this.portForwarderConfig;
@@ -6,22 +6,17 @@
 package com.microsoft.azure.toolkit.intellij.function.remotedebug;
 
 import com.intellij.execution.BeforeRunTask;
-import com.intellij.execution.ExecutionListener;
-import com.intellij.execution.ExecutionManager;
 import com.intellij.execution.ProgramRunnerUtil;
 import com.intellij.execution.RunManagerEx;
 import com.intellij.execution.RunnerAndConfigurationSettings;
 import com.intellij.execution.executors.DefaultDebugExecutor;
 import com.intellij.execution.impl.RunManagerImpl;
 import com.intellij.execution.impl.RunnerAndConfigurationSettingsImpl;
-import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.remote.RemoteConfiguration;
 import com.intellij.execution.remote.RemoteConfigurationType;
-import com.intellij.execution.runners.ExecutionEnvironment;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
-import com.intellij.util.messages.MessageBusConnection;
 import com.microsoft.azure.toolkit.ide.appservice.function.FunctionAppActionsContributor;
 import com.microsoft.azure.toolkit.intellij.legacy.function.runner.core.FunctionUtils;
 import com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppBase;
@@ -29,7 +24,6 @@ import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.action.AzureActionManager;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
-import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
@@ -43,30 +37,9 @@ public class FunctionRemoteDebuggingAction {
             showEnableDebuggingMessage(target);
             return;
         }
-        addExecutionListener(project);
         executeRunConfiguration(target, project);
     }
 
-    private static void addExecutionListener(Project project) {
-        final MessageBusConnection messageBusConnection = project.getMessageBus().connect();
-        messageBusConnection.subscribe(ExecutionManager.EXECUTION_TOPIC, new ExecutionListener() {
-            @Override
-            public void processTerminated(@NotNull String executorId, @NotNull ExecutionEnvironment env, @NotNull ProcessHandler handler, int exitCode) {
-                Optional.ofNullable(env.getRunnerAndConfigurationSettings()).ifPresent(settings -> {
-                    if (settings.getConfiguration() instanceof RemoteConfiguration) {
-                        final List<BeforeRunTask<?>> beforeRunTaskList = settings.getConfiguration().getBeforeRunTasks();
-                        beforeRunTaskList.forEach(beforeRunTask -> {
-                            if (beforeRunTask instanceof FunctionPortForwardingTaskProvider.FunctionPortForwarderBeforeRunTask) {
-                                ((FunctionPortForwardingTaskProvider.FunctionPortForwarderBeforeRunTask) beforeRunTask).getForwarder().stopForward();
-                            }
-                        });
-                    }
-                });
-                messageBusConnection.disconnect();
-            }
-        });
-    }
-
     private static RemoteConfiguration generateRemoteConfiguration(Project project, @Nonnull FunctionAppBase<?, ?, ?> target) {
         final RemoteConfiguration remoteConfig = (RemoteConfiguration) RemoteConfigurationType.getInstance().createTemplateConfiguration(project);
         remoteConfig.PORT = String.valueOf(FunctionUtils.findFreePort());
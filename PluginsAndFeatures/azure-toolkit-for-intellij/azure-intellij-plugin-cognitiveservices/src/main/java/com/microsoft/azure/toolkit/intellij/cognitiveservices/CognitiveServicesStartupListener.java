@@ -6,6 +6,7 @@ import com.microsoft.azure.toolkit.ide.common.action.ResourceCommonActionsContri
 import com.microsoft.azure.toolkit.ide.guidance.GuidanceViewManager;
 import com.microsoft.azure.toolkit.intellij.common.action.IntellijAzureActionManager;
 import com.microsoft.azure.toolkit.intellij.common.messager.IntellijAzureMessage;
+import com.microsoft.azure.toolkit.intellij.common.startup.StartupScheduler;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.cognitiveservices.AzureCognitiveServices;
 import com.microsoft.azure.toolkit.lib.cognitiveservices.CognitiveAccount;
@@ -32,7 +33,7 @@ import static com.microsoft.azure.toolkit.intellij.cognitiveservices.IntelliJCog
 public class CognitiveServicesStartupListener implements ProjectActivity {
     @Override
     public Object execute(@Nonnull Project project, @Nonnull Continuation<? super Unit> continuation) {
-        tryOpenAI(project);
+        StartupScheduler.getInstance().schedule(project, "try-openai", StartupScheduler.Priority.LOW, () -> tryOpenAI(project));
         tryPlayground(project);
         return null;
     }
@@ -39,6 +39,15 @@ public class BotMessagePane {
         this.setValue(markdown);
     }
 
+    /**
+     * append a streamed piece of the answer, only the trailing part of the message is re-rendered.
+     */
+    public void append(String delta) {
+        this.markdownPane.update(this.markdownPane.getValue().append(delta));
+        this.contentPanel.revalidate();
+        this.contentPanel.repaint();
+    }
+
     private void setValue(MarkdownText markdownText) {
         this.markdownPane.setValue(markdownText);
         ApplicationManager.getApplication().invokeLater(() -> {
@@ -9,30 +9,55 @@ import com.microsoft.azure.toolkit.intellij.cognitiveservices.model.SystemMessag
 import com.microsoft.azure.toolkit.lib.cognitiveservices.CognitiveAccount;
 import com.microsoft.azure.toolkit.lib.cognitiveservices.CognitiveDeployment;
 import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Stack;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class ChatBot {
-    @Getter
-    private final Stack<ChatMessage> chatMessages = new Stack<>();
+    private final ChatHistory history = new ChatHistory();
     @Getter
     private final CognitiveDeployment deployment;
+    private final String deploymentName;
     private SystemMessage systemMessage;
     @Getter
     private Configuration configuration;
     private OpenAIClient client;
+    /**
+     * the streaming completions API of {@link #client}, by deployment name and options
+     */
+    private BiFunction<String, ChatCompletionsOptions, Iterable<ChatCompletions>> completionsStream;
     @Getter
     private String primaryKey;
+    /**
+     * the metrics of the latest request
+     */
+    @Getter
+    private ChatMetrics metrics;
 
     public ChatBot(final CognitiveDeployment deployment) {
         this.deployment = deployment;
+        this.deploymentName = deployment.getName();
         this.refreshClient();
     }
 
+    /**
+     * the chat bot streaming answers from {@code completionsStream} rather than a deployment, for tests.
+     */
+    ChatBot(@Nonnull final String deploymentName, @Nonnull final BiFunction<String, ChatCompletionsOptions, Iterable<ChatCompletions>> completionsStream) {
+        this.deployment = null;
+        this.deploymentName = deploymentName;
+        this.completionsStream = completionsStream;
+    }
+
     private void refreshClient() {
         final CognitiveAccount account = this.deployment.getParent();
         final String endpoint = account.getEndpoint();
@@ -41,22 +66,30 @@ public class ChatBot {
             .endpoint(endpoint)
             .credential(new AzureKeyCredential(primaryKey))
             .buildClient();
+        this.completionsStream = this.client::getChatCompletionsStream;
+    }
+
+    /**
+     * @return all the messages of the conversation, including those not sent because of the history budget
+     */
+    public Stack<ChatMessage> getChatMessages() {
+        return this.history.getMessages();
     }
 
     public void setSystemMessage(@Nonnull final String systemMessage) {
         this.systemMessage = SystemMessage.builder().systemMessage(systemMessage).build();
-        this.chatMessages.clear();
-        this.chatMessages.push(new ChatMessage(ChatRole.SYSTEM, systemMessage));
+        this.history.reset(List.of(new ChatMessage(ChatRole.SYSTEM, systemMessage)));
     }
 
     public void setSystemMessage(@Nonnull final SystemMessage message) {
         this.systemMessage = message;
-        this.chatMessages.clear();
-        this.chatMessages.push(new ChatMessage(ChatRole.SYSTEM, message.getSystemMessage()));
+        final List<ChatMessage> pinned = new ArrayList<>();
+        pinned.add(new ChatMessage(ChatRole.SYSTEM, message.getSystemMessage()));
         for (final SystemMessage.Example example : message.getExamples()) {
-            this.chatMessages.push(new ChatMessage(ChatRole.USER, example.getUser()));
-            this.chatMessages.push(new ChatMessage(ChatRole.ASSISTANT, example.getAssistant()));
+            pinned.add(new ChatMessage(ChatRole.USER, example.getUser()));
+            pinned.add(new ChatMessage(ChatRole.ASSISTANT, example.getAssistant()));
         }
+        this.history.reset(pinned);
     }
 
     public void setConfiguration(@Nonnull final Configuration configuration) {
@@ -64,16 +97,69 @@ public class ChatBot {
     }
 
     public ChatChoice send(String message) {
-        this.chatMessages.push(new ChatMessage(ChatRole.USER, message));
-        final String deploymentName = this.deployment.getName();
-        final ChatCompletions chatCompletions = this.client.getChatCompletions(deploymentName, buildChatOptions());
+        this.history.add(new ChatMessage(ChatRole.USER, message));
+        final ChatHistory.Selection selection = this.history.select(getHistoryBudget());
+        final long start = System.currentTimeMillis();
+        final ChatCompletions chatCompletions = this.client.getChatCompletions(this.deploymentName, buildChatOptions(selection));
+        final long latency = System.currentTimeMillis() - start;
         final ChatChoice chatChoice = chatCompletions.getChoices().get(0);
-        this.chatMessages.push(ChatMessage.fromResponse(chatChoice.getMessage()));
+        this.history.add(ChatMessage.fromResponse(chatChoice.getMessage()));
+        final CompletionsUsage usage = chatCompletions.getUsage();
+        this.metrics = ChatMetrics.builder()
+            .promptTokens(Objects.isNull(usage) ? selection.getEstimatedTokens() : usage.getPromptTokens())
+            .completionTokens(Objects.isNull(usage) ? ChatHistory.estimateTokens(chatChoice.getMessage().getContent()) : usage.getCompletionTokens())
+            .estimated(Objects.isNull(usage))
+            .trimmedMessages(selection.getTrimmed())
+            .firstTokenLatency(latency)
+            .totalLatency(latency)
+            .build();
         return chatChoice;
     }
 
-    private ChatCompletionsOptions buildChatOptions() {
-        final ChatCompletionsOptions result = new ChatCompletionsOptions(this.chatMessages.stream().map(ChatMessage::toRequest).filter(Objects::nonNull).collect(Collectors.toList()));
+    /**
+     * send the message and stream the answer, {@code onDelta} is called with every piece of the answer as soon as
+     * it's received, on the calling thread.
+     *
+     * @return the whole answer
+     */
+    public String send(String message, Consumer<String> onDelta) {
+        this.history.add(new ChatMessage(ChatRole.USER, message));
+        final ChatHistory.Selection selection = this.history.select(getHistoryBudget());
+        final StringBuilder answer = new StringBuilder();
+        final long start = System.currentTimeMillis();
+        long firstTokenAt = 0;
+        CompletionsUsage usage = null;
+        for (final ChatCompletions chunk : this.completionsStream.apply(this.deploymentName, buildChatOptions(selection))) {
+            usage = Optional.ofNullable(chunk.getUsage()).orElse(usage);
+            // the first chunk of Azure OpenAI may have no choices but the prompt filter results
+            final String delta = chunk.getChoices().stream().findFirst()
+                .map(ChatChoice::getDelta).map(ChatResponseMessage::getContent).orElse(null);
+            if (StringUtils.isNotEmpty(delta)) {
+                firstTokenAt = firstTokenAt > 0 ? firstTokenAt : System.currentTimeMillis();
+                answer.append(delta);
+                onDelta.accept(delta);
+            }
+        }
+        final long end = System.currentTimeMillis();
+        this.history.add(new ChatMessage(ChatRole.ASSISTANT, answer.toString()));
+        this.metrics = ChatMetrics.builder()
+            .promptTokens(Objects.isNull(usage) ? selection.getEstimatedTokens() : usage.getPromptTokens())
+            .completionTokens(Objects.isNull(usage) ? ChatHistory.estimateTokens(answer.toString()) : usage.getCompletionTokens())
+            .estimated(Objects.isNull(usage))
+            .trimmedMessages(selection.getTrimmed())
+            .firstTokenLatency((firstTokenAt > 0 ? firstTokenAt : end) - start)
+            .totalLatency(end - start)
+            .build();
+        return answer.toString();
+    }
+
+    @Nullable
+    private Integer getHistoryBudget() {
+        return Optional.ofNullable(configuration).map(Configuration::getHistoryTokens).orElse(null);
+    }
+
+    private ChatCompletionsOptions buildChatOptions(ChatHistory.Selection selection) {
+        final ChatCompletionsOptions result = new ChatCompletionsOptions(selection.getMessages().stream().map(ChatMessage::toRequest).filter(Objects::nonNull).collect(Collectors.toList()));
         Optional.ofNullable(configuration).ifPresent(c -> {
             result.setFrequencyPenalty(c.getFrequencyPenalty());
             result.setPresencePenalty(c.getPresencePenalty());
@@ -2,9 +2,6 @@
 
 package com.microsoft.azure.toolkit.intellij.cognitiveservices.chatbox;
 
-import com.azure.ai.openai.models.ChatChoice;
-import com.azure.ai.openai.models.ChatMessage;
-import com.azure.ai.openai.models.ChatResponseMessage;
 import com.azure.ai.openai.models.ChatRole;
 import com.intellij.ide.DataManager;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
@@ -36,6 +33,7 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.Objects;
 import java.util.Optional;
 
 public class ChatBox {
@@ -165,10 +163,9 @@ public class ChatBox {
             try {
                 this.addMessage(new MarkdownText(prompt), ChatRole.USER);
                 tm.runLater(() -> this.promptInput.setText(""));
-                final ChatChoice response = this.chatBot.send(prompt);
-                final ChatResponseMessage message = response.getMessage();
-                final String content = message.getContent();
-                this.addMessage(new MarkdownText(content), ChatRole.ASSISTANT);
+                final StreamingMessage answer = new StreamingMessage();
+                this.chatBot.send(prompt, answer::append);
+                Optional.ofNullable(this.chatBot.getMetrics()).ifPresent(this::addMetrics);
             } finally {
                 tm.runLater(() -> {
                     this.sendBtn.setEnabled(true);
@@ -185,15 +182,66 @@ public class ChatBox {
             final JPanel message = role == ChatRole.USER ?
                 new UserMessagePane(markdown).getContentPanel() : new BotMessagePane(markdown).getContentPanel();
             this.messageBox.add(message);
-            this.messageBox.revalidate();
-            this.messageBox.repaint();
-            this.scrollPane.revalidate();
-            this.scrollPane.repaint();
+            this.onMessageChanged();
+        });
+    }
 
-            this.scrollToBottom();
+    private void addMetrics(ChatMetrics metrics) {
+        AzureTaskManager.getInstance().runLater(() -> {
+            final JBLabel label = new JBLabel(metrics.toString());
+            label.setForeground(UIUtil.getContextHelpForeground());
+            label.setFont(JBUI.Fonts.smallFont());
+            final JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+            panel.setBorder(JBUI.Borders.empty(0, 10, 6, 0));
+            panel.setOpaque(false);
+            panel.add(label);
+            panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, panel.getPreferredSize().height));
+            this.messageBox.add(panel);
+            this.onMessageChanged();
         });
     }
 
+    private void onMessageChanged() {
+        this.messageBox.revalidate();
+        this.messageBox.repaint();
+        this.scrollPane.revalidate();
+        this.scrollPane.repaint();
+
+        this.scrollToBottom();
+    }
+
+    /**
+     * The answer being streamed. The pieces received while the UI is busy are rendered together in one update, so
+     * that the UI is updated at most once per event dispatch, however fast the pieces come.
+     */
+    private class StreamingMessage {
+        private final StringBuilder pending = new StringBuilder();
+        private BotMessagePane pane;
+
+        synchronized void append(String delta) {
+            final boolean scheduled = this.pending.length() > 0;
+            this.pending.append(delta);
+            if (!scheduled) {
+                AzureTaskManager.getInstance().runLater(this::flush);
+            }
+        }
+
+        private void flush() {
+            final String text;
+            synchronized (this) {
+                text = this.pending.toString();
+                this.pending.setLength(0);
+            }
+            if (Objects.isNull(this.pane)) {
+                this.pane = new BotMessagePane(new MarkdownText(text));
+                messageBox.add(this.pane.getContentPanel());
+            } else {
+                this.pane.append(text);
+            }
+            onMessageChanged();
+        }
+    }
+
     private void scrollToBottom() {
         final JScrollBar verticalBar = scrollPane.getVerticalScrollBar();
         final AdjustmentListener downScroller = new AdjustmentListener() {
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.cognitiveservices.chatbox;
+
+import com.azure.ai.openai.models.ChatMessage;
+import com.azure.ai.openai.models.ChatRole;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Stack;
+
+/**
+ * The conversation of {@link ChatBot}. The system message and examples are pinned and always sent, but only the most
+ * recent turns that fit in the token budget are sent with them, so that long sessions don't exceed the context limit
+ * of the model, and don't get slower and more expensive with every message.
+ * <p>
+ * Tokens are estimated locally: about 4 characters per token for typical English text, plus the overhead of every
+ * message.
+ */
+public class ChatHistory {
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int TOKENS_PER_MESSAGE = 4;
+    private static final int TOKENS_PER_REQUEST = 3;
+
+    @Getter
+    private final Stack<ChatMessage> messages = new Stack<>();
+    private int pinned;
+
+    /**
+     * clear the conversation and pin {@code messages}, i.e. the system message and examples.
+     */
+    public void reset(@Nonnull List<ChatMessage> messages) {
+        this.messages.clear();
+        this.messages.addAll(messages);
+        this.pinned = messages.size();
+    }
+
+    public void add(@Nonnull ChatMessage message) {
+        this.messages.push(message);
+    }
+
+    /**
+     * @param budget max estimated tokens of the messages to send, unlimited if null. The latest message is always
+     *               sent even if it exceeds the budget.
+     */
+    @Nonnull
+    public Selection select(@Nullable Integer budget) {
+        int tokens = TOKENS_PER_REQUEST;
+        for (int i = 0; i < this.pinned; i++) {
+            tokens += estimateTokens(this.messages.get(i));
+        }
+        final LinkedList<ChatMessage> recent = new LinkedList<>();
+        for (int i = this.messages.size() - 1; i >= this.pinned; i--) {
+            final ChatMessage message = this.messages.get(i);
+            final int messageTokens = estimateTokens(message);
+            if (Objects.nonNull(budget) && !recent.isEmpty() && tokens + messageTokens > budget) {
+                break;
+            }
+            recent.addFirst(message);
+            tokens += messageTokens;
+        }
+        // don't start the history with an answer whose question is trimmed
+        while (recent.size() > 1 && recent.getFirst().getRole() == ChatRole.ASSISTANT) {
+            tokens -= estimateTokens(recent.removeFirst());
+        }
+        final List<ChatMessage> selected = new ArrayList<>(this.messages.subList(0, this.pinned));
+        selected.addAll(recent);
+        return new Selection(selected, tokens, this.messages.size() - this.pinned - recent.size());
+    }
+
+    public static int estimateTokens(@Nonnull ChatMessage message) {
+        return TOKENS_PER_MESSAGE + estimateTokens(message.getContent());
+    }
+
+    public static int estimateTokens(@Nullable String text) {
+        final int length = Optional.ofNullable(text).map(String::length).orElse(0);
+        return (length + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Selection {
+        private final List<ChatMessage> messages;
+        private final int estimatedTokens;
+        /**
+         * the number of history messages trimmed to fit in the budget
+         */
+        private final int trimmed;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.cognitiveservices.chatbox;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The token usage and latency of a chat request. Token counts are estimated locally if not reported by the service,
+ * e.g. for streamed answers.
+ */
+@Getter
+@Builder
+public class ChatMetrics {
+    private final int promptTokens;
+    private final int completionTokens;
+    private final boolean estimated;
+    private final int trimmedMessages;
+    /**
+     * milliseconds from sending the request to receiving the first piece of the answer
+     */
+    private final long firstTokenLatency;
+    /**
+     * milliseconds from sending the request to receiving the whole answer
+     */
+    private final long totalLatency;
+
+    @Override
+    public String toString() {
+        final String approx = this.estimated ? "~" : "";
+        final String trimmed = this.trimmedMessages > 0 ? String.format(", %d earlier message(s) not sent", this.trimmedMessages) : "";
+        return String.format("Prompt: %s%d tokens%s · Completion: %s%d tokens · First token: %.1fs · Total: %.1fs",
+            approx, this.promptTokens, trimmed, approx, this.completionTokens, this.firstTokenLatency / 1000.0, this.totalLatency / 1000.0);
+    }
+}
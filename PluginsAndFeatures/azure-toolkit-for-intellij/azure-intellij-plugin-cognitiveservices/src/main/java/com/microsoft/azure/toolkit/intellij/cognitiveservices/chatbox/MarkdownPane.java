@@ -24,6 +24,9 @@ import org.intellij.plugins.markdown.ui.preview.html.MarkdownUtil;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,35 +49,78 @@ public class MarkdownPane {
     public void setValue(MarkdownText markdown) {
         this.value = markdown;
         this.contentPanel.removeAll();
-        final List<MarkdownText.Part> parts = markdown.getParts();
-        final GridLayoutManager newLayout = new GridLayoutManager(parts.size(), 1);
+        final List<Component> components = new ArrayList<>();
+        for (final MarkdownText.Part part : markdown.getParts()) {
+            components.add(this.createComponent(part));
+        }
+        this.layoutComponents(components);
+    }
+
+    /**
+     * update the pane to {@code markdown}, which is the current value with text appended, see
+     * {@link MarkdownText#append(String)}. The components of the unchanged leading parts are reused, and the trailing
+     * text part is updated in place if possible, so that streaming an answer doesn't re-render the whole message.
+     */
+    public void update(MarkdownText markdown) {
+        final List<MarkdownText.Part> oldParts = Optional.ofNullable(this.value).map(MarkdownText::getParts).orElse(Collections.emptyList());
+        final List<MarkdownText.Part> newParts = markdown.getParts();
+        final Component[] oldComponents = this.contentPanel.getComponents();
+        int kept = 0;
+        while (kept < Math.min(oldParts.size(), newParts.size()) && kept < oldComponents.length && oldParts.get(kept) == newParts.get(kept)) {
+            kept++;
+        }
+        this.value = markdown;
+        final int last = newParts.size() - 1;
+        if (kept == last && oldParts.size() == newParts.size() && oldComponents.length == newParts.size()
+            && oldComponents[last] instanceof JTextPane pane && !(newParts.get(last) instanceof MarkdownText.CodePart)) {
+            pane.setText(toHtml(newParts.get(last).getText()));
+            this.contentPanel.revalidate();
+            this.contentPanel.repaint();
+            return;
+        }
+        final List<Component> components = new ArrayList<>(Arrays.asList(oldComponents).subList(0, kept));
+        for (int i = kept; i < newParts.size(); i++) {
+            components.add(this.createComponent(newParts.get(i)));
+        }
+        this.contentPanel.removeAll();
+        this.layoutComponents(components);
+    }
+
+    private void layoutComponents(List<Component> components) {
+        final GridLayoutManager newLayout = new GridLayoutManager(Math.max(1, components.size()), 1);
         this.contentPanel.setLayout(newLayout);
         final Container container = this.contentPanel.getParent();
         Optional.ofNullable(container).map(Component::getBackground).ifPresent(contentPanel::setBackground);
-        for (int i = 0; i < parts.size(); i++) {
-            final MarkdownText.Part part = parts.get(i);
+        for (int i = 0; i < components.size(); i++) {
             final GridConstraints constraints = new GridConstraints(i, 0, 1, 1,
                 GridConstraints.ANCHOR_NORTH, GridConstraints.FILL_BOTH,
                 GridConstraints.SIZEPOLICY_CAN_GROW | GridConstraints.SIZEPOLICY_CAN_SHRINK,
                 GridConstraints.SIZEPOLICY_CAN_GROW | GridConstraints.SIZEPOLICY_CAN_SHRINK,
                 null, null, null, 0);
-            final String text = part.getText();
-            if (part instanceof MarkdownText.CodePart codePart) {
-                this.contentPanel.add(createEditor(codePart), constraints);
-            } else {
-                final String html = MarkdownUtil.INSTANCE.generateMarkdownHtml(new LightVirtualFile("dummy.md"), text, null);
-                final JTextPane pane = new JTextPane();
-                pane.setContentType("text/html");
-                pane.setEditorKit(new UIUtil.JBWordWrapHtmlEditorKit());
-                Messages.configureMessagePaneUi(pane, String.format("<html><body>%s</body></html", html));
-                Optional.ofNullable(container).map(Component::getBackground).ifPresent(pane::setBackground);
-                this.contentPanel.add(pane, constraints);
-            }
+            this.contentPanel.add(components.get(i), constraints);
         }
         this.contentPanel.revalidate();
         this.contentPanel.repaint();
     }
 
+    private Component createComponent(MarkdownText.Part part) {
+        if (part instanceof MarkdownText.CodePart codePart) {
+            return createEditor(codePart);
+        }
+        final Container container = this.contentPanel.getParent();
+        final JTextPane pane = new JTextPane();
+        pane.setContentType("text/html");
+        pane.setEditorKit(new UIUtil.JBWordWrapHtmlEditorKit());
+        Messages.configureMessagePaneUi(pane, toHtml(part.getText()));
+        Optional.ofNullable(container).map(Component::getBackground).ifPresent(pane::setBackground);
+        return pane;
+    }
+
+    private static String toHtml(String markdown) {
+        final String html = MarkdownUtil.INSTANCE.generateMarkdownHtml(new LightVirtualFile("dummy.md"), markdown, null);
+        return String.format("<html><body>%s</body></html", html);
+    }
+
     private EditorTextField createEditor(MarkdownText.CodePart part) {
         final Project project = DataManager.getInstance().getDataContext(this.contentPanel).getData(CommonDataKeys.PROJECT);
         final DocumentImpl document = new DocumentImpl("", true);
@@ -23,13 +23,41 @@ public class MarkdownText {
         this.parts = this.split();
     }
 
+    private MarkdownText(String markdown, List<Part> parts) {
+        this.markdown = markdown;
+        this.parts = parts;
+    }
+
     public List<Part> split() {
         final List<Part> parts = new ArrayList<>();
+        split(this.markdown, 0, parts);
+        return parts;
+    }
+
+    /**
+     * append {@code delta} to the text, e.g. a streamed piece of an answer. Only the trailing part, which may be
+     * extended by the appended text, is re-parsed, the leading parts are complete and reused as they are, so that
+     * their rendered components can be reused too.
+     */
+    public MarkdownText append(String delta) {
+        if (parts.isEmpty()) {
+            return new MarkdownText(markdown + delta);
+        }
+        final Part last = parts.get(parts.size() - 1);
+        // a code block is closed, so it's complete, but an open code block is still a part of type OTHER
+        final boolean lastComplete = last.getType() == PartType.CODE_BLOCK;
+        final List<Part> result = new ArrayList<>(lastComplete ? parts : parts.subList(0, parts.size() - 1));
+        final String text = markdown + delta;
+        split(text, lastComplete ? markdown.length() : markdown.length() - last.getText().length(), result);
+        return new MarkdownText(text, result);
+    }
+
+    private static void split(String markdown, int fromIndex, List<Part> parts) {
         final Pattern codeBlockPattern = Pattern.compile("```(.*?)```", Pattern.DOTALL);
         final Matcher codeBlockMatcher = codeBlockPattern.matcher(markdown);
-        int currentIndex = 0;
+        int currentIndex = fromIndex;
 
-        while (codeBlockMatcher.find()) {
+        while (codeBlockMatcher.find(currentIndex)) {
             final int codeBlockStartIndex = codeBlockMatcher.start();
             final int codeBlockEndIndex = codeBlockMatcher.end();
 
@@ -45,8 +73,6 @@ public class MarkdownText {
         if (currentIndex < markdown.length()) {
             parts.add(new Part(markdown.substring(currentIndex), PartType.OTHER));
         }
-
-        return parts;
     }
 
     @Getter
@@ -12,7 +12,7 @@ import java.util.List;
 @EqualsAndHashCode
 public class Configuration {
     public static final Configuration DEFAULT = Configuration.builder().maxResponse(1000).temperature(0.7)
-        .topP(0.95).stopSequences(Collections.emptyList()).frequencyPenalty(0d).presencePenalty(0d).build();
+        .topP(0.95).stopSequences(Collections.emptyList()).frequencyPenalty(0d).presencePenalty(0d).historyTokens(4000).build();
 
     private Integer maxResponse;
     private Double temperature;
@@ -20,4 +20,9 @@ public class Configuration {
     private List<String> stopSequences;
     private Double frequencyPenalty;
     private Double presencePenalty;
+    /**
+     * max estimated tokens of the messages sent per request, older messages except the system message and examples are
+     * not sent if exceeded.
+     */
+    private Integer historyTokens;
 }
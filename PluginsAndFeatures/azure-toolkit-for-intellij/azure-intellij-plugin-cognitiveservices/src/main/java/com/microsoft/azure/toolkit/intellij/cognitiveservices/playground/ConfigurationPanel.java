@@ -17,6 +17,7 @@ import javax.annotation.Nullable;
 import javax.swing.*;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 public class ConfigurationPanel implements AzureForm<Configuration> {
     public static final String LEARN_MORE_URL = "https://go.microsoft.com/fwlink/?linkid=2189780";
@@ -34,6 +35,8 @@ public class ConfigurationPanel implements AzureForm<Configuration> {
     private JLabel lblFrequency;
     private JLabel lblPresence;
     private ActionLink lblLearnMore;
+    private JLabel lblHistoryTokens;
+    private AzureSlider sliderHistoryTokens;
 
     public ConfigurationPanel() {
         $$$setupUI$$$();
@@ -53,6 +56,8 @@ public class ConfigurationPanel implements AzureForm<Configuration> {
         this.lblTopP.setBorder(JBUI.Borders.empty(6, 0));
         this.lblStopSequence.setIcon(AllIcons.General.ContextHelp);
         this.lblStopSequence.setBorder(JBUI.Borders.empty(6, 0));
+        this.lblHistoryTokens.setIcon(AllIcons.General.ContextHelp);
+        this.lblHistoryTokens.setBorder(JBUI.Borders.empty(6, 0));
 
         this.lblLearnMore.setExternalLinkIcon();
         this.lblLearnMore.addActionListener(ignore ->
@@ -67,6 +72,7 @@ public class ConfigurationPanel implements AzureForm<Configuration> {
         this.sliderTopN = new AzureSlider(0.95, 0, 1, 0.01, 100);
         this.sliderFrequency = new AzureSlider(0, 0, 2, 0.01, 100);
         this.sliderPresence = new AzureSlider(0, 0, 2, 0.01, 100);
+        this.sliderHistoryTokens = new AzureSlider(4000, 0, 16000, 100, 1);
         this.txtStopSequence = new AzureTextInput() {
             @Override
             protected synchronized void setValidationExtension(@Nullable Extension extension) {
@@ -84,6 +90,7 @@ public class ConfigurationPanel implements AzureForm<Configuration> {
             .stopSequences(Arrays.stream(txtStopSequence.getValue().split(";")).filter(StringUtils::isNotBlank).toList())
             .frequencyPenalty(sliderFrequency.getValue())
             .presencePenalty(sliderPresence.getValue())
+            .historyTokens((int) Math.round(sliderHistoryTokens.getValue()))
             .build();
     }
 
@@ -95,11 +102,12 @@ public class ConfigurationPanel implements AzureForm<Configuration> {
         this.txtStopSequence.setValue(String.join(";", data.getStopSequences()));
         this.sliderFrequency.setValue(data.getFrequencyPenalty());
         this.sliderPresence.setValue(data.getPresencePenalty());
+        this.sliderHistoryTokens.setValue(Double.valueOf(Optional.ofNullable(data.getHistoryTokens()).orElse(Configuration.DEFAULT.getHistoryTokens())));
     }
 
     @Override
     public List<AzureFormInput<?>> getInputs() {
-        return Arrays.asList(this.sliderMaxResponse, this.sliderTemperature, this.sliderTopN, this.txtStopSequence, this.sliderFrequency, this.sliderPresence);
+        return Arrays.asList(this.sliderMaxResponse, this.sliderTemperature, this.sliderTopN, this.txtStopSequence, this.sliderFrequency, this.sliderPresence, this.sliderHistoryTokens);
     }
 
     // CHECKSTYLE IGNORE check FOR NEXT 1 LINES
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.cognitiveservices.chatbox;
+
+import com.azure.ai.openai.models.ChatCompletions;
+import com.azure.ai.openai.models.ChatCompletionsOptions;
+import com.azure.ai.openai.models.ChatMessage;
+import com.azure.ai.openai.models.ChatRole;
+import com.azure.core.util.BinaryData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ChatBotTest {
+    @Test
+    public void streamAnswerByDeltas() {
+        final List<ChatCompletionsOptions> requests = new ArrayList<>();
+        final ChatBot bot = new ChatBot("gpt", (deploymentName, options) -> {
+            Assert.assertEquals("gpt", deploymentName);
+            requests.add(options);
+            return Stream.of(
+                // the first chunk of Azure OpenAI has the prompt filter results only
+                "{\"id\":\"1\",\"created\":0,\"choices\":[]}",
+                delta("\"Hel\""),
+                delta("\"\""),
+                delta("\"lo\""),
+                delta("null")
+            ).map(json -> BinaryData.fromString(json).toObject(ChatCompletions.class)).collect(Collectors.toList());
+        });
+
+        final List<String> deltas = new ArrayList<>();
+        final String answer = bot.send("hi", deltas::add);
+
+        Assert.assertEquals("Hello", answer);
+        Assert.assertEquals(List.of("Hel", "lo"), deltas);
+        Assert.assertEquals(1, requests.size());
+        Assert.assertEquals(1, requests.get(0).getMessages().size());
+
+        final List<ChatMessage> messages = bot.getChatMessages();
+        Assert.assertEquals(List.of(ChatRole.USER, ChatRole.ASSISTANT), messages.stream().map(ChatMessage::getRole).collect(Collectors.toList()));
+        Assert.assertEquals("Hello", messages.get(1).getContent());
+
+        // no usage in the stream, the tokens are estimated
+        Assert.assertTrue(bot.getMetrics().isEstimated());
+        Assert.assertEquals(ChatHistory.estimateTokens("Hello"), bot.getMetrics().getCompletionTokens());
+        Assert.assertTrue(bot.getMetrics().getFirstTokenLatency() <= bot.getMetrics().getTotalLatency());
+    }
+
+    private static String delta(String content) {
+        return "{\"id\":\"1\",\"created\":0,\"choices\":[{\"index\":0,\"finish_reason\":null," +
+            "\"delta\":{\"role\":\"assistant\",\"content\":" + content + "}}]}";
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.cognitiveservices.chatbox;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class MarkdownTextTest {
+    private static final String[] TOKENS = {"```", "``", "`", "java", "\n", "int a = 1;", "text ", "**bold**", " ", "中文"};
+
+    @Test
+    public void appendEqualsSplitOnRandomTokens() {
+        final Random random = new Random(0);
+        for (int round = 0; round < 500; round++) {
+            MarkdownText text = new MarkdownText("");
+            final StringBuilder markdown = new StringBuilder();
+            final int tokens = random.nextInt(40);
+            for (int i = 0; i < tokens; i++) {
+                // a streamed piece may hold several tokens or a part of one
+                final String token = TOKENS[random.nextInt(TOKENS.length)];
+                final String delta = random.nextBoolean() ? token : token.substring(0, random.nextInt(token.length() + 1));
+                markdown.append(delta);
+                text = text.append(delta);
+                Assert.assertEquals(markdown.toString(), describe(new MarkdownText(markdown.toString()).getParts()), describe(text.getParts()));
+            }
+        }
+    }
+
+    @Test
+    public void reuseCompletePartsOnAppend() {
+        final MarkdownText text = new MarkdownText("intro\n```java\nint a = 1;\n```\nmore");
+        final MarkdownText appended = text.append(" text\n```py\nprint(1)\n```");
+
+        Assert.assertSame(text.getParts().get(0), appended.getParts().get(0));
+        Assert.assertSame(text.getParts().get(1), appended.getParts().get(1));
+        Assert.assertEquals(List.of(MarkdownText.PartType.OTHER, MarkdownText.PartType.CODE_BLOCK, MarkdownText.PartType.OTHER, MarkdownText.PartType.CODE_BLOCK),
+            appended.getParts().stream().map(MarkdownText.Part::getType).collect(Collectors.toList()));
+        Assert.assertEquals("\nmore text\n", appended.getParts().get(2).getText());
+        Assert.assertEquals("print(1)\n", ((MarkdownText.CodePart) appended.getParts().get(3)).getCode());
+    }
+
+    private static List<String> describe(List<MarkdownText.Part> parts) {
+        return parts.stream().map(p -> p.getType() + ":" + p.getText()).collect(Collectors.toList());
+    }
+}
@@ -17,6 +17,7 @@ import com.microsoft.azure.toolkit.intellij.common.action.IntellijActionsContrib
 import com.microsoft.azure.toolkit.intellij.connector.AzureServiceResource;
 import com.microsoft.azure.toolkit.intellij.connector.ConnectorDialog;
 import com.microsoft.azure.toolkit.intellij.cosmos.actions.CreateNewDocumentAction;
+import com.microsoft.azure.toolkit.intellij.cosmos.actions.ExportCosmosDocumentsAction;
 import com.microsoft.azure.toolkit.intellij.cosmos.actions.OpenCosmosDocumentAction;
 import com.microsoft.azure.toolkit.intellij.cosmos.actions.UploadCosmosDocumentAction;
 import com.microsoft.azure.toolkit.intellij.cosmos.connection.CassandraCosmosDBAccountResourceDefinition;
@@ -41,9 +42,11 @@ import com.microsoft.azure.toolkit.lib.cosmos.cassandra.CassandraCosmosDBAccount
 import com.microsoft.azure.toolkit.lib.cosmos.cassandra.CassandraKeyspace;
 import com.microsoft.azure.toolkit.lib.cosmos.cassandra.CassandraTableDraft;
 import com.microsoft.azure.toolkit.lib.cosmos.model.DatabaseConfig;
+import com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoCollection;
 import com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoCollectionDraft;
 import com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoCosmosDBAccount;
 import com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoDatabase;
+import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlContainer;
 import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlContainerDraft;
 import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlCosmosDBAccount;
 import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlDatabase;
@@ -75,6 +78,11 @@ public class IntelliJCosmosActionsContributor implements IActionsContributor {
         final BiConsumer<ICosmosDocumentContainer<?>, AnActionEvent> importHandler = (c, e) -> UploadCosmosDocumentAction.importDocument(c, e.getProject());
         am.registerHandler(CosmosActionsContributor.IMPORT_DOCUMENT, importCondition, importHandler);
 
+        final BiPredicate<ICosmosDocumentContainer<?>, AnActionEvent> exportCondition = (r, e) ->
+            (r instanceof SqlContainer || r instanceof MongoCollection) && r.getFormalStatus().isConnected();
+        final BiConsumer<ICosmosDocumentContainer<?>, AnActionEvent> exportHandler = (c, e) -> ExportCosmosDocumentsAction.exportDocuments(c, e.getProject());
+        am.registerHandler(CosmosActionsContributor.EXPORT_DOCUMENTS, exportCondition, exportHandler);
+
         final BiPredicate<ICosmosDocumentContainer<?>, AnActionEvent> createDocumentCondition = (r, e) ->
             r instanceof ICosmosDocumentContainer && r.getFormalStatus().isConnected();
         final BiConsumer<ICosmosDocumentContainer<?>, AnActionEvent> createDocumentHandler = (c, e) ->
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.cosmos.actions;
+
+import com.azure.cosmos.CosmosClient;
+import com.azure.cosmos.CosmosClientBuilder;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.FeedResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.cosmos.CosmosDBAccount;
+import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocumentContainer;
+import com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoCollection;
+import com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoDatabase;
+import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlContainer;
+import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlDatabase;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCursor;
+import lombok.Getter;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Import documents into / export documents from a Cosmos DB container in bulk. The documents are streamed one by one,
+ * so that neither the file nor the container is held in memory:
+ * <ul>
+ *     <li>import reads a JSON array or newline delimited JSON with the streaming parser, and writes the documents
+ *     with bounded concurrency. All writers back off together once the request rate is throttled (HTTP 429).</li>
+ *     <li>export queries the container with a dedicated cursor, rather than the document module shared with the
+ *     explorer, and writes each page to the output before the next is fetched.</li>
+ * </ul>
+ */
+public class CosmosDocumentTransfer {
+    public static final int DEFAULT_CONCURRENCY = 8;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final long INITIAL_BACKOFF_MS = 100;
+    private static final long MAX_BACKOFF_MS = 10_000;
+    private static final int MAX_REPORTED_ERRORS = 10;
+    // error code of the Mongo API for Cosmos DB when the request rate is too large
+    private static final int MONGO_TOO_MANY_REQUESTS = 16500;
+    private static final int EXPORT_PAGE_SIZE = 500;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public enum Format {
+        JSON_ARRAY, NDJSON;
+
+        @Nonnull
+        public static Format fromFileName(@Nonnull String name) {
+            final String lower = name.toLowerCase();
+            return lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? NDJSON : JSON_ARRAY;
+        }
+    }
+
+    public interface ProgressListener {
+        void onProgress(long processed, long failed);
+    }
+
+    @Getter
+    public static class Result {
+        private final long succeeded;
+        private final long failed;
+        private final long throttled;
+        private final boolean completed;
+        private final List<String> errors;
+
+        Result(long succeeded, long failed, long throttled, boolean completed, @Nonnull List<String> errors) {
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.throttled = throttled;
+            this.completed = completed;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+    }
+
+    private final int concurrency;
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    // the time in nanos before which no writer should send requests, pushed forward by each throttled request
+    private final AtomicLong pausedUntil = new AtomicLong(System.nanoTime());
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+    public CosmosDocumentTransfer() {
+        this(DEFAULT_CONCURRENCY);
+    }
+
+    public CosmosDocumentTransfer(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Import the documents in the current thread, the input is either a JSON array of documents, or documents
+     * separated by whitespace (e.g. newline delimited JSON).
+     *
+     * @param onProgress called after each document is written, in the writer threads
+     * @param cancelled  checked before each document is read, the documents in flight are still written once cancelled
+     */
+    @Nonnull
+    public Result importDocuments(@Nonnull ICosmosDocumentContainer<?> container, @Nonnull InputStream input,
+                                  @Nullable ProgressListener onProgress, @Nonnull BooleanSupplier cancelled) throws IOException, InterruptedException {
+        final ExecutorService writers = Executors.newFixedThreadPool(this.concurrency);
+        // bound the documents read ahead of the writers
+        final Semaphore inflight = new Semaphore(this.concurrency * 2);
+        boolean completed = false;
+        try (final JsonParser parser = MAPPER.getFactory().createParser(input)) {
+            JsonToken token = parser.nextToken();
+            final boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (cancelled.getAsBoolean()) {
+                    break;
+                }
+                final int line = parser.getTokenLocation().getLineNr();
+                final JsonNode node = MAPPER.readTree(parser);
+                token = parser.nextToken();
+                if (!(node instanceof ObjectNode)) {
+                    this.onFailed(String.format("Skipped a non-object value at line %d.", line));
+                    continue;
+                }
+                inflight.acquire();
+                writers.execute(() -> {
+                    try {
+                        this.write(container, (ObjectNode) node);
+                    } finally {
+                        inflight.release();
+                        if (onProgress != null) {
+                            onProgress.onProgress(this.succeeded.get() + this.failed.get(), this.failed.get());
+                        }
+                    }
+                });
+            }
+            // a truncated array fails the parser, so the input is read completely unless cancelled
+            completed = !cancelled.getAsBoolean();
+        } finally {
+            writers.shutdown();
+            writers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        return new Result(this.succeeded.get(), this.failed.get(), this.throttled.get(), completed, new ArrayList<>(this.errors));
+    }
+
+    /**
+     * Export all documents of the container in the current thread, each page is written out before the next is fetched.
+     *
+     * @param onProgress called after each page is written
+     * @param cancelled  checked before each page is fetched, the output is still a valid document once cancelled
+     */
+    @Nonnull
+    public Result exportDocuments(@Nonnull ICosmosDocumentContainer<?> container, @Nonnull OutputStream output, @Nonnull Format format,
+                                  @Nullable ProgressListener onProgress, @Nonnull BooleanSupplier cancelled) throws IOException {
+        boolean completed = false;
+        try (final DocumentCursor cursor = DocumentCursor.of(container);
+             final JsonGenerator generator = MAPPER.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            if (format == Format.NDJSON) {
+                generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            } else {
+                generator.writeStartArray();
+            }
+            while (!cancelled.getAsBoolean()) {
+                final List<? extends JsonNode> documents = cursor.nextPage();
+                if (Objects.isNull(documents)) {
+                    completed = true;
+                    break;
+                }
+                for (final JsonNode document : documents) {
+                    MAPPER.writeTree(generator, document);
+                    this.succeeded.incrementAndGet();
+                }
+                generator.flush();
+                if (onProgress != null) {
+                    onProgress.onProgress(this.succeeded.get(), 0);
+                }
+            }
+            if (format == Format.NDJSON) {
+                generator.writeRaw('\n');
+            } else {
+                generator.writeEndArray();
+            }
+        }
+        return new Result(this.succeeded.get(), 0, 0, completed, Collections.emptyList());
+    }
+
+    private void write(@Nonnull ICosmosDocumentContainer<?> container, @Nonnull ObjectNode document) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                this.awaitThrottling();
+                container.importDocument(document);
+                this.succeeded.incrementAndGet();
+                return;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.onFailed("Interrupted while writing document " + getDocumentId(document) + ".");
+                return;
+            } catch (final RuntimeException e) {
+                final Duration retryAfter = getThrottlingDelay(e);
+                if (Objects.isNull(retryAfter) || attempt + 1 >= MAX_ATTEMPTS) {
+                    this.onFailed(String.format("Failed to write document %s: %s", getDocumentId(document), e.getMessage()));
+                    return;
+                }
+                this.throttled.incrementAndGet();
+                this.backOff(retryAfter, attempt);
+            }
+        }
+    }
+
+    private void awaitThrottling() throws InterruptedException {
+        final long remaining = this.pausedUntil.get() - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    /**
+     * Pause all writers, by the delay suggested by the server, or exponentially by attempts with jitter.
+     */
+    private void backOff(@Nonnull Duration retryAfter, int attempt) {
+        long delayMs = retryAfter.toMillis();
+        if (delayMs <= 0) {
+            final long exponential = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(attempt, 16));
+            delayMs = exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+        }
+        final long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        this.pausedUntil.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+    }
+
+    private void onFailed(@Nonnull String error) {
+        this.failed.incrementAndGet();
+        if (this.errors.size() < MAX_REPORTED_ERRORS) {
+            this.errors.add(error);
+        }
+    }
+
+    /**
+     * @return the delay suggested by the server (zero if not suggested) if the request is throttled, otherwise null
+     */
+    @Nullable
+    private static Duration getThrottlingDelay(@Nonnull Throwable error) {
+        for (Throwable t = error; Objects.nonNull(t); t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof CosmosException && ((CosmosException) t).getStatusCode() == 429) {
+                final Duration retryAfter = ((CosmosException) t).getRetryAfterDuration();
+                return Objects.isNull(retryAfter) ? Duration.ZERO : retryAfter;
+            }
+            if (t instanceof MongoException && ((MongoException) t).getCode() == MONGO_TOO_MANY_REQUESTS) {
+                return Duration.ZERO;
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    private static String getDocumentId(@Nonnull ObjectNode document) {
+        final JsonNode id = document.has("id") ? document.get("id") : document.get("_id");
+        return Objects.isNull(id) ? "<unknown>" : id.toString();
+    }
+
+    /**
+     * Cursor over all documents of a container, with its own client, so that the documents exported are neither held
+     * by nor shown in the document module of the container.
+     */
+    private interface DocumentCursor extends Closeable {
+        /**
+         * @return the next page of documents, or null if all documents are returned
+         */
+        @Nullable
+        List<? extends JsonNode> nextPage() throws IOException;
+
+        @Override
+        void close();
+
+        @Nonnull
+        static DocumentCursor of(@Nonnull ICosmosDocumentContainer<?> container) {
+            if (container instanceof SqlContainer sql) {
+                return new SqlDocumentCursor(sql);
+            } else if (container instanceof MongoCollection mongo) {
+                return new MongoDocumentCursor(mongo);
+            }
+            throw new AzureToolkitRuntimeException(String.format("Exporting documents of %s is not supported.", container.getClass().getSimpleName()));
+        }
+    }
+
+    private static class SqlDocumentCursor implements DocumentCursor {
+        private final CosmosClient client;
+        private final Iterator<FeedResponse<ObjectNode>> pages;
+
+        SqlDocumentCursor(@Nonnull SqlContainer container) {
+            final SqlDatabase database = container.getParent();
+            final CosmosDBAccount account = database.getParent();
+            this.client = new CosmosClientBuilder()
+                .endpoint(account.getDocumentEndpoint())
+                .key(account.listKeys().getPrimaryMasterKey())
+                .buildClient();
+            // the continuation token is carried by the page iterator
+            this.pages = this.client.getDatabase(database.getName()).getContainer(container.getName())
+                .queryItems("SELECT * FROM c", new CosmosQueryRequestOptions(), ObjectNode.class)
+                .iterableByPage(EXPORT_PAGE_SIZE)
+                .iterator();
+        }
+
+        @Nullable
+        @Override
+        public List<ObjectNode> nextPage() {
+            return this.pages.hasNext() ? this.pages.next().getResults() : null;
+        }
+
+        @Override
+        public void close() {
+            this.client.close();
+        }
+    }
+
+    private static class MongoDocumentCursor implements DocumentCursor {
+        private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+        private final MongoClient client;
+        private final MongoCursor<Document> cursor;
+
+        MongoDocumentCursor(@Nonnull MongoCollection collection) {
+            final MongoDatabase database = collection.getParent();
+            this.client = MongoClients.create(database.getParent().listConnectionStrings().getPrimaryConnectionString());
+            // the documents are fetched from the server batch by batch as the cursor moves on
+            this.cursor = this.client.getDatabase(database.getName()).getCollection(collection.getName())
+                .find().batchSize(EXPORT_PAGE_SIZE).iterator();
+        }
+
+        @Nullable
+        @Override
+        public List<JsonNode> nextPage() throws IOException {
+            if (!this.cursor.hasNext()) {
+                return null;
+            }
+            final List<JsonNode> page = new ArrayList<>(EXPORT_PAGE_SIZE);
+            do {
+                page.add(MAPPER.readTree(this.cursor.next().toJson(JSON_SETTINGS)));
+            } while (page.size() < EXPORT_PAGE_SIZE && this.cursor.hasNext());
+            return page;
+        }
+
+        @Override
+        public void close() {
+            this.cursor.close();
+            this.client.close();
+        }
+    }
+}
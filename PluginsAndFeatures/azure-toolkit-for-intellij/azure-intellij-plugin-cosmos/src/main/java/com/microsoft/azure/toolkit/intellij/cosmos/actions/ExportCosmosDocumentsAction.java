@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.cosmos.actions;
+
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationBundle;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocumentContainer;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Objects;
+
+public class ExportCosmosDocumentsAction {
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Export all documents of the container into a JSON array file, or newline delimited JSON if the file name ends
+     * with .ndjson/.jsonl, see {@link CosmosDocumentTransfer}.
+     */
+    public static void exportDocuments(@Nonnull ICosmosDocumentContainer<?> container, @Nonnull Project project) {
+        final FileSaverDescriptor descriptor = new FileSaverDescriptor("Export Documents",
+            "Export documents as a JSON array, or newline delimited JSON (.ndjson/.jsonl)", "json", "ndjson", "jsonl");
+        final VirtualFileWrapper wrapper = AzureTaskManager.getInstance().runLater(() -> FileChooserFactory.getInstance()
+            .createSaveFileDialog(descriptor, project)
+            .save(LocalFileSystem.getInstance().findFileByPath(System.getProperty("user.home")), container.getName() + ".json")).join();
+        if (Objects.isNull(wrapper)) {
+            return;
+        }
+        final File file = wrapper.getFile();
+        final CosmosDocumentTransfer.Format format = CosmosDocumentTransfer.Format.fromFileName(file.getName());
+        final AzureString title = OperationBundle.description("internal/cosmos.export_documents.container", container.getName());
+        final AzureTask<Void> task = new AzureTask<>(project, title, true, () -> {
+            final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+            indicator.setIndeterminate(true);
+            try (final OutputStream output = new BufferedOutputStream(Files.newOutputStream(file.toPath()), BUFFER_SIZE)) {
+                final CosmosDocumentTransfer.Result result = new CosmosDocumentTransfer().exportDocuments(container, output, format,
+                    (exported, failed) -> indicator.setText2(String.format("%,d documents exported", exported)), indicator::isCanceled);
+                UploadCosmosDocumentAction.notify(String.format("%,d documents of %s are exported to %s",
+                    result.getSucceeded(), container.getName(), file.getAbsolutePath()), result);
+            } catch (final IOException e) {
+                AzureMessager.getMessager().error(e, String.format("Failed to export documents to %s.", file.getAbsolutePath()));
+            }
+        });
+        AzureTaskManager.getInstance().runInBackground(task);
+    }
+}
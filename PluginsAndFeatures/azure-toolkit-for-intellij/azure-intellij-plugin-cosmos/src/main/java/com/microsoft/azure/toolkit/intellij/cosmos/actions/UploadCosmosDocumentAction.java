@@ -1,38 +1,83 @@
 package com.microsoft.azure.toolkit.intellij.cosmos.actions;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
-import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
 import com.intellij.openapi.fileChooser.FileChooserDialog;
 import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationBundle;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
-import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocument;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocumentContainer;
+import org.apache.commons.io.input.CountingInputStream;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Objects;
+import java.util.Set;
 
 public class UploadCosmosDocumentAction {
+    private static final Set<String> EXTENSIONS = Set.of("json", "ndjson", "jsonl");
+
+    /**
+     * Import the documents in the selected file into the container, the file can be a single document, a JSON array
+     * of documents or newline delimited JSON, see {@link CosmosDocumentTransfer}.
+     */
     public static void importDocument(@Nonnull ICosmosDocumentContainer<?> container, @Nonnull Project project) {
-        final FileChooserDescriptor json = FileChooserDescriptorFactory.createSingleFileDescriptor("json");
-        json.setTitle("Select the document to import");
+        final FileChooserDescriptor json = new FileChooserDescriptor(true, false, false, false, false, false)
+            .withFileFilter(file -> EXTENSIONS.contains(Objects.requireNonNullElse(file.getExtension(), "").toLowerCase()));
+        json.setTitle("Select the document(s) to import");
+        json.setDescription("A JSON document, a JSON array of documents, or newline delimited JSON documents (.ndjson/.jsonl)");
         final VirtualFile[] virtualFiles = AzureTaskManager.getInstance().runLater(() -> {
             final FileChooserDialog fileChooser = FileChooserFactory.getInstance().createFileChooser(json, project, null);
             return fileChooser.choose(project, LocalFileSystem.getInstance().findFileByPath(System.getProperty("user.home")));
         }).join();
-        if (virtualFiles != null && virtualFiles.length > 0) {
-            try (final InputStream stream = virtualFiles[0].getInputStream()) {
-                final ObjectNode jsonNodes = new ObjectMapper().readValue(stream, ObjectNode.class);
-                final ICosmosDocument sqlDocument = container.importDocument(jsonNodes);
-            } catch (IOException e) {
-                AzureMessager.getMessager().error(e);
+        if (virtualFiles == null || virtualFiles.length < 1) {
+            return;
+        }
+        final VirtualFile file = virtualFiles[0];
+        final AzureString title = OperationBundle.description("internal/cosmos.import_documents.container", container.getName());
+        final AzureTask<Void> task = new AzureTask<>(project, title, true, () -> {
+            final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+            indicator.setIndeterminate(false);
+            final long total = Math.max(1, file.getLength());
+            try (final InputStream stream = file.getInputStream()) {
+                final CountingInputStream counting = new CountingInputStream(stream);
+                final CosmosDocumentTransfer.Result result = new CosmosDocumentTransfer().importDocuments(container, counting,
+                    (processed, failed) -> {
+                        indicator.setFraction(Math.min(1.0, (double) counting.getByteCount() / total));
+                        indicator.setText2(String.format("%,d documents imported, %,d failed", processed - failed, failed));
+                    }, indicator::isCanceled);
+                notify(String.format("%,d documents are imported into %s", result.getSucceeded(), container.getName()), result);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final IOException e) {
+                AzureMessager.getMessager().error(e, String.format("Failed to read documents from %s.", file.getName()));
             }
+        });
+        AzureTaskManager.getInstance().runInBackground(task);
+    }
+
+    static void notify(@Nonnull String message, @Nonnull CosmosDocumentTransfer.Result result) {
+        final StringBuilder builder = new StringBuilder(message);
+        if (!result.isCompleted()) {
+            builder.append(" before cancelled");
+        }
+        builder.append('.');
+        if (result.getThrottled() > 0) {
+            builder.append(String.format(" %,d requests were throttled and retried.", result.getThrottled()));
+        }
+        if (result.getFailed() > 0) {
+            builder.append(String.format(" %,d documents failed:\n", result.getFailed())).append(String.join("\n", result.getErrors()));
+            AzureMessager.getMessager().warning(builder.toString());
+        } else {
+            AzureMessager.getMessager().info(builder.toString());
         }
     }
 }
@@ -24,6 +24,7 @@ import com.intellij.util.ProcessingContext;
 import com.microsoft.azure.toolkit.ide.common.icon.AzureIcons;
 import com.microsoft.azure.toolkit.intellij.common.IntelliJAzureIcons;
 import com.microsoft.azure.toolkit.intellij.connector.Connection;
+import com.microsoft.azure.toolkit.intellij.connector.code.ResourceCatalog;
 import com.microsoft.azure.toolkit.intellij.connector.code.Utils;
 import com.microsoft.azure.toolkit.intellij.connector.code.function.FunctionAnnotationCompletionConfidence;
 import com.microsoft.azure.toolkit.intellij.connector.code.function.FunctionAnnotationTypeHandler;
@@ -82,8 +83,9 @@ public class CosmosDBContainerNameCompletionProvider extends CompletionProvider<
         }
         final List<SqlDatabase> databasesToSearch = Objects.nonNull(database) ? List.of(database) :
                 Utils.getConnectedResources(module, SqlCosmosDBAccountResourceDefinition.INSTANCE);
+        final ResourceCatalog catalog = ResourceCatalog.getInstance(module.getProject());
         databasesToSearch.stream()
-                .flatMap(db -> db.containers().list().stream())
+                .flatMap(db -> catalog.<SqlContainer>list(ResourceCatalog.key(db, "containers"), db.containers()).stream())
                 .map(container -> createLookupElement(container, module))
                 .forEach(result::addElement);
         AzureTelemeter.log(AzureTelemetry.Type.OP_END, OperationBundle.description("boundary/connector.complete_cosmos_container"));
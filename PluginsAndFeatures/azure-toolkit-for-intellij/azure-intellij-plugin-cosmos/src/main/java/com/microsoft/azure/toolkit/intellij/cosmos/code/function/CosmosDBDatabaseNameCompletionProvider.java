@@ -25,6 +25,7 @@ import com.microsoft.azure.toolkit.ide.common.icon.AzureIcons;
 import com.microsoft.azure.toolkit.intellij.common.IntelliJAzureIcons;
 import com.microsoft.azure.toolkit.intellij.connector.Connection;
 import com.microsoft.azure.toolkit.intellij.connector.Resource;
+import com.microsoft.azure.toolkit.intellij.connector.code.ResourceCatalog;
 import com.microsoft.azure.toolkit.intellij.connector.code.Utils;
 import com.microsoft.azure.toolkit.intellij.connector.code.function.FunctionAnnotationCompletionConfidence;
 import com.microsoft.azure.toolkit.intellij.connector.code.function.FunctionAnnotationTypeHandler;
@@ -74,9 +75,7 @@ public class CosmosDBDatabaseNameCompletionProvider extends CompletionProvider<C
             return;
         }
         final String connectionValue = FunctionUtils.getConnectionValueFromAnnotation(annotation);
-        final Connection<?, ?> connection = FunctionUtils.getConnectionFromAnnotation(annotation);
-        final SqlDatabase database = (SqlDatabase) Optional.ofNullable(connection).map(Connection::getResource)
-                .map(Resource::getData).filter(data -> data instanceof SqlDatabase).orElse(null);
+        final SqlDatabase database = getConnectionDatabase(annotation);
         if (Objects.isNull(database) && StringUtils.isNotBlank(connectionValue)) {
             return;
         }
@@ -103,16 +102,40 @@ public class CosmosDBDatabaseNameCompletionProvider extends CompletionProvider<C
 
     @Nullable
     public static SqlDatabase getConnectedDatabase(@Nullable final PsiAnnotation annotation) {
+        final SqlDatabase database = getConnectionDatabase(annotation);
+        if (Objects.isNull(database)) {
+            return null;
+        }
+        final SqlCosmosDBAccount account = (SqlCosmosDBAccount) database.getParent();
+        final List<SqlDatabase> databases = ResourceCatalog.getInstance(annotation.getProject()).list(getDatabasesKey(account), account.sqlDatabases());
+        return findDatabase(databases, getDatabaseName(annotation));
+    }
+
+    /**
+     * @return the database of the connection of the annotation, which may differ from the database named in the annotation
+     */
+    @Nullable
+    public static SqlDatabase getConnectionDatabase(@Nullable final PsiAnnotation annotation) {
         if (Objects.isNull(annotation) || Objects.isNull(annotation.findAttribute("databaseName"))) {
             return null;
         }
         final Connection<?, ?> connection = FunctionUtils.getConnectionFromAnnotation(annotation);
-        final SqlDatabase database = (SqlDatabase) Optional.ofNullable(connection).map(Connection::getResource)
+        return (SqlDatabase) Optional.ofNullable(connection).map(Connection::getResource)
                 .map(Resource::getData).filter(data -> data instanceof SqlDatabase).orElse(null);
-        if (Objects.isNull(database)) {
-            return null;
-        }
-        final String databaseName = Optional.ofNullable(annotation.findAttributeValue("databaseName")).map(PsiElement::getText).map(text -> text.replace("\"", "")).orElse(StringUtils.EMPTY);
-        return ((SqlCosmosDBAccount) database.getParent()).sqlDatabases().get(databaseName, database.getResourceGroupName());
+    }
+
+    @Nonnull
+    public static String getDatabaseName(@Nonnull final PsiAnnotation annotation) {
+        return Optional.ofNullable(annotation.findAttributeValue("databaseName")).map(PsiElement::getText).map(text -> text.replace("\"", "")).orElse(StringUtils.EMPTY);
+    }
+
+    @Nonnull
+    public static String getDatabasesKey(@Nonnull final SqlCosmosDBAccount account) {
+        return ResourceCatalog.key(account, "sqlDatabases");
+    }
+
+    @Nullable
+    public static SqlDatabase findDatabase(@Nonnull final List<SqlDatabase> databases, @Nonnull final String name) {
+        return databases.stream().filter(d -> d.getName().equals(name)).findFirst().orElse(null);
     }
 }
@@ -9,18 +9,23 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.microsoft.azure.toolkit.intellij.connector.code.ResourceCatalog;
 import com.microsoft.azure.toolkit.intellij.connector.code.function.FunctionUtils;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlContainer;
+import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlCosmosDBAccount;
 import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlDatabase;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -51,7 +56,12 @@ public class CosmosDBFunctionPathAnnotator implements Annotator {
         }
         final String connection = Optional.ofNullable(annotation)
                 .map(FunctionUtils::getConnectionValueFromAnnotation).orElse(StringUtils.EMPTY);
-        final SqlDatabase targetDatabase = CosmosDBDatabaseNameCompletionProvider.getConnectedDatabase(annotation);
+        final SqlDatabase connectionDatabase = CosmosDBDatabaseNameCompletionProvider.getConnectionDatabase(annotation);
+        final List<SqlDatabase> databases = Objects.isNull(connectionDatabase) ? null : peekDatabases(connectionDatabase, element.getProject());
+        if (Objects.nonNull(connectionDatabase) && Objects.isNull(databases)) { // not listed yet, highlighting restarts once listed
+            return;
+        }
+        final SqlDatabase targetDatabase = Objects.isNull(databases) ? null : CosmosDBDatabaseNameCompletionProvider.findDatabase(databases, databaseName);
         if (Objects.isNull(targetDatabase)) {
             final String message = String.format("Could not connect to database `%s` with connection `%s`", databaseName, connection);
             holder.newAnnotation(HighlightSeverity.WARNING, message).range(element.getTextRange()).highlightType(ProblemHighlightType.GENERIC_ERROR_OR_WARNING).create();
@@ -60,7 +70,10 @@ public class CosmosDBFunctionPathAnnotator implements Annotator {
 
     private void validateContainer(@Nonnull PsiElement element, @Nonnull AnnotationHolder holder) {
         final PsiAnnotation annotation = PsiTreeUtil.getParentOfType(element, PsiAnnotation.class);
-        final SqlDatabase database = CosmosDBDatabaseNameCompletionProvider.getConnectedDatabase(annotation);
+        final SqlDatabase connectionDatabase = CosmosDBDatabaseNameCompletionProvider.getConnectionDatabase(annotation);
+        final List<SqlDatabase> databases = Objects.isNull(connectionDatabase) ? null : peekDatabases(connectionDatabase, element.getProject());
+        final SqlDatabase database = Objects.isNull(databases) ? null :
+                CosmosDBDatabaseNameCompletionProvider.findDatabase(databases, CosmosDBDatabaseNameCompletionProvider.getDatabaseName(annotation));
         if (Objects.isNull(database)) {
             return;
         }
@@ -70,10 +83,23 @@ public class CosmosDBFunctionPathAnnotator implements Annotator {
             holder.newAnnotation(HighlightSeverity.WARNING, "ContainerName could not be empty")
                     .range(element.getTextRange()).highlightType(ProblemHighlightType.GENERIC_ERROR_OR_WARNING).create();
         }
-        final SqlContainer container = database.containers().get(containerName, database.getResourceGroupName());
+        final List<SqlContainer> containers = ResourceCatalog.getInstance(element.getProject()).peek(ResourceCatalog.key(database, "containers"), database.containers());
+        if (Objects.isNull(containers)) { // not listed yet, highlighting restarts once listed
+            return;
+        }
+        final SqlContainer container = containers.stream().filter(c -> c.getName().equals(containerName)).findFirst().orElse(null);
         if (Objects.isNull(container)) {
             final String message = String.format("Could not find container `%s` in database `%s`", containerName, database.getName());
             holder.newAnnotation(HighlightSeverity.WARNING, message).range(element.getTextRange()).highlightType(ProblemHighlightType.GENERIC_ERROR_OR_WARNING).create();
         }
     }
+
+    /**
+     * @return the databases of the account of the connection database, null if not listed yet
+     */
+    @Nullable
+    private static List<SqlDatabase> peekDatabases(@Nonnull SqlDatabase connectionDatabase, @Nonnull Project project) {
+        final SqlCosmosDBAccount account = (SqlCosmosDBAccount) connectionDatabase.getParent();
+        return ResourceCatalog.getInstance(project).peek(CosmosDBDatabaseNameCompletionProvider.getDatabasesKey(account), account.sqlDatabases());
+    }
 }
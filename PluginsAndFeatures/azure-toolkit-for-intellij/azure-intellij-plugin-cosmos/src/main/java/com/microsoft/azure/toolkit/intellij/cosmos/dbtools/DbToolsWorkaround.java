@@ -9,13 +9,13 @@ import com.intellij.database.dataSource.DatabaseDriverImpl;
 import com.intellij.database.dataSource.DatabaseDriverManager;
 import com.intellij.database.dataSource.DatabaseDriverManagerImpl;
 import com.intellij.database.dataSource.url.ui.ParametersLayoutUtils;
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.startup.ProjectActivity;
 import com.intellij.openapi.util.JDOMUtil;
 import com.intellij.openapi.util.registry.Registry;
 import com.microsoft.azure.toolkit.intellij.common.IntelliJAzureIcons;
+import com.microsoft.azure.toolkit.intellij.common.startup.StartupScheduler;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetry;
 import kotlin.Unit;
@@ -44,7 +44,7 @@ public class DbToolsWorkaround implements ProjectActivity, DumbAware {
 
     @Override
     public Object execute(@Nonnull Project project, @Nonnull Continuation<? super Unit> continuation) {
-        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+        StartupScheduler.getInstance().schedule(project, "cosmos-dbtools-workaround", StartupScheduler.Priority.LOW, () -> {
             try {
                 DbToolsWorkaround.makeAccountShowAtTop();
                 loadMongoDriver();
@@ -8,10 +8,10 @@ package com.microsoft.azure.toolkit.intellij.database.dbtools;
 import com.intellij.database.dataSource.DatabaseDriverImpl;
 import com.intellij.database.dataSource.DatabaseDriverManager;
 import com.intellij.database.dataSource.url.template.UrlTemplate;
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.startup.ProjectActivity;
+import com.microsoft.azure.toolkit.intellij.common.startup.StartupScheduler;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetry;
 import kotlin.Unit;
@@ -29,7 +29,7 @@ public class DatabaseDbToolsWorkaround implements ProjectActivity, DumbAware {
     @Nullable
     @Override
     public Object execute(@Nonnull Project project, @Nonnull Continuation<? super Unit> continuation) {
-        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+        StartupScheduler.getInstance().schedule(project, "database-dbtools-workaround", StartupScheduler.Priority.LOW, () -> {
             try {
                 loadMySqlAzureTemplates();
                 loadPostgreSqlAzureTemplates();
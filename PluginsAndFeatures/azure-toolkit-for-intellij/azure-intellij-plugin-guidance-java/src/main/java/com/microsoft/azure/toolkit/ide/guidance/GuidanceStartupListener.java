@@ -6,6 +6,7 @@ import com.intellij.openapi.startup.ProjectActivity;
 import com.microsoft.azure.toolkit.ide.common.store.AzureStoreManager;
 import com.microsoft.azure.toolkit.ide.common.store.IIdeStore;
 import com.microsoft.azure.toolkit.ide.guidance.config.CourseConfig;
+import com.microsoft.azure.toolkit.intellij.common.startup.StartupScheduler;
 import kotlin.Unit;
 import kotlin.coroutines.Continuation;
 import org.apache.commons.lang3.StringUtils;
@@ -23,12 +24,14 @@ public class GuidanceStartupListener implements ProjectActivity {
 
     @Override
     public Object execute(@Nonnull Project project, @Nonnull Continuation<? super Unit> continuation) {
-        final CourseConfig courseConfigFromWorkspace = GuidanceConfigManager.getInstance().getCourseConfigFromWorkspace(project);
-        if (Objects.nonNull(courseConfigFromWorkspace)) {
-            GuidanceViewManager.getInstance().openCourseView(project, courseConfigFromWorkspace);
-        } else {
-            showGuidanceAtFirstStartup(project);
-        }
+        StartupScheduler.getInstance().schedule(project, "guidance", StartupScheduler.Priority.NORMAL, () -> {
+            final CourseConfig courseConfigFromWorkspace = GuidanceConfigManager.getInstance().getCourseConfigFromWorkspace(project);
+            if (Objects.nonNull(courseConfigFromWorkspace)) {
+                GuidanceViewManager.getInstance().openCourseView(project, courseConfigFromWorkspace);
+            } else {
+                showGuidanceAtFirstStartup(project);
+            }
+        });
         return null;
     }
 
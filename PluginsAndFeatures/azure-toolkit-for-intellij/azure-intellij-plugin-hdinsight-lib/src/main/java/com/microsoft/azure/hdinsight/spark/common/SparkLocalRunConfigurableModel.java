@@ -31,6 +31,8 @@ import static com.microsoft.azure.hdinsight.spark.ui.SparkLocalRunParamsPanel.WI
 public class SparkLocalRunConfigurableModel implements CommonJavaRunConfigurationParameters, ILogger {
     @Tag(value = "is-parallel-execution", textIfEmpty = "false")
     private boolean isParallelExecution;
+    @Tag(value = "is-warm-run", textIfEmpty = "false")
+    private boolean isWarmRun;
     @Tag(value = "is-pass-parent-envs", textIfEmpty = "true")
     private boolean isPassParentEnvs = true;
     @Transient
@@ -93,6 +95,15 @@ public class SparkLocalRunConfigurableModel implements CommonJavaRunConfiguratio
         this.isParallelExecution = isParallelExecution;
     }
 
+    @Transient
+    public boolean isWarmRun() {
+        return isWarmRun;
+    }
+
+    public void setWarmRun(final boolean isWarmRun) {
+        this.isWarmRun = isWarmRun;
+    }
+
     @Transient
     @NotNull
     @Override
@@ -259,6 +259,7 @@ public class SparkBatchJobDeployFactory implements ILogger {
         }
 
         //TODO:use httpobservable to replace sparkbathsubmission and deprecate the old constructor.
-        return jobDeploy;
+        // skip re-uploading the unchanged artifact into the same storage root
+        return jobDeploy == null ? null : new CachedDeploy(jobDeploy);
     }
 }
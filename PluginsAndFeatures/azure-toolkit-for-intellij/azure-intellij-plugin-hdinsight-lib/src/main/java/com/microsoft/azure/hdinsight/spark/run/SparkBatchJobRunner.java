@@ -27,6 +27,7 @@ import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.spark.common.*;
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azure.hdinsight.spark.run.action.SparkBatchJobDisconnectAction;
+import com.microsoft.azure.hdinsight.spark.run.action.SparkBatchJobDownloadDriverLogAction;
 import com.microsoft.azure.hdinsight.spark.run.configuration.LivySparkBatchJobRunConfiguration;
 import com.microsoft.azure.hdinsight.spark.ui.SparkJobLogConsoleView;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
@@ -246,13 +247,17 @@ public class SparkBatchJobRunner extends DefaultProgramRunner implements SparkSu
         final SparkBatchJobDisconnectAction disconnectAction =
                 (SparkBatchJobDisconnectAction) ActionManager.getInstance().getAction("Actions.SparkJobDisconnect");
         disconnectAction.init(remoteProcess, operation);
+        final SparkBatchJobDownloadDriverLogAction downloadDriverLogAction =
+                (SparkBatchJobDownloadDriverLogAction) ActionManager.getInstance().getAction("Actions.SparkJobDownloadDriverLog");
+        downloadDriverLogAction.init(remoteProcess);
 
         sendTelemetryForParameters(submitModel, operation);
 
         final ExecutionResult result = new DefaultExecutionResult(jobOutputView,
                 processHandler,
                 Separator.getInstance(),
-                disconnectAction);
+                disconnectAction,
+                downloadDriverLogAction);
         submissionState.setExecutionResult(result);
         final ConsoleView consoleView = jobOutputView.getSecondaryConsoleView();
         submissionState.setConsoleView(consoleView);
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.run.action;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.common.ISparkBatchJob;
+import com.microsoft.azure.hdinsight.spark.run.SparkBatchJobRemoteProcess;
+import com.microsoft.azure.hdinsight.spark.run.SparkBatchJobSubmittedEvent;
+import com.microsoft.azure.hdinsight.spark.ui.log.SparkLogFileEditorProvider;
+import com.microsoft.intellij.util.PluginUtil;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Optional;
+
+// Download the whole driver log with concurrent byte ranges and open it in the indexed log viewer, rather than console
+public class SparkBatchJobDownloadDriverLogAction extends AnAction implements ILogger {
+    private static final String LOG_TYPE = "stderr";
+
+    @Nullable
+    private SparkBatchJobRemoteProcess remoteProcess;
+    private boolean isEnabled = false;
+
+    public SparkBatchJobDownloadDriverLogAction() {
+        super();
+    }
+
+    public void init(@Nullable SparkBatchJobRemoteProcess remoteProcess) {
+        this.remoteProcess = remoteProcess;
+        setEnabled(false);
+
+        // Listen Spark Job submitted event to enable the download button
+        Optional.ofNullable(remoteProcess).ifPresent(process -> process.getEventSubject()
+                .filter(SparkBatchJobSubmittedEvent.class::isInstance)
+                .subscribe(job -> setEnabled(true)));
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
+        final Project project = anActionEvent.getProject();
+        final ISparkBatchJob job = Optional.ofNullable(remoteProcess)
+                .map(SparkBatchJobRemoteProcess::getSparkJob)
+                .orElse(null);
+        if (project == null || job == null) {
+            return;
+        }
+
+        // Batch IDs are only unique per cluster, so the cluster is a part of the file name
+        final File dest = new File(SparkLogFileEditorProvider.getLogDir(),
+                String.format("spark-batch-%s-%d-%s.log", getClusterName(job), job.getBatchId(), LOG_TYPE));
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Downloading Spark driver log", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                job.downloadDriverLog(LOG_TYPE, dest, downloaded -> {
+                            indicator.checkCanceled();
+                            indicator.setText2(StringUtil.formatFileSize(downloaded) + " downloaded");
+                        })
+                        .toBlocking()
+                        .subscribe(file -> openLogFile(project, file),
+                                   err -> {
+                                       if (ExceptionUtils.indexOfThrowable(err, ProcessCanceledException.class) >= 0) {
+                                           return;
+                                       }
+
+                                       log().warn("Failed to download Spark driver log to " + dest, err);
+                                       PluginUtil.showErrorNotificationProject(
+                                               project, "Failed to download Spark driver log", err.getMessage());
+                                   });
+            }
+        });
+    }
+
+    @NotNull
+    private static String getClusterName(@NotNull ISparkBatchJob job) {
+        return Optional.ofNullable(job.getConnectUri())
+                .map(URI::getHost)
+                .filter(StringUtil::isNotEmpty)
+                .map(host -> host.replaceAll("[^A-Za-z0-9._-]", "_"))
+                .orElse("unknown");
+    }
+
+    private static void openLogFile(@NotNull Project project, @NotNull File file) {
+        final VirtualFile logFile = LocalFileSystem.getInstance().refreshAndFindFileByIoFile(file);
+        if (logFile == null) {
+            return;
+        }
+
+        PluginUtil.showInfoNotificationProject(project, "Spark driver log downloaded", file.getAbsolutePath());
+        ApplicationManager.getApplication().invokeLater(() -> FileEditorManager.getInstance(project).openFile(logFile, true));
+    }
+
+    public void setEnabled(boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(isEnabled);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -38,6 +38,7 @@ public class SparkLocalRunParamsPanel {
     private JPanel myWholePanel;
     private SparkLocalRunCommonParametersPanel myCommonProgramParameters;
     private JCheckBox myParallelExecutionCheckbox;
+    private JCheckBox myWarmRunCheckbox;
     private TextFieldWithBrowseButton myWinutilsPathTextFieldWithBrowserButton;
     private TextFieldWithBrowseButton myDataRootDirectoryFieldWithBrowseButton;
     private JBTextField myDataDefaultDirectory;
@@ -142,6 +143,7 @@ public class SparkLocalRunParamsPanel {
     public void setData(@NotNull SparkLocalRunConfigurableModel data) {
         // Data -> Component
         myParallelExecutionCheckbox.setSelected(data.isIsParallelExecution());
+        myWarmRunCheckbox.setSelected(data.isWarmRun());
         myCommonProgramParameters.reset(data);
 
         final String classpathModuleNameToSet = data.getClasspathModule();
@@ -160,6 +162,7 @@ public class SparkLocalRunParamsPanel {
     public void getData(@NotNull SparkLocalRunConfigurableModel data) {
         // Component -> Data
         data.setIsParallelExecution(myParallelExecutionCheckbox.isSelected());
+        data.setWarmRun(myWarmRunCheckbox.isSelected());
         myCommonProgramParameters.applyTo(data);
         data.setDataRootDirectory(myDataRootDirectoryFieldWithBrowseButton.getText());
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.ui.log;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.components.JBLabel;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogFileIndex;
+import com.microsoft.azure.toolkit.intellij.common.BaseEditor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.io.IOException;
+
+public class SparkLogFileEditor extends BaseEditor implements ILogger {
+    @NotNull
+    private final JComponent component;
+    @Nullable
+    private final SparkLogViewerPanel viewerPanel;
+
+    public SparkLogFileEditor(@NotNull Project project, @NotNull VirtualFile virtualFile) {
+        super(virtualFile);
+
+        SparkLogViewerPanel panel = null;
+        try {
+            panel = new SparkLogViewerPanel(project, new SparkLogFileIndex(VfsUtilCore.virtualToIoFile(virtualFile)));
+            Disposer.register(this, panel);
+        } catch (final IOException ex) {
+            log().warn("Failed to open log file " + virtualFile.getPath(), ex);
+        }
+
+        this.viewerPanel = panel;
+        this.component = panel != null ? panel : new JBLabel("Failed to open log file " + virtualFile.getPath());
+    }
+
+    @NotNull
+    @Override
+    public JComponent getComponent() {
+        return component;
+    }
+
+    @Nullable
+    @Override
+    public JComponent getPreferredFocusedComponent() {
+        return viewerPanel != null ? viewerPanel.getPreferredFocusedComponent() : null;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return "Spark Log";
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
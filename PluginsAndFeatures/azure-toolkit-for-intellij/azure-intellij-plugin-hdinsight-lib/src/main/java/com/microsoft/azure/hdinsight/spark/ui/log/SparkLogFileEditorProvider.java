@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.ui.log;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.fileEditor.FileEditorPolicy;
+import com.intellij.openapi.fileEditor.FileEditorProvider;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+
+/*
+    Open the Spark logs downloaded into the log directory with the indexed log viewer, instead of the text editor
+ */
+public class SparkLogFileEditorProvider implements FileEditorProvider, DumbAware {
+    public static final String TYPE = "Microsoft.HDInsight.SparkLog";
+    private static final String LOG_DIR_NAME = "azure-spark-logs";
+
+    @Nonnull
+    public static File getLogDir() {
+        final File dir = new File(PathManager.getSystemPath(), LOG_DIR_NAME);
+        FileUtil.createDirectory(dir);
+        return dir;
+    }
+
+    @Override
+    public boolean accept(@Nonnull Project project, @Nonnull VirtualFile virtualFile) {
+        return virtualFile.isInLocalFileSystem()
+                && !virtualFile.isDirectory()
+                && FileUtil.isAncestor(new File(PathManager.getSystemPath(), LOG_DIR_NAME), new File(virtualFile.getPath()), true);
+    }
+
+    @Nonnull
+    @Override
+    public FileEditor createEditor(@Nonnull Project project, @Nonnull VirtualFile virtualFile) {
+        return new SparkLogFileEditor(project, virtualFile);
+    }
+
+    @Nonnull
+    @Override
+    public String getEditorTypeId() {
+        return TYPE;
+    }
+
+    @Nonnull
+    @Override
+    public FileEditorPolicy getPolicy() {
+        return FileEditorPolicy.HIDE_DEFAULT_EDITOR;
+    }
+}
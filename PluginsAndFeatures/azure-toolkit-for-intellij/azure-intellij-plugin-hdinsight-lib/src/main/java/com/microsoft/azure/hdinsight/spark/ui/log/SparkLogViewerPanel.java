@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.ui.log;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.ui.JBColor;
+import com.intellij.ui.SearchTextField;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBList;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.util.ui.JBUI;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogFileIndex;
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogUtils;
+import com.microsoft.intellij.rxjava.IdeaSchedulers;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import rx.Observable;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Virtualized viewer of a large local log file, only the visible lines are read from the memory-mapped file.
+ */
+public class SparkLogViewerPanel extends JPanel implements Disposable, ILogger {
+    private static final String ALL_LEVELS = "ALL";
+    private static final int REFRESH_INTERVAL_MS = 500;
+    private static final int RENDERED_LINE_LENGTH_MAX = 4096;
+    private static final int LINE_WIDTH = 4000;
+
+    @NotNull
+    private final SparkLogFileIndex index;
+    @NotNull
+    private final IdeaSchedulers schedulers;
+    @NotNull
+    private final LogLinesModel model = new LogLinesModel();
+    @NotNull
+    private final JBList<Integer> lineList = new JBList<>(model);
+    @NotNull
+    private final ComboBox<String> levelComboBox = new ComboBox<>();
+    @NotNull
+    private final SearchTextField searchField = new SearchTextField(false);
+    @NotNull
+    private final JBTextField gotoLineField = new JBTextField(8);
+    @NotNull
+    private final JBLabel statusLabel = new JBLabel();
+    @NotNull
+    private final Timer refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> refresh());
+
+    @Nullable
+    private Subscription indexSubscription;
+    @Nullable
+    private Subscription searchSubscription;
+
+    public SparkLogViewerPanel(@NotNull Project project, @NotNull SparkLogFileIndex index) {
+        super(new BorderLayout());
+        this.index = index;
+        this.schedulers = new IdeaSchedulers(project);
+
+        levelComboBox.addItem(ALL_LEVELS);
+        SparkLogUtils.log4jAllLevels.forEach(levelComboBox::addItem);
+        levelComboBox.setToolTipText("Show the lines of the selected level and the more severe ones");
+        levelComboBox.addActionListener(e -> applyLevelFilter());
+
+        searchField.setToolTipText("Regular expression to search, Enter for next and Shift+Enter for previous");
+        searchField.addKeyboardListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    search(!e.isShiftDown());
+                }
+            }
+        });
+
+        gotoLineField.setToolTipText("Line number to go to");
+        gotoLineField.addActionListener(e -> gotoLine());
+
+        final JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(new JBLabel("Level:"));
+        toolbar.add(levelComboBox);
+        toolbar.add(new JBLabel("Search:"));
+        toolbar.add(searchField);
+        toolbar.add(new JBLabel("Go to line:"));
+        toolbar.add(gotoLineField);
+        toolbar.add(statusLabel);
+
+        // Fixed cell size keeps JList from measuring all lines
+        lineList.setFixedCellHeight(lineList.getFontMetrics(lineList.getFont()).getHeight() + JBUI.scale(2));
+        lineList.setFixedCellWidth(JBUI.scale(LINE_WIDTH));
+        lineList.setCellRenderer(new LogLineRenderer());
+        lineList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+
+        add(toolbar, BorderLayout.NORTH);
+        add(new JBScrollPane(lineList), BorderLayout.CENTER);
+
+        startIndexing();
+    }
+
+    @NotNull
+    public JComponent getPreferredFocusedComponent() {
+        return lineList;
+    }
+
+    private void startIndexing() {
+        refreshTimer.start();
+        indexSubscription = index.buildIndex()
+                .observeOn(schedulers.dispatchUIThread())
+                .subscribe(lines -> refresh(),
+                           err -> {
+                               log().warn("Failed to index log file " + index.getFile(), err);
+                               statusLabel.setText("Failed to index: " + err.getMessage());
+                               refreshTimer.stop();
+                           },
+                           () -> {
+                               refreshTimer.stop();
+                               applyLevelFilter();
+                           });
+    }
+
+    private void refresh() {
+        // The filtered lines are computed once indexing completed, only grow the unfiltered view here
+        if (model.filteredLines == null) {
+            model.update(null);
+        }
+
+        updateStatus();
+    }
+
+    private void updateStatus() {
+        statusLabel.setText(String.format("%,d lines%s%s",
+                                          index.getLineCount(),
+                                          model.filteredLines == null ? "" : String.format(", %,d shown", model.getSize()),
+                                          index.isIndexCompleted() ? "" : ", indexing..."));
+    }
+
+    private void applyLevelFilter() {
+        final String selected = (String) levelComboBox.getSelectedItem();
+        if (selected == null || ALL_LEVELS.equals(selected)) {
+            model.update(null);
+            updateStatus();
+            return;
+        }
+
+        final int severity = SparkLogUtils.log4jAllLevels.indexOf(selected);
+        final Set<String> levels = new HashSet<>(SparkLogUtils.log4jAllLevels.subList(0, severity + 1));
+        Observable.fromCallable(() -> index.filterByLevels(levels))
+                  .subscribeOn(Schedulers.computation())
+                  .observeOn(schedulers.dispatchUIThread())
+                  .subscribe(lines -> {
+                      model.update(lines);
+                      updateStatus();
+                  }, err -> log().warn("Failed to filter log lines by level " + selected, err));
+    }
+
+    private void search(boolean forward) {
+        final String regex = searchField.getText();
+        if (StringUtils.isEmpty(regex)) {
+            return;
+        }
+
+        final Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (final PatternSyntaxException ex) {
+            statusLabel.setText("Invalid regular expression: " + ex.getDescription());
+            return;
+        }
+
+        final int selected = lineList.getSelectedIndex();
+        final int fromPosition = selected < 0 ? (forward ? 0 : model.getSize() - 1) : selected + (forward ? 1 : -1);
+        final int[] filteredLines = model.filteredLines;
+
+        if (searchSubscription != null) {
+            searchSubscription.unsubscribe();
+        }
+
+        statusLabel.setText("Searching...");
+        searchSubscription = Observable.fromCallable(() -> searchPosition(pattern, fromPosition, forward, filteredLines))
+                .subscribeOn(Schedulers.io())
+                .observeOn(schedulers.dispatchUIThread())
+                .subscribe(position -> {
+                    updateStatus();
+                    if (position < 0) {
+                        statusLabel.setText("Not found: " + regex);
+                    } else {
+                        selectPosition(position);
+                    }
+                }, err -> log().warn("Failed to search log with " + regex, err));
+    }
+
+    private int searchPosition(@NotNull Pattern pattern, int fromPosition, boolean forward, @Nullable int[] filteredLines) {
+        if (filteredLines == null) {
+            return index.search(pattern, fromPosition, forward);
+        }
+
+        for (int position = fromPosition; position >= 0 && position < filteredLines.length; position += forward ? 1 : -1) {
+            if (Thread.currentThread().isInterrupted()) {
+                return -1;
+            }
+
+            if (pattern.matcher(index.readLine(filteredLines[position])).find()) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    private void gotoLine() {
+        final int line;
+        try {
+            line = Integer.parseInt(gotoLineField.getText().trim()) - 1;
+        } catch (final NumberFormatException ex) {
+            statusLabel.setText("Invalid line number: " + gotoLineField.getText());
+            return;
+        }
+
+        final int[] filteredLines = model.filteredLines;
+        final int position = filteredLines == null ? line : toInsertionPosition(Arrays.binarySearch(filteredLines, line));
+        selectPosition(Math.max(0, Math.min(position, model.getSize() - 1)));
+    }
+
+    private static int toInsertionPosition(int binarySearchResult) {
+        return binarySearchResult >= 0 ? binarySearchResult : -binarySearchResult - 1;
+    }
+
+    private void selectPosition(int position) {
+        if (position < 0 || position >= model.getSize()) {
+            return;
+        }
+
+        lineList.setSelectedIndex(position);
+        lineList.ensureIndexIsVisible(position);
+    }
+
+    @Override
+    public void dispose() {
+        refreshTimer.stop();
+        if (indexSubscription != null) {
+            indexSubscription.unsubscribe();
+        }
+
+        if (searchSubscription != null) {
+            searchSubscription.unsubscribe();
+        }
+
+        try {
+            index.close();
+        } catch (final IOException ex) {
+            log().warn("Failed to close log file " + index.getFile(), ex);
+        }
+    }
+
+    private class LogLinesModel extends AbstractListModel<Integer> {
+        @Nullable
+        private int[] filteredLines;
+        private int size;
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public Integer getElementAt(int position) {
+            return filteredLines == null ? position : filteredLines[position];
+        }
+
+        void update(@Nullable int[] lines) {
+            final boolean isFilterChanged = lines != null || filteredLines != null;
+            final int oldSize = size;
+
+            filteredLines = lines;
+            size = lines == null ? index.getLineCount() : lines.length;
+
+            if (size > oldSize) {
+                fireIntervalAdded(this, oldSize, size - 1);
+            } else if (size < oldSize) {
+                fireIntervalRemoved(this, size, oldSize - 1);
+            }
+
+            if (isFilterChanged && size > 0) {
+                fireContentsChanged(this, 0, size - 1);
+            }
+        }
+    }
+
+    private class LogLineRenderer extends ColoredListCellRenderer<Integer> {
+        private final SimpleTextAttributes warnAttributes = new SimpleTextAttributes(SimpleTextAttributes.STYLE_PLAIN, JBColor.ORANGE);
+
+        @Override
+        protected void customizeCellRenderer(@NotNull JList<? extends Integer> list,
+                                             Integer line,
+                                             int position,
+                                             boolean selected,
+                                             boolean hasFocus) {
+            append(String.format("%8d  ", line + 1), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            append(StringUtils.abbreviate(index.readLine(line), RENDERED_LINE_LENGTH_MAX), getAttributes(index.getLevelName(line)));
+        }
+
+        @NotNull
+        private SimpleTextAttributes getAttributes(@Nullable String level) {
+            if (level == null) {
+                return SimpleTextAttributes.REGULAR_ATTRIBUTES;
+            }
+
+            switch (level) {
+                case "FATAL":
+                case "ERROR":
+                    return SimpleTextAttributes.ERROR_ATTRIBUTES;
+                case "WARN":
+                    return warnAttributes;
+                case "DEBUG":
+                case "TRACE":
+                    return SimpleTextAttributes.GRAYED_ATTRIBUTES;
+                default:
+                    return SimpleTextAttributes.REGULAR_ATTRIBUTES;
+            }
+        }
+    }
+}
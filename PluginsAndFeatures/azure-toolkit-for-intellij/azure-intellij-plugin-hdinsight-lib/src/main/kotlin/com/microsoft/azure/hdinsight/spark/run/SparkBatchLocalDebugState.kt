@@ -42,6 +42,8 @@ class SparkBatchLocalDebugState(myProject: Project, model: SparkLocalRunConfigur
 
     override fun getRemoteConnection(): RemoteConnection = remoteConnection
 
+    override val isWarmRunSupported: Boolean = false
+
     override fun getCommandLineVmParameters(executor: Executor?, params: JavaParameters, moduleName: String): List<String> {
         // TODO: Add onthrow and onuncaught with Breakpoint UI settings later
         val debugConnection = "-agentlib:jdwp=transport=dt_socket,server=n,address=127.0.0.1:${remoteConnection.applicationAddress},suspend=y"
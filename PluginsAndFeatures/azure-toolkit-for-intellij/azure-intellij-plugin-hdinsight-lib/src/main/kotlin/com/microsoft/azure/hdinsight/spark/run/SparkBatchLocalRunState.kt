@@ -39,6 +39,8 @@ import com.intellij.openapi.project.Project
 import com.intellij.util.PathUtil
 import com.microsoft.azure.hdinsight.spark.common.SparkLocalRunConfigurableModel
 import com.microsoft.azure.hdinsight.spark.mock.SparkLocalRunner
+import com.microsoft.azure.hdinsight.spark.mock.SparkLocalWarmRunClient
+import com.microsoft.azure.hdinsight.spark.mock.SparkLocalWarmRunner
 import com.microsoft.azure.hdinsight.spark.ui.SparkJobLogConsoleView
 import com.microsoft.azure.hdinsight.spark.ui.SparkLocalRunParamsPanel
 import com.microsoft.azuretools.telemetrywrapper.ErrorType
@@ -99,9 +101,60 @@ open class SparkBatchLocalRunState(val myProject: Project,
         return listOf(javaAgentParam)
     }
 
+    // The warm run keeps the Spark driver JVM alive between runs, which isn't for debugging
+    open val isWarmRunSupported: Boolean = true
+
     @Throws(ExecutionException::class)
     open fun createCommandlineForLocal(executor: Executor?): GeneralCommandLine {
-        return createParams(executor).toCommandLine()
+        val params = createParams(executor)
+
+        return if (model.isWarmRun && isWarmRunSupported) {
+            createWarmRunCommandline(params)
+        } else {
+            params.toCommandLine()
+        }
+    }
+
+    @Throws(ExecutionException::class)
+    private fun createWarmRunCommandline(params: JavaParameters): GeneralCommandLine {
+        // The class directories are reloaded by the warm runner for each run, the jars are on the runner's classpath
+        val (classDirs, jars) = params.classPath.pathList.partition { File(it).isDirectory }
+
+        val runnerParams = JavaParameters().apply {
+            jdk = params.jdk
+            workingDirectory = params.workingDirectory
+            env = params.env
+            isPassParentEnvs = params.isPassParentEnvs
+            vmParametersList.addAll(params.vmParametersList.list)
+            classPath.addAll(jars)
+            mainClass = SparkLocalWarmRunner::class.java.canonicalName
+        }
+
+        val runnerKey = listOf(
+                runnerParams.jdk?.homePath,
+                runnerParams.workingDirectory,
+                runnerParams.vmParametersList.parametersString,
+                // The jars are loaded once by the runner, restart it once any of them is rebuilt at the same path
+                SparkLocalWarmRunner.getClasspathFingerprint(jars),
+                runnerParams.env.toSortedMap().toString(),
+                runnerParams.isPassParentEnvs.toString()
+        ).joinToString("\n")
+
+        val portFile = SparkLocalWarmRunnerManager.getInstance().getOrStartRunner(runnerKey) {
+            runnerParams.programParametersList.clearAll()
+            runnerParams.programParametersList.add(it.absolutePath)
+            runnerParams.toCommandLine()
+        }
+
+        return JavaParameters().apply {
+            jdk = params.jdk
+            workingDirectory = params.workingDirectory
+            classPath.add(PathUtil.getJarPathForClass(SparkLocalWarmRunClient::class.java))
+            mainClass = SparkLocalWarmRunClient::class.java.canonicalName
+            programParametersList.add(portFile.absolutePath)
+            programParametersList.add(classDirs.joinToString(File.pathSeparator))
+            programParametersList.addAll(params.programParametersList.list)
+        }.toCommandLine()
     }
 
     fun createParams(executor: Executor? = null,
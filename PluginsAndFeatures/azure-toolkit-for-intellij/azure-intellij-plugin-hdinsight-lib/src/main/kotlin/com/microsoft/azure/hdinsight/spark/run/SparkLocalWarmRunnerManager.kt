@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.run
+
+import com.intellij.execution.ExecutionException
+import com.intellij.execution.configurations.GeneralCommandLine
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.application.PathManager
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.components.service
+import com.intellij.openapi.util.io.FileUtil
+import com.microsoft.azure.hdinsight.common.logger.ILogger
+import org.apache.commons.codec.digest.DigestUtils
+import java.io.File
+
+/**
+ * Keeps the warm Spark local runner JVM alive between the local runs. The runner is reused while its key,
+ * which covers the JDK, the dependency jars, the VM options and the environment variables, is unchanged.
+ * Only one warm runner is kept, since a Spark driver JVM takes considerable memory.
+ */
+@Service
+class SparkLocalWarmRunnerManager : Disposable, ILogger {
+    companion object {
+        private const val WARM_RUNNER_DIR = "azure-spark-local-run"
+
+        fun getInstance(): SparkLocalWarmRunnerManager = service()
+    }
+
+    private data class WarmRunner(val key: String, val process: Process, val portFile: File)
+
+    private var current: WarmRunner? = null
+
+    /**
+     * Get the port file of the warm runner started by the command line, start it if there isn't a live one.
+     * The port file is written by the runner once it's ready, the run client waits for it.
+     *
+     * @param runnerKey the description of the runner settings, the live runner is reused if it's unchanged
+     * @param createCommandLine the function to create the runner command line with the port file
+     * @return the port file
+     */
+    @Synchronized
+    @Throws(ExecutionException::class)
+    fun getOrStartRunner(runnerKey: String, createCommandLine: (portFile: File) -> GeneralCommandLine): File {
+        val runnerDir = File(PathManager.getSystemPath(), WARM_RUNNER_DIR).apply { FileUtil.createDirectory(this) }
+        val key = DigestUtils.sha256Hex(runnerKey)
+
+        current?.takeIf { it.key == key && it.process.isAlive }?.let {
+            log().info("Reuse the warm Spark local runner ${it.portFile}")
+            return it.portFile
+        }
+
+        stopCurrent()
+
+        val portFile = File(runnerDir, "warm-runner-$key.port")
+        val logFile = File(runnerDir, "warm-runner-$key.log")
+        FileUtil.delete(portFile)
+
+        val process = try {
+            createCommandLine(portFile).toProcessBuilder()
+                .redirectErrorStream(true)
+                .redirectOutput(logFile)
+                .start()
+        } catch (ex: Exception) {
+            throw ExecutionException("Failed to start the warm Spark local runner: ${ex.message}", ex)
+        }
+
+        log().info("Started the warm Spark local runner, log file: $logFile")
+        current = WarmRunner(key, process, portFile)
+
+        return portFile
+    }
+
+    @Synchronized
+    fun stopCurrent() {
+        current?.let {
+            it.process.destroy()
+            FileUtil.delete(it.portFile)
+        }
+
+        current = null
+    }
+
+    override fun dispose() {
+        stopCurrent()
+    }
+}
@@ -13,27 +13,22 @@ import com.intellij.openapi.actionSystem.ex.ActionUtil;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.startup.ProjectActivity;
+import com.microsoft.azure.toolkit.intellij.common.startup.StartupScheduler;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import kotlin.Unit;
 import kotlin.coroutines.Continuation;
-import lombok.extern.slf4j.Slf4j;
-import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import java.time.Duration;
 
-@Slf4j
 public class WhatsNewStartupActivity implements ProjectActivity, DumbAware {
     @Override
     public Object execute(@Nonnull Project project, @Nonnull Continuation<? super Unit> continuation) {
-        Mono.delay(Duration.ofSeconds(5)).subscribe(next -> {
-            if (project.isDisposed()) {
-                return;
-            }
+        StartupScheduler.getInstance().schedule(project, "whats-new", StartupScheduler.Priority.NORMAL, Duration.ofSeconds(5), () -> {
             final AnAction action = ActionManager.getInstance().getAction(WhatsNewAction.ID);
             final DataContext context = dataId -> CommonDataKeys.PROJECT.getName().equals(dataId) ? project : null;
             AzureTaskManager.getInstance().runLater(() -> ActionUtil.invokeAction(action, context, "AzurePluginStartupActivity", null, null));
-        }, error -> log.warn("error occurs when opening what's new.", error));
+        });
         return null;
     }
 }
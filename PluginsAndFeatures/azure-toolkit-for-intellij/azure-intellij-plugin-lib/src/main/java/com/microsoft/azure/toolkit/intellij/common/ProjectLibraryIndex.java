@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.common;
+
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.ModuleListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.util.messages.MessageBusConnection;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per project index of the libraries of modules, shared by all the code asking "does module X depend on artifact Y",
+ * instead of every caller enumerating the order entries of all modules again.
+ * <ul>
+ *     <li>the libraries of a module are enumerated once on first request, and again only on the first request after
+ *     the roots of the project are changed. The answers of a module are kept if its libraries are not changed.</li>
+ *     <li>{@link #hasArtifact} is answered by a set lookup, {@link #hasLibrary} is cached per pattern.</li>
+ * </ul>
+ */
+public class ProjectLibraryIndex implements Disposable {
+    private static final Pattern PATTERN = Pattern.compile("(Gradle|Maven): (.+):(.+):(.+)");
+
+    private final Project project;
+    private final Map<Module, ModuleLibraries> modules = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProjectLibraryIndex(@Nonnull Project project) {
+        this.project = project;
+        final MessageBusConnection connection = project.getMessageBus().connect(this);
+        connection.subscribe(ProjectTopics.PROJECT_ROOTS, new ModuleRootListener() {
+            @Override
+            public void rootsChanged(@Nonnull ModuleRootEvent event) {
+                ProjectLibraryIndex.this.generation.incrementAndGet();
+            }
+        });
+        connection.subscribe(ProjectTopics.MODULES, new ModuleListener() {
+            @Override
+            public void moduleRemoved(@Nonnull Project project, @Nonnull Module module) {
+                ProjectLibraryIndex.this.modules.remove(module);
+            }
+        });
+    }
+
+    public static ProjectLibraryIndex getInstance(@Nonnull Project project) {
+        return project.getService(ProjectLibraryIndex.class);
+    }
+
+    /**
+     * @return the Maven/Gradle libraries of all modules of the project, without duplicates
+     */
+    @Nonnull
+    public List<Library> getLibraries() {
+        if (this.project.isDisposed()) {
+            return Collections.emptyList();
+        }
+        final Set<Library> result = new LinkedHashSet<>();
+        for (final Module module : ModuleManager.getInstance(this.project).getModules()) {
+            result.addAll(this.get(module).libraries);
+        }
+        return new ArrayList<>(result);
+    }
+
+    @Nonnull
+    public List<Library> getLibraries(@Nonnull Module module) {
+        return this.get(module).libraries;
+    }
+
+    public boolean hasArtifact(@Nonnull Module module, @Nonnull String groupId, @Nonnull String artifactId) {
+        return this.get(module).artifacts.contains(groupId + ":" + artifactId);
+    }
+
+    /**
+     * @param namePattern pattern of the full library name, e.g. "Maven: com.azure:azure-core:1.0.0"
+     */
+    public boolean hasLibrary(@Nonnull Module module, @Nonnull Pattern namePattern) {
+        final ModuleLibraries libraries = this.get(module);
+        return libraries.matches.computeIfAbsent(namePattern.pattern(), p -> libraries.names.stream().anyMatch(n -> namePattern.matcher(n).matches()));
+    }
+
+    @Nonnull
+    private ModuleLibraries get(@Nonnull Module module) {
+        final long current = this.generation.get();
+        final ModuleLibraries cached = this.modules.get(module);
+        if (Objects.nonNull(cached) && cached.generation == current) {
+            return cached;
+        }
+        final List<String> names = module.isDisposed() ? Collections.emptyList() : ReadAction.compute(() -> {
+            final List<String> result = new ArrayList<>();
+            OrderEnumerator.orderEntries(module).librariesOnly().forEachLibrary(l -> result.add(l.getName()));
+            return result.stream().filter(StringUtils::isNotBlank).collect(Collectors.toList());
+        });
+        final ModuleLibraries result = Objects.nonNull(cached) && cached.names.equals(names) ? cached : new ModuleLibraries(names);
+        result.generation = current;
+        this.modules.put(module, result);
+        return result;
+    }
+
+    @Override
+    public void dispose() {
+        this.modules.clear();
+    }
+
+    private static class ModuleLibraries {
+        private final List<String> names;
+        private final List<Library> libraries;
+        private final Set<String> artifacts;
+        private final Map<String, Boolean> matches = new ConcurrentHashMap<>();
+        private volatile long generation;
+
+        ModuleLibraries(@Nonnull List<String> names) {
+            this.names = names;
+            this.libraries = names.stream().map(PATTERN::matcher).filter(Matcher::matches)
+                .map(m -> new Library(m.group(2).trim(), m.group(3).trim(), m.group(4).trim()))
+                .collect(Collectors.toList());
+            this.artifacts = this.libraries.stream().map(l -> l.getGroupId() + ":" + l.getArtifactId()).collect(Collectors.toSet());
+        }
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    public static class Library {
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+    }
+}
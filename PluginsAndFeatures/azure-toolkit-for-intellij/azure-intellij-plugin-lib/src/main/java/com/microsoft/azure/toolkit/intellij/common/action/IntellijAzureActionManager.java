@@ -25,6 +25,8 @@ import com.microsoft.azure.toolkit.lib.common.model.Emulatable;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.common.view.IView;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.lang3.StringUtils;
@@ -32,14 +34,20 @@ import org.apache.commons.lang3.StringUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.swing.*;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.common.action.Action.EMPTY_PLACE;
 import static com.microsoft.azure.toolkit.lib.common.action.Action.PLACE;
 
+@Slf4j
 public class IntellijAzureActionManager extends AzureActionManager {
     private static final ExtensionPointName<IActionsContributor> actionsExtensionPoint =
         ExtensionPointName.create("com.microsoft.tooling.msservices.intellij.azure.actions");
@@ -49,15 +57,75 @@ public class IntellijAzureActionManager extends AzureActionManager {
      */
     private static final DataKey<Object> ACTION_SOURCE = DataKey.create(Action.SOURCE);
 
+    private volatile boolean registered;
+    private boolean registering;
+    @Getter
+    private volatile List<ContributorTiming> timings = Collections.emptyList();
+
     private IntellijAzureActionManager() {
         super();
-        final List<IActionsContributor> contributors = actionsExtensionPoint.getExtensionList();
-        contributors.stream().sorted(Comparator.comparing(IActionsContributor::getOrder)).forEach((e) -> e.registerActions(this));
-        contributors.stream().sorted(Comparator.comparing(IActionsContributor::getOrder)).forEach((e) -> e.registerHandlers(this));
-        contributors.stream().sorted(Comparator.comparing(IActionsContributor::getOrder)).forEach((e) -> e.registerGroups(this));
+        // register the contributors off the startup path, the first request of any action or group before that waits
+        // for the registration instead.
+        ApplicationManager.getApplication().executeOnPooledThread(this::ensureRegistered);
+    }
+
+    /**
+     * register the actions, handlers and groups of all contributors if not yet. Contributors are registered together
+     * rather than one by one on demand, because the handlers and groups of a contributor refer to the actions of the
+     * others, e.g. IntelliJ contributors register handlers of the actions of the common contributors.
+     */
+    private void ensureRegistered() {
+        if (this.registered) {
+            return;
+        }
+        synchronized (this) {
+            // contributors get and register actions while being registered
+            if (this.registered || this.registering) {
+                return;
+            }
+            this.registering = true;
+            try {
+                this.timings = this.registerContributors();
+            } finally {
+                this.registering = false;
+                this.registered = true;
+            }
+        }
+    }
+
+    private List<ContributorTiming> registerContributors() {
+        final long start = System.nanoTime();
+        final List<IActionsContributor> contributors = actionsExtensionPoint.getExtensionList().stream()
+            .sorted(Comparator.comparing(IActionsContributor::getOrder)).toList();
+        final Map<IActionsContributor, ContributorTiming> timings = new LinkedHashMap<>();
+        contributors.forEach(c -> timings.put(c, new ContributorTiming(c.getClass().getName())));
+        contributors.forEach(c -> timings.get(c).actions = timeNanos(() -> c.registerActions(this)));
+        contributors.forEach(c -> timings.get(c).handlers = timeNanos(() -> c.registerHandlers(this)));
+        contributors.forEach(c -> timings.get(c).groups = timeNanos(() -> c.registerGroups(this)));
+        final List<ContributorTiming> result = timings.values().stream()
+            .sorted(Comparator.comparingLong(ContributorTiming::getTotal).reversed()).toList();
+        log.info("registered {} action contributors in {}ms on thread {}, the slowest: {}", contributors.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Thread.currentThread().getName(),
+            result.stream().limit(5).map(ContributorTiming::toString).collect(Collectors.joining(", ")));
+        if (log.isDebugEnabled()) {
+            result.forEach(t -> log.debug("action contributor {}", t));
+        }
+        return result;
+    }
+
+    private static long timeNanos(Runnable runnable) {
+        final long start = System.nanoTime();
+        try {
+            runnable.run();
+        } catch (final Throwable e) {
+            // a failed contributor should not break the others
+            log.warn("failed to register action contributor", e);
+        }
+        return System.nanoTime() - start;
     }
 
     public <D> void registerAction(Action<D> action) {
+        this.ensureRegistered();
         final ActionManager manager = ActionManager.getInstance();
         final String id = action.getId().toString();
         if (Objects.isNull(manager.getAction(id))) {
@@ -70,6 +138,7 @@ public class IntellijAzureActionManager extends AzureActionManager {
     @SuppressWarnings("unchecked")
     @Override
     public <D> Action<D> getAction(Action.Id<D> id) {
+        this.ensureRegistered();
         final AnAction origin = ActionManager.getInstance().getAction(id.getId());
         if (Objects.isNull(origin)) {
             return null;
@@ -86,6 +155,7 @@ public class IntellijAzureActionManager extends AzureActionManager {
 
     @Override
     public void registerGroup(String id, ActionGroup group) {
+        this.ensureRegistered();
         final ActionGroupWrapper nativeGroup = new ActionGroupWrapper(group);
         group.setOrigin(nativeGroup);
         final ActionManager manager = ActionManager.getInstance();
@@ -96,6 +166,7 @@ public class IntellijAzureActionManager extends AzureActionManager {
 
     @Override
     public IActionGroup getGroup(String id) {
+        this.ensureRegistered();
         return (ActionGroupWrapper) ActionManager.getInstance().getAction(id);
     }
 
@@ -110,6 +181,29 @@ public class IntellijAzureActionManager extends AzureActionManager {
         return super.getPlace(action);
     }
 
+    /**
+     * the time spent by an action contributor to register its actions, handlers and groups, in nanoseconds.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class ContributorTiming {
+        private final String contributor;
+        private long actions;
+        private long handlers;
+        private long groups;
+
+        public long getTotal() {
+            return this.actions + this.handlers + this.groups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %dms (actions %dms, handlers %dms, groups %dms)", StringUtils.substringAfterLast(this.contributor, "."),
+                TimeUnit.NANOSECONDS.toMillis(this.getTotal()), TimeUnit.NANOSECONDS.toMillis(this.actions),
+                TimeUnit.NANOSECONDS.toMillis(this.handlers), TimeUnit.NANOSECONDS.toMillis(this.groups));
+        }
+    }
+
     public static boolean isSuppressed(Action.Id<?> actionId) {
         return BooleanUtils.isTrue(IntellijStore.getInstance().getState().getSuppressedActions().get(actionId.toString()));
     }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.common.component;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.microsoft.azure.toolkit.intellij.common.messager.IntellijAzureMessager;
+import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessage;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
+import com.microsoft.azure.toolkit.lib.resource.message.ISenderReceiver;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Send a batch of generated messages to an Event Hub/Service Bus entity at a target rate, e.g. to load test the
+ * consumers of the entity. The messages are sent in rounds of {@link Options#concurrency} parallel sends, the rounds
+ * are paced to keep the overall rate at {@link Options#rate}.
+ * The per message output of the sender is not echoed, only the failures are reported to {@code onError}.
+ */
+public class BatchMessageSender {
+    public static final String PLACEHOLDER_INDEX = "{{index}}";
+    public static final String PLACEHOLDER_UUID = "{{uuid}}";
+    public static final String PLACEHOLDER_TIMESTAMP = "{{timestamp}}";
+
+    @Getter
+    @Builder
+    public static class Options {
+        private final int count;
+        /**
+         * messages per second, non-positive for as fast as possible
+         */
+        private final int rate;
+        @Builder.Default
+        private final int concurrency = 8;
+        /**
+         * the template of the messages, with the placeholders replaced per message, ignored if {@link #lines} or
+         * {@link #messages} is set.
+         */
+        @Nullable
+        private final String template;
+        /**
+         * the messages to send, repeated if fewer than {@link #count}
+         */
+        @Nullable
+        private final List<String> lines;
+        /**
+         * the message of each index, called in the order of the indexes, e.g. to read the messages page by page from a
+         * source too large to be held as {@link #lines}. It overrides {@link #lines} and {@link #template}.
+         */
+        @Nullable
+        private final IntFunction<String> messages;
+    }
+
+    @Getter
+    public static class Result {
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile long elapsedMs;
+        private volatile boolean cancelled;
+
+        public double getMessagesPerSecond() {
+            return this.elapsedMs == 0 ? 0 : this.sent.get() * 1000.0 / this.elapsedMs;
+        }
+    }
+
+    private final Options options;
+
+    public BatchMessageSender(@Nonnull Options options) {
+        this.options = options;
+    }
+
+    /**
+     * @param onSent      called with the number of messages sent successfully so far, after every round
+     * @param onError     called with the message of every failed send
+     * @param isCancelled checked before every round
+     */
+    @Nonnull
+    public Result send(@Nonnull ISenderReceiver target, @Nonnull Consumer<Result> onSent, @Nonnull Consumer<String> onError, @Nonnull BooleanSupplier isCancelled) {
+        final Result result = new Result();
+        final int concurrency = Math.max(1, Math.min(this.options.getConcurrency(), this.options.getCount()));
+        final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Azure Batch Message Sender", concurrency);
+        final long start = System.nanoTime();
+        try {
+            for (int next = 0; next < this.options.getCount(); next += concurrency) {
+                if (isCancelled.getAsBoolean()) {
+                    result.cancelled = true;
+                    break;
+                }
+                final List<CompletableFuture<Void>> round = new ArrayList<>();
+                for (int i = next; i < Math.min(next + concurrency, this.options.getCount()); i++) {
+                    final String message = this.getMessage(i);
+                    round.add(CompletableFuture.runAsync(() -> sendOne(target, message, result, onError), executor));
+                }
+                CompletableFuture.allOf(round.toArray(new CompletableFuture[0])).join();
+                onSent.accept(result);
+                this.pace(start, next + round.size());
+            }
+        } finally {
+            executor.shutdownNow();
+            result.elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private static void sendOne(@Nonnull ISenderReceiver target, @Nonnull String message, @Nonnull Result result, @Nonnull Consumer<String> onError) {
+        final ErrorCollector collector = new ErrorCollector();
+        OperationContext.current().setMessager(collector);
+        try {
+            target.sendMessage(message);
+        } catch (final Throwable e) {
+            collector.error = StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName());
+        }
+        if (StringUtils.isEmpty(collector.error)) {
+            result.sent.incrementAndGet();
+        } else {
+            result.failed.incrementAndGet();
+            onError.accept(collector.error);
+        }
+    }
+
+    /**
+     * wait until it's the time of the next message at the target rate
+     */
+    private void pace(long start, int sent) {
+        if (this.options.getRate() <= 0) {
+            return;
+        }
+        final long due = start + TimeUnit.SECONDS.toNanos(sent) / this.options.getRate();
+        final long wait = due - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nonnull
+    String getMessage(int index) {
+        if (Objects.nonNull(this.options.getMessages())) {
+            return this.options.getMessages().apply(index);
+        }
+        final List<String> lines = this.options.getLines();
+        if (CollectionUtils.isNotEmpty(lines)) {
+            return lines.get(index % lines.size());
+        }
+        return StringUtils.defaultString(this.options.getTemplate())
+            .replace(PLACEHOLDER_INDEX, String.valueOf(index))
+            .replace(PLACEHOLDER_UUID, UUID.randomUUID().toString())
+            .replace(PLACEHOLDER_TIMESTAMP, Instant.now().toString());
+    }
+
+    /**
+     * swallows the per message output of the sender, and keeps the error of the send if any
+     */
+    private static class ErrorCollector extends IntellijAzureMessager {
+        private String error;
+
+        @Override
+        public boolean show(IAzureMessage msg) {
+            final IAzureMessage raw = msg.getRawMessage();
+            if (raw.getType() == IAzureMessage.Type.ERROR) {
+                this.error = raw.getMessage().toString();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.common.component;
+
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.openapi.ui.ValidationInfo;
+import com.intellij.ui.JBIntSpinner;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBRadioButton;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.util.ui.FormBuilder;
+import com.intellij.util.ui.JBUI;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Nonnull;
+import javax.swing.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Configure a batch of messages to send by {@link BatchMessageSender}, generated from a template or read from a file,
+ * one message per line.
+ */
+public class BatchSendDialog extends DialogWrapper {
+    private final JBIntSpinner countSpinner = new JBIntSpinner(100, 1, 1_000_000);
+    private final JBIntSpinner rateSpinner = new JBIntSpinner(50, 0, 10_000);
+    private final JBIntSpinner concurrencySpinner = new JBIntSpinner(8, 1, 64);
+    private final JBRadioButton templateButton = new JBRadioButton("Template", true);
+    private final JBRadioButton fileButton = new JBRadioButton("File, one message per line");
+    private final JBTextArea templateArea = new JBTextArea("{\"index\": {{index}}, \"id\": \"{{uuid}}\", \"time\": \"{{timestamp}}\"}", 5, 60);
+    private final TextFieldWithBrowseButton fileField = new TextFieldWithBrowseButton();
+    private final JPanel contentPanel;
+
+    public BatchSendDialog(@Nullable Project project, @Nonnull String entityName) {
+        super(project, false);
+        this.setTitle(String.format("Send Messages in Batch to %s", entityName));
+        this.setOKButtonText("Send");
+        final ButtonGroup group = new ButtonGroup();
+        group.add(this.templateButton);
+        group.add(this.fileButton);
+        this.templateButton.addActionListener(e -> this.refresh());
+        this.fileButton.addActionListener(e -> this.refresh());
+        this.fileField.addBrowseFolderListener("Messages File", null, project, FileChooserDescriptorFactory.createSingleFileNoJarsDescriptor());
+        this.contentPanel = FormBuilder.createFormBuilder()
+            .addLabeledComponent("Messages:", this.countSpinner)
+            .addLabeledComponent("Rate (messages/s, 0 for unlimited):", this.rateSpinner)
+            .addLabeledComponent("Parallel sends:", this.concurrencySpinner)
+            .addComponent(this.templateButton)
+            .addComponent(ScrollPaneFactory.createScrollPane(this.templateArea))
+            .addTooltip(String.format("%s, %s and %s are replaced per message.",
+                BatchMessageSender.PLACEHOLDER_INDEX, BatchMessageSender.PLACEHOLDER_UUID, BatchMessageSender.PLACEHOLDER_TIMESTAMP))
+            .addComponent(this.fileButton)
+            .addComponent(this.fileField)
+            .getPanel();
+        this.contentPanel.setPreferredSize(JBUI.size(560, 320));
+        this.init();
+        this.refresh();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        return this.contentPanel;
+    }
+
+    @Nullable
+    @Override
+    protected ValidationInfo doValidate() {
+        if (this.fileButton.isSelected()) {
+            final String path = this.fileField.getText();
+            if (StringUtils.isBlank(path) || !Files.isRegularFile(Path.of(path))) {
+                return new ValidationInfo("Select an existing file.", this.fileField);
+            }
+        } else if (StringUtils.isBlank(this.templateArea.getText())) {
+            return new ValidationInfo("Message template is required.", this.templateArea);
+        }
+        return null;
+    }
+
+    @Nonnull
+    public BatchMessageSender.Options getOptions() throws IOException {
+        final BatchMessageSender.Options.OptionsBuilder builder = BatchMessageSender.Options.builder()
+            .count(this.countSpinner.getNumber())
+            .rate(this.rateSpinner.getNumber())
+            .concurrency(this.concurrencySpinner.getNumber());
+        if (this.fileButton.isSelected()) {
+            final List<String> lines = Files.readAllLines(Path.of(this.fileField.getText()), StandardCharsets.UTF_8).stream()
+                .filter(StringUtils::isNotBlank).collect(Collectors.toList());
+            if (lines.isEmpty()) {
+                throw new IOException(String.format("no message in file \"%s\"", this.fileField.getText()));
+            }
+            return builder.lines(lines).build();
+        }
+        return builder.template(this.templateArea.getText()).build();
+    }
+
+    private void refresh() {
+        this.templateArea.setEnabled(this.templateButton.isSelected());
+        this.fileField.setEnabled(this.fileButton.isSelected());
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.common.component;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The messages received from an Event Hub/Service Bus entity, captured to an append-only data file, with an index file
+ * of the offsets of the records, so that a capture of any size can be paged and searched without loading it.
+ * <ul>
+ *     <li>a record of the data file is: timestamp (long), type length (short), type, body length (int), body, strings in UTF-8.</li>
+ *     <li>the index file is the offset (long) of every record in the data file, the record count is its size / 8.</li>
+ * </ul>
+ * A record is indexed only after it's written, so a capture interrupted in the middle of a record is still readable.
+ * Only the latest {@link #MAX_CAPTURES} captures of an entity are kept, the older ones are deleted on creating a new one.
+ */
+@Slf4j
+public class MessageCapture implements Closeable {
+    private static final String DATA_SUFFIX = ".data";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int MAX_CAPTURES = 20;
+    // the data files of the captures being written, which are not deleted
+    private static final Set<Path> writing = ConcurrentHashMap.newKeySet();
+
+    @Getter
+    private final Path data;
+    private final Path index;
+    @Nullable
+    private FileChannel dataChannel;
+    @Nullable
+    private FileChannel indexChannel;
+
+    private MessageCapture(@Nonnull Path data) {
+        this.data = data;
+        this.index = data.resolveSibling(StringUtils.removeEnd(data.getFileName().toString(), DATA_SUFFIX) + INDEX_SUFFIX);
+    }
+
+    /**
+     * create a new capture of the entity {@code entityId} to append to, and delete the oldest captures of the entity
+     * beyond {@link #MAX_CAPTURES}
+     */
+    @Nonnull
+    public static MessageCapture create(@Nonnull Path root, @Nonnull String entityId) throws IOException {
+        final Path directory = root.resolve(DigestUtils.sha256Hex(entityId));
+        Files.createDirectories(directory);
+        final MessageCapture capture = new MessageCapture(directory.resolve(System.currentTimeMillis() + DATA_SUFFIX));
+        capture.dataChannel = FileChannel.open(capture.data, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        capture.indexChannel = FileChannel.open(capture.index, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        writing.add(capture.data);
+        list(root, entityId).stream().skip(MAX_CAPTURES).filter(c -> !c.isWriting()).forEach(c -> {
+            try {
+                c.delete();
+            } catch (final IOException e) {
+                log.warn("failed to delete capture {}", c.data, e);
+            }
+        });
+        return capture;
+    }
+
+    /**
+     * @return the captures of the entity {@code entityId} to read, the latest first
+     */
+    @Nonnull
+    public static List<MessageCapture> list(@Nonnull Path root, @Nonnull String entityId) {
+        final File[] files = root.resolve(DigestUtils.sha256Hex(entityId)).toFile().listFiles((dir, name) -> name.endsWith(DATA_SUFFIX));
+        if (Objects.isNull(files)) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(files).sorted(Comparator.comparing(File::getName).reversed())
+            .map(f -> new MessageCapture(f.toPath())).toList();
+    }
+
+    public synchronized void append(long timestamp, @Nonnull String type, @Nonnull String body) throws IOException {
+        if (Objects.isNull(this.dataChannel) || Objects.isNull(this.indexChannel)) {
+            throw new IOException("capture is closed");
+        }
+        final byte[] typeBytes = type.getBytes(StandardCharsets.UTF_8);
+        final byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer record = ByteBuffer.allocate(8 + 2 + typeBytes.length + 4 + bodyBytes.length);
+        record.putLong(timestamp).putShort((short) typeBytes.length).put(typeBytes).putInt(bodyBytes.length).put(bodyBytes).flip();
+        final long offset = this.dataChannel.size();
+        while (record.hasRemaining()) {
+            this.dataChannel.write(record, offset + record.position());
+        }
+        final ByteBuffer entry = ByteBuffer.allocate(8).putLong(offset).flip();
+        while (entry.hasRemaining()) {
+            this.indexChannel.write(entry, this.indexChannel.size());
+        }
+    }
+
+    public boolean isWriting() {
+        return writing.contains(this.data);
+    }
+
+    /**
+     * delete the files of the capture, which must not be being written
+     */
+    public void delete() throws IOException {
+        if (this.isWriting()) {
+            throw new IOException("capture is being written");
+        }
+        Files.deleteIfExists(this.index);
+        Files.deleteIfExists(this.data);
+    }
+
+    public long size() {
+        try {
+            return Files.size(this.index) / 8;
+        } catch (final IOException e) {
+            return 0;
+        }
+    }
+
+    @Nonnull
+    public Instant getCreated() {
+        return Instant.ofEpochMilli(Long.parseLong(StringUtils.removeEnd(this.data.getFileName().toString(), DATA_SUFFIX)));
+    }
+
+    /**
+     * @return the records of index in [{@code from}, {@code from + count})
+     */
+    @Nonnull
+    public List<Record> read(long from, int count) throws IOException {
+        final List<Record> result = new ArrayList<>();
+        final long size = this.size();
+        if (from >= size) {
+            return result;
+        }
+        final ByteBuffer offset = ByteBuffer.allocate(8);
+        try (final FileChannel index = FileChannel.open(this.index, StandardOpenOption.READ)) {
+            while (offset.hasRemaining()) {
+                if (index.read(offset, from * 8 + offset.position()) < 0) {
+                    throw new EOFException("index of record " + from + " is incomplete");
+                }
+            }
+        }
+        // read the records through a buffer rather than a system call per field, the pages are read on EDT
+        try (final FileChannel channel = FileChannel.open(this.data, StandardOpenOption.READ);
+             final DataInputStream data = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(offset.getLong(0)))))) {
+            for (long i = from; i < Math.min(from + count, size); i++) {
+                final Record record = readRecord(data, i);
+                if (Objects.isNull(record)) {
+                    break;
+                }
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return at most {@code limit} records whose body contains {@code query} (case-insensitive), scanning the data file sequentially
+     */
+    @Nonnull
+    public List<Record> search(@Nonnull String query, int limit) throws IOException {
+        final List<Record> result = new ArrayList<>();
+        final long size = this.size();
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.data)))) {
+            for (long i = 0; i < size && result.size() < limit; i++) {
+                final Record record = readRecord(input, i);
+                if (Objects.isNull(record)) {
+                    break;
+                }
+                if (StringUtils.containsIgnoreCase(record.getBody(), query)) {
+                    result.add(record);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Record readRecord(@Nonnull DataInput input, long index) throws IOException {
+        try {
+            final long timestamp = input.readLong();
+            final byte[] type = new byte[input.readUnsignedShort()];
+            input.readFully(type);
+            final byte[] body = new byte[input.readInt()];
+            input.readFully(body);
+            return new Record(index, timestamp, new String(type, StandardCharsets.UTF_8), new String(body, StandardCharsets.UTF_8));
+        } catch (final EOFException e) {
+            // the last record is incomplete, e.g. the IDE is killed while capturing
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (Objects.nonNull(this.dataChannel)) {
+                this.dataChannel.close();
+            }
+            if (Objects.nonNull(this.indexChannel)) {
+                this.indexChannel.close();
+            }
+        } catch (final IOException e) {
+            log.warn("failed to close capture {}", this.data, e);
+        } finally {
+            this.dataChannel = null;
+            this.indexChannel = null;
+            writing.remove(this.data);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d messages)", this.getCreated(), this.size());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Record {
+        private final long index;
+        private final long timestamp;
+        private final String type;
+        private final String body;
+
+        @Override
+        public String toString() {
+            return String.format("#%d %s %s", this.index, Instant.ofEpochMilli(this.timestamp), StringUtils.abbreviate(StringUtils.normalizeSpace(this.body), 200));
+        }
+    }
+}
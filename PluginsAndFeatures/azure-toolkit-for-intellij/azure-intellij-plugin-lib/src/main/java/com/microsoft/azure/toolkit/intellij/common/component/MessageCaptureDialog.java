@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.common.component;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.JBIntSpinner;
+import com.intellij.ui.JBSplitter;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SearchTextField;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBList;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.util.ui.FormBuilder;
+import com.intellij.util.ui.JBUI;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.lib.resource.message.ISenderReceiver;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Nonnull;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Browse and search the {@link MessageCapture}s of an entity, and replay the captured messages to an entity whose
+ * console is open, at a controlled rate.
+ */
+public class MessageCaptureDialog extends DialogWrapper {
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_RESULTS = 10_000;
+
+    private final Project project;
+    private final ComboBox<MessageCapture> captureComboBox;
+    private final SearchTextField searchField = new SearchTextField(false);
+    private final JBList<MessageCapture.Record> recordList = new JBList<>();
+    private final JBTextArea bodyArea = new JBTextArea();
+    private final JBLabel statusLabel = new JBLabel();
+    private final ComboBox<ISenderReceiver> targetComboBox;
+    private final JBIntSpinner rateSpinner = new JBIntSpinner(10, 0, 10_000);
+    private final JPanel contentPanel;
+
+    public MessageCaptureDialog(@Nullable Project project, @Nonnull List<MessageCapture> captures, @Nonnull List<ISenderReceiver> targets) {
+        super(project, false, IdeModalityType.MODELESS);
+        this.project = project;
+        this.setTitle("Captured Messages");
+        this.setOKButtonText("Close");
+        this.captureComboBox = new ComboBox<>(captures.toArray(new MessageCapture[0]));
+        this.captureComboBox.addActionListener(e -> this.showCapture());
+        this.targetComboBox = new ComboBox<>(targets.toArray(new ISenderReceiver[0]));
+        this.targetComboBox.setRenderer(SimpleListCellRenderer.create("", t -> StringUtils.substringAfterLast(t.getId(), "/")));
+        this.searchField.addKeyboardListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    MessageCaptureDialog.this.search();
+                }
+            }
+        });
+        this.recordList.addListSelectionListener(e -> this.bodyArea.setText(
+            Objects.isNull(this.recordList.getSelectedValue()) ? "" : this.recordList.getSelectedValue().getBody()));
+        // a prototype fixes the cell size, so that only the visible records are read from disk
+        this.recordList.setPrototypeCellValue(new MessageCapture.Record(0, 0, "", StringUtils.repeat('x', 120)));
+        this.bodyArea.setEditable(false);
+        final JBSplitter splitter = new JBSplitter(true, 0.6f);
+        splitter.setFirstComponent(ScrollPaneFactory.createScrollPane(this.recordList));
+        splitter.setSecondComponent(ScrollPaneFactory.createScrollPane(this.bodyArea));
+        final JPanel replayPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        replayPanel.add(this.targetComboBox);
+        replayPanel.add(new JBLabel(" at (messages/s, 0 for unlimited) "));
+        replayPanel.add(this.rateSpinner);
+        this.contentPanel = FormBuilder.createFormBuilder()
+            .addLabeledComponent("Capture:", this.captureComboBox)
+            .addLabeledComponent("Search:", this.searchField)
+            .addComponentFillVertically(splitter, 0)
+            .addComponent(this.statusLabel)
+            .addLabeledComponent("Replay to:", replayPanel)
+            .getPanel();
+        this.contentPanel.setPreferredSize(JBUI.size(800, 600));
+        this.init();
+        this.showCapture();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        return this.contentPanel;
+    }
+
+    @Nonnull
+    @Override
+    protected Action[] createActions() {
+        return new Action[]{this.getOKAction()};
+    }
+
+    @Nonnull
+    @Override
+    protected Action[] createLeftSideActions() {
+        return new Action[]{new AbstractAction("Replay") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                MessageCaptureDialog.this.replay();
+            }
+        }, new AbstractAction("Delete") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                MessageCaptureDialog.this.delete();
+            }
+        }};
+    }
+
+    private void showCapture() {
+        final MessageCapture capture = (MessageCapture) this.captureComboBox.getSelectedItem();
+        this.searchField.setText("");
+        if (Objects.isNull(capture)) {
+            this.recordList.setModel(new DefaultListModel<>());
+            this.statusLabel.setText("No captured messages.");
+            return;
+        }
+        this.recordList.setModel(new PagedModel(capture));
+        this.statusLabel.setText(String.format("%d message(s) captured.", capture.size()));
+    }
+
+    private void search() {
+        final MessageCapture capture = (MessageCapture) this.captureComboBox.getSelectedItem();
+        final String query = this.searchField.getText();
+        if (Objects.isNull(capture)) {
+            return;
+        }
+        if (StringUtils.isBlank(query)) {
+            this.showCapture();
+            return;
+        }
+        this.statusLabel.setText("Searching...");
+        AzureTaskManager.getInstance().runOnPooledThread(() -> {
+            try {
+                final List<MessageCapture.Record> records = capture.search(query, MAX_SEARCH_RESULTS);
+                AzureTaskManager.getInstance().runLater(() -> {
+                    final DefaultListModel<MessageCapture.Record> model = new DefaultListModel<>();
+                    model.addAll(records);
+                    this.recordList.setModel(model);
+                    this.statusLabel.setText(String.format("%s%d message(s) found.", records.size() >= MAX_SEARCH_RESULTS ? "First " : "", records.size()));
+                }, AzureTask.Modality.ANY);
+            } catch (final IOException e) {
+                AzureTaskManager.getInstance().runLater(() -> this.statusLabel.setText("Failed to search: " + e.getMessage()), AzureTask.Modality.ANY);
+            }
+        });
+    }
+
+    private void delete() {
+        final MessageCapture capture = (MessageCapture) this.captureComboBox.getSelectedItem();
+        if (Objects.isNull(capture)) {
+            return;
+        }
+        if (capture.isWriting()) {
+            AzureMessager.getMessager().warning("Stop capturing before deleting the capture.");
+            return;
+        }
+        if (!AzureMessager.getMessager().confirm(String.format("Are you sure to delete the capture %s?", capture), "Delete Capture")) {
+            return;
+        }
+        AzureTaskManager.getInstance().runOnPooledThread(() -> {
+            try {
+                capture.delete();
+                AzureTaskManager.getInstance().runLater(() -> this.captureComboBox.removeItem(capture), AzureTask.Modality.ANY);
+            } catch (final IOException e) {
+                AzureMessager.getMessager().error(e, "Failed to delete the capture.");
+            }
+        });
+    }
+
+    /**
+     * replay the selected messages, or all the listed messages if none is selected.
+     */
+    private void replay() {
+        final ISenderReceiver target = (ISenderReceiver) this.targetComboBox.getSelectedItem();
+        final MessageCapture capture = (MessageCapture) this.captureComboBox.getSelectedItem();
+        if (Objects.isNull(target) || Objects.isNull(capture)) {
+            AzureMessager.getMessager().warning("Open the console of the entity to replay to first.");
+            return;
+        }
+        final List<MessageCapture.Record> selected = this.recordList.getSelectedValuesList();
+        final ListModel<MessageCapture.Record> model = this.recordList.getModel();
+        final int rate = this.rateSpinner.getNumber();
+        final AzureString title = AzureString.format("Replaying captured messages to {0}", StringUtils.substringAfterLast(target.getId(), "/"));
+        AzureTaskManager.getInstance().runInBackground(new AzureTask<>(this.project, title, true, () -> {
+            final BatchMessageSender.Options.OptionsBuilder builder = BatchMessageSender.Options.builder().rate(rate);
+            if (selected.isEmpty() && model instanceof PagedModel) {
+                // the whole capture, which may not fit in memory, is streamed to the sender page by page
+                final int count = (int) Math.min(Integer.MAX_VALUE, capture.size());
+                builder.count(count).messages(new CaptureReader(capture));
+            } else {
+                final List<String> bodies = !selected.isEmpty() ? selected.stream().map(MessageCapture.Record::getBody).collect(Collectors.toList()) :
+                    Collections.list(((DefaultListModel<MessageCapture.Record>) model).elements()).stream().map(MessageCapture.Record::getBody).collect(Collectors.toList());
+                builder.count(bodies.size()).lines(bodies);
+            }
+            final BatchMessageSender.Options options = builder.build();
+            if (options.getCount() == 0) {
+                return;
+            }
+            final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+            indicator.setIndeterminate(false);
+            final BatchMessageSender.Result result = new BatchMessageSender(options).send(target,
+                r -> indicator.setFraction(1.0 * (r.getSent().get() + r.getFailed().get()) / options.getCount()),
+                error -> indicator.setText2(error), indicator::isCanceled);
+            AzureMessager.getMessager().info(String.format("%d captured message(s) replayed, %d failed%s.", result.getSent().get(), result.getFailed().get(),
+                result.isCancelled() ? ", cancelled" : ""));
+        }));
+    }
+
+    /**
+     * reads the bodies of a capture in order, holding one page of records at a time
+     */
+    private static class CaptureReader implements IntFunction<String> {
+        private final MessageCapture capture;
+        private long pageStart = -1;
+        private List<MessageCapture.Record> page = Collections.emptyList();
+
+        CaptureReader(@Nonnull MessageCapture capture) {
+            this.capture = capture;
+        }
+
+        @Override
+        @SneakyThrows(IOException.class)
+        public synchronized String apply(int index) {
+            if (index < this.pageStart || index >= this.pageStart + this.page.size()) {
+                this.pageStart = index;
+                this.page = this.capture.read(index, PAGE_SIZE);
+            }
+            final int offset = (int) (index - this.pageStart);
+            return offset < this.page.size() ? this.page.get(offset).getBody() : "";
+        }
+    }
+
+    /**
+     * lists a capture of any size by reading the pages of records from disk as they are shown
+     */
+    private static class PagedModel extends AbstractListModel<MessageCapture.Record> {
+        private final MessageCapture capture;
+        private final int size;
+        private final Map<Long, List<MessageCapture.Record>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<MessageCapture.Record>> eldest) {
+                return this.size() > 16;
+            }
+        };
+
+        PagedModel(@Nonnull MessageCapture capture) {
+            this.capture = capture;
+            this.size = (int) Math.min(Integer.MAX_VALUE, capture.size());
+        }
+
+        @Override
+        public int getSize() {
+            return this.size;
+        }
+
+        @Override
+        public MessageCapture.Record getElementAt(int index) {
+            final long page = index / PAGE_SIZE;
+            final List<MessageCapture.Record> records = this.pages.computeIfAbsent(page, p -> {
+                try {
+                    return this.capture.read(p * PAGE_SIZE, PAGE_SIZE);
+                } catch (final IOException e) {
+                    return Collections.emptyList();
+                }
+            });
+            final int offset = index % PAGE_SIZE;
+            return offset < records.size() ? records.get(offset) : new MessageCapture.Record(index, 0, "", "");
+        }
+    }
+}
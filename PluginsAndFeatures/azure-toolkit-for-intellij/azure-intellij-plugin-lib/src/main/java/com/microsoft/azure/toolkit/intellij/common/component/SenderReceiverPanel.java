@@ -5,19 +5,28 @@ import com.intellij.execution.process.ProcessAdapter;
 import com.intellij.execution.process.ProcessEvent;
 import com.intellij.execution.ui.ConsoleView;
 import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.application.PathManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.fields.ExpandableTextField;
 import com.intellij.uiDesigner.core.GridConstraints;
 import com.intellij.uiDesigner.core.GridLayoutManager;
 import com.microsoft.azure.toolkit.intellij.common.AzureActionButton;
 import com.microsoft.azure.toolkit.intellij.common.RunProcessHandler;
 import com.microsoft.azure.toolkit.intellij.common.messager.IntellijAzureMessager;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessage;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.resource.message.ISenderReceiver;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
@@ -26,25 +35,62 @@ import reactor.core.scheduler.Schedulers;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+@Slf4j
 public class SenderReceiverPanel extends JPanel {
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private static final int STATUS_INTERVAL_MS = 1000;
+    // the received messages echoed to the console per flush while capturing, the rest are only captured
+    private static final int MAX_CAPTURE_ECHO = 100;
+    private static final String CAPTURE_DIR = "azure-message-captures";
+    private static final String CAPTURE_TYPE_RECEIVED = "received";
+    // the entities whose console is open, as the targets to replay captured messages to
+    private static final Map<String, ISenderReceiver> opened = new ConcurrentHashMap<>();
+
     @Getter
     private JPanel contentPanel;
     private AzureActionButton<Void> sendMessageBtn;
+    private JButton batchSendBtn;
+    private JBCheckBox captureCheckBox;
+    private JButton capturesBtn;
+    private JBLabel statusLabel;
     private ExpandableTextField messageInput;
     private JPanel listenPanel;
     private JPanel sendPanel;
+    private final Project project;
     private final ISenderReceiver instance;
     private final ConsoleView consoleView;
+    private final ConsoleBuffer consoleBuffer = new ConsoleBuffer();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private long lastReceived;
+    private long lastSent;
+    private final Timer statusTimer = new Timer(STATUS_INTERVAL_MS, e -> this.updateStatus());
     @Nullable
     private RunProcessHandler listenProcessHandler;
+    @Nullable
+    private volatile MessageCapture capture;
     private AzureEventBus.EventListener listener;
 
     public SenderReceiverPanel(Project project, ISenderReceiver ServiceBusInstance) {
         super();
+        this.project = project;
         this.consoleView = new ConsoleViewImpl(project, true);
         this.instance = ServiceBusInstance;
+        opened.put(this.instance.getId(), this.instance);
         $$$setupUI$$$();
         this.init();
     }
@@ -76,6 +122,9 @@ public class SenderReceiverPanel extends JPanel {
 
     public void dispose() {
         AzureEventBus.off("resource.status_changed.resource", listener);
+        this.statusTimer.stop();
+        this.stopCapture();
+        opened.remove(this.instance.getId(), this.instance);
     }
 
     private void init() {
@@ -86,7 +135,9 @@ public class SenderReceiverPanel extends JPanel {
                 new GridConstraints(0, 0, 1, 1, 0, GridConstraints.ALIGN_FILL,
                         3, 3, null, null, null, 0));
         this.sendMessageBtn.setEnabled(instance.isSendEnabled());
+        this.batchSendBtn.setEnabled(instance.isSendEnabled());
         this.initListeners();
+        this.statusTimer.start();
     }
 
     private void initListeners() {
@@ -95,9 +146,19 @@ public class SenderReceiverPanel extends JPanel {
             final Object source = azureEvent.getSource();
             if (source instanceof ISenderReceiver && ((ISenderReceiver) source).getId().equals(this.instance.getId())) {
                 this.sendMessageBtn.setEnabled(instance.isSendEnabled());
+                this.batchSendBtn.setEnabled(instance.isSendEnabled());
             }
         });
         this.sendMessageBtn.addActionListener(e -> sendMessage());
+        this.batchSendBtn.addActionListener(e -> sendBatch());
+        this.captureCheckBox.addActionListener(e -> {
+            if (this.captureCheckBox.isSelected()) {
+                this.startCapture();
+            } else {
+                this.stopCapture();
+            }
+        });
+        this.capturesBtn.addActionListener(e -> showCaptures());
         this.messageInput.addActionListener(e -> sendMessage());
         AzureEventBus.on("resource.status_changed.resource", listener);
     }
@@ -106,17 +167,111 @@ public class SenderReceiverPanel extends JPanel {
         final String message = messageInput.getText();
         messageInput.setText(StringUtils.EMPTY);
         AzureTaskManager.getInstance().runInBackground("send message",() -> {
-            OperationContext.current().setMessager(new ConsoleMessager(consoleView));
-            instance.sendMessage(message);
+            final ConsoleMessager messager = new ConsoleMessager(consoleBuffer, false);
+            OperationContext.current().setMessager(messager);
+            try {
+                instance.sendMessage(message);
+            } catch (final RuntimeException e) {
+                this.failed.incrementAndGet();
+                throw e;
+            }
+            // the sender reports a failed send as an error message rather than throwing
+            (messager.hasError() ? this.failed : this.sent).incrementAndGet();
         });
     }
 
+    private void sendBatch() {
+        final String name = StringUtils.substringAfterLast(this.instance.getId(), "/");
+        final BatchSendDialog dialog = new BatchSendDialog(this.project, name);
+        if (!dialog.showAndGet()) {
+            return;
+        }
+        final BatchMessageSender.Options options;
+        try {
+            options = dialog.getOptions();
+        } catch (final IOException e) {
+            AzureMessager.getMessager().error(e);
+            return;
+        }
+        final AzureString title = AzureString.format("Sending {0} messages to {1}", options.getCount(), name);
+        AzureTaskManager.getInstance().runInBackground(new AzureTask<>(this.project, title, true, () -> {
+            final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+            indicator.setIndeterminate(false);
+            final AtomicLong reported = new AtomicLong();
+            final AtomicLong counted = new AtomicLong();
+            final BatchMessageSender.Result result = new BatchMessageSender(options).send(this.instance, r -> {
+                this.sent.addAndGet(r.getSent().get() - counted.getAndSet(r.getSent().get()));
+                indicator.setFraction(1.0 * (r.getSent().get() + r.getFailed().get()) / options.getCount());
+                indicator.setText2(String.format("%d sent, %d failed", r.getSent().get(), r.getFailed().get()));
+            }, error -> {
+                this.failed.incrementAndGet();
+                if (reported.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+                    this.consoleBuffer.print(StringUtils.appendIfMissing(error, StringUtils.LF), ConsoleViewContentType.ERROR_OUTPUT);
+                }
+            }, indicator::isCanceled);
+            this.consoleBuffer.print(String.format("%d message(s) sent in %.1fs (%.0f/s), %d failed%s.\n", result.getSent().get(), result.getElapsedMs() / 1000.0,
+                result.getMessagesPerSecond(), result.getFailed().get(), result.isCancelled() ? ", cancelled" : ""), ConsoleViewContentType.SYSTEM_OUTPUT);
+        }));
+    }
+
+    private void startCapture() {
+        try {
+            final MessageCapture created = MessageCapture.create(getCaptureRoot(), this.instance.getId());
+            this.capture = created;
+            this.consoleBuffer.print(String.format("Capturing received messages to %s\n", created.getData()), ConsoleViewContentType.SYSTEM_OUTPUT);
+        } catch (final IOException e) {
+            this.captureCheckBox.setSelected(false);
+            AzureMessager.getMessager().error(e);
+        }
+    }
+
+    private void stopCapture() {
+        final MessageCapture current = this.capture;
+        this.capture = null;
+        Optional.ofNullable(current).ifPresent(MessageCapture::close);
+    }
+
+    private void capture(@Nonnull String payload) {
+        final MessageCapture current = this.capture;
+        if (Objects.isNull(current)) {
+            return;
+        }
+        try {
+            current.append(System.currentTimeMillis(), CAPTURE_TYPE_RECEIVED, payload);
+        } catch (final IOException e) {
+            // e.g. the capture is stopped meanwhile
+            log.warn("failed to capture message", e);
+        }
+    }
+
+    private void showCaptures() {
+        final List<ISenderReceiver> targets = new ArrayList<>(opened.values());
+        new MessageCaptureDialog(this.project, MessageCapture.list(getCaptureRoot(), this.instance.getId()), targets).show();
+    }
+
+    private static Path getCaptureRoot() {
+        return Path.of(PathManager.getSystemPath(), CAPTURE_DIR);
+    }
+
     private void execute() {
-        final ConsoleMessager messager = new ConsoleMessager(consoleView);
+        final ConsoleMessager messager = new ConsoleMessager(consoleBuffer, true);
         OperationContext.current().setMessager(messager);
         instance.startReceivingMessage();
     }
 
+    private void updateStatus() {
+        final long received = this.received.get();
+        final long sent = this.sent.get();
+        final double seconds = STATUS_INTERVAL_MS / 1000.0;
+        final String receiving = received == 0 ? "" : String.format("Received: %d (%.0f/s), console lag: %d ms", received,
+            (received - this.lastReceived) / seconds, this.consoleBuffer.lagMs);
+        final String sending = sent == 0 && this.failed.get() == 0 ? "" : String.format("Sent: %d (%.0f/s), failed: %d", sent,
+            (sent - this.lastSent) / seconds, this.failed.get());
+        this.lastReceived = received;
+        this.lastSent = sent;
+        this.statusLabel.setText(StringUtils.isAnyEmpty(receiving, sending) ? receiving + sending : receiving + "    " + sending);
+    }
+
     private void $$$setupUI$$$() {
     }
 
@@ -125,33 +280,124 @@ public class SenderReceiverPanel extends JPanel {
         this.listenPanel = new JPanel(layout);
     }
 
-    private static class ConsoleMessager extends IntellijAzureMessager {
-        private final ConsoleView view;
+    /**
+     * Collect the output printed from the receiving/sending threads, and print it to the console once per UI event, so
+     * that a busy entity costs one console update per frame rather than one per message.
+     */
+    private class ConsoleBuffer {
+        private final Queue<Chunk> chunks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushing = new AtomicBoolean();
+        // how long the oldest chunk of the last flush waited to be printed
+        private volatile long lagMs;
+
+        void print(@Nonnull String text, @Nonnull ConsoleViewContentType type) {
+            this.print(text, type, false);
+        }
+
+        /**
+         * @param bounded at most {@link #MAX_CAPTURE_ECHO} bounded chunks are printed per flush, the rest are skipped
+         */
+        void print(@Nonnull String text, @Nonnull ConsoleViewContentType type, boolean bounded) {
+            this.chunks.add(new Chunk(text, type, System.currentTimeMillis(), bounded));
+            if (this.flushing.compareAndSet(false, true)) {
+                AzureTaskManager.getInstance().runLater(this::flush, AzureTask.Modality.ANY);
+            }
+        }
+
+        private void flush() {
+            this.flushing.set(false);
+            final StringBuilder text = new StringBuilder();
+            ConsoleViewContentType type = null;
+            long oldest = -1;
+            int echoed = 0;
+            int skipped = 0;
+            Chunk chunk;
+            while ((chunk = this.chunks.poll()) != null) {
+                oldest = oldest < 0 ? chunk.time : oldest;
+                if (chunk.bounded && ++echoed > MAX_CAPTURE_ECHO) {
+                    skipped++;
+                    continue;
+                }
+                if (type != null && type != chunk.type) {
+                    consoleView.print(text.toString(), type);
+                    text.setLength(0);
+                }
+                type = chunk.type;
+                text.append(chunk.text);
+            }
+            if (type != null) {
+                consoleView.print(text.toString(), type);
+                this.lagMs = System.currentTimeMillis() - oldest;
+            }
+            if (skipped > 0) {
+                consoleView.print(String.format("... %d more message(s) captured but not shown\n", skipped), ConsoleViewContentType.SYSTEM_OUTPUT);
+            }
+        }
+    }
+
+    private record Chunk(String text, ConsoleViewContentType type, long time, boolean bounded) {
+    }
+
+    private class ConsoleMessager extends IntellijAzureMessager {
+        private final ConsoleBuffer buffer;
+        // the messages received are counted, captured if capturing
+        private final boolean receiving;
+        private volatile boolean error;
 
-        public ConsoleMessager(ConsoleView view) {
+        public ConsoleMessager(ConsoleBuffer buffer, boolean receiving) {
             super();
-            this.view = view;
+            this.buffer = buffer;
+            this.receiving = receiving;
         }
 
         @Override
         public boolean show(IAzureMessage msg) {
             final IAzureMessage raw = msg.getRawMessage();
             if (raw.getType() == IAzureMessage.Type.INFO) {
-                view.print(raw.getMessage().toString(), ConsoleViewContentType.SYSTEM_OUTPUT);
+                this.print(raw.getMessage().toString(), ConsoleViewContentType.SYSTEM_OUTPUT);
                 return true;
             } else if (raw.getType() == IAzureMessage.Type.SUCCESS) {
-                view.print(raw.getMessage().toString(), ConsoleViewContentType.USER_INPUT);
+                // the body of a received message is shown as a success message, the status lines are info/debug
+                if (this.receiving) {
+                    this.printReceived(raw.getMessage().toString());
+                } else {
+                    this.print(raw.getMessage().toString(), ConsoleViewContentType.USER_INPUT);
+                }
                 return true;
             } else if (raw.getType() == IAzureMessage.Type.DEBUG) {
-                view.print(raw.getMessage().toString(), ConsoleViewContentType.LOG_DEBUG_OUTPUT);
+                this.print(raw.getMessage().toString(), ConsoleViewContentType.LOG_DEBUG_OUTPUT);
                 return true;
             } else if (raw.getType() == IAzureMessage.Type.WARNING) {
-                view.print(raw.getMessage().toString(), ConsoleViewContentType.LOG_WARNING_OUTPUT);
+                buffer.print(raw.getMessage().toString(), ConsoleViewContentType.LOG_WARNING_OUTPUT);
             } else if (raw.getType() == IAzureMessage.Type.ERROR) {
-                view.print(StringUtils.appendIfMissing(raw.getMessage().toString(), StringUtils.LF), ConsoleViewContentType.ERROR_OUTPUT);
+                this.error = true;
+                buffer.print(StringUtils.appendIfMissing(raw.getMessage().toString(), StringUtils.LF), ConsoleViewContentType.ERROR_OUTPUT);
             }
             return super.show(msg);
         }
 
+        private void print(@Nonnull String text, @Nonnull ConsoleViewContentType type) {
+            this.buffer.print(text, type);
+        }
+
+        private void printReceived(@Nonnull String text) {
+            received.incrementAndGet();
+            final boolean capturing = Objects.nonNull(capture);
+            SenderReceiverPanel.this.capture(getPayload(text));
+            this.buffer.print(text, ConsoleViewContentType.USER_INPUT, capturing);
+        }
+
+        boolean hasError() {
+            return this.error;
+        }
+    }
+
+    /**
+     * @return the original body of a received message, without the quotes and line break added for the console
+     */
+    @Nonnull
+    static String getPayload(@Nonnull String text) {
+        final String line = StringUtils.removeEnd(StringUtils.removeEnd(text, StringUtils.LF), StringUtils.CR);
+        return line.length() >= 2 && line.startsWith("\"") && line.endsWith("\"") ? line.substring(1, line.length() - 1) : line;
     }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.common.startup;
+
+import com.intellij.ide.IdeEventQueue;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Run the deferred work of the startup activities of the toolkit, instead of every activity scheduling its own work
+ * with its own delay:
+ * <ul>
+ *     <li>tasks run by priority, at most {@link #MAX_CONCURRENCY} at a time, on pooled threads.</li>
+ *     <li>{@link Priority#NORMAL} and {@link Priority#LOW} tasks wait for the project to be out of dumb mode, and
+ *     {@link Priority#LOW} tasks wait for the IDE to be idle too, but no longer than {@link #MAX_DEFER_MS}.</li>
+ *     <li>the wait, wall and CPU time of every task is recorded, and logged, to find the tasks slowing down project
+ *     open. Only the synchronous part of a task is measured, not the work it dispatches to other threads.</li>
+ * </ul>
+ */
+@Slf4j
+public class StartupScheduler implements Disposable {
+    private static final int MAX_CONCURRENCY = 2;
+    private static final long TICK_MS = 500;
+    private static final long IDLE_MS = 2000;
+    private static final long MAX_DEFER_MS = TimeUnit.MINUTES.toMillis(2);
+    private static final int MAX_RECORDS = 200;
+
+    public enum Priority {
+        /**
+         * run as soon as possible, e.g. work the user is waiting for.
+         */
+        HIGH,
+        /**
+         * run once the project is out of dumb mode.
+         */
+        NORMAL,
+        /**
+         * run once the project is out of dumb mode and the IDE is idle, e.g. telemetry and promotions.
+         */
+        LOW
+    }
+
+    private final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Azure Startup Tasks", MAX_CONCURRENCY);
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Task> pending = new ArrayList<>();
+    private final ConcurrentLinkedQueue<TaskRecord> records = new ConcurrentLinkedQueue<>();
+    private int running;
+    private ScheduledFuture<?> ticker;
+
+    public static StartupScheduler getInstance() {
+        return ApplicationManager.getApplication().getService(StartupScheduler.class);
+    }
+
+    public void schedule(@Nonnull Project project, @Nonnull String name, @Nonnull Priority priority, @Nonnull Runnable runnable) {
+        this.schedule(project, name, priority, Duration.ZERO, runnable);
+    }
+
+    /**
+     * @param delay the minimum delay before running the task, e.g. not to compete with the project opening
+     */
+    public synchronized void schedule(@Nonnull Project project, @Nonnull String name, @Nonnull Priority priority, @Nonnull Duration delay, @Nonnull Runnable runnable) {
+        final long now = System.currentTimeMillis();
+        this.pending.add(new Task(project, name, priority, runnable, now, now + delay.toMillis(), this.sequence.incrementAndGet()));
+        if (Objects.isNull(this.ticker)) {
+            this.ticker = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(this::tick, 0, TICK_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return the records of the latest tasks run, the slowest first
+     */
+    @Nonnull
+    public List<TaskRecord> getRecords() {
+        return this.records.stream().sorted(Comparator.comparingLong(TaskRecord::getWallMs).reversed()).collect(Collectors.toList());
+    }
+
+    private synchronized void tick() {
+        this.pending.removeIf(t -> t.project.isDisposed());
+        if (this.pending.isEmpty()) {
+            Objects.requireNonNull(this.ticker).cancel(false);
+            this.ticker = null;
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final long idle = IdeEventQueue.getInstance().getIdleTime();
+        this.pending.sort(Comparator.comparing((Task t) -> t.priority).thenComparingLong(t -> t.sequence));
+        for (final Task task : new ArrayList<>(this.pending)) {
+            if (this.running >= MAX_CONCURRENCY) {
+                return;
+            }
+            if (task.isReady(now, idle)) {
+                this.pending.remove(task);
+                this.running++;
+                this.executor.execute(() -> this.run(task));
+            }
+        }
+    }
+
+    private void run(@Nonnull Task task) {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final boolean cpuSupported = threads.isCurrentThreadCpuTimeSupported();
+        final long cpuStart = cpuSupported ? threads.getCurrentThreadCpuTime() : 0;
+        final long start = System.currentTimeMillis();
+        boolean failed = false;
+        try {
+            if (!task.project.isDisposed()) {
+                task.runnable.run();
+            }
+        } catch (final Throwable e) {
+            failed = true;
+            log.warn("startup task {} failed", task.name, e);
+        } finally {
+            final long end = System.currentTimeMillis();
+            final long cpu = cpuSupported ? TimeUnit.NANOSECONDS.toMillis(threads.getCurrentThreadCpuTime() - cpuStart) : -1;
+            final TaskRecord record = new TaskRecord(task.name, task.project.getName(), task.priority, start - task.scheduledAt, end - start, cpu, failed);
+            this.records.add(record);
+            while (this.records.size() > MAX_RECORDS) {
+                this.records.poll();
+            }
+            log.info("startup {}", record);
+            synchronized (this) {
+                this.running--;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        this.pending.clear();
+        if (Objects.nonNull(this.ticker)) {
+            this.ticker.cancel(false);
+            this.ticker = null;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Task {
+        private final Project project;
+        private final String name;
+        private final Priority priority;
+        private final Runnable runnable;
+        private final long scheduledAt;
+        private final long notBefore;
+        private final long sequence;
+
+        boolean isReady(long now, long idle) {
+            if (now < this.notBefore) {
+                return false;
+            }
+            if (this.priority == Priority.HIGH || now - this.notBefore > MAX_DEFER_MS) {
+                return true;
+            }
+            return !DumbService.isDumb(this.project) && (this.priority != Priority.LOW || idle >= IDLE_MS);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class TaskRecord {
+        private final String name;
+        private final String project;
+        private final Priority priority;
+        /**
+         * milliseconds from scheduling to running the task, including the delay
+         */
+        private final long waitMs;
+        private final long wallMs;
+        /**
+         * CPU time of the task, -1 if not supported by the JVM
+         */
+        private final long cpuMs;
+        private final boolean failed;
+
+        @Override
+        public String toString() {
+            return String.format("task %s (%s) of project %s: waited %dms, wall %dms, cpu %dms%s", this.name, this.priority, this.project,
+                this.waitMs, this.wallMs, this.cpuMs, this.failed ? ", failed" : "");
+        }
+    }
+}
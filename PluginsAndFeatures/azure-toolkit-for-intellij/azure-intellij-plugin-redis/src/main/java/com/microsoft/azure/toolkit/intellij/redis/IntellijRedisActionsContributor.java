@@ -13,10 +13,12 @@ import com.microsoft.azure.toolkit.ide.redis.RedisActionsContributor;
 import com.microsoft.azure.toolkit.intellij.common.IntelliJAzureIcons;
 import com.microsoft.azure.toolkit.intellij.common.properties.AzureResourceEditorViewManager;
 import com.microsoft.azure.toolkit.intellij.common.properties.AzureResourceEditorViewManager.AzureResourceFileType;
+import com.microsoft.azure.toolkit.intellij.redis.analysis.RedisKeyspaceAnalysisDialog;
 import com.microsoft.azure.toolkit.intellij.redis.creation.CreateRedisCacheAction;
 import com.microsoft.azure.toolkit.intellij.redis.explorer.RedisCacheExplorerProvider;
 import com.microsoft.azure.toolkit.lib.common.action.AzureActionManager;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.resource.ResourceGroup;
 import com.microsoft.azure.toolkit.redis.AzureRedis;
 import com.microsoft.azure.toolkit.redis.RedisCache;
@@ -40,6 +42,8 @@ public class IntellijRedisActionsContributor implements IActionsContributor {
         final AzureResourceEditorViewManager manager = new AzureResourceEditorViewManager((resource) -> type);
         am.<AzResource, AnActionEvent>registerHandler(RedisActionsContributor.OPEN_EXPLORER, (r, e) -> r instanceof RedisCache,
             (r, e) -> manager.showEditor(r, Objects.requireNonNull(e.getProject())));
+        am.<RedisCache, AnActionEvent>registerHandler(RedisActionsContributor.ANALYZE_KEYSPACE, (r, e) -> true,
+            (r, e) -> AzureTaskManager.getInstance().runLater(() -> new RedisKeyspaceAnalysisDialog(e.getProject(), r).show()));
 
         final BiConsumer<ResourceGroup, AnActionEvent> groupCreateServerHandler = (r, e) -> {
             final RedisConfig config = new RedisConfig();
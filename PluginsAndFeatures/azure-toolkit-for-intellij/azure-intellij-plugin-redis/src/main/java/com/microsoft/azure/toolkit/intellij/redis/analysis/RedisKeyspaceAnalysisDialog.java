@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.redis.analysis;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.JBIntSpinner;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBTabbedPane;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.ui.table.JBTable;
+import com.intellij.ui.treeStructure.Tree;
+import com.intellij.util.ui.FormBuilder;
+import com.intellij.util.ui.JBUI;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.redis.RedisCache;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Nonnull;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Show the memory consumption of the keys in a Redis cache by prefix, see {@link RedisKeyspaceAnalyzer}.
+ */
+public class RedisKeyspaceAnalysisDialog extends DialogWrapper {
+    private static final String[] PREFIX_COLUMNS = new String[]{"Prefix", "Keys", "Estimated Memory", "Share"};
+    private static final String[] KEY_COLUMNS = new String[]{"Key", "Memory", "Frequency"};
+
+    private final RedisCache redis;
+    private final JBIntSpinner dbSpinner = new JBIntSpinner(0, 0, 63);
+    private final JBTextField patternField = new JBTextField("*");
+    private final JBTextField delimiterField = new JBTextField(":");
+    private final JBIntSpinner samplePercentSpinner = new JBIntSpinner(10, 1, 100);
+    private final JBIntSpinner topNSpinner = new JBIntSpinner(20, 1, 1000);
+    private final JBLabel statusLabel = new JBLabel(" ");
+    private final Tree prefixTree = new Tree(new DefaultTreeModel(new DefaultMutableTreeNode()));
+    private final JBTable prefixTable = new JBTable();
+    private final JBTable keyTable = new JBTable();
+    private final JBTable hotKeyTable = new JBTable();
+    private final JPanel contentPanel;
+
+    @Nullable
+    private AtomicBoolean running;
+
+    public RedisKeyspaceAnalysisDialog(@Nullable Project project, @Nonnull RedisCache redis) {
+        super(project, false);
+        this.redis = redis;
+        this.setModal(false);
+        this.setTitle(String.format("Analyze Keyspace of %s", redis.getName()));
+        this.setOKButtonText("Analyze");
+        this.setCancelButtonText("Close");
+
+        this.prefixTree.setRootVisible(false);
+        this.prefixTree.setCellRenderer(new PrefixNodeRenderer());
+        final JBTabbedPane tabs = new JBTabbedPane();
+        tabs.addTab("Prefix Tree", ScrollPaneFactory.createScrollPane(this.prefixTree));
+        tabs.addTab("Top Prefixes", ScrollPaneFactory.createScrollPane(this.prefixTable));
+        tabs.addTab("Biggest Keys", ScrollPaneFactory.createScrollPane(this.keyTable));
+        tabs.addTab("Hot Keys", ScrollPaneFactory.createScrollPane(this.hotKeyTable));
+
+        this.contentPanel = FormBuilder.createFormBuilder()
+            .addLabeledComponent("Database:", this.dbSpinner)
+            .addLabeledComponent("Key pattern:", this.patternField)
+            .addLabeledComponent("Prefix delimiter:", this.delimiterField)
+            .addLabeledComponent("Sample keys (%):", this.samplePercentSpinner)
+            .addLabeledComponent("Top N:", this.topNSpinner)
+            .addComponent(this.statusLabel)
+            .addComponentFillVertically(tabs, 0)
+            .getPanel();
+        this.contentPanel.setPreferredSize(JBUI.size(800, 600));
+        this.init();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        return this.contentPanel;
+    }
+
+    @Override
+    protected void doOKAction() {
+        // keep the dialog open to show the report
+        if (this.running != null) {
+            this.running.set(false);
+            return;
+        }
+        final RedisKeyspaceAnalyzer.Options options = RedisKeyspaceAnalyzer.Options.builder()
+            .pattern(StringUtil.defaultIfEmpty(this.patternField.getText(), "*"))
+            .delimiter(this.delimiterField.getText())
+            .sampleRatio(this.samplePercentSpinner.getNumber() / 100.0)
+            .topN(this.topNSpinner.getNumber())
+            .build();
+        final int db = this.dbSpinner.getNumber();
+        final RedisKeyspaceAnalyzer analyzer = new RedisKeyspaceAnalyzer(() -> this.redis.getJedisPool().getResource(), options);
+        final AtomicBoolean current = new AtomicBoolean(true);
+        this.running = current;
+        this.setOKButtonText("Stop");
+        this.statusLabel.setText("Analyzing...");
+
+        final AzureTaskManager manager = AzureTaskManager.getInstance();
+        manager.runOnPooledThread(() -> {
+            try {
+                final RedisKeyspaceAnalyzer.Report report = analyzer.analyze(db,
+                    (scanned, sampled) -> manager.runLater(() -> this.showProgress(current, scanned, sampled)),
+                    () -> !current.get());
+                manager.runLater(() -> this.showReport(current, report));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                manager.runLater(() -> this.onAnalyzed(current, "Analysis is interrupted."));
+            } catch (final Exception e) {
+                manager.runLater(() -> this.onAnalyzed(current, "Failed to analyze the keyspace."));
+                AzureMessager.getMessager().error(e, "Failed to analyze the keyspace of Redis cache.");
+            }
+        });
+    }
+
+    @Override
+    protected void dispose() {
+        if (this.running != null) {
+            this.running.set(false);
+        }
+        super.dispose();
+    }
+
+    private void showProgress(@Nonnull AtomicBoolean current, long scanned, long sampled) {
+        if (this.running == current && current.get()) {
+            this.statusLabel.setText(String.format("Analyzing... scanned %,d keys, sampled %,d keys", scanned, sampled));
+        }
+    }
+
+    private void showReport(@Nonnull AtomicBoolean current, @Nonnull RedisKeyspaceAnalyzer.Report report) {
+        final String status = String.format("%s %,d keys, sampled %,d keys, estimated memory %s.%s%s",
+            report.isCompleted() ? "Scanned" : "Stopped after scanning", report.getScannedKeys(), report.getSampledKeys(),
+            StringUtil.formatFileSize(report.getRoot().getEstimatedMemory()),
+            report.isMemoryAvailable() ? "" : " MEMORY USAGE is unavailable on the server.",
+            report.isFrequencyAvailable() ? "" : " Access frequency requires an LFU maxmemory policy.");
+        if (!this.onAnalyzed(current, status)) {
+            return;
+        }
+        final long total = Math.max(1, report.getRoot().getEstimatedMemory());
+
+        final DefaultMutableTreeNode root = new DefaultMutableTreeNode(report.getRoot());
+        addChildren(root, report.getRoot());
+        this.prefixTree.setModel(new DefaultTreeModel(root));
+
+        final DefaultTableModel prefixes = new ReadOnlyTableModel(PREFIX_COLUMNS);
+        report.getTopPrefixes().forEach(p -> prefixes.addRow(new Object[]{p.getPrefix(), p.getKeys(),
+            StringUtil.formatFileSize(p.getEstimatedMemory()), String.format("%.1f%%", 100.0 * p.getEstimatedMemory() / total)}));
+        this.prefixTable.setModel(prefixes);
+
+        this.keyTable.setModel(toKeyTableModel(report.getTopKeysByMemory()));
+        this.hotKeyTable.setModel(toKeyTableModel(report.getHotKeys()));
+    }
+
+    private boolean onAnalyzed(@Nonnull AtomicBoolean current, @Nonnull String status) {
+        if (this.running != current) {
+            return false;
+        }
+        this.running = null;
+        this.setOKButtonText("Analyze");
+        this.statusLabel.setText(status);
+        return true;
+    }
+
+    private static void addChildren(@Nonnull DefaultMutableTreeNode parent, @Nonnull RedisKeyspaceAnalyzer.PrefixNode node) {
+        node.getChildNodes().stream()
+            .sorted(Comparator.comparingLong(RedisKeyspaceAnalyzer.PrefixNode::getEstimatedMemory).reversed())
+            .forEach(child -> {
+                final DefaultMutableTreeNode treeNode = new DefaultMutableTreeNode(child);
+                addChildren(treeNode, child);
+                parent.add(treeNode);
+            });
+    }
+
+    private static DefaultTableModel toKeyTableModel(@Nonnull List<RedisKeyspaceAnalyzer.KeyStat> keys) {
+        final DefaultTableModel model = new ReadOnlyTableModel(KEY_COLUMNS);
+        keys.forEach(k -> model.addRow(new Object[]{k.getKey(), k.getMemory() < 0 ? "" : StringUtil.formatFileSize(k.getMemory()),
+            k.getFrequency() < 0 ? "" : String.valueOf(k.getFrequency())}));
+        return model;
+    }
+
+    private static class ReadOnlyTableModel extends DefaultTableModel {
+        ReadOnlyTableModel(String[] columnNames) {
+            super(columnNames, 0);
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    }
+
+    private static class PrefixNodeRenderer extends ColoredTreeCellRenderer {
+        @Override
+        public void customizeCellRenderer(@Nonnull JTree tree, Object value, boolean selected, boolean expanded, boolean leaf, int row, boolean hasFocus) {
+            final Object node = ((DefaultMutableTreeNode) value).getUserObject();
+            if (node instanceof RedisKeyspaceAnalyzer.PrefixNode) {
+                final RedisKeyspaceAnalyzer.PrefixNode prefix = (RedisKeyspaceAnalyzer.PrefixNode) node;
+                append(prefix.getPrefix());
+                append(String.format("  %s · %,d keys", StringUtil.formatFileSize(prefix.getEstimatedMemory()), prefix.getKeys()),
+                    SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+        }
+    }
+}
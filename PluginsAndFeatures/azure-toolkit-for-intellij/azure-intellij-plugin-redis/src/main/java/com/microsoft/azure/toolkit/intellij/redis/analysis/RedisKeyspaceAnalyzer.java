@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.redis.analysis;
+
+import lombok.Builder;
+import lombok.Getter;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
+
+/**
+ * Analyze the memory consumption of a Redis database by key prefix. The keyspace is walked by {@code SCAN}, so all
+ * keys are counted by prefix, while the memory usage and the access frequency are only measured for the sampled
+ * keys, with pipelined {@code MEMORY USAGE} and {@code OBJECT FREQ}. The commands sent are rate limited, keep the
+ * analysis from competing with the workload of the server.
+ */
+public class RedisKeyspaceAnalyzer {
+    public static final String OTHERS_SEGMENT = "*";
+
+    @Getter
+    @Builder
+    public static class Options {
+        @Builder.Default
+        private final String pattern = "*";
+        @Builder.Default
+        private final String delimiter = ":";
+        @Builder.Default
+        private final double sampleRatio = 0.1;
+        @Builder.Default
+        private final int topN = 20;
+        @Builder.Default
+        private final int scanCount = 500;
+        @Builder.Default
+        private final int maxCommandsPerSecond = 2000;
+        // the prefix tree is cut at this depth, and the children over the limit are merged into OTHERS_SEGMENT
+        @Builder.Default
+        private final int maxDepth = 4;
+        @Builder.Default
+        private final int maxChildren = 500;
+    }
+
+    @Getter
+    public static class PrefixNode {
+        private final String segment;
+        private final String prefix;
+        private final Map<String, PrefixNode> children = new TreeMap<>();
+        private long keys;
+        private long sampledKeys;
+        private long sampledMemory;
+
+        PrefixNode(@Nonnull String segment, @Nonnull String prefix) {
+            this.segment = segment;
+            this.prefix = prefix;
+        }
+
+        /**
+         * @return the memory usage of all keys under the prefix, estimated by the sampled keys
+         */
+        public long getEstimatedMemory() {
+            return this.sampledKeys == 0 ? 0 : (long) ((double) this.sampledMemory / this.sampledKeys * this.keys);
+        }
+
+        public Collection<PrefixNode> getChildNodes() {
+            return this.children.values();
+        }
+    }
+
+    @Getter
+    public static class KeyStat {
+        private final String key;
+        /**
+         * the memory usage in bytes, -1 if unavailable
+         */
+        private final long memory;
+        /**
+         * the logarithmic access frequency counter, -1 if unavailable
+         */
+        private final long frequency;
+
+        KeyStat(@Nonnull String key, long memory, long frequency) {
+            this.key = key;
+            this.memory = memory;
+            this.frequency = frequency;
+        }
+    }
+
+    public interface ProgressListener {
+        void onProgress(long scannedKeys, long sampledKeys);
+    }
+
+    @Getter
+    public static class Report {
+        private final PrefixNode root;
+        private final long scannedKeys;
+        private final long sampledKeys;
+        private final boolean completed;
+        private final boolean memoryAvailable;
+        private final boolean frequencyAvailable;
+        private final List<PrefixNode> topPrefixes;
+        private final List<KeyStat> topKeysByMemory;
+        private final List<KeyStat> hotKeys;
+
+        Report(@Nonnull RedisKeyspaceAnalyzer analyzer, boolean completed) {
+            this.root = analyzer.root;
+            this.scannedKeys = analyzer.root.keys;
+            this.sampledKeys = analyzer.sampledKeys;
+            this.completed = completed;
+            this.memoryAvailable = analyzer.memorySupported;
+            this.frequencyAvailable = analyzer.frequencySupported;
+            this.topPrefixes = analyzer.getTopPrefixes();
+            this.topKeysByMemory = sortDescending(analyzer.biggestKeys, KeyStat::getMemory);
+            this.hotKeys = sortDescending(analyzer.hottestKeys, KeyStat::getFrequency);
+        }
+    }
+
+    private final Supplier<Jedis> connection;
+    private final Options options;
+    private final PrefixNode root = new PrefixNode("", "");
+    private final PriorityQueue<KeyStat> biggestKeys;
+    private final PriorityQueue<KeyStat> hottestKeys;
+    private long sampledKeys;
+    private boolean memorySupported = true;
+    private boolean frequencySupported = true;
+
+    public RedisKeyspaceAnalyzer(@Nonnull Supplier<Jedis> connection, @Nonnull Options options) {
+        this.connection = connection;
+        this.options = options;
+        this.biggestKeys = new PriorityQueue<>(Comparator.comparingLong(KeyStat::getMemory));
+        this.hottestKeys = new PriorityQueue<>(Comparator.comparingLong(KeyStat::getFrequency));
+    }
+
+    /**
+     * Walk the keyspace of the database in the current thread.
+     *
+     * @param onProgress called after each batch
+     * @param cancelled  checked before each batch, the partial report is returned once cancelled
+     */
+    @Nonnull
+    public Report analyze(int db, @Nullable ProgressListener onProgress, @Nonnull BooleanSupplier cancelled) throws InterruptedException {
+        final ScanParams params = new ScanParams().match(this.options.getPattern()).count(this.options.getScanCount());
+        final long nanosPerCommand = TimeUnit.SECONDS.toNanos(1) / Math.max(1, this.options.getMaxCommandsPerSecond());
+        String cursor = SCAN_POINTER_START;
+        do {
+            if (cancelled.getAsBoolean()) {
+                return this.getReport(false);
+            }
+            final long start = System.nanoTime();
+            final String scanCursor = cursor;
+            final int commands;
+            try (final Jedis jedis = this.connection.get()) {
+                jedis.select(db);
+                final ScanResult<String> result = jedis.scan(scanCursor, params);
+                cursor = result.getCursor();
+                commands = 1 + this.analyzeBatch(jedis, result.getResult());
+            }
+            if (onProgress != null) {
+                onProgress.onProgress(this.root.keys, this.sampledKeys);
+            }
+            final long remaining = commands * nanosPerCommand - (System.nanoTime() - start);
+            if (remaining > 0 && !SCAN_POINTER_START.equals(cursor)) {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            }
+        } while (!SCAN_POINTER_START.equals(cursor));
+        return this.getReport(true);
+    }
+
+    private int analyzeBatch(@Nonnull Jedis jedis, @Nonnull List<String> keys) {
+        final List<String> sampled = this.countAndSample(keys, ThreadLocalRandom.current());
+        final boolean withMemory = this.memorySupported;
+        final boolean withFrequency = this.frequencySupported;
+        if (sampled.isEmpty() || (!withMemory && !withFrequency)) {
+            return 0;
+        }
+
+        final List<Response<Object>> memories = new ArrayList<>(sampled.size());
+        final List<Response<Object>> frequencies = new ArrayList<>(sampled.size());
+        final Pipeline pipeline = jedis.pipelined();
+        for (final String key : sampled) {
+            if (withMemory) {
+                memories.add(pipeline.sendCommand(Protocol.Command.MEMORY, "USAGE", key));
+            }
+            if (withFrequency) {
+                frequencies.add(pipeline.sendCommand(Protocol.Command.OBJECT, "FREQ", key));
+            }
+        }
+        pipeline.sync();
+
+        for (int i = 0; i < sampled.size(); i++) {
+            final long memory = withMemory ? this.getMemory(memories.get(i)) : -1;
+            final long frequency = withFrequency ? this.getFrequency(frequencies.get(i)) : -1;
+            if (memory < 0 && frequency < 0) {
+                // deleted after scanned, or neither command is available
+                continue;
+            }
+            this.sample(sampled.get(i), memory, frequency);
+        }
+        return memories.size() + frequencies.size();
+    }
+
+    /**
+     * Count all the keys by prefix.
+     *
+     * @return the keys sampled by {@link Options#getSampleRatio()} to measure
+     */
+    @Nonnull
+    List<String> countAndSample(@Nonnull List<String> keys, @Nonnull Random random) {
+        final List<String> sampled = new ArrayList<>();
+        for (final String key : keys) {
+            this.count(key);
+            if (random.nextDouble() < this.options.getSampleRatio()) {
+                sampled.add(key);
+            }
+        }
+        return sampled;
+    }
+
+    /**
+     * @return the report of the keys counted and sampled so far
+     */
+    @Nonnull
+    Report getReport(boolean completed) {
+        return new Report(this, completed);
+    }
+
+    private void count(@Nonnull String key) {
+        this.root.keys++;
+        PrefixNode node = this.root;
+        for (final String segment : this.getPrefixSegments(key)) {
+            node = this.getOrCreateChild(node, segment);
+            node.keys++;
+        }
+    }
+
+    /**
+     * Aggregate a measured key into the prefix tree and the top keys.
+     *
+     * @param memory    the memory usage, -1 if unavailable
+     * @param frequency the access frequency, -1 if unavailable
+     */
+    void sample(@Nonnull String key, long memory, long frequency) {
+        this.sampledKeys++;
+        final KeyStat stat = new KeyStat(key, memory, frequency);
+        if (memory >= 0) {
+            this.root.sampledKeys++;
+            this.root.sampledMemory += memory;
+            PrefixNode node = this.root;
+            for (final String segment : this.getPrefixSegments(key)) {
+                node = this.getOrCreateChild(node, segment);
+                node.sampledKeys++;
+                node.sampledMemory += memory;
+            }
+            offer(this.biggestKeys, stat, KeyStat::getMemory, this.options.getTopN());
+        }
+        if (frequency >= 0) {
+            offer(this.hottestKeys, stat, KeyStat::getFrequency, this.options.getTopN());
+        }
+    }
+
+    /**
+     * Split the key by delimiter, the last segment is the key name rather than a prefix.
+     */
+    private List<String> getPrefixSegments(@Nonnull String key) {
+        final List<String> segments = new ArrayList<>();
+        final String delimiter = this.options.getDelimiter();
+        if (delimiter.isEmpty()) {
+            return segments;
+        }
+        int start = 0;
+        int end;
+        while ((end = key.indexOf(delimiter, start)) >= 0 && segments.size() < this.options.getMaxDepth()) {
+            segments.add(key.substring(start, end));
+            start = end + delimiter.length();
+        }
+        return segments;
+    }
+
+    private PrefixNode getOrCreateChild(@Nonnull PrefixNode parent, @Nonnull String segment) {
+        final PrefixNode child = parent.children.get(segment);
+        if (child != null) {
+            return child;
+        }
+        final String name = parent.children.size() < this.options.getMaxChildren() ? segment : OTHERS_SEGMENT;
+        return parent.children.computeIfAbsent(name, s -> new PrefixNode(s, parent.prefix + s + this.options.getDelimiter()));
+    }
+
+    private List<PrefixNode> getTopPrefixes() {
+        final PriorityQueue<PrefixNode> top = new PriorityQueue<>(Comparator.comparingLong(PrefixNode::getEstimatedMemory));
+        final List<PrefixNode> pending = new ArrayList<>(this.root.getChildNodes());
+        while (!pending.isEmpty()) {
+            final PrefixNode node = pending.remove(pending.size() - 1);
+            pending.addAll(node.getChildNodes());
+            // skip the prefix which only wraps a single prefix, e.g. "app:" of "app:cache:"
+            final boolean wrapper = node.children.size() == 1 && node.children.values().iterator().next().keys == node.keys;
+            if (!wrapper && node.sampledKeys > 0) {
+                offer(top, node, PrefixNode::getEstimatedMemory, this.options.getTopN());
+            }
+        }
+        return sortDescending(top, PrefixNode::getEstimatedMemory);
+    }
+
+    private long getMemory(@Nonnull Response<Object> response) {
+        try {
+            final Object memory = response.get();
+            return memory instanceof Long ? (Long) memory : -1;
+        } catch (final JedisDataException e) {
+            this.memorySupported = false;
+            return -1;
+        }
+    }
+
+    private long getFrequency(@Nonnull Response<Object> response) {
+        try {
+            final Object frequency = response.get();
+            return frequency instanceof Long ? (Long) frequency : -1;
+        } catch (final JedisDataException e) {
+            // OBJECT FREQ is only available with LFU maxmemory policies
+            this.frequencySupported = false;
+            return -1;
+        }
+    }
+
+    private static <T> void offer(@Nonnull PriorityQueue<T> heap, @Nonnull T item, @Nonnull ToLongFunction<T> value, int limit) {
+        if (heap.size() < limit) {
+            heap.add(item);
+        } else if (limit > 0 && value.applyAsLong(heap.peek()) < value.applyAsLong(item)) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    private static <T> List<T> sortDescending(@Nonnull Collection<T> items, @Nonnull ToLongFunction<T> value) {
+        final List<T> result = new ArrayList<>(items);
+        result.sort(Comparator.comparingLong(value).reversed());
+        return result;
+    }
+}
@@ -6,18 +6,19 @@
 package com.microsoft.azure.toolkit.intellij.redis.explorer;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
 import com.microsoft.azure.toolkit.intellij.common.AzureActionButton;
 import com.microsoft.azure.toolkit.intellij.common.properties.AzResourcePropertiesEditor;
 import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.redis.RedisCache;
-import org.apache.commons.lang3.tuple.Pair;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
-import redis.clients.jedis.Tuple;
 import redis.clients.jedis.exceptions.JedisException;
 
 import javax.annotation.Nonnull;
@@ -29,10 +30,10 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
 
@@ -42,9 +43,14 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
     public static final String ID = "com.microsoft.intellij.helpers.rediscache.RedisCacheExplorer";
     public static final String INSIGHT_NAME = "AzurePlugin.IntelliJ.Editor.RedisCacheExplorer";
     private final RedisCache redis;
+    private final RedisKeyBrowser browser;
 
     private String currentCursor;
     private String lastChosenKey;
+    private volatile boolean browsing;
+    // the cursor to load the next chunk of the value shown, null if the value is loaded completely
+    private String valueCursor;
+    private boolean loadingValue;
 
     private static final String[] LIST_TITLE = new String[]{" Index", " Item"};
     private static final String[] SET_TITLE = new String[]{" Member"};
@@ -58,12 +64,15 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
     private static final int DEFAULT_KEY_COUNT = 50;
     private static final int DEFAULT_REDIS_DB_NUMBER = 16;
     private static final int MAX_DATABASE_NUMBER = 64;
-    private static final long DEFAULT_RANGE_START = 0;
-    private static final int DEFAULT_VAL_COUNT = 500;
+    // load the next chunk of the value once scrolled within so many rows to the bottom
+    private static final int VALUE_PREFETCH_ROWS = 50;
+    // the browsed keys are measured by the prototype rather than one by one
+    private static final String KEY_PROTOTYPE = StringUtil.repeat("W", 48);
 
     private static final String DEFAULT_SCAN_PATTERN = "*";
     private static final String ACTION_GET = "GET";
     private static final String ACTION_SCAN = "SCAN";
+    private static final String ACTION_BROWSE = "BROWSE";
 
     private JPanel pnlMain;
     private JComboBox<String> cbDatabase;
@@ -85,13 +94,14 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
     public RedisCacheExplorer(RedisCache redis, @Nonnull final VirtualFile virtualFile, @Nonnull Project project) {
         super(virtualFile, redis, project);
         this.redis = redis;
-        final AzureTaskManager manager = AzureTaskManager.getInstance();
+        this.browser = new RedisKeyBrowser(() -> this.redis.getJedisPool().getResource());
 
         currentCursor = SCAN_POINTER_START;
         lastChosenKey = "";
 
         cbActionType.addItem(ACTION_SCAN);
         cbActionType.addItem(ACTION_GET);
+        cbActionType.addItem(ACTION_BROWSE);
 
         splitPane.setResizeWeight(SPLIT_PANE_WEIGHT);
         splitPane.setDividerSize(SPLIT_PANE_DIVIDER_SIZE);
@@ -103,6 +113,8 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
             .getDefaultRenderer();
         cellRenderer.setHorizontalAlignment(JLabel.LEFT);
         pnlInnerValue.setBackground(lstKey.getBackground());
+        pnlInnerValue.getVerticalScrollBar().addAdjustmentListener(event -> this.loadMoreValueIfNeeded());
+        lstKey.setCellRenderer(new KeyCellRenderer());
 
         progressBar.setIndeterminate(true);
 
@@ -112,7 +124,11 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
             }
             RedisCacheExplorer.this.setWidgetEnableStatus(false);
             txtKeyPattern.setText(DEFAULT_SCAN_PATTERN);
-            RedisCacheExplorer.this.onDataBaseSelect();
+            if (Objects.equals(cbActionType.getSelectedItem(), ACTION_BROWSE)) {
+                RedisCacheExplorer.this.onBtnSearchClick();
+            } else {
+                RedisCacheExplorer.this.onDataBaseSelect();
+            }
         });
 
         lstKey.addListSelectionListener(event -> {
@@ -122,10 +138,9 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
             }
             RedisCacheExplorer.this.setWidgetEnableStatus(false);
             lastChosenKey = selectedKey;
-            manager.runOnPooledThread(() -> {
-                final Pair<String, ArrayList<String[]>> data = doWithRedis(jedis -> getValueByKey(jedis, selectedKey));
-                manager.runLater(() -> RedisCacheExplorer.this.showContent(data));
-            });
+            final int db = cbDatabase.getSelectedIndex();
+            loadInBackground("Failed to load the value of the key.", () -> browser.loadValue(db, selectedKey, null),
+                this::showContent, () -> this.setWidgetEnableStatus(true));
         });
 
         final Action<RedisCache> searchAction = new Action<RedisCache>(Action.Id.of("user/redis.search.redis"))
@@ -141,11 +156,10 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
                 .withIdParam(this.redis.getName())
                 .withHandler(ignore -> {
                     RedisCacheExplorer.this.setWidgetEnableStatus(false);
-                    manager.runOnPooledThread(() -> {
-                        final ScanResult<String> r = doWithRedis(jedis -> jedis.scan(currentCursor, new ScanParams()
-                                .match(txtKeyPattern.getText()).count(DEFAULT_KEY_COUNT)));
-                        manager.runLater(() -> RedisCacheExplorer.this.showScanResult(r));
-                    });
+                    final String cursor = currentCursor;
+                    final String pattern = txtKeyPattern.getText();
+                    loadInBackground("Failed to scan the keys.", () -> doWithRedis(jedis -> jedis.scan(cursor, new ScanParams()
+                            .match(pattern).count(DEFAULT_KEY_COUNT))), this::showScanResult, () -> this.setWidgetEnableStatus(true));
                 });
         btnScanMore.setAction(scanMoreAction);
 
@@ -153,17 +167,16 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
 
         cbActionType.addActionListener(event -> {
             final String selected = (String) cbActionType.getSelectedItem();
-            if (Objects.equals(selected, ACTION_GET)) {
-                btnScanMore.setEnabled(false);
-            } else if (Objects.equals(selected, ACTION_SCAN)) {
-                btnScanMore.setEnabled(true);
-            }
+            btnScanMore.setEnabled(Objects.equals(selected, ACTION_SCAN));
         });
 
-        manager.runOnPooledThread(() -> {
-            final int num = doWithRedis(RedisCacheExplorer::getDbNumber);
-            AzureTaskManager.getInstance().runLater(() -> this.renderDbCombo(num));
-        });
+        // the databases are scanned once rendered, the UI is only restored here if there is none
+        loadInBackground("Failed to get the databases of Redis cache.", () -> doWithRedis(RedisCacheExplorer::getDbNumber),
+            this::renderDbCombo, () -> {
+                if (this.cbDatabase.getItemCount() == 0) {
+                    this.setWidgetEnableStatus(true);
+                }
+            });
     }
 
     private <T> T doWithRedis(Function<Jedis, T> func) {
@@ -172,6 +185,34 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
         }
     }
 
+    /**
+     * Load with {@code loader} in a pooled thread, and render the result by {@code onLoaded} in the UI thread, the
+     * failure is reported. {@code onFinished} is always run in the UI thread at last, to restore the UI.
+     */
+    private <T> void loadInBackground(@Nonnull String failure, @Nonnull Supplier<T> loader, @Nonnull Consumer<T> onLoaded,
+                                      @Nonnull Runnable onFinished) {
+        final AzureTaskManager manager = AzureTaskManager.getInstance();
+        manager.runOnPooledThread(() -> {
+            Runnable render = () -> {
+            };
+            try {
+                final T result = loader.get();
+                render = () -> onLoaded.accept(result);
+            } catch (final Exception e) {
+                AzureMessager.getMessager().error(e, failure);
+            } finally {
+                final Runnable rendering = render;
+                manager.runLater(() -> {
+                    try {
+                        rendering.run();
+                    } finally {
+                        onFinished.run();
+                    }
+                });
+            }
+        });
+    }
+
     @Nonnull
     @Override
     public JComponent getComponent() {
@@ -188,6 +229,7 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
     }
 
     public void showScanResult(ScanResult<String> result) {
+        stopBrowsing();
         lstKey.removeAll();
         final DefaultListModel<String> listModel = new DefaultListModel<>();
         final List<String> keys = result.getResult();
@@ -201,13 +243,16 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
         clearValueArea();
     }
 
-    public void showContent(Pair<String, ArrayList<String[]>> val) {
+    public void showContent(@Nullable RedisKeyBrowser.ValueChunk val) {
+        valueCursor = null;
         if (Objects.isNull(val)) {
+            // the key doesn't exist (anymore)
+            clearValueArea();
             setWidgetEnableStatus(true);
             return;
         }
-        final String type = val.getKey();
-        final ArrayList<String[]> value = val.getValue();
+        final String type = val.getType();
+        final List<String[]> value = val.getRows();
         lblTypeValue.setText(type);
         lblKeyValue.setText(lstKey.getSelectedValue());
         if (Objects.equals(type, "STRING")) {
@@ -238,38 +283,66 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
             final ReadOnlyTableModel tableModel = new ReadOnlyTableModel(data, columnNames);
             setValueCompositeVisible(true);
             tblInnerValue.setModel(tableModel);
+            valueCursor = val.getNextCursor();
         }
         setWidgetEnableStatus(true);
     }
 
+    private void loadMoreValueIfNeeded() {
+        final JScrollBar scrollBar = pnlInnerValue.getVerticalScrollBar();
+        final int remaining = scrollBar.getMaximum() - scrollBar.getValue() - scrollBar.getVisibleAmount();
+        if (Objects.isNull(valueCursor) || loadingValue || remaining > VALUE_PREFETCH_ROWS * tblInnerValue.getRowHeight()) {
+            return;
+        }
+        loadingValue = true;
+        final String key = lblKeyValue.getText();
+        final String cursor = valueCursor;
+        // not loaded again by scrolling if failed
+        valueCursor = null;
+        final int db = cbDatabase.getSelectedIndex();
+        final ReadOnlyTableModel tableModel = (ReadOnlyTableModel) tblInnerValue.getModel();
+        loadInBackground("Failed to load the value of the key.", () -> browser.loadValue(db, key, cursor), chunk -> {
+            loadingValue = false;
+            // ignore the chunk if another key is chosen during loading
+            if (tblInnerValue.getModel() != tableModel) {
+                return;
+            }
+            if (Objects.isNull(chunk)) {
+                // the key is deleted during loading
+                showContent(null);
+                return;
+            }
+            chunk.getRows().forEach(tableModel::addRow);
+            valueCursor = chunk.getNextCursor();
+            // a scanning chunk may be too small to fill the view, or even empty
+            loadMoreValueIfNeeded();
+        }, () -> loadingValue = false);
+    }
+
     public void updateKeyList() {
-        final DefaultListModel<String> listModel = (DefaultListModel<String>) lstKey.getModel();
-        listModel.removeAllElements();
+        stopBrowsing();
+        final DefaultListModel<String> listModel = new DefaultListModel<>();
         listModel.addElement(txtKeyPattern.getText());
         lstKey.setModel(listModel);
         lstKey.setSelectedIndex(0);
     }
 
     public void getKeyFail() {
-        final DefaultListModel<String> listModel = (DefaultListModel<String>) lstKey.getModel();
-        listModel.removeAllElements();
+        lstKey.setModel(new DefaultListModel<>());
         setWidgetEnableStatus(true);
         clearValueArea();
     }
 
     private void onDataBaseSelect() {
-        final AzureTaskManager manager = AzureTaskManager.getInstance();
-        manager.runOnPooledThread(() -> {
-            final ScanResult<String> r = doWithRedis(jedis -> {
-                jedis.select(cbDatabase.getSelectedIndex());
-                return jedis.scan(SCAN_POINTER_START, new ScanParams().match(DEFAULT_SCAN_PATTERN).count(DEFAULT_KEY_COUNT));
-            });
-            manager.runLater(() -> RedisCacheExplorer.this.showScanResult(r));
-        });
+        final int db = cbDatabase.getSelectedIndex();
+        loadInBackground("Failed to scan the keys.", () -> doWithRedis(jedis -> {
+            jedis.select(db);
+            return jedis.scan(SCAN_POINTER_START, new ScanParams().match(DEFAULT_SCAN_PATTERN).count(DEFAULT_KEY_COUNT));
+        }), this::showScanResult, () -> this.setWidgetEnableStatus(true));
     }
 
     private void setWidgetEnableStatus(boolean enabled) {
-        pnlProgressBar.setVisible(!enabled);
+        pnlProgressBar.setVisible(!enabled || browsing);
         cbDatabase.setEnabled(enabled);
         txtKeyPattern.setEnabled(enabled);
         btnSearch.setEnabled(enabled);
@@ -297,29 +370,111 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
         final String actionType = (String) cbActionType.getSelectedItem();
         final String key = txtKeyPattern.getText();
         if (Objects.equals(actionType, ACTION_GET)) {
-            final AzureTaskManager manager = AzureTaskManager.getInstance();
-            manager.runOnPooledThread(() -> {
-                final Pair<String, ArrayList<String[]>> result = doWithRedis(jedis ->
-                    jedis.exists(key) ? getValueByKey(jedis, key) : Pair.of("", new ArrayList<>()));
+            final int db = cbDatabase.getSelectedIndex();
+            loadInBackground("Failed to get the key.", () -> browser.loadValue(db, key, null), result -> {
                 this.updateKeyList();
                 this.showContent(result);
-            });
+            }, () -> this.setWidgetEnableStatus(true));
+        } else if (Objects.equals(actionType, ACTION_BROWSE)) {
+            startBrowsing(key);
         } else if (Objects.equals(actionType, ACTION_SCAN)) {
-            final AzureTaskManager manager = AzureTaskManager.getInstance();
-            manager.runOnPooledThread(() -> {
-                final ScanResult<String> r = doWithRedis(jedis -> jedis.scan(SCAN_POINTER_START, new ScanParams().match(key).count(DEFAULT_KEY_COUNT)));
-                manager.runLater(() -> RedisCacheExplorer.this.showScanResult(r));
-            });
+            loadInBackground("Failed to scan the keys.", () -> doWithRedis(jedis -> jedis.scan(SCAN_POINTER_START,
+                new ScanParams().match(key).count(DEFAULT_KEY_COUNT))), this::showScanResult, () -> this.setWidgetEnableStatus(true));
             currentCursor = SCAN_POINTER_START;
         }
         lastChosenKey = "";
     }
 
+    private void startBrowsing(@Nonnull final String pattern) {
+        final AzureTaskManager manager = AzureTaskManager.getInstance();
+        final BrowsedKeyListModel listModel = new BrowsedKeyListModel();
+        final int db = cbDatabase.getSelectedIndex();
+        lstKey.setPrototypeCellValue(KEY_PROTOTYPE);
+        lstKey.setModel(listModel);
+        clearValueArea();
+        browsing = true;
+        // the keys are listed while scanning, no need to wait for all of them
+        setWidgetEnableStatus(true);
+        manager.runOnPooledThread(() -> {
+            try {
+                browser.browse(db, pattern, batch -> manager.runLater(() -> listModel.addKeys(batch)));
+            } catch (final Exception e) {
+                AzureMessager.getMessager().error(e, "Failed to browse the keys.");
+            } finally {
+                manager.runLater(() -> {
+                    if (lstKey.getModel() == listModel) {
+                        browsing = false;
+                        pnlProgressBar.setVisible(!cbDatabase.isEnabled());
+                    }
+                });
+            }
+        });
+    }
+
+    private void stopBrowsing() {
+        browser.cancel();
+        browsing = false;
+        lstKey.setFixedCellHeight(-1);
+        lstKey.setFixedCellWidth(-1);
+    }
+
     @Override
     protected void rerender() {
 
     }
 
+    @Override
+    public void dispose() {
+        stopBrowsing();
+        super.dispose();
+    }
+
+    /**
+     * The list model of browsed keys, only the visible rows are rendered by {@link JList}, keep the list fast with
+     * large number of keys.
+     */
+    private static class BrowsedKeyListModel extends AbstractListModel<String> {
+        private final List<RedisKeyBrowser.KeyInfo> keys = new ArrayList<>();
+
+        void addKeys(@Nonnull List<RedisKeyBrowser.KeyInfo> batch) {
+            final int start = keys.size();
+            keys.addAll(batch);
+            fireIntervalAdded(this, start, keys.size() - 1);
+        }
+
+        RedisKeyBrowser.KeyInfo getKeyInfo(int index) {
+            return keys.get(index);
+        }
+
+        @Override
+        public int getSize() {
+            return keys.size();
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return keys.get(index).getKey();
+        }
+    }
+
+    private static class KeyCellRenderer extends ColoredListCellRenderer<String> {
+        @Override
+        protected void customizeCellRenderer(@Nonnull JList<? extends String> list, String value, int index, boolean selected, boolean hasFocus) {
+            append(Objects.toString(value, ""));
+            if (list.getModel() instanceof BrowsedKeyListModel && index >= 0) {
+                final RedisKeyBrowser.KeyInfo info = ((BrowsedKeyListModel) list.getModel()).getKeyInfo(index);
+                final StringBuilder details = new StringBuilder("  ").append(info.getType());
+                if (info.getTtl() >= 0) {
+                    details.append(" · TTL ").append(StringUtil.formatDuration(info.getTtl() * 1000));
+                }
+                if (info.getMemory() >= 0) {
+                    details.append(" · ").append(StringUtil.formatFileSize(info.getMemory()));
+                }
+                append(details.toString(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+        }
+    }
+
     private static class ReadOnlyTableModel extends DefaultTableModel {
         ReadOnlyTableModel(Object[][] data, String[] columnNames) {
             super(data, columnNames);
@@ -362,49 +517,6 @@ public class RedisCacheExplorer extends AzResourcePropertiesEditor<RedisCache> {
         }
     }
 
-    @Nullable
-    private Pair<String, ArrayList<String[]>> getValueByKey(Jedis jedis, String key) {
-        jedis.select(cbDatabase.getSelectedIndex());
-        final String type = jedis.type(key).toUpperCase();
-        final ArrayList<String[]> columnData = new ArrayList<>();
-        switch (type) {
-            case "STRING":
-                final String stringVal = jedis.get(key);
-                columnData.add(new String[]{stringVal});
-                return Pair.of("STRING", columnData);
-            case "LIST":
-                final long listLength = jedis.llen(key);
-                final List<String> listVal = jedis.lrange(key, DEFAULT_RANGE_START,
-                    listLength < DEFAULT_VAL_COUNT ? listLength : DEFAULT_VAL_COUNT);
-                for (int i = 0; i < listVal.size(); i++) {
-                    columnData.add(new String[]{String.valueOf(i + 1), listVal.get(i)});
-                }
-                return Pair.of("LIST", columnData);
-            case "SET":
-                final ScanResult<String> setVal = jedis.sscan(key, SCAN_POINTER_START, new ScanParams().count(DEFAULT_VAL_COUNT));
-                for (final String row : setVal.getResult()) {
-                    columnData.add(new String[]{row});
-                }
-                return Pair.of("SET", columnData);
-            case "ZSET":
-                final long zsetLength = jedis.zcard(key);
-                final Set<Tuple> zsetVal = jedis.zrangeWithScores(key, DEFAULT_RANGE_START,
-                    zsetLength < DEFAULT_VAL_COUNT ? zsetLength : DEFAULT_VAL_COUNT);
-                for (final Tuple tuple : zsetVal) {
-                    columnData.add(new String[]{String.valueOf(tuple.getScore()), tuple.getElement()});
-                }
-                return Pair.of("ZSET", columnData);
-            case "HASH":
-                final ScanResult<Map.Entry<String, String>> hashVal = jedis.hscan(key, SCAN_POINTER_START, new ScanParams().count(DEFAULT_VAL_COUNT));
-                for (final Map.Entry<String, String> hash : hashVal.getResult()) {
-                    columnData.add(new String[]{hash.getKey(), hash.getValue()});
-                }
-                return Pair.of("HASH", columnData);
-            default:
-                return null;
-        }
-    }
-
     @Override
     protected void onResourceDeleted() {
         this.manager.closeEditor(this.redis, project);
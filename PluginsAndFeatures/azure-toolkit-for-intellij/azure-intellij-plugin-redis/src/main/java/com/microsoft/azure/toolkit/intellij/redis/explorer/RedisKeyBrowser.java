@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.redis.explorer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
+
+/**
+ * Browse the keys of a Redis database by scanning continuously, the type, TTL and memory usage of each batch of keys
+ * are prefetched in one pipelined round trip. The values of collections are loaded in chunks on demand.
+ */
+public class RedisKeyBrowser {
+    public static final int DEFAULT_SCAN_BATCH = 500;
+    public static final int DEFAULT_VALUE_CHUNK = 500;
+    // stop scanning once so many keys are browsed, a narrower pattern is required for the larger databases
+    public static final int MAX_BROWSED_KEYS = 100_000;
+
+    private final Supplier<Jedis> connection;
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile boolean memoryUsageSupported = true;
+
+    public RedisKeyBrowser(@Nonnull final Supplier<Jedis> connection) {
+        this.connection = connection;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class KeyInfo {
+        private final String key;
+        private final String type;
+        /**
+         * the remaining time to live in seconds, -1 if the key doesn't expire
+         */
+        private final long ttl;
+        /**
+         * the memory usage in bytes, -1 if unknown
+         */
+        private final long memory;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ValueChunk {
+        private final String type;
+        private final List<String[]> rows;
+        /**
+         * the cursor to load the next chunk, null if the value is loaded completely
+         */
+        @Nullable
+        private final String nextCursor;
+    }
+
+    /**
+     * Scan the keys matching the pattern in the current thread until all keys are scanned, {@link #MAX_BROWSED_KEYS}
+     * reached, or a newer browsing started.
+     *
+     * @param onBatch called with each batch of keys, in the scanning thread
+     * @return true if all matched keys are scanned
+     */
+    public boolean browse(final int db, @Nonnull final String pattern, @Nonnull final Consumer<List<KeyInfo>> onBatch) {
+        final int current = this.generation.incrementAndGet();
+        final ScanParams params = new ScanParams().match(pattern).count(DEFAULT_SCAN_BATCH);
+        String cursor = SCAN_POINTER_START;
+        int browsed = 0;
+        do {
+            if (current != this.generation.get()) {
+                return false;
+            }
+            final String scanCursor = cursor;
+            final ScanResult<String> result;
+            final List<KeyInfo> batch;
+            try (final Jedis jedis = this.connection.get()) {
+                jedis.select(db);
+                result = jedis.scan(scanCursor, params);
+                batch = prefetch(jedis, result.getResult());
+            }
+            cursor = result.getCursor();
+            browsed += batch.size();
+            if (!batch.isEmpty() && current == this.generation.get()) {
+                onBatch.accept(batch);
+            }
+        } while (!SCAN_POINTER_START.equals(cursor) && browsed < MAX_BROWSED_KEYS);
+        return SCAN_POINTER_START.equals(cursor);
+    }
+
+    /**
+     * Stop the browsing in progress.
+     */
+    public void cancel() {
+        this.generation.incrementAndGet();
+    }
+
+    /**
+     * Load a chunk of the value.
+     *
+     * @param cursor the cursor returned by the previous chunk, or null for the first chunk
+     * @return the chunk, or null if the key doesn't exist or is of unsupported type
+     */
+    @Nullable
+    public ValueChunk loadValue(final int db, @Nonnull final String key, @Nullable final String cursor) {
+        try (final Jedis jedis = this.connection.get()) {
+            jedis.select(db);
+            final String type = jedis.type(key).toUpperCase();
+            final String start = Objects.isNull(cursor) ? SCAN_POINTER_START : cursor;
+            final List<String[]> rows = new ArrayList<>();
+            switch (type) {
+                case "STRING":
+                    rows.add(new String[]{jedis.get(key)});
+                    return new ValueChunk(type, rows, null);
+                case "LIST": {
+                    final long offset = Long.parseLong(start);
+                    final List<String> items = jedis.lrange(key, offset, offset + DEFAULT_VALUE_CHUNK - 1);
+                    for (int i = 0; i < items.size(); i++) {
+                        rows.add(new String[]{String.valueOf(offset + i + 1), items.get(i)});
+                    }
+                    return new ValueChunk(type, rows, nextOffset(offset, items.size()));
+                }
+                case "ZSET": {
+                    final long offset = Long.parseLong(start);
+                    final List<Tuple> tuples = new ArrayList<>(jedis.zrangeWithScores(key, offset, offset + DEFAULT_VALUE_CHUNK - 1));
+                    for (final Tuple tuple : tuples) {
+                        rows.add(new String[]{String.valueOf(tuple.getScore()), tuple.getElement()});
+                    }
+                    return new ValueChunk(type, rows, nextOffset(offset, tuples.size()));
+                }
+                case "SET": {
+                    final ScanResult<String> members = jedis.sscan(key, start, new ScanParams().count(DEFAULT_VALUE_CHUNK));
+                    for (final String member : members.getResult()) {
+                        rows.add(new String[]{member});
+                    }
+                    return new ValueChunk(type, rows, nextCursor(members));
+                }
+                case "HASH": {
+                    final ScanResult<Map.Entry<String, String>> fields = jedis.hscan(key, start, new ScanParams().count(DEFAULT_VALUE_CHUNK));
+                    for (final Map.Entry<String, String> field : fields.getResult()) {
+                        rows.add(new String[]{field.getKey(), field.getValue()});
+                    }
+                    return new ValueChunk(type, rows, nextCursor(fields));
+                }
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private List<KeyInfo> prefetch(@Nonnull final Jedis jedis, @Nonnull final List<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final boolean withMemory = this.memoryUsageSupported;
+        final List<Response<String>> types = new ArrayList<>(keys.size());
+        final List<Response<Long>> ttls = new ArrayList<>(keys.size());
+        final List<Response<Object>> memories = new ArrayList<>(keys.size());
+        final Pipeline pipeline = jedis.pipelined();
+        for (final String key : keys) {
+            types.add(pipeline.type(key));
+            ttls.add(pipeline.ttl(key));
+            if (withMemory) {
+                memories.add(pipeline.sendCommand(Protocol.Command.MEMORY, "USAGE", key));
+            }
+        }
+        pipeline.sync();
+
+        final List<KeyInfo> result = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            final String type = types.get(i).get().toUpperCase();
+            if ("NONE".equals(type)) {
+                // deleted after scanned
+                continue;
+            }
+            final long memory = withMemory ? getMemoryUsage(memories.get(i)) : -1;
+            result.add(new KeyInfo(keys.get(i), type, ttls.get(i).get(), memory));
+        }
+        return result;
+    }
+
+    private long getMemoryUsage(@Nonnull final Response<Object> response) {
+        try {
+            final Object usage = response.get();
+            return usage instanceof Long ? (Long) usage : -1;
+        } catch (final JedisDataException e) {
+            // MEMORY command is disabled or unsupported by the server, don't ask it again
+            this.memoryUsageSupported = false;
+            return -1;
+        }
+    }
+
+    @Nullable
+    private static String nextOffset(final long offset, final int loaded) {
+        return loaded < DEFAULT_VALUE_CHUNK ? null : String.valueOf(offset + loaded);
+    }
+
+    @Nullable
+    private static String nextCursor(@Nonnull final ScanResult<?> result) {
+        return SCAN_POINTER_START.equals(result.getCursor()) ? null : result.getCursor();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.redis.analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class RedisKeyspaceAnalyzerTest {
+    private static final List<String> KEYS = List.of("user:1", "user:2", "user:3", "user:4", "session:web:1", "session:web:2");
+
+    @Test
+    public void countAllKeysAndSampleByRatio() {
+        final List<String> keys = IntStream.range(0, 1000).mapToObj(i -> "key:" + i).collect(Collectors.toList());
+
+        final RedisKeyspaceAnalyzer all = analyzer(RedisKeyspaceAnalyzer.Options.builder().sampleRatio(1).build());
+        Assert.assertEquals(keys, all.countAndSample(keys, new Random(0)));
+
+        final RedisKeyspaceAnalyzer none = analyzer(RedisKeyspaceAnalyzer.Options.builder().sampleRatio(0).build());
+        Assert.assertTrue(none.countAndSample(keys, new Random(0)).isEmpty());
+        Assert.assertEquals(1000, none.getReport(true).getScannedKeys());
+        Assert.assertEquals(1000, none.getReport(true).getRoot().getChildren().get("key").getKeys());
+
+        final RedisKeyspaceAnalyzer half = analyzer(RedisKeyspaceAnalyzer.Options.builder().sampleRatio(0.5).build());
+        final int sampled = half.countAndSample(keys, new Random(0)).size();
+        Assert.assertTrue(String.valueOf(sampled), sampled > 400 && sampled < 600);
+    }
+
+    @Test
+    public void estimateMemoryOfPrefixesBySampledKeys() {
+        final RedisKeyspaceAnalyzer analyzer = analyzer(RedisKeyspaceAnalyzer.Options.builder().sampleRatio(0).build());
+        analyzer.countAndSample(KEYS, new Random(0));
+        analyzer.sample("user:1", 100, -1);
+        analyzer.sample("session:web:1", 50, -1);
+
+        final RedisKeyspaceAnalyzer.Report report = analyzer.getReport(true);
+        Assert.assertEquals(6, report.getScannedKeys());
+        Assert.assertEquals(2, report.getSampledKeys());
+        Assert.assertEquals(450, report.getRoot().getEstimatedMemory());
+        Assert.assertEquals(400, report.getRoot().getChildren().get("user").getEstimatedMemory());
+        Assert.assertEquals(100, report.getRoot().getChildren().get("session").getChildren().get("web").getEstimatedMemory());
+
+        // "session:" only wraps "session:web:", so it's not listed
+        Assert.assertEquals(List.of("user:", "session:web:"), report.getTopPrefixes().stream()
+            .map(RedisKeyspaceAnalyzer.PrefixNode::getPrefix).collect(Collectors.toList()));
+        Assert.assertEquals(List.of("user:1", "session:web:1"), report.getTopKeysByMemory().stream()
+            .map(RedisKeyspaceAnalyzer.KeyStat::getKey).collect(Collectors.toList()));
+        Assert.assertTrue(report.getHotKeys().isEmpty());
+    }
+
+    @Test
+    public void keepTopKeysByMemoryAndFrequency() {
+        final RedisKeyspaceAnalyzer analyzer = analyzer(RedisKeyspaceAnalyzer.Options.builder().sampleRatio(0).topN(2).build());
+        analyzer.countAndSample(KEYS, new Random(0));
+        analyzer.sample("user:1", 100, 1);
+        analyzer.sample("user:2", 300, 5);
+        analyzer.sample("user:3", 200, 9);
+
+        final RedisKeyspaceAnalyzer.Report report = analyzer.getReport(true);
+        Assert.assertEquals(List.of("user:2", "user:3"), report.getTopKeysByMemory().stream()
+            .map(RedisKeyspaceAnalyzer.KeyStat::getKey).collect(Collectors.toList()));
+        Assert.assertEquals(List.of("user:3", "user:2"), report.getHotKeys().stream()
+            .map(RedisKeyspaceAnalyzer.KeyStat::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void keepFrequencyWithoutMemory() {
+        final RedisKeyspaceAnalyzer analyzer = analyzer(RedisKeyspaceAnalyzer.Options.builder().sampleRatio(0).build());
+        analyzer.countAndSample(KEYS, new Random(0));
+        analyzer.sample("user:1", -1, 7);
+
+        final RedisKeyspaceAnalyzer.Report report = analyzer.getReport(true);
+        Assert.assertEquals(1, report.getSampledKeys());
+        Assert.assertEquals(0, report.getRoot().getEstimatedMemory());
+        Assert.assertTrue(report.getTopKeysByMemory().isEmpty());
+        Assert.assertEquals("user:1", report.getHotKeys().get(0).getKey());
+        Assert.assertEquals(7, report.getHotKeys().get(0).getFrequency());
+    }
+
+    @Test
+    public void limitPrefixTreeByDepthAndChildren() {
+        final RedisKeyspaceAnalyzer analyzer = analyzer(RedisKeyspaceAnalyzer.Options.builder()
+            .sampleRatio(0).maxDepth(1).maxChildren(2).build());
+        analyzer.countAndSample(List.of("a:x:1", "b:1", "c:1", "d:1"), new Random(0));
+
+        final RedisKeyspaceAnalyzer.PrefixNode root = analyzer.getReport(true).getRoot();
+        Assert.assertEquals(List.of(RedisKeyspaceAnalyzer.OTHERS_SEGMENT, "a", "b"), List.copyOf(root.getChildren().keySet()));
+        Assert.assertTrue(root.getChildren().get("a").getChildren().isEmpty());
+        Assert.assertEquals(2, root.getChildren().get(RedisKeyspaceAnalyzer.OTHERS_SEGMENT).getKeys());
+    }
+
+    private static RedisKeyspaceAnalyzer analyzer(RedisKeyspaceAnalyzer.Options options) {
+        return new RedisKeyspaceAnalyzer(() -> {
+            throw new UnsupportedOperationException();
+        }, options);
+    }
+}
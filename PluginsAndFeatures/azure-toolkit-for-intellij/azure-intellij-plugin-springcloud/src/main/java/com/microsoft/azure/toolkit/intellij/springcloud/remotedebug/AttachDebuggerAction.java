@@ -6,24 +6,18 @@
 package com.microsoft.azure.toolkit.intellij.springcloud.remotedebug;
 
 import com.intellij.execution.BeforeRunTask;
-import com.intellij.execution.ExecutionListener;
-import com.intellij.execution.ExecutionManager;
 import com.intellij.execution.ProgramRunnerUtil;
 import com.intellij.execution.RunManagerEx;
 import com.intellij.execution.RunnerAndConfigurationSettings;
 import com.intellij.execution.executors.DefaultDebugExecutor;
 import com.intellij.execution.impl.RunManagerImpl;
 import com.intellij.execution.impl.RunnerAndConfigurationSettingsImpl;
-import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.remote.RemoteConfiguration;
 import com.intellij.execution.remote.RemoteConfigurationType;
-import com.intellij.execution.runners.ExecutionEnvironment;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
-import com.intellij.util.messages.MessageBusConnection;
 import com.microsoft.azure.toolkit.ide.springcloud.SpringCloudActionsContributor;
-import com.microsoft.azure.toolkit.ide.springcloud.portforwarder.SpringPortForwarder;
 import com.microsoft.azure.toolkit.intellij.springcloud.component.SpringCloudAppInstanceSelectionDialog;
 import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.action.AzureActionManager;
@@ -32,7 +26,6 @@ import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.springcloud.SpringCloudApp;
 import com.microsoft.azure.toolkit.lib.springcloud.SpringCloudAppInstance;
-import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -48,7 +41,6 @@ public class AttachDebuggerAction {
             showEnableDebuggingMessage(appInstance);
             return;
         }
-        addExecutionListener(project);
         executeRunConfiguration(appInstance, project);
         showOpenUrlMessage(appInstance);
     }
@@ -71,27 +63,6 @@ public class AttachDebuggerAction {
         return DEFAULT_PORT;
     }
 
-    private static void addExecutionListener(Project project) {
-        final MessageBusConnection messageBusConnection = project.getMessageBus().connect();
-        messageBusConnection.subscribe(ExecutionManager.EXECUTION_TOPIC, new ExecutionListener() {
-            @Override
-            public void processTerminated(@NotNull String executorId, @NotNull ExecutionEnvironment env, @NotNull ProcessHandler handler, int exitCode) {
-                Optional.ofNullable(env.getRunnerAndConfigurationSettings()).ifPresent(settings -> {
-                    if (settings.getConfiguration() instanceof RemoteConfiguration) {
-                        final List<BeforeRunTask<?>> beforeRunTaskList = settings.getConfiguration().getBeforeRunTasks();
-                        beforeRunTaskList.forEach(beforeRunTask -> {
-                            if (beforeRunTask instanceof PortForwardingTaskProvider.PortForwarderBeforeRunTask) {
-                                Optional.ofNullable(((PortForwardingTaskProvider.PortForwarderBeforeRunTask) beforeRunTask).getForwarder())
-                                    .ifPresent(SpringPortForwarder::stopForward);
-                            }
-                        });
-                    }
-                });
-                messageBusConnection.disconnect();
-            }
-        });
-    }
-
     private static RemoteConfiguration generateRemoteConfiguration(Project project, SpringCloudAppInstance appInstance) {
         final RemoteConfiguration remoteConfig = (RemoteConfiguration) RemoteConfigurationType.getInstance().createTemplateConfiguration(project);
         remoteConfig.PORT = String.valueOf(DEFAULT_PORT);
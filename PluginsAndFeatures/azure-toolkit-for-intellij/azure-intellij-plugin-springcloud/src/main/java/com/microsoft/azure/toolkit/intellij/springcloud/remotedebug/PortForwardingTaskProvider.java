@@ -7,14 +7,19 @@ package com.microsoft.azure.toolkit.intellij.springcloud.remotedebug;
 
 import com.intellij.execution.BeforeRunTask;
 import com.intellij.execution.BeforeRunTaskProvider;
+import com.intellij.execution.ExecutionListener;
+import com.intellij.execution.ExecutionManager;
 import com.intellij.execution.configurations.RunConfiguration;
+import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.remote.RemoteConfiguration;
 import com.intellij.execution.runners.ExecutionEnvironment;
 import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.util.Key;
+import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.xmlb.XmlSerializerUtil;
 import com.microsoft.azure.toolkit.ide.common.icon.AzureIcons;
+import com.microsoft.azure.toolkit.ide.common.portforwarder.AbstractPortForwarder;
 import com.microsoft.azure.toolkit.ide.springcloud.portforwarder.SpringPortForwarder;
 import com.microsoft.azure.toolkit.intellij.common.IntelliJAzureIcons;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -61,7 +66,7 @@ public class PortForwardingTaskProvider extends BeforeRunTaskProvider<PortForwar
     @Override
     public boolean executeTask(@NotNull DataContext context, @NotNull RunConfiguration configuration, @NotNull ExecutionEnvironment environment, @Nonnull PortForwarderBeforeRunTask task) {
         if (configuration instanceof RemoteConfiguration) {
-            return task.startPortForwarding(Integer.parseInt(((RemoteConfiguration) configuration).PORT));
+            return task.startPortForwarding(Integer.parseInt(((RemoteConfiguration) configuration).PORT), environment);
         }
         return false;
     }
@@ -90,16 +95,48 @@ public class PortForwardingTaskProvider extends BeforeRunTaskProvider<PortForwar
             this.config = config;
         }
 
-        public boolean startPortForwarding(int localPort) {
+        public boolean startPortForwarding(int localPort, @Nonnull ExecutionEnvironment environment) {
             loadInstance();
             if (this.config instanceof RemoteConfiguration && Objects.nonNull(appInstance)) {
-                this.forwarder = new SpringPortForwarder(appInstance);
-                AzureTaskManager.getInstance().runOnPooledThread(() ->  this.forwarder.startForward(localPort));
+                // the forwarder of the last run may still hold the local port
+                stopPortForwarding();
+                final SpringPortForwarder forwarder = new SpringPortForwarder(appInstance);
+                this.forwarder = forwarder;
+                addStopForwardingListener(environment, forwarder);
+                // keep forwarding the reconnections of debugger until the debug session terminated
+                AzureTaskManager.getInstance().runOnPooledThread(() -> forwarder.startMultiClientForward(localPort, AbstractPortForwarder.DEFAULT_MAX_CONNECTIONS));
                 return true;
             }
             return false;
         }
 
+        public void stopPortForwarding() {
+            Optional.ofNullable(this.forwarder).ifPresent(SpringPortForwarder::stopForward);
+            this.forwarder = null;
+        }
+
+        private void addStopForwardingListener(@Nonnull ExecutionEnvironment environment, @Nonnull SpringPortForwarder forwarder) {
+            final MessageBusConnection messageBusConnection = environment.getProject().getMessageBus().connect();
+            messageBusConnection.subscribe(ExecutionManager.EXECUTION_TOPIC, new ExecutionListener() {
+                @Override
+                public void processNotStarted(@Nonnull String executorId, @Nonnull ExecutionEnvironment env) {
+                    stop(env);
+                }
+
+                @Override
+                public void processTerminated(@Nonnull String executorId, @Nonnull ExecutionEnvironment env, @Nonnull ProcessHandler handler, int exitCode) {
+                    stop(env);
+                }
+
+                private void stop(@Nonnull ExecutionEnvironment env) {
+                    if (env.getExecutionId() == environment.getExecutionId()) {
+                        forwarder.stopForward();
+                        messageBusConnection.disconnect();
+                    }
+                }
+            });
+        }
+
         public void setAppInstance(SpringCloudAppInstance appInstance) {
             this.appInstance = appInstance;
             this.state.properties.put(PortForwarderBeforeRunTaskState.RESOURCE_ID, appInstance.getId());
@@ -13,10 +13,12 @@ import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.microsoft.azure.toolkit.intellij.connector.code.ResourceCatalog;
+import com.microsoft.azure.toolkit.intellij.storage.code.spring.StoragePathCompletionProvider;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
+import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
-import com.microsoft.azure.toolkit.lib.storage.blob.BlobContainer;
 import com.microsoft.azure.toolkit.lib.storage.model.StorageFile;
 import com.microsoft.azure.toolkit.lib.storage.queue.Queue;
 import com.microsoft.azure.toolkit.lib.storage.table.Table;
@@ -24,6 +26,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -52,7 +55,11 @@ public class FunctionAnnotationResourcePathAnnotator implements Annotator {
         }
         final PsiLiteralExpression literal = (PsiLiteralExpression) element.getParent();
         final String tableName = literal.getValue() instanceof String ? (String) literal.getValue() : StringUtils.EMPTY;
-        final Table table = StringUtils.isBlank(tableName) ? null : storageAccount.getTableModule().get(tableName, storageAccount.getResourceGroupName());
+        final List<Table> tables = ResourceCatalog.getInstance(element.getProject()).peek(ResourceCatalog.key(storageAccount, "tables"), storageAccount.getTableModule());
+        if (StringUtils.isNotBlank(tableName) && Objects.isNull(tables)) { // not listed yet, highlighting restarts once listed
+            return;
+        }
+        final Table table = StringUtils.isBlank(tableName) ? null : findByName(tables, tableName);
         if (Objects.isNull(table)) {
             final String message = StringUtils.isBlank(tableName) ? "Table name could not be empty" :
                     String.format("Could not find table '%s' in account '%s'", tableName, storageAccount.getName());
@@ -71,7 +78,11 @@ public class FunctionAnnotationResourcePathAnnotator implements Annotator {
         }
         final PsiLiteralExpression literal = (PsiLiteralExpression) element.getParent();
         final String queueName = literal.getValue() instanceof String ? (String) literal.getValue() : StringUtils.EMPTY;
-        final Queue queue = StringUtils.isBlank(queueName) ? null : storageAccount.getQueueModule().get(queueName, storageAccount.getResourceGroupName());
+        final List<Queue> queues = ResourceCatalog.getInstance(element.getProject()).peek(ResourceCatalog.key(storageAccount, "queues"), storageAccount.getQueueModule());
+        if (StringUtils.isNotBlank(queueName) && Objects.isNull(queues)) { // not listed yet, highlighting restarts once listed
+            return;
+        }
+        final Queue queue = StringUtils.isBlank(queueName) ? null : findByName(queues, queueName);
         if (Objects.isNull(queue)) {
             final String message = StringUtils.isBlank(queueName) ? "QueueName could not be empty" :
                     String.format("Could not find queue '%s' in account '%s'", queueName, storageAccount.getName());
@@ -91,7 +102,12 @@ public class FunctionAnnotationResourcePathAnnotator implements Annotator {
         final PsiLiteralExpression literal = (PsiLiteralExpression) element.getParent();
         final String path = literal.getValue() instanceof String ? (String) literal.getValue() : StringUtils.EMPTY;
         final String pathToValid = path.contains("{") ? StringUtils.substringBeforeLast(StringUtils.substringBefore(path, "{"), "/") : path; // get sub path without parameters
-        final StorageFile file = StringUtils.isBlank(path) ? null : getFileByPath(pathToValid, storageAccount);
+        final List<? extends StorageFile> files = StringUtils.isBlank(path) ? null :
+            StoragePathCompletionProvider.peekFiles("azure-blob://" + pathToValid, List.of(storageAccount), element.getProject());
+        if (StringUtils.isNotBlank(path) && Objects.isNull(files)) { // not listed yet, highlighting restarts once listed
+            return;
+        }
+        final StorageFile file = Objects.isNull(files) ? null : StoragePathCompletionProvider.findFile(pathToValid, files);
         if (Objects.isNull(file)) {
             final String message = StringUtils.isBlank(path) ? "Path could not be empty" :
                     String.format("Could not find blob container/file '%s' in account '%s'", pathToValid, storageAccount.getName());
@@ -103,10 +119,7 @@ public class FunctionAnnotationResourcePathAnnotator implements Annotator {
     }
 
     @Nullable
-    private StorageFile getFileByPath(@Nonnull final String fullPrefix, @Nonnull final IStorageAccount storageAccount) {
-        final String container = fullPrefix.contains("/") ? fullPrefix.substring(0, fullPrefix.indexOf("/")) : fullPrefix;
-        final String path = fullPrefix.contains("/") ? fullPrefix.substring(fullPrefix.indexOf("/") + 1) : "";
-        final BlobContainer blobContainer = storageAccount.getBlobContainerModule().get(container, storageAccount.getResourceGroupName());
-        return StringUtils.isEmpty(path) || Objects.isNull(blobContainer) ? blobContainer : blobContainer.getFile(path);
+    private static <T extends AzResource> T findByName(@Nonnull List<T> resources, @Nonnull String name) {
+        return resources.stream().filter(r -> r.getName().equalsIgnoreCase(name)).findFirst().orElse(null);
     }
 }
@@ -83,7 +83,7 @@ public class FunctionBlobPathCompletionProvider extends CompletionProvider<Compl
         final String value = literal.getValue() instanceof String ? (String) literal.getValue() : StringUtils.EMPTY;
         final String fullPrefix = StringUtils.substringBefore(value, StoragePathCompletionContributor.DUMMY_IDENTIFIER);
         final List<IStorageAccount> accountsToSearch = Objects.nonNull(account) ? List.of(account) : getConnectedResources(module, StorageAccountResourceDefinition.INSTANCE);
-        final List<? extends StorageFile> files = getFiles("azure-blob://" + fullPrefix, accountsToSearch);
+        final List<? extends StorageFile> files = getFiles("azure-blob://" + fullPrefix, accountsToSearch, module.getProject());
         final BiFunction<StorageFile, String, LookupElementBuilder> builder = (file, title) -> LookupElementBuilder.create(title)
                 .withInsertHandler(new FunctionAnnotationValueInsertHandler(title.endsWith("/"), getAdditionalPropertiesFromCompletion(getStorageAccount(file), module)))
                 .withBoldness(true)
@@ -21,6 +21,7 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ProcessingContext;
 import com.microsoft.azure.toolkit.ide.common.icon.AzureIcons;
 import com.microsoft.azure.toolkit.intellij.common.IntelliJAzureIcons;
+import com.microsoft.azure.toolkit.intellij.connector.code.ResourceCatalog;
 import com.microsoft.azure.toolkit.intellij.connector.code.function.FunctionAnnotationCompletionConfidence;
 import com.microsoft.azure.toolkit.intellij.connector.code.function.FunctionAnnotationTypeHandler;
 import com.microsoft.azure.toolkit.intellij.connector.code.function.FunctionAnnotationValueInsertHandler;
@@ -76,7 +77,8 @@ public class FunctionQueueNameCompletionProvider extends CompletionProvider<Comp
         final PsiAnnotation annotation = PsiTreeUtil.getParentOfType(parameters.getPosition(), PsiAnnotation.class);
         final IStorageAccount account = Optional.ofNullable(annotation).map(Utils::getBindingStorageAccount).orElse(null);
         final List<IStorageAccount> accounts = Objects.isNull(account) ? getConnectedResources(module, StorageAccountResourceDefinition.INSTANCE) : List.of(account);
-        accounts.stream().flatMap(a -> a.getQueueModule().list().stream())
+        final ResourceCatalog catalog = ResourceCatalog.getInstance(module.getProject());
+        accounts.stream().flatMap(a -> catalog.<Queue>list(ResourceCatalog.key(a, "queues"), a.getQueueModule()).stream())
                 .filter(queue -> StringUtils.startsWithIgnoreCase(queue.getName(), fullPrefix))
                 .map(queue -> createLookupElement(queue, module))
                 .forEach(result::addElement);
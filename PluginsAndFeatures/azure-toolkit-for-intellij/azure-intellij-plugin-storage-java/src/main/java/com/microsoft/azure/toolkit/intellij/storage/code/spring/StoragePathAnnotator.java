@@ -69,7 +69,11 @@ public class StoragePathAnnotator implements Annotator {
                         AnnotationFixes.createSignInAnnotation(element, holder);
                         return;
                     }
-                    final StorageFile file = StoragePathCompletionProvider.getFile(valueWithPrefix, accounts);
+                    final List<? extends StorageFile> files = StoragePathCompletionProvider.peekFiles(valueWithPrefix, accounts, element.getProject());
+                    if (Objects.isNull(files)) { // not listed yet, highlighting restarts once listed
+                        return;
+                    }
+                    final StorageFile file = StoragePathCompletionProvider.findFile(valueWithPrefix, files);
                     if (Objects.isNull(file)) {
                         final String message = String.format("Could not find '%s' in connected Azure Storage account(s) [%s]", path, accounts.stream().map(AzComponent::getName).collect(Collectors.joining(",")));
                         holder.newAnnotation(HighlightSeverity.WARNING, message)
@@ -15,6 +15,8 @@ import com.intellij.openapi.actionSystem.ActionPlaces;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.util.ProcessingContext;
@@ -24,6 +26,7 @@ import com.microsoft.azure.toolkit.ide.storage.StorageActionsContributor;
 import com.microsoft.azure.toolkit.intellij.common.IntelliJAzureIcons;
 import com.microsoft.azure.toolkit.intellij.connector.Connection;
 import com.microsoft.azure.toolkit.intellij.connector.Resource;
+import com.microsoft.azure.toolkit.intellij.connector.code.ResourceCatalog;
 import com.microsoft.azure.toolkit.intellij.connector.code.Utils;
 import com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule;
 import com.microsoft.azure.toolkit.intellij.connector.dotazure.Profile;
@@ -33,33 +36,32 @@ import com.microsoft.azure.toolkit.intellij.storage.connection.StorageAccountRes
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.action.AzureActionManager;
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationBundle;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetry;
 import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
 import com.microsoft.azure.toolkit.lib.storage.blob.BlobContainer;
-import com.microsoft.azure.toolkit.lib.storage.blob.BlobContainerModule;
 import com.microsoft.azure.toolkit.lib.storage.blob.IBlobFile;
 import com.microsoft.azure.toolkit.lib.storage.model.StorageFile;
 import com.microsoft.azure.toolkit.lib.storage.share.IShareFile;
 import com.microsoft.azure.toolkit.lib.storage.share.Share;
-import com.microsoft.azure.toolkit.lib.storage.share.ShareModule;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 public class StoragePathCompletionProvider extends CompletionProvider<CompletionParameters> {
+    private static final int MAX_PREFETCH = 8;
 
     @Override
     protected void addCompletions(@Nonnull CompletionParameters parameters, @Nonnull ProcessingContext context, @Nonnull CompletionResultSet result) {
@@ -87,7 +89,7 @@ public class StoragePathCompletionProvider extends CompletionProvider<Completion
                         .withTailText(" " + a.getData().getResourceGroupName())
                         .withIcon(IntelliJAzureIcons.getIcon(AzureIcons.StorageAccount.MODULE))).forEach(result::addElement);
             } else {
-                final List<? extends StorageFile> files = getFiles(fullPrefix, accounts);
+                final List<? extends StorageFile> files = getFiles(fullPrefix, accounts, module.getProject());
                 final String[] parts = result.getPrefixMatcher().getPrefix().trim().split("/", -1);
                 result = result.withPrefixMatcher(parts[parts.length - 1]);
                 AzureTelemeter.info("connector.resources_count.storage_resources_code_completion", ImmutableMap.of("count", files.size() + ""));
@@ -110,24 +112,73 @@ public class StoragePathCompletionProvider extends CompletionProvider<Completion
         }
     }
 
-    public static List<? extends StorageFile> getFiles(String fullPrefix, @Nonnull final List<IStorageAccount> accounts) {
+    /**
+     * list the files under the parent path of {@code fullPrefix} from {@link ResourceCatalog}, and prefetch the sub files
+     * of the listed directories.
+     */
+    public static List<? extends StorageFile> getFiles(String fullPrefix, @Nonnull final List<IStorageAccount> accounts, @Nonnull Project project) {
+        return Objects.requireNonNull(getFiles(fullPrefix, accounts, project, true));
+    }
+
+    /**
+     * same as {@link #getFiles(String, List, Project)} but never waits for remote listing, for annotators.
+     *
+     * @return null if any level of the path is not listed yet
+     */
+    @Nullable
+    public static List<? extends StorageFile> peekFiles(String fullPrefix, @Nonnull final List<IStorageAccount> accounts, @Nonnull Project project) {
+        return getFiles(fullPrefix, accounts, project, false);
+    }
+
+    @Nullable
+    private static List<? extends StorageFile> getFiles(String fullPrefix, @Nonnull final List<IStorageAccount> accounts, @Nonnull Project project, boolean wait) {
+        final ResourceCatalog catalog = ResourceCatalog.getInstance(project);
         final String fixedFullPrefix = fullPrefix.replace("azure-blob://", "").replace("azure-file://", "").trim();
         final String[] parts = fixedFullPrefix.split("/", -1);
-        final var getModule = fullPrefix.startsWith("azure-blob://") ?
-            (Function<IStorageAccount, BlobContainerModule>) IStorageAccount::getBlobContainerModule :
-            (Function<IStorageAccount, ShareModule>) IStorageAccount::getShareModule;
-        List<? extends StorageFile> files = accounts.stream().map(getModule)
-            .flatMap(m -> emptyIfException(() -> m.list().stream()))
-            .map(r -> ((StorageFile) r)).toList();
-        for (int i = 1; i < parts.length; i++) {
+        final boolean isBlob = fullPrefix.startsWith("azure-blob://");
+        final Function<IStorageAccount, List<? extends StorageFile>> listRoots = a -> isBlob ?
+            list(catalog, ResourceCatalog.key(a, "blobContainers"), a.getBlobContainerModule(), wait) :
+            list(catalog, ResourceCatalog.key(a, "shares"), a.getShareModule(), wait);
+        List<? extends StorageFile> files = listAll(accounts, listRoots);
+        for (int i = 1; i < parts.length && Objects.nonNull(files); i++) {
             final String parentName = parts[i - 1];
-            files = files.stream().filter(f -> f.getName().equalsIgnoreCase(parentName))
-                .filter(StorageFile::isDirectory)
-                .flatMap(f -> emptyIfException(() -> f.getSubFileModule().list().stream())).toList();
+            final List<? extends StorageFile> parents = files.stream().filter(f -> f.getName().equalsIgnoreCase(parentName))
+                .filter(StorageFile::isDirectory).toList();
+            files = listAll(parents, f -> list(catalog, ResourceCatalog.key(f, "files"), f.getSubFileModule(), wait));
         }
+        Optional.ofNullable(files).ifPresent(fs -> fs.stream().filter(StorageFile::isDirectory).limit(MAX_PREFETCH)
+            .forEach(d -> catalog.prefetch(ResourceCatalog.key(d, "files"), d.getSubFileModule())));
         return files;
     }
 
+    @Nullable
+    private static <T> List<T> list(@Nonnull ResourceCatalog catalog, @Nonnull String key, @Nonnull AbstractAzResourceModule<? extends T, ?, ?> module, boolean wait) {
+        return wait ? catalog.list(key, module) : catalog.peek(key, module);
+    }
+
+    /**
+     * @return null if the files of any parent are not listed yet
+     */
+    @Nullable
+    private static <P> List<? extends StorageFile> listAll(@Nonnull List<P> parents, @Nonnull Function<P, List<? extends StorageFile>> list) {
+        final List<StorageFile> result = new ArrayList<>();
+        for (final P parent : parents) {
+            final List<? extends StorageFile> files;
+            try {
+                files = list.apply(parent);
+            } catch (final ProcessCanceledException e) {
+                throw e;
+            } catch (final Throwable e) {
+                continue;
+            }
+            if (Objects.isNull(files)) {
+                return null;
+            }
+            result.addAll(files);
+        }
+        return result;
+    }
+
     public static List<Connection<?, ?>> getConnections(Module module) {
         return Optional.of(module).map(AzureModule::from)
             .map(AzureModule::getDefaultProfile).map(Profile::getConnectionManager).stream()
@@ -139,12 +190,16 @@ public class StoragePathCompletionProvider extends CompletionProvider<Completion
 
     @Nullable
     public static StorageFile getFile(String fullPrefix, Module module) {
-        return getFile(fullPrefix, Utils.getConnectedResources(module, StorageAccountResourceDefinition.INSTANCE));
+        return getFile(fullPrefix, Utils.getConnectedResources(module, StorageAccountResourceDefinition.INSTANCE), module.getProject());
+    }
+
+    @Nullable
+    public static StorageFile getFile(String fullPrefix, @Nonnull final List<IStorageAccount> accounts, @Nonnull Project project) {
+        return findFile(fullPrefix, getFiles(fullPrefix, accounts, project));
     }
 
     @Nullable
-    public static StorageFile getFile(String fullPrefix, @Nonnull final List<IStorageAccount> accounts) {
-        final List<? extends StorageFile> files = getFiles(fullPrefix, accounts);
+    public static StorageFile findFile(String fullPrefix, @Nonnull final List<? extends StorageFile> files) {
         final String[] parts = fullPrefix.trim().split("/", -1);
         return files.stream().filter(f -> f.getName().equalsIgnoreCase(parts[parts.length - 1].trim())).findFirst().orElse(null);
     }
@@ -207,12 +262,4 @@ public class StoragePathCompletionProvider extends CompletionProvider<Completion
             }
         }
     }
-
-    private static <T> Stream<T> emptyIfException(Supplier<Stream<T>> func) {
-        try {
-            return func.get();
-        } catch (final Throwable e) {
-            return Stream.empty();
-        }
-    }
 }
@@ -15,8 +15,11 @@ import com.intellij.psi.JavaTokenType;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiLiteralExpression;
 import com.microsoft.azure.toolkit.intellij.common.IntelliJAzureIcons;
+import com.microsoft.azure.toolkit.intellij.connector.code.Utils;
+import com.microsoft.azure.toolkit.intellij.storage.connection.StorageAccountResourceDefinition;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
+import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
 import com.microsoft.azure.toolkit.lib.storage.model.StorageFile;
 import lombok.Getter;
 
@@ -25,6 +28,7 @@ import javax.annotation.Nullable;
 import javax.swing.*;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static com.intellij.patterns.PsiJavaPatterns.literalExpression;
 import static com.intellij.patterns.PsiJavaPatterns.psiElement;
@@ -40,7 +44,10 @@ public class StoragePathLineMarkerProvider implements LineMarkerProvider {
             final String valueWithPrefix = literal.getValue() instanceof String ? (String) literal.getValue() : element.getText();
             if (Objects.nonNull(module) && (valueWithPrefix.startsWith("azure-blob://") || valueWithPrefix.startsWith("azure-file://"))) {
                 final String prefix = valueWithPrefix.startsWith("azure-blob://") ? "azure-blob://" : "azure-file://";
-                final StorageFile file = StoragePathCompletionProvider.getFile(valueWithPrefix, module);
+                final List<IStorageAccount> accounts = Utils.getConnectedResources(module, StorageAccountResourceDefinition.INSTANCE);
+                // line markers are collected on the highlighting thread, never wait for the remote listing here
+                final StorageFile file = Optional.ofNullable(StoragePathCompletionProvider.peekFiles(valueWithPrefix, accounts, module.getProject()))
+                    .map(files -> StoragePathCompletionProvider.findFile(valueWithPrefix, files)).orElse(null);
                 if (Objects.nonNull(file)) {
                     return new ResourceLineMarkerInfo(element, file);
                 }
@@ -55,7 +55,7 @@ public class StoragePathReference extends PsiReferenceBase<PsiElement> {
     public @Nullable PsiElement resolve() {
         return Optional.of(this.getElement()).map(ModuleUtil::findModuleForPsiElement)
                 .map(m -> Objects.isNull(account) ? StoragePathCompletionProvider.getFile(fullNameWithPrefix, m) :
-                        StoragePathCompletionProvider.getFile(fullNameWithPrefix, List.of(account)))
+                        StoragePathCompletionProvider.getFile(fullNameWithPrefix, List.of(account), m.getProject()))
                 .map(AzureStorageResourcePsiElement::new)
                 .orElse(null);
     }
@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.toolkit.intellij.storage;
 
+import com.intellij.openapi.application.PathManager;
 import com.intellij.openapi.application.WriteAction;
 import com.intellij.openapi.fileChooser.FileChooser;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
@@ -14,11 +15,14 @@ import com.intellij.openapi.ide.CopyPasteManager;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.microsoft.azure.toolkit.intellij.common.fileexplorer.VirtualFileActions;
 import com.microsoft.azure.toolkit.intellij.storage.component.FileCreationDialog;
+import com.microsoft.azure.toolkit.intellij.storage.preview.RangeCache;
+import com.microsoft.azure.toolkit.intellij.storage.preview.StorageFilePreviewDialog;
+import com.microsoft.azure.toolkit.intellij.storage.preview.StorageFileRangeReader;
+import com.microsoft.azure.toolkit.intellij.storage.transfer.StorageTransferTask;
 import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
@@ -39,17 +43,20 @@ import java.awt.datatransfer.StringSelection;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class StorageFileActions {
+    private static final String PREVIEW_CACHE_DIR = "azure-storage-preview";
+    private static final long MAX_PREVIEW_CACHE_BYTES = 512 * FileUtils.ONE_MB;
 
     @SneakyThrows
     public static void openFileInEditor(StorageFile file, Project project) {
-        final String failure = String.format("Can not open file (%s). Try downloading it first and open it manually.", file.getName());
         if (file.getSize() > 10 * FileUtils.ONE_MB) {
-            AzureTaskManager.getInstance().runLater(() -> Messages.showWarningDialog(failure, "Open File"));
+            // large files are only previewed by ranges rather than downloaded entirely
+            previewFile(file, project);
             return;
         }
         final AzureString title = OperationBundle.description("boundary/storage.load_content.file", file.getName());
@@ -67,6 +74,23 @@ public class StorageFileActions {
         AzureTaskManager.getInstance().runInModal(task);
     }
 
+    public static void previewFile(@Nonnull StorageFile file, Project project) {
+        final AzureString title = OperationBundle.description("internal/storage.preview_file.file", file.getName());
+        AzureTaskManager.getInstance().runInBackground(new AzureTask<>(project, title, true, () -> {
+            final Path cacheRoot = Path.of(PathManager.getSystemPath(), PREVIEW_CACHE_DIR);
+            RangeCache.evict(cacheRoot, MAX_PREVIEW_CACHE_BYTES);
+            final StorageFileRangeReader reader = new StorageFileRangeReader(file, cacheRoot);
+            final byte[] head = readPage(reader, 0);
+            final byte[] tail = reader.getPageCount() > 1 ? readPage(reader, reader.getPageCount() - 1) : null;
+            AzureTaskManager.getInstance().runLater(() -> new StorageFilePreviewDialog(project, reader, head, tail).show());
+        }));
+    }
+
+    @SneakyThrows
+    private static byte[] readPage(@Nonnull StorageFileRangeReader reader, long page) {
+        return reader.readPage(page);
+    }
+
     @SneakyThrows
     private static void downloadAndOpen(@Nonnull StorageFile file, Project project) {
         final String failure = String.format("Can not open file (%s). Try downloading it first and open it manually.", file.getName());
@@ -164,22 +188,8 @@ public class StorageFileActions {
             final FileChooserDescriptor descriptor = new FileChooserDescriptor(true, false, true, true, false, true);
             descriptor.setTitle("Choose Files to Upload");
             final VirtualFile[] files = FileChooser.chooseFiles(descriptor, project, null);
-            final AtomicInteger count = new AtomicInteger(0);
-            for (final VirtualFile virtualFile : files) {
-                final AzureString title = OperationBundle.description("internal/storage.upload_files.source|dir", virtualFile.getName(), file.getName());
-                final AzureTask<Void> task = new AzureTask<>(project, title, false, () -> {
-                    final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
-                    indicator.setIndeterminate(true);
-                    final AbstractAzResourceModule<? extends StorageFile, ? extends StorageFile, ?> module = file.getSubFileModule();
-                    final StorageFile.Draft<?, ?> draft = (StorageFile.Draft<?, ?>) module.create(virtualFile.getName(), "");
-                    draft.setSourceFile(Paths.get(virtualFile.getPath()));
-                    draft.createIfNotExist();
-                    count.incrementAndGet();
-                    if (count.get() == files.length) {
-                        AzureMessager.getMessager().success(AzureString.format("Successfully uploaded %s file(s) to directory \"%s\".", files.length, file.getName()));
-                    }
-                });
-                AzureTaskManager.getInstance().runInBackground(task);
+            if (files.length > 0) {
+                StorageTransferTask.upload(file, Arrays.stream(files).map(f -> Paths.get(f.getPath())).collect(Collectors.toList()), project);
             }
         });
     }
@@ -207,7 +217,25 @@ public class StorageFileActions {
     }
 
     public static void uploadFolder(StorageFile file, Project project) {
+        AzureTaskManager.getInstance().runLater(() -> {
+            final FileChooserDescriptor descriptor = new FileChooserDescriptor(false, true, false, false, false, true);
+            descriptor.setTitle("Choose Folders to Upload");
+            final VirtualFile[] folders = FileChooser.chooseFiles(descriptor, project, null);
+            if (folders.length > 0) {
+                StorageTransferTask.upload(file, Arrays.stream(folders).map(f -> Paths.get(f.getPath())).collect(Collectors.toList()), project);
+            }
+        });
+    }
 
+    public static void syncFolder(StorageFile file, Project project) {
+        AzureTaskManager.getInstance().runLater(() -> {
+            final FileChooserDescriptor descriptor = FileChooserDescriptorFactory.createSingleFolderDescriptor();
+            descriptor.setTitle("Choose the Local Folder to Sync");
+            final VirtualFile folder = FileChooser.chooseFile(descriptor, project, null);
+            if (folder != null) {
+                StorageTransferTask.sync(file, Paths.get(folder.getPath()), project);
+            }
+        });
     }
 
     public static void downloadFile(StorageFile file, Project project) {
@@ -216,7 +244,9 @@ public class StorageFileActions {
             final FileChooserDescriptor fileChooserDescriptor = FileChooserDescriptorFactory.createSingleFolderDescriptor();
             fileChooserDescriptor.setTitle("Choose Where to Save the File");
             final VirtualFile vf = FileChooser.chooseFile(fileChooserDescriptor, null, null);
-            if (vf != null) {
+            if (vf != null && file.isDirectory()) {
+                StorageTransferTask.download(file, Paths.get(vf.getPath()), project);
+            } else if (vf != null) {
                 final AzureString title = OperationBundle.description("boundary/storage.download_file.file|dir", file.getName(), vf.getPath());
                 manager.runInModal(title, () -> {
                     final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
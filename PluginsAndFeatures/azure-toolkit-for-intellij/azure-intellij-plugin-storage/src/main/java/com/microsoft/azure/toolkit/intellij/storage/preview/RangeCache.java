@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.preview;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * The fetched pages of a remote file, cached on disk, one file per page. The cache of a remote file is identified by
+ * its url, size and last modified time, so that the pages of a changed file are never reused.
+ */
+@Slf4j
+public class RangeCache {
+    private static final String PAGE_SUFFIX = ".page";
+
+    private final Path directory;
+
+    public RangeCache(@Nonnull Path root, @Nonnull String key) {
+        this.directory = root.resolve(DigestUtils.sha256Hex(key));
+    }
+
+    @Nullable
+    public byte[] get(long page) {
+        final Path file = this.directory.resolve(page + PAGE_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            final byte[] data = Files.readAllBytes(file);
+            // touch the directory for the least recently used eviction
+            Files.setLastModifiedTime(this.directory, FileTime.fromMillis(System.currentTimeMillis()));
+            return data;
+        } catch (final IOException e) {
+            log.warn("failed to read cached page {}", file, e);
+            return null;
+        }
+    }
+
+    public void put(long page, @Nonnull byte[] data) {
+        final Path file = this.directory.resolve(page + PAGE_SUFFIX);
+        try {
+            Files.createDirectories(this.directory);
+            final Path temp = Files.createTempFile(this.directory, String.valueOf(page), ".tmp");
+            Files.write(temp, data);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            // the preview still works without cache, the page is just fetched again next time
+            log.warn("failed to cache page {}", file, e);
+        }
+    }
+
+    /**
+     * delete the caches of the least recently used files until the total size is under {@code maxBytes}.
+     */
+    public static void evict(@Nonnull Path root, long maxBytes) {
+        final File[] caches = root.toFile().listFiles(File::isDirectory);
+        if (Objects.isNull(caches)) {
+            return;
+        }
+        Arrays.sort(caches, Comparator.comparingLong(File::lastModified).reversed());
+        long total = 0;
+        for (final File cache : caches) {
+            total += FileUtils.sizeOfDirectory(cache);
+            if (total > maxBytes) {
+                FileUtils.deleteQuietly(cache);
+            }
+        }
+    }
+}
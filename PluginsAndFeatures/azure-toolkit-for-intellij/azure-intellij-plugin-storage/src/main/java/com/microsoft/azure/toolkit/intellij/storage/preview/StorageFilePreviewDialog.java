@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.preview;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.components.ActionLink;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.util.ui.JBUI;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Nonnull;
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A read-only viewer of a large remote file, showing the first and the last pages of the file first, and loading the
+ * pages in between as the user scrolls to them. Files with NUL bytes in the first page are shown as hex dump.
+ */
+public class StorageFilePreviewDialog extends DialogWrapper {
+    private static final int BINARY_PROBE_BYTES = 8 * 1024;
+    private static final int HEX_BYTES_PER_LINE = 16;
+
+    private final StorageFileRangeReader reader;
+    private final boolean binary;
+    private final CharsetDecoder decoder = newDecoder();
+    // the trailing bytes of the last loaded head page, which are an incomplete character
+    private ByteBuffer pending = ByteBuffer.allocate(0);
+    @Nullable
+    private final byte[] tail;
+    private final long tailPage;
+    private long nextPage;
+    private boolean loading;
+    private volatile boolean disposed;
+
+    private final JBTextArea headArea = createTextArea();
+    private final JBTextArea tailArea = createTextArea();
+    private final JBLabel gapLabel = new JBLabel();
+    private final JPanel gapPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+    private final JBLabel statusLabel = new JBLabel();
+    private final JBScrollPane scrollPane;
+    private final JPanel contentPanel;
+
+    /**
+     * @param head the first page of the file
+     * @param tail the last page of the file, null if the file has only one page
+     */
+    public StorageFilePreviewDialog(@Nullable Project project, @Nonnull StorageFileRangeReader reader, @Nonnull byte[] head, @Nullable byte[] tail) {
+        super(project, false, IdeModalityType.MODELESS);
+        this.reader = reader;
+        this.tail = tail;
+        this.tailPage = Objects.isNull(tail) ? reader.getPageCount() : reader.getPageCount() - 1;
+        this.binary = isBinary(head);
+        this.setTitle(String.format("Preview %s (%s)", reader.getFile().getName(), StringUtil.formatFileSize(reader.getSize())));
+        this.setOKButtonText("Close");
+
+        final JPanel view = new JPanel();
+        view.setLayout(new BoxLayout(view, BoxLayout.Y_AXIS));
+        view.add(this.headArea);
+        this.gapPanel.add(this.gapLabel);
+        this.gapPanel.add(new ActionLink("Load more", e -> this.loadNextPage()));
+        this.gapPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        this.gapPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, this.gapPanel.getPreferredSize().height));
+        view.add(this.gapPanel);
+        view.add(this.tailArea);
+        this.scrollPane = new JBScrollPane(view);
+        this.scrollPane.getVerticalScrollBar().setUnitIncrement(JBUI.scale(16));
+        this.scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> this.loadIfGapVisible());
+        this.contentPanel = new JPanel(new BorderLayout());
+        this.contentPanel.add(this.scrollPane, BorderLayout.CENTER);
+        this.contentPanel.add(this.statusLabel, BorderLayout.SOUTH);
+        this.contentPanel.setPreferredSize(JBUI.size(900, 600));
+
+        this.headArea.setText(this.render(head, 0, reader.getPageCount() <= 1));
+        this.nextPage = 1;
+        if (Objects.nonNull(tail)) {
+            this.tailArea.setText(this.binary ? toHex(tail, reader.getPageOffset(this.tailPage)) : decodeTail(tail));
+        }
+        this.joinTailIfReached();
+        this.init();
+        this.refresh();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        return this.contentPanel;
+    }
+
+    @Nonnull
+    @Override
+    protected Action[] createActions() {
+        return new Action[]{this.getOKAction()};
+    }
+
+    @Override
+    protected void dispose() {
+        this.disposed = true;
+        super.dispose();
+    }
+
+    private void loadIfGapVisible() {
+        if (this.gapPanel.isVisible() && !this.loading && this.scrollPane.getViewport().getViewRect().intersects(this.gapPanel.getBounds())) {
+            this.loadNextPage();
+        }
+    }
+
+    private void loadNextPage() {
+        if (this.loading || this.nextPage >= this.tailPage) {
+            return;
+        }
+        this.loading = true;
+        this.gapLabel.setText("Loading...");
+        final long page = this.nextPage;
+        AzureTaskManager.getInstance().runOnPooledThread(() -> {
+            try {
+                final byte[] data = this.reader.readPage(page);
+                AzureTaskManager.getInstance().runLater(() -> this.onPageLoaded(page, data), AzureTask.Modality.ANY);
+            } catch (final IOException e) {
+                AzureTaskManager.getInstance().runLater(() -> this.onPageFailed(e), AzureTask.Modality.ANY);
+            }
+        });
+    }
+
+    private void onPageLoaded(long page, @Nonnull byte[] data) {
+        if (this.disposed) {
+            return;
+        }
+        this.headArea.append(this.render(data, this.reader.getPageOffset(page), page + 1 >= this.reader.getPageCount()));
+        this.nextPage = page + 1;
+        this.joinTailIfReached();
+        this.loading = false;
+        this.refresh();
+        // the loaded page may be shorter than the viewport
+        AzureTaskManager.getInstance().runLater(this::loadIfGapVisible, AzureTask.Modality.ANY);
+    }
+
+    private void joinTailIfReached() {
+        if (this.nextPage == this.tailPage && Objects.nonNull(this.tail)) {
+            // the head reaches the tail, join them to render the characters across the page boundary
+            this.headArea.append(this.render(this.tail, this.reader.getPageOffset(this.tailPage), true));
+            this.nextPage = this.tailPage + 1;
+        }
+    }
+
+    private void onPageFailed(@Nonnull IOException e) {
+        if (this.disposed) {
+            return;
+        }
+        this.loading = false;
+        this.refresh();
+        this.statusLabel.setText("Failed to load: " + ExceptionUtils.getRootCauseMessage(e));
+    }
+
+    private void refresh() {
+        final boolean complete = this.nextPage >= this.tailPage;
+        final long headBytes = Math.min(this.reader.getSize(), this.reader.getPageOffset(this.nextPage));
+        final long tailBytes = complete || Objects.isNull(this.tail) ? 0 : this.tail.length;
+        this.gapPanel.setVisible(!complete);
+        this.tailArea.setVisible(!complete);
+        this.gapLabel.setText(String.format("··· %s not loaded ···", StringUtil.formatFileSize(this.reader.getSize() - headBytes - tailBytes)));
+        this.statusLabel.setText(complete ? String.format("Showing all of %s.", StringUtil.formatFileSize(this.reader.getSize())) :
+            String.format("Showing the first %s and the last %s of %s, scroll down to load more.",
+                StringUtil.formatFileSize(headBytes), StringUtil.formatFileSize(tailBytes), StringUtil.formatFileSize(this.reader.getSize())));
+    }
+
+    @Nonnull
+    private String render(@Nonnull byte[] data, long offset, boolean endOfFile) {
+        if (this.binary) {
+            return toHex(data, offset);
+        }
+        final ByteBuffer in = ByteBuffer.allocate(this.pending.remaining() + data.length).put(this.pending).put(data).flip();
+        final CharBuffer out = CharBuffer.allocate((int) (in.remaining() * this.decoder.maxCharsPerByte()) + 1);
+        this.decoder.decode(in, out, endOfFile);
+        if (endOfFile) {
+            this.decoder.flush(out);
+        }
+        this.pending = ByteBuffer.allocate(in.remaining()).put(in).flip();
+        return out.flip().toString();
+    }
+
+    @Nonnull
+    private static String decodeTail(@Nonnull byte[] data) {
+        // the page may start in the middle of a multibyte character, skip its continuation bytes
+        int start = 0;
+        while (start < Math.min(3, data.length) && (data[start] & 0xC0) == 0x80) {
+            start++;
+        }
+        final ByteBuffer in = ByteBuffer.wrap(data, start, data.length - start);
+        final CharsetDecoder decoder = newDecoder();
+        final CharBuffer out = CharBuffer.allocate((int) (in.remaining() * decoder.maxCharsPerByte()) + 1);
+        decoder.decode(in, out, true);
+        decoder.flush(out);
+        return out.flip().toString();
+    }
+
+    @Nonnull
+    private static String toHex(@Nonnull byte[] data, long offset) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < data.length; i += HEX_BYTES_PER_LINE) {
+            result.append(String.format("%010x  ", offset + i));
+            for (int j = 0; j < HEX_BYTES_PER_LINE; j++) {
+                result.append(i + j < data.length ? String.format("%02x ", data[i + j]) : "   ");
+            }
+            result.append(' ');
+            for (int j = 0; j < HEX_BYTES_PER_LINE && i + j < data.length; j++) {
+                final int b = data[i + j] & 0xFF;
+                result.append(b >= 0x20 && b < 0x7F ? (char) b : '.');
+            }
+            result.append('\n');
+        }
+        return result.toString();
+    }
+
+    private static boolean isBinary(@Nonnull byte[] head) {
+        for (int i = 0; i < Math.min(BINARY_PROBE_BYTES, head.length); i++) {
+            if (head[i] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CharsetDecoder newDecoder() {
+        return StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static JBTextArea createTextArea() {
+        final JBTextArea area = new JBTextArea();
+        area.setEditable(false);
+        area.setAlignmentX(Component.LEFT_ALIGNMENT);
+        area.setFont(JBUI.Fonts.create(Font.MONOSPACED, 12));
+        return area;
+    }
+}
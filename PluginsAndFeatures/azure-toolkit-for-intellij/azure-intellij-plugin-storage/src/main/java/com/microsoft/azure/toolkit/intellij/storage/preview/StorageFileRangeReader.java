@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.preview;
+
+import com.microsoft.azure.toolkit.lib.storage.model.StorageFile;
+import lombok.Getter;
+import org.apache.commons.io.IOUtils;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Read a remote file page by page with ranged GET requests on its SAS url, so that only the previewed parts of a large
+ * file are transferred. The fetched pages are cached by {@link RangeCache}.
+ */
+public class StorageFileRangeReader {
+    // multiple of 16 bytes, so that the hex dump of every page starts at a line boundary
+    public static final int PAGE_SIZE = 256 * 1024;
+    private static final int TIMEOUT_MS = 30_000;
+
+    @Getter
+    private final StorageFile file;
+    @Getter
+    private final long size;
+    private final RangeCache cache;
+    private String sasUrl;
+
+    public StorageFileRangeReader(@Nonnull StorageFile file, @Nonnull Path cacheRoot) {
+        this.file = file;
+        this.size = file.getSize();
+        final String modified = Optional.ofNullable(file.getLastModified()).map(OffsetDateTime::toString).orElse("");
+        this.cache = new RangeCache(cacheRoot, file.getUrl() + "\n" + this.size + "\n" + modified);
+    }
+
+    public long getPageCount() {
+        return (this.size + PAGE_SIZE - 1) / PAGE_SIZE;
+    }
+
+    public long getPageOffset(long page) {
+        return page * PAGE_SIZE;
+    }
+
+    @Nonnull
+    public byte[] readPage(long page) throws IOException {
+        if (page < 0 || page >= this.getPageCount()) {
+            return new byte[0];
+        }
+        final byte[] cached = this.cache.get(page);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final long offset = this.getPageOffset(page);
+        final int length = (int) Math.min(PAGE_SIZE, this.size - offset);
+        final byte[] data = this.fetch(offset, length);
+        // a partial page, e.g. of a file truncated since it's listed, is shown but never cached
+        if (data.length == length) {
+            this.cache.put(page, data);
+        }
+        return data;
+    }
+
+    @Nonnull
+    private byte[] fetch(long offset, int length) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(this.getSasUrl()).openConnection();
+        try {
+            connection.setRequestMethod("GET");
+            connection.setRequestProperty("Range", String.format("bytes=%d-%d", offset, offset + length - 1));
+            connection.setConnectTimeout(TIMEOUT_MS);
+            connection.setReadTimeout(TIMEOUT_MS);
+            final int responseCode = connection.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_PARTIAL && responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException(String.format("failed to read bytes %d-%d of %s: %d %s", offset, offset + length - 1,
+                    this.file.getName(), responseCode, connection.getResponseMessage()));
+            }
+            try (final InputStream stream = connection.getInputStream()) {
+                if (responseCode == HttpURLConnection.HTTP_OK) {
+                    // the range is ignored by the server, skip to the range and stop reading once it's read
+                    IOUtils.skipFully(stream, offset);
+                }
+                final byte[] data = new byte[length];
+                final int read = IOUtils.read(stream, data);
+                if (read == length) {
+                    return data;
+                }
+                // only the last page may end early, e.g. the file is truncated since it's listed
+                if (offset + length < this.size) {
+                    throw new IOException(String.format("failed to read bytes %d-%d of %s: got %d bytes only", offset, offset + length - 1,
+                        this.file.getName(), read));
+                }
+                return Arrays.copyOf(data, read);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private synchronized String getSasUrl() {
+        if (Objects.isNull(this.sasUrl)) {
+            this.sasUrl = this.file.getSasUrl();
+        }
+        return this.sasUrl;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.transfer;
+
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.FormBuilder;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Nonnull;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Show the differences of a {@link StorageSyncPlan} as the dry run report, and confirm to apply them.
+ */
+public class StorageSyncDialog extends DialogWrapper {
+    private static final String[] COLUMNS = new String[]{"Change", "Path", "Size", "Reason"};
+
+    private final StorageSyncPlan plan;
+    private final JBLabel summaryLabel = new JBLabel();
+    private final JBCheckBox deleteExtrasCheckBox = new JBCheckBox("Delete remote files missing locally");
+    private final JBTable table = new JBTable();
+    private final JPanel contentPanel;
+
+    public StorageSyncDialog(@Nullable Project project, @Nonnull StorageSyncPlan plan) {
+        super(project, false);
+        this.plan = plan;
+        this.setTitle(String.format("Sync %s to %s", plan.getLocalDirectory().getFileName(), plan.getRemoteDirectory().getName()));
+        this.setOKButtonText("Sync");
+        this.deleteExtrasCheckBox.addActionListener(e -> this.refresh());
+        this.contentPanel = FormBuilder.createFormBuilder()
+            .addComponent(this.summaryLabel)
+            .addComponent(this.deleteExtrasCheckBox)
+            .addComponentFillVertically(ScrollPaneFactory.createScrollPane(this.table), 0)
+            .getPanel();
+        this.contentPanel.setPreferredSize(JBUI.size(800, 500));
+        this.init();
+        this.refresh();
+    }
+
+    public boolean isDeleteExtras() {
+        return this.deleteExtrasCheckBox.isSelected();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        return this.contentPanel;
+    }
+
+    @Nonnull
+    @Override
+    protected Action[] createLeftSideActions() {
+        return new Action[]{new AbstractAction("Copy Report") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                CopyPasteManager.getInstance().setContents(new StringSelection(getReport()));
+            }
+        }};
+    }
+
+    private void refresh() {
+        final List<StorageSyncPlan.Entry> entries = this.getEntries();
+        final long added = entries.stream().filter(e -> e.getChange() == StorageSyncPlan.Change.ADD).count();
+        final long updated = entries.stream().filter(e -> e.getChange() == StorageSyncPlan.Change.UPDATE).count();
+        final long deleted = entries.size() - added - updated;
+        final long bytes = this.plan.getUploadJob().getItems().stream().mapToLong(StorageTransferManager.Item::getSize).sum();
+        this.summaryLabel.setText(String.format("%d to add, %d to update (%s to upload), %d to delete, %d unchanged. %s",
+            added, updated, StringUtil.formatFileSize(bytes), deleted, this.plan.getUnchanged(),
+            this.plan.getDeletions().isEmpty() || this.isDeleteExtras() ? "" : String.format("%d remote file(s) missing locally are kept.", this.plan.getDeletions().size())));
+        final DefaultTableModel model = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        entries.forEach(e -> model.addRow(new Object[]{e.getChange(), e.getRelativePath(), StringUtil.formatFileSize(e.getSize()), e.getReason()}));
+        this.table.setModel(model);
+        this.setOKActionEnabled(!this.plan.isInSync(this.isDeleteExtras()));
+    }
+
+    private List<StorageSyncPlan.Entry> getEntries() {
+        return this.plan.getEntries().stream()
+            .filter(e -> this.isDeleteExtras() || e.getChange() != StorageSyncPlan.Change.DELETE)
+            .collect(Collectors.toList());
+    }
+
+    private String getReport() {
+        return this.summaryLabel.getText() + "\n" + this.getEntries().stream()
+            .map(e -> String.format("%-6s %s (%s): %s", e.getChange(), e.getRelativePath(), StringUtil.formatFileSize(e.getSize()), e.getReason()))
+            .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.transfer;
+
+import com.microsoft.azure.toolkit.lib.storage.model.StorageFile;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The differences between a local directory and a remote directory, computed by
+ * {@link StorageTransferManager#planSync(StorageFile, Path)}, to be reported as dry run or applied.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StorageSyncPlan {
+    public enum Change {
+        ADD, UPDATE, DELETE
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final Change change;
+        private final String relativePath;
+        private final long size;
+        private final String reason;
+        /**
+         * the remote file to update/delete, null for the files to add
+         */
+        @Nullable
+        private final StorageFile remoteFile;
+    }
+
+    private final Path localDirectory;
+    private final StorageFile remoteDirectory;
+    /**
+     * the upload job of the added and updated files
+     */
+    private final StorageTransferManager.Job uploadJob;
+    private final List<Entry> entries;
+    private final int unchanged;
+    /**
+     * the remote directories under the remote directory by relative path, as listed when planned
+     */
+    private final Map<String, StorageFile> remoteDirectories;
+
+    @Nonnull
+    public List<Entry> getDeletions() {
+        return this.entries.stream().filter(e -> e.change == Change.DELETE).toList();
+    }
+
+    public boolean isInSync(boolean deleteExtras) {
+        return this.uploadJob.getItems().isEmpty() && (!deleteExtras || this.getDeletions().isEmpty());
+    }
+}
@@ -0,0 +1,601 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.transfer;
+
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.model.Deletable;
+import com.microsoft.azure.toolkit.lib.storage.blob.BlobFileDraft;
+import com.microsoft.azure.toolkit.lib.storage.blob.IBlobFile;
+import com.microsoft.azure.toolkit.lib.storage.model.StorageFile;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Transfer files between the local file system and a {@link StorageFile} directory (blob container/directory, file
+ * share/directory) by a bounded pool of workers, with aggregate progress, retries and resuming from a
+ * {@link TransferJournal}. The blocks of a single large file are transferred in parallel by the storage SDK, the files
+ * are scheduled from the largest, so that the large files don't end up as the tail of the job.
+ */
+public class StorageTransferManager {
+    private static final String PARTIAL_SUFFIX = ".azpart";
+    // tolerate the clock skew between the local machine and the storage service
+    private static final long MODIFIED_TOLERANCE_MS = 2000;
+
+    @Getter
+    @Builder
+    public static class Options {
+        @Builder.Default
+        private final int workers = 4;
+        @Builder.Default
+        private final int maxAttempts = 3;
+        @Builder.Default
+        private final long initialBackoffMs = 500;
+    }
+
+    public enum Direction {
+        UPLOAD, DOWNLOAD
+    }
+
+    /**
+     * A file to transfer, the relative path is separated by '/', relative to the local/remote root of the job.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Item {
+        private final String relativePath;
+        private final Path localPath;
+        @Nullable
+        private final StorageFile remoteFile;
+        private final long size;
+        private final String fingerprint;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Progress {
+        private final int totalFiles;
+        private final int transferredFiles;
+        private final long totalBytes;
+        private final long transferredBytes;
+        private final double bytesPerSecond;
+        @Nullable
+        private final String current;
+    }
+
+    public interface ProgressListener {
+        void onProgress(@Nonnull Progress progress);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Failure {
+        private final Item item;
+        private final String error;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+        private final int transferred;
+        private final int skipped;
+        private final List<Failure> failures;
+        private final long bytes;
+        private final long elapsedMs;
+        private final boolean cancelled;
+
+        public double getBytesPerSecond() {
+            return this.elapsedMs == 0 ? 0 : this.bytes * 1000.0 / this.elapsedMs;
+        }
+    }
+
+    @Getter
+    public static class Job {
+        private final Direction direction;
+        private final StorageFile remoteRoot;
+        private final List<Item> items;
+        private final TransferJournal journal;
+
+        private Job(@Nonnull Direction direction, @Nonnull StorageFile remoteRoot, @Nonnull List<Item> items, @Nonnull TransferJournal journal) {
+            this.direction = direction;
+            this.remoteRoot = remoteRoot;
+            this.items = items;
+            this.journal = journal;
+        }
+
+        /**
+         * @return a job of the given items only, sharing the journal, e.g. to retry the failed items
+         */
+        @Nonnull
+        public Job subset(@Nonnull List<Item> items) {
+            return new Job(this.direction, this.remoteRoot, items, this.journal);
+        }
+    }
+
+    private final Options options;
+    private final Path journalDirectory;
+
+    public StorageTransferManager(@Nonnull Options options, @Nonnull Path journalDirectory) {
+        this.options = options;
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Plan uploading the local files and directories (recursively) into the remote directory.
+     */
+    @Nonnull
+    public Job planUpload(@Nonnull StorageFile target, @Nonnull List<Path> sources) throws IOException {
+        final List<Item> items = new ArrayList<>();
+        for (final Path source : sources) {
+            final Path base = Optional.ofNullable(source.getParent()).orElse(source);
+            if (Files.isDirectory(source)) {
+                try (final Stream<Path> files = Files.walk(source)) {
+                    for (final Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                        items.add(toUploadItem(base, file));
+                    }
+                }
+            } else if (Files.isRegularFile(source)) {
+                items.add(toUploadItem(base, source));
+            }
+        }
+        final String sourceKey = sources.stream().map(p -> p.toAbsolutePath().toString()).sorted().collect(Collectors.joining("|"));
+        final TransferJournal journal = new TransferJournal(this.journalDirectory, sourceKey, target.getUrl());
+        return new Job(Direction.UPLOAD, target, items, journal);
+    }
+
+    /**
+     * Plan downloading the remote file, or all files under the remote directory recursively, into the local directory.
+     */
+    @Nonnull
+    public Job planDownload(@Nonnull StorageFile source, @Nonnull Path targetDirectory) {
+        final List<Item> items = new ArrayList<>();
+        if (source.isDirectory()) {
+            collectRemoteFiles(source, source.getName(), targetDirectory.resolve(source.getName()), items);
+        } else {
+            items.add(toDownloadItem(source, source.getName(), targetDirectory.resolve(source.getName())));
+        }
+        final TransferJournal journal = new TransferJournal(this.journalDirectory, source.getUrl(), targetDirectory.toAbsolutePath().toString());
+        return new Job(Direction.DOWNLOAD, source, items, journal);
+    }
+
+    /**
+     * Compare the contents of the local directory with the remote directory by size and last modified time, the remote
+     * tree is listed once. The local files missing or different remotely are to upload, the remote files missing
+     * locally are to delete.
+     */
+    @Nonnull
+    public StorageSyncPlan planSync(@Nonnull StorageFile target, @Nonnull Path localDirectory) throws IOException {
+        final Map<String, StorageFile> remoteFiles = new HashMap<>();
+        final Map<String, StorageFile> remoteDirectories = new HashMap<>();
+        collectRemoteTree(target, "", remoteFiles, remoteDirectories);
+
+        final List<Item> uploads = new ArrayList<>();
+        final List<StorageSyncPlan.Entry> entries = new ArrayList<>();
+        int unchanged = 0;
+        final List<Path> localFiles;
+        try (final Stream<Path> files = Files.walk(localDirectory)) {
+            localFiles = files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (final Path file : localFiles) {
+            final Item item = toUploadItem(localDirectory, file);
+            final StorageFile remote = remoteFiles.remove(item.relativePath);
+            final String reason = getSyncReason(item, file, remote);
+            if (Objects.isNull(reason)) {
+                unchanged++;
+                continue;
+            }
+            uploads.add(item);
+            final StorageSyncPlan.Change change = Objects.isNull(remote) ? StorageSyncPlan.Change.ADD : StorageSyncPlan.Change.UPDATE;
+            entries.add(new StorageSyncPlan.Entry(change, item.relativePath, item.size, reason, remote));
+        }
+        remoteFiles.forEach((path, remote) -> entries.add(new StorageSyncPlan.Entry(StorageSyncPlan.Change.DELETE, path, remote.getSize(), "missing locally", remote)));
+        entries.sort(Comparator.comparing(StorageSyncPlan.Entry::getRelativePath));
+
+        final TransferJournal journal = new TransferJournal(this.journalDirectory, "sync:" + localDirectory.toAbsolutePath(), target.getUrl());
+        return new StorageSyncPlan(localDirectory, target, new Job(Direction.UPLOAD, target, uploads, journal), entries, unchanged, remoteDirectories);
+    }
+
+    /**
+     * Delete the remote files in parallel, and then the remote directories left empty by the deletions, the current
+     * thread is blocked until all are deleted.
+     *
+     * @return the failures
+     */
+    @Nonnull
+    public List<String> deleteRemote(@Nonnull StorageSyncPlan plan, @Nonnull List<StorageSyncPlan.Entry> deletions,
+                                     @Nonnull BooleanSupplier cancelled) throws InterruptedException {
+        final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        final Set<String> deleted = ConcurrentHashMap.newKeySet();
+        final ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, this.options.getWorkers()));
+        try {
+            for (final StorageSyncPlan.Entry entry : deletions) {
+                workers.execute(() -> {
+                    if (cancelled.getAsBoolean() || !(entry.getRemoteFile() instanceof Deletable)) {
+                        return;
+                    }
+                    try {
+                        ((Deletable) entry.getRemoteFile()).delete();
+                        deleted.add(entry.getRelativePath());
+                    } catch (final Exception e) {
+                        failures.add(entry.getRelativePath() + ": " + ExceptionUtils.getRootCauseMessage(e));
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        if (!cancelled.getAsBoolean()) {
+            failures.addAll(deleteEmptyDirectories(plan, deleted));
+        }
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Delete the remote directories of the deleted files which are empty now, the deepest first, so that a directory
+     * emptied by deleting its sub directories is deleted too. The directories empty before the sync are kept.
+     *
+     * @return the failures
+     */
+    @Nonnull
+    private static List<String> deleteEmptyDirectories(@Nonnull StorageSyncPlan plan, @Nonnull Set<String> deleted) {
+        if (plan.getRemoteDirectory() instanceof IBlobFile) {
+            // the directories of blobs are virtual, they are gone with the last blob in them
+            return Collections.emptyList();
+        }
+        final List<String> directories = deleted.stream()
+            .flatMap(path -> Stream.iterate(getParentPath(path), p -> !p.isEmpty(), StorageTransferManager::getParentPath))
+            .distinct()
+            .sorted(Comparator.comparingLong((String p) -> p.chars().filter(c -> c == '/').count()).reversed())
+            .collect(Collectors.toList());
+        final List<String> failures = new ArrayList<>();
+        for (final String path : directories) {
+            final StorageFile directory = plan.getRemoteDirectories().get(path);
+            if (!(directory instanceof Deletable)) {
+                continue;
+            }
+            try {
+                directory.getSubFileModule().refresh();
+                if (listAll(directory).isEmpty()) {
+                    ((Deletable) directory).delete();
+                }
+            } catch (final Exception e) {
+                failures.add(path + "/: " + ExceptionUtils.getRootCauseMessage(e));
+            }
+        }
+        return failures;
+    }
+
+    @Nonnull
+    private static String getParentPath(@Nonnull String relativePath) {
+        final int index = relativePath.lastIndexOf('/');
+        return index < 0 ? "" : relativePath.substring(0, index);
+    }
+
+    @Nullable
+    private static String getSyncReason(@Nonnull Item local, @Nonnull Path file, @Nullable StorageFile remote) throws IOException {
+        if (Objects.isNull(remote)) {
+            return "missing remotely";
+        }
+        if (remote.getSize() != local.size) {
+            return String.format("size differs (local %d bytes, remote %d bytes)", local.size, remote.getSize());
+        }
+        final OffsetDateTime remoteModified = remote.getLastModified();
+        final long localModified = Files.getLastModifiedTime(file).toMillis();
+        // the remote time is when the file was uploaded, the local file is changed only if it's modified after that
+        if (Objects.nonNull(remoteModified) && localModified - remoteModified.toInstant().toEpochMilli() > MODIFIED_TOLERANCE_MS) {
+            return "modified locally after uploaded";
+        }
+        return null;
+    }
+
+    private static void collectRemoteTree(@Nonnull StorageFile directory, @Nonnull String prefix, @Nonnull Map<String, StorageFile> files,
+                                          @Nonnull Map<String, StorageFile> directories) {
+        for (final StorageFile file : listAll(directory)) {
+            if (file.isDirectory()) {
+                directories.put(prefix + file.getName(), file);
+                collectRemoteTree(file, prefix + file.getName() + "/", files, directories);
+            } else {
+                files.put(prefix + file.getName(), file);
+            }
+        }
+    }
+
+    /**
+     * Run the job in the current thread, the files transferred by a previous run of the same job are skipped.
+     *
+     * @param onProgress called whenever a file is transferred, in the worker threads
+     * @param cancelled  checked before each file is transferred
+     */
+    @Nonnull
+    public Result run(@Nonnull Job job, @Nullable ProgressListener onProgress, @Nonnull BooleanSupplier cancelled) throws InterruptedException {
+        final List<Item> pending = new ArrayList<>();
+        int skipped = 0;
+        for (final Item item : job.items) {
+            if (job.journal.isTransferred(item.relativePath, item.fingerprint) && isLocalIntact(job, item)) {
+                skipped++;
+            } else {
+                pending.add(item);
+            }
+        }
+        pending.sort(Comparator.comparingLong(Item::getSize).reversed());
+
+        final long totalBytes = pending.stream().mapToLong(Item::getSize).sum();
+        final AtomicLong transferredBytes = new AtomicLong();
+        final AtomicInteger transferredFiles = new AtomicInteger();
+        final List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+        final DirectoryResolver directories = new DirectoryResolver(job.remoteRoot);
+        final long start = System.currentTimeMillis();
+        final ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, this.options.getWorkers()));
+        try {
+            for (final Item item : pending) {
+                workers.execute(() -> {
+                    if (cancelled.getAsBoolean()) {
+                        return;
+                    }
+                    final String error = this.transferWithRetry(job, item, directories, cancelled);
+                    if (Objects.isNull(error)) {
+                        job.journal.markTransferred(item.relativePath, item.fingerprint);
+                        transferredFiles.incrementAndGet();
+                        transferredBytes.addAndGet(item.size);
+                    } else {
+                        failures.add(new Failure(item, error));
+                    }
+                    if (onProgress != null) {
+                        final long elapsed = Math.max(1, System.currentTimeMillis() - start);
+                        onProgress.onProgress(new Progress(pending.size(), transferredFiles.get() + failures.size(), totalBytes,
+                            transferredBytes.get(), transferredBytes.get() * 1000.0 / elapsed, item.relativePath));
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        final boolean isCancelled = cancelled.getAsBoolean() && transferredFiles.get() + failures.size() < pending.size();
+        job.journal.close(!isCancelled && failures.isEmpty());
+        return new Result(transferredFiles.get(), skipped, new ArrayList<>(failures), transferredBytes.get(),
+            System.currentTimeMillis() - start, isCancelled);
+    }
+
+    @Nullable
+    private String transferWithRetry(@Nonnull Job job, @Nonnull Item item, @Nonnull DirectoryResolver directories, @Nonnull BooleanSupplier cancelled) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (job.direction == Direction.UPLOAD) {
+                    upload(directories, item);
+                } else {
+                    download(item);
+                }
+                return null;
+            } catch (final Exception e) {
+                if (attempt >= this.options.getMaxAttempts() || cancelled.getAsBoolean()) {
+                    return ExceptionUtils.getRootCauseMessage(e);
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(this.options.getInitialBackoffMs() << (attempt - 1));
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return "interrupted";
+                }
+            }
+        }
+    }
+
+    private static void upload(@Nonnull DirectoryResolver directories, @Nonnull Item item) {
+        final String[] segments = item.relativePath.split("/");
+        final String name = segments[segments.length - 1];
+        if (directories.root instanceof IBlobFile) {
+            // the directories of blobs are virtual, create the blob by its path relative to the deepest existing directory
+            final DirectoryResolver.Resolved resolved = directories.resolveExisting(segments);
+            final StorageFile existing = resolved.remaining.length == 1 ? resolved.directory.getFile(name) : null;
+            if (Objects.nonNull(existing)) {
+                overwrite(existing, item.localPath);
+                return;
+            }
+            final String relativePath = String.join("/", resolved.remaining);
+            final BlobFileDraft draft = (BlobFileDraft) resolved.directory.getSubFileModule().create(resolved.remaining[0], "");
+            draft.setRelativePath(relativePath);
+            draft.setDirectory(resolved.remaining.length > 1);
+            draft.setSourceFile(item.localPath);
+            draft.createIfNotExist();
+        } else {
+            final StorageFile directory = directories.resolveOrCreate(segments);
+            final StorageFile existing = directory.getFile(name);
+            if (Objects.nonNull(existing)) {
+                overwrite(existing, item.localPath);
+                return;
+            }
+            final AbstractAzResourceModule<? extends StorageFile, ? extends StorageFile, ?> module = directory.getSubFileModule();
+            final StorageFile.Draft<?, ?> draft = (StorageFile.Draft<?, ?>) module.create(name, "");
+            draft.setSourceFile(item.localPath);
+            draft.createIfNotExist();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void overwrite(@Nonnull StorageFile file, @Nonnull Path source) {
+        final StorageFile.Draft<? extends StorageFile, ?> draft = (StorageFile.Draft<? extends StorageFile, ?>) ((AbstractAzResource) file).update();
+        draft.setSourceFile(source);
+        draft.updateIfExist();
+    }
+
+    /**
+     * Download into a partial file first, so that an interrupted download never looks like a complete file.
+     */
+    private static void download(@Nonnull Item item) throws IOException {
+        final Path target = item.localPath;
+        final Path partial = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+        Files.createDirectories(target.getParent());
+        Files.deleteIfExists(partial);
+        Objects.requireNonNull(item.remoteFile).download(partial);
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean isLocalIntact(@Nonnull Job job, @Nonnull Item item) {
+        if (job.direction == Direction.UPLOAD) {
+            return true;
+        }
+        try {
+            return Files.isRegularFile(item.localPath) && Files.size(item.localPath) == item.size;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    private static Item toUploadItem(@Nonnull Path base, @Nonnull Path file) throws IOException {
+        final String relativePath = base.relativize(file).toString().replace('\\', '/');
+        final long size = Files.size(file);
+        final String fingerprint = TransferJournal.fingerprint(size, Files.getLastModifiedTime(file).toMillis());
+        return new Item(relativePath, file, null, size, fingerprint);
+    }
+
+    private static Item toDownloadItem(@Nonnull StorageFile file, @Nonnull String relativePath, @Nonnull Path localPath) {
+        final long lastModified = Optional.ofNullable(file.getLastModified()).map(OffsetDateTime::toEpochSecond).orElse(0L);
+        return new Item(relativePath, localPath, file, file.getSize(), TransferJournal.fingerprint(file.getSize(), lastModified));
+    }
+
+    private static void collectRemoteFiles(@Nonnull StorageFile directory, @Nonnull String relativePath, @Nonnull Path localPath, @Nonnull List<Item> items) {
+        for (final StorageFile file : listAll(directory)) {
+            final String childPath = relativePath + "/" + file.getName();
+            if (file.isDirectory()) {
+                collectRemoteFiles(file, childPath, localPath.resolve(file.getName()), items);
+            } else {
+                items.add(toDownloadItem(file, childPath, localPath.resolve(file.getName())));
+            }
+        }
+    }
+
+    @Nonnull
+    static List<? extends StorageFile> listAll(@Nonnull StorageFile directory) {
+        final AbstractAzResourceModule<? extends StorageFile, ? extends StorageFile, ?> module = directory.getSubFileModule();
+        module.list();
+        while (module.hasMoreResources()) {
+            module.loadMoreResources();
+        }
+        return module.list();
+    }
+
+    /**
+     * Resolve the remote directories of the files, each directory is resolved (and created) at most once by the
+     * concurrent workers, the workers resolving the same directory wait for the first one, the others don't.
+     */
+    private static class DirectoryResolver {
+        private final StorageFile root;
+        // relative path of the directory -> the directory, completed with null if it doesn't exist
+        private final Map<String, CompletableFuture<StorageFile>> directories = new ConcurrentHashMap<>();
+
+        @RequiredArgsConstructor
+        private static class Resolved {
+            private final StorageFile directory;
+            private final String[] remaining;
+        }
+
+        DirectoryResolver(@Nonnull StorageFile root) {
+            this.root = root;
+        }
+
+        /**
+         * @param segments the segments of the file path, the last one is the file name
+         * @return the deepest existing directory, and the remaining segments relative to it
+         */
+        Resolved resolveExisting(@Nonnull String[] segments) {
+            StorageFile current = this.root;
+            int i = 0;
+            for (; i < segments.length - 1; i++) {
+                final StorageFile parent = current;
+                final String name = segments[i];
+                final StorageFile child = this.resolve(segments, i, () -> Optional.ofNullable(parent.getFile(name))
+                    .filter(StorageFile::isDirectory).orElse(null));
+                if (Objects.isNull(child)) {
+                    break;
+                }
+                current = child;
+            }
+            final String[] remaining = new String[segments.length - i];
+            System.arraycopy(segments, i, remaining, 0, remaining.length);
+            return new Resolved(current, remaining);
+        }
+
+        /**
+         * @param segments the segments of the file path, the last one is the file name
+         * @return the parent directory of the file, created if not exist
+         */
+        StorageFile resolveOrCreate(@Nonnull String[] segments) {
+            StorageFile current = this.root;
+            for (int i = 0; i < segments.length - 1; i++) {
+                final StorageFile parent = current;
+                final String name = segments[i];
+                current = this.resolve(segments, i, () -> Optional.ofNullable(parent.getFile(name)).orElseGet(() -> {
+                    final StorageFile.Draft<?, ?> draft = (StorageFile.Draft<?, ?>) parent.getSubFileModule().create(name, "");
+                    draft.setDirectory(true);
+                    draft.createIfNotExist();
+                    return Optional.ofNullable(parent.getFile(name)).orElse((StorageFile) draft);
+                }));
+            }
+            return current;
+        }
+
+        /**
+         * @param depth the index of the directory in {@code segments}
+         */
+        @Nullable
+        private StorageFile resolve(@Nonnull String[] segments, int depth, @Nonnull Supplier<StorageFile> resolver) {
+            final String path = String.join("/", Arrays.asList(segments).subList(0, depth + 1));
+            final CompletableFuture<StorageFile> resolving = new CompletableFuture<>();
+            final CompletableFuture<StorageFile> resolved = this.directories.putIfAbsent(path, resolving);
+            if (Objects.nonNull(resolved)) {
+                try {
+                    return resolved.join();
+                } catch (final CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+            try {
+                final StorageFile directory = resolver.get();
+                resolving.complete(directory);
+                return directory;
+            } catch (final RuntimeException e) {
+                // not kept, so that the directory is resolved again when the file is retried
+                this.directories.remove(path, resolving);
+                resolving.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.transfer;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.microsoft.azure.toolkit.lib.common.action.Action;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationBundle;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.lib.storage.model.StorageFile;
+import lombok.SneakyThrows;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Run the transfer jobs of {@link StorageTransferManager} as background tasks, with aggregate progress, and a
+ * notification to retry the failed files.
+ */
+public class StorageTransferTask {
+    private static final String JOURNAL_DIR = "azure-storage-transfers";
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    public static void upload(@Nonnull StorageFile target, @Nonnull List<Path> sources, @Nullable Project project) {
+        final AzureString title = OperationBundle.description("internal/storage.transfer_upload.dir", target.getName());
+        final StorageTransferManager manager = createManager();
+        AzureTaskManager.getInstance().runInBackground(new AzureTask<>(project, title, true, () -> uploadInBackground(manager, target, sources, project, title)));
+    }
+
+    public static void download(@Nonnull StorageFile source, @Nonnull Path targetDirectory, @Nullable Project project) {
+        final AzureString title = OperationBundle.description("internal/storage.transfer_download.file|dir", source.getName(), targetDirectory.toString());
+        final StorageTransferManager manager = createManager();
+        AzureTaskManager.getInstance().runInBackground(new AzureTask<>(project, title, true, () -> {
+            ProgressManager.getInstance().getProgressIndicator().setText2("Listing files...");
+            final StorageTransferManager.Job job = manager.planDownload(source, targetDirectory);
+            run(manager, job, project, title);
+        }));
+    }
+
+    @SneakyThrows
+    private static void uploadInBackground(@Nonnull StorageTransferManager manager, @Nonnull StorageFile target, @Nonnull List<Path> sources,
+                                           @Nullable Project project, @Nonnull AzureString title) {
+        ProgressManager.getInstance().getProgressIndicator().setText2("Listing files...");
+        run(manager, manager.planUpload(target, sources), project, title);
+    }
+
+    private static void run(@Nonnull StorageTransferManager manager, @Nonnull StorageTransferManager.Job job, @Nullable Project project,
+                            @Nonnull AzureString title) {
+        final StorageTransferManager.Result result = transfer(manager, job);
+        notify(manager, job, result, project, title, "", Collections.emptyList());
+    }
+
+    @SneakyThrows
+    private static StorageTransferManager.Result transfer(@Nonnull StorageTransferManager manager, @Nonnull StorageTransferManager.Job job) {
+        final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+        indicator.setIndeterminate(false);
+        return manager.run(job, progress -> {
+            indicator.setFraction(progress.getTotalBytes() == 0 ? 1.0 * progress.getTransferredFiles() / Math.max(1, progress.getTotalFiles()) :
+                1.0 * progress.getTransferredBytes() / progress.getTotalBytes());
+            indicator.setText2(String.format("%d/%d files, %s of %s, %s/s", progress.getTransferredFiles(), progress.getTotalFiles(),
+                StringUtil.formatFileSize(progress.getTransferredBytes()), StringUtil.formatFileSize(progress.getTotalBytes()),
+                StringUtil.formatFileSize((long) progress.getBytesPerSecond())));
+        }, indicator::isCanceled);
+    }
+
+    /**
+     * @param extra         appended to the summary of the transfer
+     * @param otherFailures the failures not to retry by transferring, e.g. deleting remote files
+     */
+    private static void notify(@Nonnull StorageTransferManager manager, @Nonnull StorageTransferManager.Job job, @Nonnull StorageTransferManager.Result result,
+                               @Nullable Project project, @Nonnull AzureString title, @Nonnull String extra, @Nonnull List<String> otherFailures) {
+        final String verb = job.getDirection() == StorageTransferManager.Direction.UPLOAD ? "uploaded" : "downloaded";
+        final StringBuilder message = new StringBuilder(String.format("%d file(s) %s (%s, %s/s)", result.getTransferred(), verb,
+            StringUtil.formatFileSize(result.getBytes()), StringUtil.formatFileSize((long) result.getBytesPerSecond())));
+        if (result.getSkipped() > 0) {
+            message.append(String.format(", %d file(s) skipped as transferred before", result.getSkipped()));
+        }
+        message.append(extra);
+        if (result.isCancelled()) {
+            message.append(". The transfer is cancelled, run it again to resume.");
+        }
+        final List<String> failures = Stream.concat(result.getFailures().stream().map(f -> f.getItem().getRelativePath() + ": " + f.getError()),
+            otherFailures.stream()).collect(Collectors.toList());
+        if (failures.isEmpty()) {
+            AzureMessager.getMessager().success(message.toString());
+            return;
+        }
+        message.append(String.format(". %d file(s) failed:\n", failures.size()));
+        message.append(failures.stream().limit(MAX_REPORTED_FAILURES).collect(Collectors.joining("\n")));
+        if (result.getFailures().isEmpty()) {
+            AzureMessager.getMessager().warning(message.toString());
+            return;
+        }
+        final List<StorageTransferManager.Item> failed = result.getFailures().stream().map(StorageTransferManager.Failure::getItem).collect(Collectors.toList());
+        final Action<String> retry = new Action<>(Action.Id.<String>of("user/storage.retry_transfer.dir"))
+            .withLabel("Retry Failed")
+            .withIdParam(job.getRemoteRoot().getName())
+            .withHandler(ignore -> AzureTaskManager.getInstance().runInBackground(new AzureTask<>(project, title, true,
+                () -> run(manager, job.subset(failed), project, title))));
+        AzureMessager.getMessager().warning(message.toString(), retry);
+    }
+
+    /**
+     * Compare the local directory with the remote directory, and sync the differences once confirmed.
+     */
+    public static void sync(@Nonnull StorageFile target, @Nonnull Path localDirectory, @Nullable Project project) {
+        final AzureString title = OperationBundle.description("internal/storage.compare_folder.source|dir", localDirectory.toString(), target.getName());
+        final StorageTransferManager manager = createManager();
+        AzureTaskManager.getInstance().runInBackground(new AzureTask<>(project, title, true, () -> {
+            ProgressManager.getInstance().getProgressIndicator().setText2("Listing files...");
+            final StorageSyncPlan plan = planSync(manager, target, localDirectory);
+            AzureTaskManager.getInstance().runLater(() -> {
+                final StorageSyncDialog dialog = new StorageSyncDialog(project, plan);
+                if (dialog.showAndGet()) {
+                    applySync(manager, plan, dialog.isDeleteExtras(), project);
+                }
+            });
+        }));
+    }
+
+    @SneakyThrows
+    private static StorageSyncPlan planSync(@Nonnull StorageTransferManager manager, @Nonnull StorageFile target, @Nonnull Path localDirectory) {
+        return manager.planSync(target, localDirectory);
+    }
+
+    private static void applySync(@Nonnull StorageTransferManager manager, @Nonnull StorageSyncPlan plan, boolean deleteExtras, @Nullable Project project) {
+        final AzureString title = OperationBundle.description("internal/storage.sync_folder.source|dir", plan.getLocalDirectory().toString(), plan.getRemoteDirectory().getName());
+        AzureTaskManager.getInstance().runInBackground(new AzureTask<>(project, title, true, () -> {
+            final StorageTransferManager.Result result = transfer(manager, plan.getUploadJob());
+            final List<StorageSyncPlan.Entry> deletions = deleteExtras && !result.isCancelled() ? plan.getDeletions() : Collections.emptyList();
+            final List<String> deletionFailures = deleteRemote(manager, plan, deletions);
+            final String extra = deletions.isEmpty() ? "" : String.format(", %d remote file(s) deleted", deletions.size() - deletionFailures.size());
+            notify(manager, plan.getUploadJob(), result, project, title, extra, deletionFailures);
+        }));
+    }
+
+    @SneakyThrows
+    private static List<String> deleteRemote(@Nonnull StorageTransferManager manager, @Nonnull StorageSyncPlan plan, @Nonnull List<StorageSyncPlan.Entry> deletions) {
+        if (deletions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+        indicator.setText2(String.format("Deleting %d remote file(s)...", deletions.size()));
+        return manager.deleteRemote(plan, deletions, indicator::isCanceled);
+    }
+
+    private static StorageTransferManager createManager() {
+        return new StorageTransferManager(StorageTransferManager.Options.builder().build(), Path.of(PathManager.getSystemPath(), JOURNAL_DIR));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.transfer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The files transferred by a job, appended once each file is transferred, so that a failed or cancelled job is resumed
+ * from the files not transferred yet. The journal of a job is identified by its source and target, and is deleted once
+ * the job is completed.
+ */
+@Slf4j
+public class TransferJournal {
+    private static final String SEPARATOR = "\t";
+
+    private final Path file;
+    // relative path -> the fingerprint (size and last modified time) of the transferred file
+    private final Map<String, String> transferred = new ConcurrentHashMap<>();
+    private BufferedWriter writer;
+
+    public TransferJournal(@Nonnull Path directory, @Nonnull String source, @Nonnull String target) {
+        this.file = directory.resolve(DigestUtils.sha256Hex(source + "\n" + target) + ".journal");
+        if (Files.isRegularFile(this.file)) {
+            try {
+                final List<String> lines = Files.readAllLines(this.file, StandardCharsets.UTF_8);
+                for (final String line : lines) {
+                    final int index = line.lastIndexOf(SEPARATOR);
+                    if (index > 0) {
+                        this.transferred.put(line.substring(0, index), line.substring(index + 1));
+                    }
+                }
+            } catch (final IOException e) {
+                log.warn("failed to read transfer journal {}", this.file, e);
+            }
+        }
+    }
+
+    public boolean isTransferred(@Nonnull String relativePath, @Nonnull String fingerprint) {
+        return Objects.equals(this.transferred.get(relativePath), fingerprint);
+    }
+
+    public boolean isEmpty() {
+        return this.transferred.isEmpty();
+    }
+
+    public synchronized void markTransferred(@Nonnull String relativePath, @Nonnull String fingerprint) {
+        this.transferred.put(relativePath, fingerprint);
+        try {
+            if (this.writer == null) {
+                Files.createDirectories(this.file.getParent());
+                this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            this.writer.write(relativePath + SEPARATOR + fingerprint);
+            this.writer.newLine();
+            this.writer.flush();
+        } catch (final IOException e) {
+            // the job is still correct without journal, it's just not resumable
+            log.warn("failed to write transfer journal {}", this.file, e);
+        }
+    }
+
+    public synchronized void close(boolean completed) {
+        try {
+            if (this.writer != null) {
+                this.writer.close();
+                this.writer = null;
+            }
+            if (completed) {
+                Files.deleteIfExists(this.file);
+            }
+        } catch (final IOException e) {
+            log.warn("failed to close transfer journal {}", this.file, e);
+        }
+    }
+
+    @Nonnull
+    public static String fingerprint(long size, long lastModified) {
+        return size + ":" + lastModified;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.transfer;
+
+import com.microsoft.azure.toolkit.lib.storage.AzuriteStorageAccount;
+import com.microsoft.azure.toolkit.lib.storage.blob.BlobContainer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sync a local directory into a blob container of a local Azurite, skipped if Azurite isn't listening on the default
+ * blob port, e.g. started by AzuriteService.
+ */
+public class StorageSyncAzuriteTest {
+    private static final int AZURITE_BLOB_PORT = 10000;
+
+    private Path work;
+    private Path local;
+    private BlobContainer container;
+    private StorageTransferManager manager;
+
+    @Before
+    public void setUp() throws IOException {
+        Assume.assumeTrue("Azurite is not running", isAzuriteRunning());
+        this.work = Files.createTempDirectory("storage-sync-test");
+        this.local = Files.createDirectories(this.work.resolve("local"));
+        this.manager = new StorageTransferManager(StorageTransferManager.Options.builder().build(), this.work.resolve("journals"));
+        this.container = (BlobContainer) AzuriteStorageAccount.AZURITE_STORAGE_ACCOUNT.getBlobContainerModule()
+            .create("sync-test-" + System.currentTimeMillis(), "").commit();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (this.container != null) {
+            this.container.delete();
+        }
+        if (this.work != null) {
+            try (final Stream<Path> files = Files.walk(this.work)) {
+                for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void syncOnlyTheDifferences() throws Exception {
+        write("a.txt", "a");
+        write("dir/b.txt", "b");
+        write("dir/sub/c.txt", "c");
+
+        final StorageSyncPlan initial = this.manager.planSync(this.container, this.local);
+        Assert.assertEquals(Map.of("a.txt", StorageSyncPlan.Change.ADD, "dir/b.txt", StorageSyncPlan.Change.ADD,
+            "dir/sub/c.txt", StorageSyncPlan.Change.ADD), changes(initial));
+        apply(initial);
+        Assert.assertTrue(this.manager.planSync(this.container, this.local).isInSync(true));
+
+        write("dir/b.txt", "b changed");
+        write("d.txt", "d");
+        Files.delete(this.local.resolve("dir/sub/c.txt"));
+
+        final StorageSyncPlan changed = this.manager.planSync(this.container, this.local);
+        Assert.assertEquals(Map.of("d.txt", StorageSyncPlan.Change.ADD, "dir/b.txt", StorageSyncPlan.Change.UPDATE,
+            "dir/sub/c.txt", StorageSyncPlan.Change.DELETE), changes(changed));
+        Assert.assertEquals(1, changed.getUnchanged());
+
+        // planning is a dry run, nothing is changed remotely
+        Assert.assertEquals(changes(changed), changes(this.manager.planSync(this.container, this.local)));
+
+        apply(changed);
+        final StorageSyncPlan synced = this.manager.planSync(this.container, this.local);
+        Assert.assertTrue(synced.isInSync(true));
+        Assert.assertEquals(3, synced.getUnchanged());
+    }
+
+    @Test
+    public void keepExtrasUnlessDeleted() throws Exception {
+        write("a.txt", "a");
+        write("b.txt", "b");
+        apply(this.manager.planSync(this.container, this.local));
+        Files.delete(this.local.resolve("b.txt"));
+
+        final StorageSyncPlan plan = this.manager.planSync(this.container, this.local);
+        Assert.assertTrue(plan.isInSync(false));
+        Assert.assertFalse(plan.isInSync(true));
+        Assert.assertEquals(1, plan.getDeletions().size());
+    }
+
+    private void apply(StorageSyncPlan plan) throws InterruptedException {
+        final StorageTransferManager.Result result = this.manager.run(plan.getUploadJob(), null, () -> false);
+        Assert.assertTrue(result.getFailures().isEmpty());
+        Assert.assertTrue(this.manager.deleteRemote(plan, plan.getDeletions(), () -> false).isEmpty());
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        final Path file = this.local.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static Map<String, StorageSyncPlan.Change> changes(StorageSyncPlan plan) {
+        return plan.getEntries().stream().collect(Collectors.toMap(StorageSyncPlan.Entry::getRelativePath, StorageSyncPlan.Entry::getChange));
+    }
+
+    private static boolean isAzuriteRunning() {
+        try (final Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", AZURITE_BLOB_PORT), 500);
+            return true;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+}
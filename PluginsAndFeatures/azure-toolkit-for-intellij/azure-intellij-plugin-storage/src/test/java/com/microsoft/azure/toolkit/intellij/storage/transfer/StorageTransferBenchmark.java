@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.storage.transfer;
+
+import com.microsoft.azure.toolkit.lib.storage.AzuriteStorageAccount;
+import com.microsoft.azure.toolkit.lib.storage.blob.BlobContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Measure the upload and download throughput of {@link StorageTransferManager} against a local Azurite, with
+ * different numbers of workers. Azurite must be listening on the default blob port, e.g. started by AzuriteService.
+ * Usage: StorageTransferBenchmark [files] [file KB] [workers...]
+ */
+public class StorageTransferBenchmark {
+    public static void main(String[] args) throws Exception {
+        final int files = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        final int fileKb = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        final int[] workers = args.length > 2 ? Stream.of(args).skip(2).mapToInt(Integer::parseInt).toArray() : new int[]{1, 4, 8};
+
+        final Path work = Files.createTempDirectory("storage-transfer-benchmark");
+        try {
+            final Path source = work.resolve("source");
+            createFiles(source, files, fileKb * 1024);
+            final long totalBytes = (long) files * fileKb * 1024;
+            System.out.printf("Transferring %d files of %d KB (%.1f MB) with Azurite%n", files, fileKb, totalBytes / 1048576.0);
+
+            for (final int count : workers) {
+                final StorageTransferManager manager = new StorageTransferManager(StorageTransferManager.Options.builder()
+                    .workers(count).build(), work.resolve("journals"));
+                final BlobContainer container = (BlobContainer) AzuriteStorageAccount.AZURITE_STORAGE_ACCOUNT.getBlobContainerModule()
+                    .create("transfer-benchmark-" + count + "-" + System.currentTimeMillis(), "").commit();
+                try {
+                    final StorageTransferManager.Result upload = manager.run(manager.planUpload(container, List.of(source)), null, () -> false);
+                    report("Upload", count, upload);
+
+                    final Path target = work.resolve("target-" + count);
+                    final StorageTransferManager.Result download = manager.run(manager.planDownload(container, target), null, () -> false);
+                    report("Download", count, download);
+                    verify(source, target.resolve(container.getName()).resolve(source.getFileName()));
+                } finally {
+                    container.delete();
+                }
+            }
+        } finally {
+            deleteRecursively(work);
+        }
+    }
+
+    private static void report(String name, int workers, StorageTransferManager.Result result) {
+        System.out.printf("%s with %d worker(s): %d files in %d ms, %.1f MB/s, %d failed%n", name, workers,
+            result.getTransferred(), result.getElapsedMs(), result.getBytesPerSecond() / 1048576.0, result.getFailures().size());
+        result.getFailures().stream().limit(5).forEach(f -> System.out.printf("  %s: %s%n", f.getItem().getRelativePath(), f.getError()));
+    }
+
+    // files in a few nested directories, so that the directories are resolved concurrently
+    private static void createFiles(Path directory, int files, int size) throws IOException {
+        final Random random = new Random(0);
+        final byte[] content = new byte[size];
+        for (int i = 0; i < files; i++) {
+            final Path file = directory.resolve("dir" + i % 8).resolve("sub" + i % 3).resolve("file" + i + ".bin");
+            Files.createDirectories(file.getParent());
+            random.nextBytes(content);
+            Files.write(file, content);
+        }
+    }
+
+    private static void verify(Path expected, Path actual) throws IOException {
+        try (final Stream<Path> files = Files.walk(expected)) {
+            for (final Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                final Path downloaded = actual.resolve(expected.relativize(file));
+                if (Files.mismatch(file, downloaded) != -1) {
+                    throw new IllegalStateException("Downloaded file differs: " + downloaded);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.connector.code;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.model.AzResource;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Per project catalog of the Azure resources listed by code completion, annotators and references, e.g. storage
+ * containers and queues, Cosmos databases and containers. Names are resolved against the cached listings instead of
+ * getting them one by one remotely, so that a missing name costs no remote call either.
+ * <ul>
+ *     <li>{@link #list} is for completion: expired listings are returned at once and refreshed in background, only
+ *     the first listing waits for the remote call, and the wait is cancelled with the completion.</li>
+ *     <li>{@link #peek} is for annotators and other code on the highlighting thread: it never waits, listings not
+ *     loaded yet are loaded in background and highlighting is restarted once they are loaded.</li>
+ * </ul>
+ * A failed listing is not retried within 30 seconds, and is reported as not loaded to annotators rather than as empty.
+ */
+@Slf4j
+public class ResourceCatalog {
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(2);
+    private static final long FAILURE_TTL_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final long WAIT_STEP_MS = 100;
+    private static final ExecutorService EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor("Azure Resource Catalog", 4);
+
+    private final Project project;
+    private final Map<String, Entry<?>> entries = new ConcurrentHashMap<>();
+    private final SimpleModificationTracker tracker = new SimpleModificationTracker();
+
+    public ResourceCatalog(@Nonnull Project project) {
+        this.project = project;
+    }
+
+    public static ResourceCatalog getInstance(@Nonnull Project project) {
+        return project.getService(ResourceCatalog.class);
+    }
+
+    /**
+     * @return the key of the listing of {@code kind} (e.g. "queues") under {@code parent}
+     */
+    @Nonnull
+    public static String key(@Nonnull AzResource parent, @Nonnull String kind) {
+        return parent.getId() + "/" + kind;
+    }
+
+    /**
+     * @return the listing of {@code module}, waiting for it only if it's never listed
+     */
+    @Nonnull
+    public <T> List<T> list(@Nonnull String key, @Nonnull AbstractAzResourceModule<? extends T, ?, ?> module) {
+        return this.<T>getEntry(key, module).get();
+    }
+
+    /**
+     * @return the listing of {@code module}, or null if it's not listed yet, in which case it's listed in background
+     */
+    @Nullable
+    public <T> List<T> peek(@Nonnull String key, @Nonnull AbstractAzResourceModule<? extends T, ?, ?> module) {
+        return this.<T>getEntry(key, module).peek();
+    }
+
+    /**
+     * list {@code module} in background if it's never listed.
+     */
+    public void prefetch(@Nonnull String key, @Nonnull AbstractAzResourceModule<?, ?, ?> module) {
+        this.getEntry(key, module).peek();
+    }
+
+    /**
+     * the modification count increases whenever a listing is loaded or changed, for the cached values derived from
+     * the listings.
+     */
+    @Nonnull
+    public ModificationTracker getModificationTracker() {
+        return this.tracker;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Entry<T> getEntry(@Nonnull String key, @Nonnull AbstractAzResourceModule<? extends T, ?, ?> module) {
+        return (Entry<T>) this.entries.computeIfAbsent(key, k -> new Entry<T>(module));
+    }
+
+    private void onChanged() {
+        this.tracker.incModificationCount();
+        AzureTaskManager.getInstance().runLater(() -> {
+            if (!this.project.isDisposed()) {
+                DaemonCodeAnalyzer.getInstance(this.project).restart();
+            }
+        });
+    }
+
+    private class Entry<T> {
+        private final AbstractAzResourceModule<? extends T, ?, ?> module;
+        private CompletableFuture<List<T>> loading;
+        private volatile List<T> value;
+        private volatile long loadedAt;
+        private volatile long failedAt;
+
+        Entry(@Nonnull AbstractAzResourceModule<? extends T, ?, ?> module) {
+            this.module = module;
+        }
+
+        @Nonnull
+        List<T> get() {
+            final List<T> current = this.peek();
+            if (Objects.nonNull(current)) {
+                return current;
+            }
+            if (this.isFailedRecently()) {
+                return Collections.emptyList();
+            }
+            return await(this.load());
+        }
+
+        @Nullable
+        List<T> peek() {
+            final List<T> current = this.value;
+            final long now = System.currentTimeMillis();
+            if (Objects.isNull(current) ? !this.isFailedRecently() : now - this.loadedAt > TTL_MS && !this.isFailedRecently()) {
+                this.load();
+            }
+            return current;
+        }
+
+        private boolean isFailedRecently() {
+            return System.currentTimeMillis() - this.failedAt < FAILURE_TTL_MS;
+        }
+
+        @Nonnull
+        private synchronized CompletableFuture<List<T>> load() {
+            if (Objects.isNull(this.loading) || this.loading.isDone()) {
+                this.loading = CompletableFuture.supplyAsync(this::doLoad, EXECUTOR);
+            }
+            return this.loading;
+        }
+
+        @Nonnull
+        private List<T> doLoad() {
+            final List<T> previous = this.value;
+            try {
+                if (Objects.nonNull(previous)) {
+                    this.module.refresh();
+                }
+                final List<T> result = Collections.unmodifiableList(this.module.list());
+                this.value = result;
+                this.loadedAt = System.currentTimeMillis();
+                this.failedAt = 0;
+                if (Objects.isNull(previous) || !getIds(previous).equals(getIds(result))) {
+                    ResourceCatalog.this.onChanged();
+                }
+                return result;
+            } catch (final Throwable e) {
+                // keep serving the previous listing, and retry only after a while
+                log.debug("failed to list resources", e);
+                this.failedAt = System.currentTimeMillis();
+                return Objects.requireNonNullElse(previous, Collections.emptyList());
+            }
+        }
+    }
+
+    @Nonnull
+    private static List<String> getIds(@Nonnull List<?> resources) {
+        return resources.stream().map(r -> r instanceof AzResource ? ((AzResource) r).getId() : String.valueOf(r)).toList();
+    }
+
+    @Nonnull
+    private static <T> List<T> await(@Nonnull CompletableFuture<List<T>> future) {
+        while (true) {
+            ProgressManager.checkCanceled();
+            try {
+                return future.get(WAIT_STEP_MS, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException ignored) {
+                // check cancellation and wait again
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Collections.emptyList();
+            } catch (final ExecutionException e) {
+                return Collections.emptyList();
+            }
+        }
+    }
+}
@@ -4,10 +4,16 @@ import com.intellij.execution.RunConfigurationExtension;
 import com.intellij.execution.configurations.JavaParameters;
 import com.intellij.execution.configurations.RunConfigurationBase;
 import com.intellij.execution.configurations.RunnerSettings;
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.process.ProcessOutputTypes;
 import com.microsoft.azure.toolkit.lib.common.messager.ExceptionNotification;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
 
 public class DotEnvRunConfigurationExtension extends RunConfigurationExtension {
 
@@ -22,6 +28,26 @@ public class DotEnvRunConfigurationExtension extends RunConfigurationExtension {
                 .forEach(p -> params.addEnv(p.getKey(), p.getValue()));
     }
 
+    /**
+     * print the time spent on loading the environment variables into the run console, once the console is attached.
+     */
+    @Override
+    protected void attachToProcess(@Nonnull RunConfigurationBase<?> config, @Nonnull ProcessHandler handler, @Nullable RunnerSettings s) {
+        final List<String> timings = config.getBeforeRunTasks().stream()
+                .filter(t -> t instanceof DotEnvBeforeRunTaskProvider.LoadDotEnvBeforeRunTask)
+                .flatMap(t -> ((DotEnvBeforeRunTaskProvider.LoadDotEnvBeforeRunTask) t).getTimings().stream())
+                .toList();
+        if (timings.isEmpty()) {
+            return;
+        }
+        handler.addProcessListener(new ProcessAdapter() {
+            @Override
+            public void startNotified(@Nonnull ProcessEvent event) {
+                timings.forEach(t -> handler.notifyTextAvailable(t + System.lineSeparator(), ProcessOutputTypes.SYSTEM));
+            }
+        });
+    }
+
     @Override
     public boolean isApplicableFor(@Nonnull RunConfigurationBase<?> configuration) {
         return configuration.getBeforeRunTasks().stream().anyMatch(t -> t instanceof DotEnvBeforeRunTaskProvider.LoadDotEnvBeforeRunTask);
@@ -103,7 +103,9 @@ public class Connection<R, C> {
     @AzureOperation(name = "internal/connector.prepare_before_run")
     public boolean prepareBeforeRun(@Nonnull RunConfiguration configuration, DataContext dataContext) {
         try {
-            this.env = getEnvironmentVariables(configuration.getProject());
+            final Project project = configuration.getProject();
+            this.env = Optional.ofNullable(this.profile).map(p -> p.getEnvCache().getEnvironmentVariables(this, project).value())
+                .orElseGet(() -> getEnvironmentVariables(project));
             return true;
         } catch (final Throwable e) {
             AzureMessager.getMessager().error(e);
@@ -9,10 +9,10 @@ import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
-import com.intellij.openapi.roots.OrderEnumerator;
 import com.intellij.openapi.util.JDOMUtil;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.microsoft.azure.toolkit.intellij.common.ProjectLibraryIndex;
 import com.microsoft.azure.toolkit.intellij.common.runconfig.IWebAppRunConfiguration;
 import com.microsoft.azure.toolkit.intellij.connector.*;
 import com.microsoft.azure.toolkit.intellij.facet.AzureFacet;
@@ -32,14 +32,11 @@ import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class AzureModule {
-    private static final Pattern PATTERN = Pattern.compile("(Gradle|Maven): (.+):(.+):(.+)");
-
     public static final String DOT_AZURE = ".azure";
     public static final String PROFILES_XML = "profiles.xml";
     static final String DOT_GITIGNORE = ".gitignore";
@@ -63,6 +60,11 @@ public class AzureModule {
     private VirtualFile profilesXmlFile;
     @Nullable
     private Profile defaultProfile;
+    /**
+     * the in-memory model of {@link #profilesXmlFile}, loaded once and written behind by {@link DotAzureWriter}
+     */
+    @Nullable
+    private Element profilesElement;
 
     public AzureModule(@Nonnull final Module module) {
         this(module, null);
@@ -75,24 +77,71 @@ public class AzureModule {
             .or(() -> this.getModuleDir().map(d -> d.findChild(DOT_AZURE))).ifPresent(d -> {
                 this.dotAzure = d;
                 this.profilesXmlFile = this.dotAzure.findChild(PROFILES_XML);
-                AzureTaskManager.getInstance().runOnPooledThread(() -> Optional.ofNullable(this.profilesXmlFile).ifPresent(this::loadProfiles));
+                AzureTaskManager.getInstance().runOnPooledThread(this::loadProfiles);
             });
     }
 
-    @SneakyThrows(value = {IOException.class, JDOMException.class})
-    private void loadProfiles(@Nonnull final VirtualFile profilesXmlFile) {
-        if (!profilesXmlFile.exists() || profilesXmlFile.contentsToByteArray().length < 1) {
+    private void loadProfiles() {
+        final Element profilesEle = this.getProfilesElement();
+        final List<String> names;
+        synchronized (this) {
+            names = Objects.isNull(profilesEle) ? Collections.emptyList() :
+                profilesEle.getChildren().stream().map(e -> e.getAttributeValue("name")).toList();
+        }
+        // profiles removed from profiles.xml (e.g. by a VCS update) are dropped, profiles already loaded are kept,
+        // so that reloading profiles.xml doesn't reload the files of every profile
+        this.profiles.keySet().retainAll(names);
+        if (Objects.isNull(profilesEle)) {
             return;
         }
-        final Element profilesEle = JDOMUtil.load(Objects.requireNonNull(profilesXmlFile).toNioPath());
-        final VirtualFile dotAzure = Objects.requireNonNull(this.dotAzure);
-        profilesEle.getChildren().stream().map(e -> e.getAttributeValue("name"))
+        names.stream().filter(name -> !this.profiles.containsKey(name))
             .forEach(name -> Optional.ofNullable(this.dotAzure).map(d -> d.findChild(name))
                 .map(profileDir -> new Profile(name, profileDir, this))
                 .ifPresent(profile -> this.profiles.put(profile.getName(), profile)));
         this.defaultProfile = Optional.ofNullable(profilesEle.getAttributeValue(ATTR_DEFAULT_PROFILE)).map(this.profiles::get).orElse(null);
     }
 
+    /**
+     * @return the loaded model of {@link #profilesXmlFile}, null if the file doesn't exist or is empty.
+     */
+    @Nullable
+    @SneakyThrows(value = {IOException.class, JDOMException.class})
+    private synchronized Element getProfilesElement() {
+        if (Objects.isNull(this.profilesElement) && Objects.nonNull(this.profilesXmlFile) && this.profilesXmlFile.exists()) {
+            final String content = DotAzureWriter.load(this.profilesXmlFile.toNioPath());
+            this.profilesElement = StringUtils.isBlank(content) ? null : JDOMUtil.load(content);
+        }
+        return this.profilesElement;
+    }
+
+    private void saveProfiles() {
+        DotAzureWriter.write(Objects.requireNonNull(this.profilesXmlFile).toNioPath(), this::toProfilesElement);
+    }
+
+    @Nonnull
+    private synchronized Element toProfilesElement() {
+        return Objects.requireNonNull(this.profilesElement).clone();
+    }
+
+    /**
+     * reload only the part of the module persisted in {@code file}, e.g. after it's edited externally.
+     */
+    void reload(@Nonnull VirtualFile file) {
+        if (Objects.isNull(this.dotAzure)) {
+            return;
+        }
+        if (file.equals(this.profilesXmlFile)) {
+            synchronized (this) {
+                this.profilesElement = null;
+            }
+            this.defaultProfile = null;
+            this.loadProfiles();
+            this.getProject().getMessageBus().syncPublisher(ConnectionTopics.CONNECTIONS_REFRESHED).connectionsRefreshed();
+        } else if (Objects.nonNull(file.getParent()) && this.dotAzure.equals(file.getParent().getParent())) {
+            Optional.ofNullable(this.profiles.get(file.getParent().getName())).ifPresent(p -> p.reload(file.getName()));
+        }
+    }
+
     @Nonnull
     public AzureModule initializeIfNot() {
         if (Objects.nonNull(this.profilesXmlFile)) {
@@ -104,7 +153,7 @@ public class AzureModule {
                 final VirtualFile dotGitIgnore = dotAzure.findOrCreateChildData(this, DOT_GITIGNORE);
                 dotGitIgnore.setBinaryContent((DOT_ENV + "\n" + RESOURCES_FILE + "\n" + TARGETS_FILE).getBytes());
                 this.profilesXmlFile = dotAzure.findOrCreateChildData(this, PROFILES_XML);
-                Optional.of(this.profilesXmlFile).ifPresent(this::loadProfiles);
+                this.loadProfiles();
                 this.dotAzure.refresh(true, false);
             } catch (final IOException e) {
                 throw new AzureToolkitRuntimeException(e);
@@ -163,36 +212,30 @@ public class AzureModule {
     }
 
     @AzureOperation(name = "boundary/connector.create_profile_for_module.module", params = {"this.module.getName()"})
-    @SneakyThrows(value = {IOException.class, JDOMException.class})
-    private void registerProfile(@Nonnull final Profile profile) {
-        final VirtualFile profilesXmlFile = Objects.requireNonNull(this.profilesXmlFile);
-        final Element profilesEle = profilesXmlFile.contentsToByteArray().length < 1 ?
-            new Element("profiles").setAttribute("version", "1") :
-            JDOMUtil.load(profilesXmlFile.toNioPath());
-        profilesEle.addContent(new Element("profile").setAttribute("name", profile.getName()));
-        JDOMUtil.write(profilesEle, this.profilesXmlFile.toNioPath());
+    private synchronized void registerProfile(@Nonnull final Profile profile) {
+        if (Objects.isNull(this.getProfilesElement())) {
+            this.profilesElement = new Element("profiles").setAttribute("version", "1");
+        }
+        this.profilesElement.addContent(new Element("profile").setAttribute("name", profile.getName()));
+        this.saveProfiles();
     }
 
     @Nullable
-    @SneakyThrows(value = {JDOMException.class, IOException.class})
     private String getDefaultProfileName() {
         if (Objects.nonNull(this.defaultProfile)) {
             return this.defaultProfile.getName();
         }
-        if (Objects.isNull(this.profilesXmlFile) || !this.profilesXmlFile.exists() || this.profilesXmlFile.contentsToByteArray().length < 1) {
-            return null;
-        }
-        final Element profilesEle = JDOMUtil.load(this.profilesXmlFile.toNioPath());
-        return profilesEle.getAttributeValue(ATTR_DEFAULT_PROFILE, DEFAULT_PROFILE_NAME);
+        return Optional.ofNullable(this.getProfilesElement()).map(e -> e.getAttributeValue(ATTR_DEFAULT_PROFILE, DEFAULT_PROFILE_NAME)).orElse(null);
     }
 
-    @SneakyThrows(value = {JDOMException.class, IOException.class})
-    public void setDefaultProfile(@Nonnull Profile profile) {
+    public synchronized void setDefaultProfile(@Nonnull Profile profile) {
         this.validate();
-        final Element profilesEle = JDOMUtil.load(Objects.requireNonNull(this.profilesXmlFile).toNioPath());
-        profilesEle.setAttribute(ATTR_DEFAULT_PROFILE, profile.getName());
-        profilesEle.setAttribute("version", "1");
-        JDOMUtil.write(profilesEle, this.profilesXmlFile.toNioPath());
+        if (Objects.isNull(this.getProfilesElement())) {
+            this.profilesElement = new Element("profiles");
+        }
+        this.profilesElement.setAttribute(ATTR_DEFAULT_PROFILE, profile.getName());
+        this.profilesElement.setAttribute("version", "1");
+        this.saveProfiles();
         this.defaultProfile = profile;
     }
 
@@ -241,27 +284,14 @@ public class AzureModule {
     }
 
     public boolean hasAzureDependencies() {
-        final List<String> libs = new ArrayList<>();
-        OrderEnumerator.orderEntries(this.module).librariesOnly().forEachLibrary(l -> libs.add(l.getName()));
-        return libs.stream().filter(StringUtils::isNotBlank)
-            .map(PATTERN::matcher).filter(Matcher::matches)
-            .anyMatch(m -> {
-                final String artifactId = m.group(2).trim() + ":" + m.group(3).trim();
-                return StringUtils.equals(artifactId, "com.azure:azure-core") ||
-                    StringUtils.equals(artifactId, "com.microsoft.azure:azure-client-runtime") ||
-                    StringUtils.equals(artifactId, "com.microsoft.azure.functions:azure-functions-java-library");
-            });
+        final ProjectLibraryIndex index = ProjectLibraryIndex.getInstance(this.getProject());
+        return index.hasArtifact(this.module, "com.azure", "azure-core") ||
+            index.hasArtifact(this.module, "com.microsoft.azure", "azure-client-runtime") ||
+            index.hasArtifact(this.module, "com.microsoft.azure.functions", "azure-functions-java-library");
     }
 
     public boolean hasDependencies(@Nonnull final Pattern libPattern) {
-        final boolean[] hasDependencies = {false};
-        OrderEnumerator.orderEntries(this.module).forEachLibrary(library -> {
-            Optional.ofNullable(library.getName()).filter(StringUtils::isNotBlank)
-                .map(libPattern::matcher).filter(Matcher::matches)
-                .ifPresent(m -> hasDependencies[0] = true);
-            return !hasDependencies[0];
-        });
-        return hasDependencies[0];
+        return ProjectLibraryIndex.getInstance(this.getProject()).hasLibrary(this.module, libPattern);
     }
 
     public boolean hasValidConnections(@Nonnull final ResourceDefinition<?> definition) {
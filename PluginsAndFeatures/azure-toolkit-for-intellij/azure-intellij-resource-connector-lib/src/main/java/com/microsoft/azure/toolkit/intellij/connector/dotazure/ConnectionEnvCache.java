@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.connector.dotazure;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.microsoft.azure.toolkit.intellij.connector.Connection;
+import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Per {@link Profile} cache of what is resolved from Azure for the connections at run time: whether a connection is
+ * still valid and the environment variables (keys, connection strings...) of it. Entries expire after {@link #TTL} and
+ * are invalidated when the connection is added/removed, the profile is reloaded or the user signs in/out.
+ * Only positive validity is cached, an invalid connection is checked again at the next run after it's fixed.
+ */
+public class ConnectionEnvCache {
+    private static final long TTL = TimeUnit.MINUTES.toMillis(10);
+    private static final ExecutorService EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor("Azure Connection Resolver", 8);
+    /**
+     * bumped on sign in/out, which invalidates the entries of all the caches
+     */
+    private static final AtomicInteger accountGeneration = new AtomicInteger();
+
+    static {
+        final AzureEventBus.EventListener listener = new AzureEventBus.EventListener(e -> accountGeneration.incrementAndGet());
+        AzureEventBus.on("account.logged_in.account", listener);
+        AzureEventBus.on("account.logged_out.account", listener);
+    }
+
+    private final Map<String, Entry<Boolean>> validities = new ConcurrentHashMap<>();
+    private final Map<String, Entry<Map<String, String>>> environments = new ConcurrentHashMap<>();
+
+    @Nonnull
+    public Resolution<Boolean> isValid(@Nonnull Connection<?, ?> connection) {
+        final long start = System.nanoTime();
+        final Entry<Boolean> cached = this.validities.get(connection.getId());
+        if (Objects.nonNull(cached) && !cached.isExpired()) {
+            return new Resolution<>(cached.value(), elapsedMs(start), true);
+        }
+        final boolean valid = connection.isValidConnection();
+        if (valid) {
+            this.validities.put(connection.getId(), new Entry<>(true));
+        }
+        return new Resolution<>(valid, elapsedMs(start), false);
+    }
+
+    @Nonnull
+    public Resolution<Map<String, String>> getEnvironmentVariables(@Nonnull Connection<?, ?> connection, @Nonnull Project project) {
+        final long start = System.nanoTime();
+        final Entry<Map<String, String>> cached = this.environments.get(connection.getId());
+        if (Objects.nonNull(cached) && !cached.isExpired()) {
+            return new Resolution<>(cached.value(), elapsedMs(start), true);
+        }
+        final Map<String, String> env = Collections.unmodifiableMap(connection.getEnvironmentVariables(project));
+        this.environments.put(connection.getId(), new Entry<>(env));
+        return new Resolution<>(env, elapsedMs(start), false);
+    }
+
+    /**
+     * apply {@code resolver} to the independent {@code connections} in parallel.
+     *
+     * @return the results in the order of {@code connections}
+     */
+    @Nonnull
+    public static <T> List<T> resolveAll(@Nonnull List<? extends Connection<?, ?>> connections, @Nonnull Function<Connection<?, ?>, T> resolver) {
+        if (connections.size() < 2) {
+            return connections.stream().map(resolver).toList();
+        }
+        final List<CompletableFuture<T>> futures = connections.stream()
+            .map(c -> CompletableFuture.supplyAsync(() -> resolver.apply(c), EXECUTOR)).toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AzureToolkitRuntimeException(e.getCause());
+        }
+    }
+
+    public void invalidate(@Nonnull String connectionId) {
+        this.validities.remove(connectionId);
+        this.environments.remove(connectionId);
+    }
+
+    public void invalidateAll() {
+        this.validities.clear();
+        this.environments.clear();
+    }
+
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    public record Resolution<T>(T value, long elapsedMs, boolean cached) {
+    }
+
+    private record Entry<T>(T value, long created, int generation) {
+        Entry(T value) {
+            this(value, System.currentTimeMillis(), accountGeneration.get());
+        }
+
+        boolean isExpired() {
+            return this.generation != accountGeneration.get() || System.currentTimeMillis() - this.created > TTL;
+        }
+    }
+}
@@ -27,7 +27,6 @@ import org.jdom.Element;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -146,7 +145,12 @@ public class ConnectionManager {
 
     @ExceptionNotification
     @AzureOperation(name = "boundary/connector.save_connections")
-    synchronized void save() throws IOException {
+    synchronized void save() {
+        DotAzureWriter.write(this.profile.getProfileDir().toNioPath().resolve(CONNECTIONS_FILE), this::toElement);
+    }
+
+    @Nonnull
+    private synchronized Element toElement() {
         final Element connectionsEle = new Element(ELEMENT_NAME_CONNECTIONS);
         for (final Connection<?, ?> connection : this.connections) {
             final Element connectionEle = new Element(ELEMENT_NAME_CONNECTION);
@@ -155,10 +159,7 @@ public class ConnectionManager {
             connection.write(connectionEle);
             connectionsEle.addContent(connectionEle);
         }
-        if (Objects.isNull(connectionsFile)) {
-            this.connectionsFile = this.profile.getProfileDir().findOrCreateChildData(this, CONNECTIONS_FILE);
-        }
-        JDOMUtil.write(connectionsEle, connectionsFile.toNioPath());
+        return connectionsEle;
     }
 
     @ExceptionNotification
@@ -168,7 +169,7 @@ public class ConnectionManager {
         if (Objects.isNull(connectionsFile) || connectionsFile.contentsToByteArray().length < 1) {
             return;
         }
-        final Element connectionsEle = JDOMUtil.load(connectionsFile.toNioPath());
+        final Element connectionsEle = JDOMUtil.load(DotAzureWriter.load(connectionsFile.toNioPath()));
         final Profile profile = this.getProfile();
         final ResourceManager resourceManager = profile.getResourceManager();
         this.connections.clear();
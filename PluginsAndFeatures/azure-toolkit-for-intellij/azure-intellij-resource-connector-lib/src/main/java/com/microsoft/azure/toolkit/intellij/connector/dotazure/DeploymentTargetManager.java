@@ -18,7 +18,6 @@ import org.jdom.Element;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.IOException;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
@@ -72,11 +71,15 @@ public class DeploymentTargetManager {
 
     @ExceptionNotification
     @AzureOperation("boundary/connector.save_target_apps")
-    synchronized void save() throws IOException {
+    synchronized void save() {
+        DotAzureWriter.write(this.profile.getProfileDir().toNioPath().resolve(TARGETS_FILE), this::toElement);
+    }
+
+    @Nonnull
+    private synchronized Element toElement() {
         final Element appsEle = new Element(ELEMENT_NAME_APPS);
         this.targetAppIds.stream().map(id -> new Element(ELEMENT_NAME_APP).setAttribute("id", id)).forEach(appsEle::addContent);
-        final VirtualFile appsFile = this.profile.getProfileDir().findOrCreateChildData(this, TARGETS_FILE);
-        JDOMUtil.write(appsEle, appsFile.toNioPath());
+        return appsEle;
     }
 
     @ExceptionNotification
@@ -86,8 +89,9 @@ public class DeploymentTargetManager {
         if (Objects.isNull(appsFile) || appsFile.contentsToByteArray().length < 1) {
             return;
         }
+        // loading writes the pending changes first, which are supplied by the targets in memory
+        final Element appsEle = JDOMUtil.load(DotAzureWriter.load(appsFile.toNioPath()));
         this.targetAppIds.clear();
-        final Element appsEle = JDOMUtil.load(appsFile.toNioPath());
         appsEle.getChildren().stream().map(e -> e.getAttributeValue(ATTR_ID)).forEach(this::addTarget);
     }
 }
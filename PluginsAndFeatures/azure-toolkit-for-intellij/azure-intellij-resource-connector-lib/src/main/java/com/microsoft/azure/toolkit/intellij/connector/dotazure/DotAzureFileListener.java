@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.connector.dotazure;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.CONNECTIONS_FILE;
+import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.DOT_AZURE;
+import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.PROFILES_XML;
+import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.RESOURCES_FILE;
+import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.TARGETS_FILE;
+
+/**
+ * Reload the part of an {@link AzureModule} persisted in a {@code .azure} file when the file is edited externally,
+ * e.g. by a VCS update. Changes written by {@link DotAzureWriter} itself are ignored.
+ */
+@Slf4j
+public class DotAzureFileListener implements BulkFileListener {
+    private static final Set<String> PROFILE_FILES = Set.of(CONNECTIONS_FILE, RESOURCES_FILE, TARGETS_FILE);
+    private final Project project;
+
+    public DotAzureFileListener(@Nonnull Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public void after(@Nonnull List<? extends VFileEvent> events) {
+        final List<VirtualFile> files = events.stream()
+            .filter(e -> e instanceof VFileContentChangeEvent || e instanceof VFileCreateEvent)
+            .map(VFileEvent::getFile).filter(Objects::nonNull)
+            .filter(DotAzureFileListener::isDotAzureFile).distinct().toList();
+        if (files.isEmpty()) {
+            return;
+        }
+        AzureTaskManager.getInstance().runOnPooledThread(() -> files.forEach(this::reload));
+    }
+
+    private void reload(@Nonnull VirtualFile file) {
+        if (this.project.isDisposed() || !file.isValid()) {
+            return;
+        }
+        final Path path = file.toNioPath();
+        try {
+            if (DotAzureWriter.isPersisted(path, Files.readString(path, StandardCharsets.UTF_8))) {
+                return;
+            }
+        } catch (final IOException e) {
+            log.warn("failed to read {}", path, e);
+            return;
+        }
+        final AzureModule module = AzureModule.from(file, this.project);
+        if (Objects.nonNull(module) && module.isInitialized()) {
+            // the external edit wins over the pending changes of the file
+            DotAzureWriter.discard(path);
+            module.reload(file);
+        }
+    }
+
+    private static boolean isDotAzureFile(@Nonnull VirtualFile file) {
+        final VirtualFile parent = file.getParent();
+        if (Objects.isNull(parent)) {
+            return false;
+        }
+        if (PROFILES_XML.equals(file.getName())) {
+            return DOT_AZURE.equals(parent.getName());
+        }
+        return PROFILE_FILES.contains(file.getName()) && Objects.nonNull(parent.getParent()) && DOT_AZURE.equals(parent.getParent().getName());
+    }
+}
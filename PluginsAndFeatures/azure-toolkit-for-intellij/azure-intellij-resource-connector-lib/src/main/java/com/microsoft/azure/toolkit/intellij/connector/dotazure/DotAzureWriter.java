@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.connector.dotazure;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManagerListener;
+import com.intellij.openapi.util.JDOMUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import lombok.extern.slf4j.Slf4j;
+import org.jdom.Element;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind of the xml files under {@code .azure}. Writes of a file are debounced for {@link #DELAY_MS}, so that a
+ * bulk change (e.g. connecting many resources) writes the file once with the latest in-memory state, and are atomic
+ * (temp file and move), so that a reader never sees a partially written file.
+ * The content last written/loaded of every file is kept, so that unchanged content is not written again and our own
+ * writes can be told from external edits by {@link DotAzureFileListener}.
+ */
+@Slf4j
+public class DotAzureWriter {
+    private static final long DELAY_MS = 300;
+    private static final ScheduledExecutorService executor = AppExecutorUtil.createBoundedScheduledExecutorService("Azure .azure Writer", 1);
+    private static final Map<Path, Supplier<Element>> pending = new ConcurrentHashMap<>();
+    private static final Map<Path, ScheduledFuture<?>> scheduled = new ConcurrentHashMap<>();
+    private static final Map<Path, String> persisted = new ConcurrentHashMap<>();
+
+    /**
+     * schedule to write the element supplied by {@code content} to {@code path}, {@code content} is called at the time
+     * of writing, so that the latest state is written.
+     */
+    static void write(@Nonnull Path path, @Nonnull Supplier<Element> content) {
+        pending.put(path, content);
+        scheduled.compute(path, (p, f) -> {
+            Optional.ofNullable(f).ifPresent(s -> s.cancel(false));
+            return executor.schedule(() -> flush(p), DELAY_MS, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * write all the pending changes now
+     */
+    public static void flush() {
+        new ArrayList<>(pending.keySet()).forEach(DotAzureWriter::flush);
+    }
+
+    static void flush(@Nonnull Path path) {
+        Optional.ofNullable(scheduled.remove(path)).ifPresent(f -> f.cancel(false));
+        final Supplier<Element> content = pending.remove(path);
+        if (Objects.nonNull(content)) {
+            try {
+                writeNow(path, JDOMUtil.write(content.get()));
+            } catch (final Throwable e) {
+                log.warn("failed to write {}", path, e);
+                AzureMessager.getMessager().error(e);
+            }
+        }
+    }
+
+    /**
+     * load {@code path} as the content on disk, pending changes of it are written first, so that reloading (e.g. by
+     * the refresh actions) doesn't lose them. Use {@link #discard(Path)} first to drop them instead.
+     */
+    @Nonnull
+    static String load(@Nonnull Path path) throws IOException {
+        flush(path);
+        return read(path);
+    }
+
+    /**
+     * discard the pending changes of {@code path}, e.g. when it's edited externally, which wins over them.
+     */
+    static void discard(@Nonnull Path path) {
+        Optional.ofNullable(scheduled.remove(path)).ifPresent(f -> f.cancel(false));
+        pending.remove(path);
+    }
+
+    // synchronized with writeNow, so that a write in progress is not read as stale content
+    @Nonnull
+    private static synchronized String read(@Nonnull Path path) throws IOException {
+        final String content = Files.readString(path, StandardCharsets.UTF_8);
+        persisted.put(path, content);
+        return content;
+    }
+
+    /**
+     * @return true if {@code content} is what was last written/loaded of {@code path}
+     */
+    static boolean isPersisted(@Nonnull Path path, @Nonnull String content) {
+        return content.equals(persisted.get(path));
+    }
+
+    private static synchronized void writeNow(@Nonnull Path path, @Nonnull String content) throws IOException {
+        if (isPersisted(path, content) && Files.exists(path)) {
+            return;
+        }
+        Files.createDirectories(path.getParent());
+        final Path temp = path.resolveSibling("." + path.getFileName() + ".tmp");
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        persisted.put(path, content);
+        LocalFileSystem.getInstance().refreshNioFiles(List.of(path), true, false, null);
+    }
+
+    public static class Flusher implements ProjectManagerListener {
+        @Override
+        public void projectClosing(@Nonnull Project project) {
+            DotAzureWriter.flush();
+        }
+    }
+}
@@ -20,10 +20,12 @@ import com.intellij.openapi.project.ProjectUtil;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.microsoft.azure.toolkit.intellij.connector.Connection;
 import com.microsoft.azure.toolkit.intellij.connector.ResourceConnectionActionsContributor;
 import com.microsoft.azure.toolkit.lib.common.messager.ExceptionNotification;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -41,8 +43,10 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @see "org.jetbrains.idea.maven.tasks.MavenBeforeRunTasksProvider"
@@ -122,6 +126,12 @@ public class DotEnvBeforeRunTaskProvider extends BeforeRunTaskProvider<DotEnvBef
         private final RunConfiguration config;
         @Nullable
         private VirtualFile file;
+        /**
+         * the time spent on each step of the last {@link #loadEnv()}, the total first
+         */
+        @Nonnull
+        @Setter(AccessLevel.NONE)
+        private volatile List<String> timings = Collections.emptyList();
 
         public LoadDotEnvBeforeRunTask(RunConfiguration configuration) {
             super(ID);
@@ -131,24 +141,47 @@ public class DotEnvBeforeRunTaskProvider extends BeforeRunTaskProvider<DotEnvBef
 
         @AzureOperation("platform/connector.load_env_beforeruntask")
         public List<Pair<String, String>> loadEnv() {
+            final long start = System.nanoTime();
+            final List<String> timings = new ArrayList<>();
             final AzureModule azureModule = AzureModule.createIfSupport(this.config).orElse(null);
             final Project project = Optional.ofNullable(azureModule).map(AzureModule::getProject).orElse(null);
-            final List<Pair<String, String>> exists = Optional.ofNullable(this.file)
-                    .or(() -> AzureModule.createIfSupport(this.config).map(AzureModule::getDefaultProfile).map(Profile::getDotEnvFile))
-                    .map(Profile::load)
-                    .orElse(Collections.emptyList());
+            final Profile profile = Optional.ofNullable(azureModule).map(AzureModule::getDefaultProfile).orElse(null);
+            final VirtualFile dotEnv = Optional.ofNullable(this.file).orElseGet(() -> Optional.ofNullable(profile).map(Profile::getDotEnvFile).orElse(null));
+            final List<Pair<String, String>> exists = Optional.ofNullable(dotEnv).map(Profile::load).orElse(Collections.emptyList());
+            Optional.ofNullable(dotEnv).ifPresent(f -> timings.add(String.format("  load %s: %d ms", f.getName(), elapsedMs(start))));
             final List<Pair<String, String>> result = new ArrayList<>(exists);
-            Optional.ofNullable(azureModule).map(AzureModule::getDefaultProfile)
-                    .map(Profile::getConnections)
-                    .stream().flatMap(List::stream)
-                    .filter(c -> !c.isValidConnection())
-                    .map(c -> ResourceConnectionActionsContributor.fixResourceConnection(c, project))
-                    .filter(Objects::nonNull)
-                    .forEach(connection -> connection.getEnvironmentVariables(project)
-                            .forEach((key, value) -> result.add(Pair.of(key, value))));
+            if (Objects.nonNull(profile) && Objects.nonNull(project)) {
+                final ConnectionEnvCache cache = profile.getEnvCache();
+                final List<Connection<?, ?>> connections = profile.getConnections();
+                // validate the connections in parallel, but fix the invalid ones one by one, since it may prompt
+                final List<ConnectionEnvCache.Resolution<Boolean>> validities = ConnectionEnvCache.resolveAll(connections, cache::isValid);
+                final List<Connection<?, ?>> fixed = new ArrayList<>();
+                for (int i = 0; i < connections.size(); i++) {
+                    final Connection<?, ?> connection = connections.get(i);
+                    timings.add(toTiming("validate", connection, validities.get(i)));
+                    if (!validities.get(i).value()) {
+                        Optional.ofNullable(ResourceConnectionActionsContributor.fixResourceConnection(connection, project)).ifPresent(fixed::add);
+                    }
+                }
+                final List<ConnectionEnvCache.Resolution<Map<String, String>>> envs = ConnectionEnvCache.resolveAll(fixed, c -> cache.getEnvironmentVariables(c, project));
+                for (int i = 0; i < fixed.size(); i++) {
+                    timings.add(toTiming("resolve", fixed.get(i), envs.get(i)));
+                    envs.get(i).value().forEach((key, value) -> result.add(Pair.of(key, value)));
+                }
+            }
+            timings.add(0, String.format("Loaded %d environment variable(s) in %d ms", result.size(), elapsedMs(start)));
+            this.timings = Collections.unmodifiableList(timings);
             return result;
         }
 
+        private static String toTiming(@Nonnull String step, @Nonnull Connection<?, ?> connection, @Nonnull ConnectionEnvCache.Resolution<?> resolution) {
+            return String.format("  %s connection to %s: %d ms%s", step, connection.getResource().getName(), resolution.elapsedMs(), resolution.cached() ? " (cached)" : "");
+        }
+
+        private static long elapsedMs(long start) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
         @Override
         public @Nullable LoadDotEnvBeforeRunTask.State getState() {
             return Optional.ofNullable(this.file).map(f -> f.toNioPath().toString()).map(State::new).orElse(null);
@@ -9,6 +9,7 @@ import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.startup.ProjectActivity;
 import com.microsoft.azure.toolkit.intellij.common.messager.IntellijAzureMessage;
+import com.microsoft.azure.toolkit.intellij.common.startup.StartupScheduler;
 import com.microsoft.azure.toolkit.intellij.connector.Connection;
 import com.microsoft.azure.toolkit.intellij.connector.ConnectionManager;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -35,7 +36,7 @@ public class MigrateStartupActivity implements ProjectActivity {
         if (!Azure.az(AzureAccount.class).isLoggedIn()) {
             AzureEventBus.once("account.logged_in.account", (a, b) -> migrate(project));
         } else {
-            migrate(project);
+            StartupScheduler.getInstance().schedule(project, "migrate-connections", StartupScheduler.Priority.NORMAL, () -> migrate(project));
         }
         return null;
     }
@@ -24,6 +24,7 @@ import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.identities.Identity;
 import io.github.cdimascio.dotenv.internal.DotenvParser;
 import io.github.cdimascio.dotenv.internal.DotenvReader;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
@@ -35,17 +36,23 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.intellij.connector.ConnectionTopics.CONNECTION_CHANGED;
 import static com.microsoft.azure.toolkit.intellij.connector.IManagedIdentitySupported.*;
+import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.CONNECTIONS_FILE;
 import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.DOT_ENV;
+import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.RESOURCES_FILE;
+import static com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule.TARGETS_FILE;
 
 @Getter
 public class Profile {
+    private static final String CONNECTION_MARK = "# connection.id=";
     public static final String IDENTITY_PERMISSION_MESSAGE = "The managed identity <a href=\"%s\">%s</a> (%s) doesn't have enough permission to access resource <a href=\"%s\">%s</a>.";
     @Nonnull
     private final String name;
@@ -59,8 +66,16 @@ public class Profile {
     private final ResourceManager resourceManager;
     @Nonnull
     private final DeploymentTargetManager deploymentTargetManager;
+    @Nonnull
+    private final ConnectionEnvCache envCache = new ConnectionEnvCache();
     @Nullable
     private VirtualFile dotEnvFile;
+    /**
+     * the generated environment variables of the connections parsed from {@link #dotEnvFile}, re-parsed only if the file is changed.
+     */
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    private volatile GeneratedEnv generatedEnv;
 
     public Profile(@Nonnull String name, @Nonnull VirtualFile profileDir, @Nonnull AzureModule module) {
         this.name = name;
@@ -99,6 +114,7 @@ public class Profile {
     public synchronized Future<?> addConnection(@Nonnull Connection<?, ?> connection) {
         OperationContext.action().setTelemetryProperty("authenticationType", Optional.ofNullable(connection.getAuthenticationType()).map(AuthenticationType::toString).orElse(StringUtils.EMPTY));
         AzureFacet.addTo(this.module.getModule());
+        this.envCache.invalidate(connection.getId());
         final Resource<?> resource = connection.getResource();
         this.resourceManager.addResource(resource);
         this.connectionManager.addConnection(connection);
@@ -126,6 +142,7 @@ public class Profile {
     public synchronized Profile removeConnection(@Nonnull Connection<?, ?> connection) {
         this.removeConnectionFromDotEnv(connection);
         this.connectionManager.removeConnection(connection);
+        this.envCache.invalidate(connection.getId());
         final Project project = this.module.getProject();
         project.getMessageBus().syncPublisher(CONNECTION_CHANGED).connectionChanged(project, connection, ConnectionTopics.Action.REMOVE);
         return this;
@@ -141,24 +158,43 @@ public class Profile {
         this.resourceManager.reload();
         this.deploymentTargetManager.reload();
         this.connectionManager.reload();
+        this.envCache.invalidateAll();
     }
 
-    public synchronized void save() {
-        try {
-            this.connectionManager.save();
-            this.resourceManager.save();
-            this.deploymentTargetManager.save();
-            this.profileDir.refresh(true, true);
-        } catch (final IOException e) {
-            throw new AzureToolkitRuntimeException(e);
+    /**
+     * reload only the part of the profile persisted in file {@code fileName}, e.g. after it's edited externally.
+     */
+    public synchronized void reload(@Nonnull String fileName) {
+        switch (fileName) {
+            case RESOURCES_FILE -> {
+                // connections refer to the resources
+                this.resourceManager.reload();
+                this.connectionManager.reload();
+            }
+            case CONNECTIONS_FILE -> this.connectionManager.reload();
+            case TARGETS_FILE -> this.deploymentTargetManager.reload();
+            default -> {
+                return;
+            }
         }
+        this.envCache.invalidateAll();
+        this.module.getProject().getMessageBus().syncPublisher(ConnectionTopics.CONNECTIONS_REFRESHED).connectionsRefreshed();
+    }
+
+    /**
+     * schedule to persist the profile, see {@link DotAzureWriter}
+     */
+    public synchronized void save() {
+        this.connectionManager.save();
+        this.resourceManager.save();
+        this.deploymentTargetManager.save();
     }
 
     @AzureOperation(value = "internal/connector.generate_env_variables.resource", params = "connection.getResource().getName()")
-    private static List<String> generateEnvLines(@Nonnull final Project project, @Nonnull final Connection<?, ?> connection) {
+    private List<String> generateEnvLines(@Nonnull final Project project, @Nonnull final Connection<?, ?> connection) {
         final ArrayList<String> lines = new ArrayList<>();
-        lines.add("# connection.id=" + connection.getId());
-        lines.addAll(connection.getEnvironmentVariables(project).entrySet().stream()
+        lines.add(CONNECTION_MARK + connection.getId());
+        lines.addAll(this.envCache.getEnvironmentVariables(connection, project).value().entrySet().stream()
             .map((e) -> String.format("%s=\"%s\"", e.getKey(), e.getValue()))
             .toList());
         return lines;
@@ -172,13 +208,13 @@ public class Profile {
             return;
         }
         final List<String> lines = Files.readAllLines(this.dotEnvFile.toNioPath());
-        final String startMark = "# connection.id=" + connection.getId();
+        final String startMark = CONNECTION_MARK + connection.getId();
         boolean started = false;
         final Iterator<String> each = lines.iterator();
         while (each.hasNext()) {
             final String line = each.next();
             started = started || line.equalsIgnoreCase(startMark);
-            final boolean ended = started && !line.equalsIgnoreCase(startMark) && (StringUtils.isBlank(line.trim()) || line.trim().startsWith("# connection.id="));
+            final boolean ended = started && !line.equalsIgnoreCase(startMark) && (StringUtils.isBlank(line.trim()) || line.trim().startsWith(CONNECTION_MARK));
             if (started && (!ended || StringUtils.isBlank(line.trim()))) {
                 each.remove();
             }
@@ -223,21 +259,40 @@ public class Profile {
         if (Objects.isNull(this.dotEnvFile) || !this.dotEnvFile.isValid()) {
             return Collections.emptyList();
         }
-        final List<String> lines = Files.readAllLines(this.dotEnvFile.toNioPath());
-        final String startMark = "# connection.id=" + connection.getId();
-        boolean started = false;
-        final List<String> generated = new ArrayList<>();
+        final Path path = this.dotEnvFile.toNioPath();
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        final long modified = attributes.lastModifiedTime().toMillis();
+        GeneratedEnv generated = this.generatedEnv;
+        if (Objects.isNull(generated) || !generated.path().equals(path) || generated.modified() != modified || generated.size() != attributes.size()) {
+            generated = new GeneratedEnv(path, modified, attributes.size(), parseGeneratedEnv(Files.readAllLines(path)));
+            this.generatedEnv = generated;
+        }
+        return generated.connections().getOrDefault(connection.getId().toLowerCase(), Collections.emptyList());
+    }
+
+    /**
+     * @return the generated environment variables of every connection in the .env, keyed by the lower-cased connection id
+     */
+    @Nonnull
+    private static Map<String, List<Pair<String, String>>> parseGeneratedEnv(@Nonnull List<String> lines) {
+        final Map<String, List<Pair<String, String>>> result = new HashMap<>();
+        List<Pair<String, String>> current = null;
         for (final String line : lines) {
-            started = started || line.equalsIgnoreCase(startMark);
-            final boolean ended = started && !line.equalsIgnoreCase(startMark) && (StringUtils.isBlank(line.trim()) || line.trim().startsWith("# connection.id="));
-            if (started && !ended && !line.equalsIgnoreCase(startMark) && StringUtils.isNotBlank(line)) {
-                generated.add(line);
-            }
-            if (ended) {
-                break;
+            final String trimmed = line.trim();
+            if (StringUtils.startsWithIgnoreCase(trimmed, CONNECTION_MARK)) {
+                final String id = trimmed.substring(CONNECTION_MARK.length()).toLowerCase();
+                // the first block of a connection wins, as it did when the .env was scanned for the connection
+                current = result.containsKey(id) ? null : new ArrayList<>();
+                Optional.ofNullable(current).ifPresent(c -> result.put(id, c));
+            } else if (StringUtils.isBlank(trimmed)) {
+                current = null;
+            } else if (Objects.nonNull(current) && line.contains("=")) {
+                final String[] pair = line.split("=", 2);
+                current.add(Pair.of(pair[0], pair[1]));
             }
         }
-        return generated.stream().map(g -> g.split("=", 2)).map(a -> Pair.of(a[0], a[1])).toList();
+        result.replaceAll((id, pairs) -> Collections.unmodifiableList(pairs));
+        return result;
     }
 
     public List<Connection<?, ?>> getConnections() {
@@ -247,4 +302,7 @@ public class Profile {
     public List<String> getTargetAppIds() {
         return this.deploymentTargetManager.getTargets();
     }
+
+    private record GeneratedEnv(Path path, long modified, long size, Map<String, List<Pair<String, String>>> connections) {
+    }
 }
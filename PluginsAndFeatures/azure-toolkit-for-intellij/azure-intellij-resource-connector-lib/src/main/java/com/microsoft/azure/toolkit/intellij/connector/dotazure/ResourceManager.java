@@ -23,7 +23,6 @@ import org.jdom.Element;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.IOException;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -104,7 +103,12 @@ public class ResourceManager {
 
     @ExceptionNotification
     @AzureOperation("boundary/connector.save_resources")
-    synchronized void save() throws IOException {
+    synchronized void save() {
+        DotAzureWriter.write(this.profile.getProfileDir().toNioPath().resolve(RESOURCES_FILE), this::toElement);
+    }
+
+    @Nonnull
+    private synchronized Element toElement() {
         final Element resourcesEle = new Element(ELEMENT_NAME_RESOURCES);
         // todo: whether to save invalid resources?
         for (final Resource<?> resource : this.resources) {
@@ -118,8 +122,7 @@ public class ResourceManager {
                 log.warn(String.format("error occurs when persist resource of type '%s'", resource.getDefinition().getName()), e);
             }
         }
-        final VirtualFile resourcesFile = this.profile.getProfileDir().findOrCreateChildData(this, RESOURCES_FILE);
-        JDOMUtil.write(resourcesEle, resourcesFile.toNioPath());
+        return resourcesEle;
     }
 
     @ExceptionNotification
@@ -129,8 +132,9 @@ public class ResourceManager {
         if (Objects.isNull(resourcesFile) || resourcesFile.contentsToByteArray().length < 1) {
             return;
         }
+        // loading writes the pending changes first, which are supplied by the resources in memory
+        final Element resourcesEle = JDOMUtil.load(DotAzureWriter.load(resourcesFile.toNioPath()));
         this.resources.clear();
-        final Element resourcesEle = JDOMUtil.load(resourcesFile.toNioPath());
         for (final Element resourceEle : resourcesEle.getChildren()) {
             final String resDef = resourceEle.getAttributeValue(ATTR_DEFINITION);
             final ResourceDefinition<?> definition = ResourceManager.getDefinition(resDef);
@@ -12,6 +12,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ModuleRootEvent;
 import com.intellij.openapi.roots.ModuleRootListener;
 import com.intellij.openapi.startup.ProjectActivity;
+import com.microsoft.azure.toolkit.intellij.common.startup.StartupScheduler;
 import com.microsoft.azure.toolkit.intellij.connector.dotazure.AzureModule;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
@@ -33,10 +34,12 @@ public class AddFacetStartupActivity implements ProjectActivity {
         if (project.isDisposed()) {
             return null;
         }
-        final ModuleManager moduleManager = ModuleManager.getInstance(project);
-        for (final Module module : moduleManager.getModules()) {
-            addFacetWhenNecessary(module);
-        }
+        StartupScheduler.getInstance().schedule(project, "add-azure-facet", StartupScheduler.Priority.NORMAL, () -> {
+            final ModuleManager moduleManager = ModuleManager.getInstance(project);
+            for (final Module module : moduleManager.getModules()) {
+                addFacetWhenNecessary(module);
+            }
+        });
         project.getMessageBus().connect(project).subscribe(ProjectTopics.PROJECT_ROOTS, new ModuleRootListener() {
             @Override
             public void rootsChanged(@NotNull ModuleRootEvent event) {
@@ -5,12 +5,12 @@
 
 package com.microsoft.azure.toolkit.intellij.azuresdk;
 
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.startup.ProjectActivity;
 import com.microsoft.azure.toolkit.intellij.azuresdk.enforcer.AzureSdkEnforcer;
 import com.microsoft.azure.toolkit.intellij.azuresdk.service.MachineTaggingService;
 import com.microsoft.azure.toolkit.intellij.azuresdk.service.WorkspaceTaggingService;
+import com.microsoft.azure.toolkit.intellij.common.startup.StartupScheduler;
 import com.microsoft.azure.toolkit.intellij.common.survey.CustomerSurvey;
 import com.microsoft.azure.toolkit.intellij.common.survey.CustomerSurveyManager;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
@@ -44,30 +44,25 @@ public class ProjectSdkIntrospectionStartupActivity implements ProjectActivity {
     @Nullable
     @Override
     public Object execute(@Nonnull final Project project, @Nonnull final Continuation<? super Unit> continuation) {
-        Mono.delay(Duration.ofSeconds(30)).subscribe(next -> {
-            if (project.isDisposed()) {
-                return;
-            }
-            AzureSdkEnforcer.enforce(project);
-            ProjectSdkIntrospectionStartupActivity.runActivity(project);
-            FeatureAdvertisementService.advertiseProjectService(project);
-        }, error -> log.warn("error occurs in WorkspaceTaggingActivity.", error));
+        final StartupScheduler scheduler = StartupScheduler.getInstance();
+        final Duration delay = Duration.ofSeconds(30);
+        scheduler.schedule(project, "azure-sdk-enforcer", StartupScheduler.Priority.LOW, delay, () -> AzureSdkEnforcer.enforce(project));
+        scheduler.schedule(project, "workspace-tagging", StartupScheduler.Priority.LOW, delay, () -> ProjectSdkIntrospectionStartupActivity.runActivity(project));
+        scheduler.schedule(project, "feature-advertisement", StartupScheduler.Priority.LOW, delay, () -> FeatureAdvertisementService.advertiseProjectService(project));
         return null;
     }
 
     public static void runActivity(@Nonnull final Project project) {
-        ApplicationManager.getApplication().executeOnPooledThread(() -> {
-            try {
-                final Set<String> workspaceTags = WorkspaceTaggingService.getWorkspaceTags(project);
-                trackWorkspaceTagging(workspaceTags);
-                final Set<String> machineTags = MachineTaggingService.getMachineTags();
-                trackMachineTagging(machineTags);
-                Mono.delay(Duration.ofMinutes(60)).subscribe(next -> showCustomerSurvey(project, workspaceTags));
-            } catch (final Exception e) {
-                // swallow exception for workspace tagging
-                log.warn(e.getMessage());
-            }
-        });
+        try {
+            final Set<String> workspaceTags = WorkspaceTaggingService.getWorkspaceTags(project);
+            trackWorkspaceTagging(workspaceTags);
+            final Set<String> machineTags = MachineTaggingService.getMachineTags();
+            trackMachineTagging(machineTags);
+            Mono.delay(Duration.ofMinutes(60)).subscribe(next -> showCustomerSurvey(project, workspaceTags));
+        } catch (final Exception e) {
+            // swallow exception for workspace tagging
+            log.warn(e.getMessage());
+        }
     }
 
     private static void showCustomerSurvey(final @Nonnull Project project, final Set<String> workspaceTags) {
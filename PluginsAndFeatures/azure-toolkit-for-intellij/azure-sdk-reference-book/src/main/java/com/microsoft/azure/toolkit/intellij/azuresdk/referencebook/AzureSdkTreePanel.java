@@ -48,13 +48,13 @@ import javax.annotation.Nullable;
 import javax.swing.*;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
-import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -76,6 +76,8 @@ public class AzureSdkTreePanel implements TextDocumentListenerAdapter {
     private DefaultTreeModel model;
     private List<? extends AzureSdkServiceEntity> services;
     private Map<String, List<AzureSdkCategoryEntity>> categories;
+    // lower-cased searchable text of the categories, services and features, built once per refresh
+    private Map<Object, String> searchIndex = new IdentityHashMap<>();
     private TreePath lastNodePath;
 
     public AzureSdkTreePanel() {
@@ -134,10 +136,14 @@ public class AzureSdkTreePanel implements TextDocumentListenerAdapter {
     }
 
     private void filter(final String text) {
-        final String[] filters = Arrays.stream(text.split("\\s+")).filter(StringUtils::isNoneBlank).map(String::toLowerCase).toArray(String[]::new);
+        final String[] filters = toFilters(text);
         AzureTaskManager.getInstance().runLater(() -> this.loadData(this.categories, this.services, filters));
     }
 
+    private static String[] toFilters(final String text) {
+        return Arrays.stream(StringUtils.defaultString(text).split("\\s+")).filter(StringUtils::isNoneBlank).map(String::toLowerCase).toArray(String[]::new);
+    }
+
     public synchronized void refresh(boolean... force) {
         try {
             if (ArrayUtils.isNotEmpty(force) && force[0]) {
@@ -146,7 +152,8 @@ public class AzureSdkTreePanel implements TextDocumentListenerAdapter {
             this.services = AzureSdkLibraryService.loadAzureSdkServices();
             this.categories = AzureSdkCategoryService.loadAzureSDKCategories();
             this.fillDescriptionFromCategoryIfMissing(this.categories, this.services);
-            AzureTaskManager.getInstance().runAndWait(() -> this.loadData(this.categories, this.services, this.searchBox.getText()), AzureTask.Modality.ANY);
+            this.searchIndex = buildSearchIndex(this.categories, this.services);
+            AzureTaskManager.getInstance().runAndWait(() -> this.loadData(this.categories, this.services, toFilters(this.searchBox.getText())), AzureTask.Modality.ANY);
             Optional.ofNullable(this.lastNodePath).ifPresent(p -> AzureTaskManager.getInstance().runAndWait(() -> TreeUtil.selectPath(this.tree, p)));
             AzureEventBus.emit("reference.refresh");
         } catch (final IOException e) {
@@ -167,6 +174,24 @@ public class AzureSdkTreePanel implements TextDocumentListenerAdapter {
             })));
     }
 
+    /**
+     * index the searchable text of every node once, so that filtering the tree on every keystroke doesn't lower-case
+     * and scan the names again. Features are also searchable by the group and artifact ids of their libraries.
+     */
+    private static Map<Object, String> buildSearchIndex(final Map<String, List<AzureSdkCategoryEntity>> categories, final List<? extends AzureSdkServiceEntity> services) {
+        final Map<Object, String> index = new IdentityHashMap<>();
+        categories.keySet().stream().filter(Objects::nonNull).forEach(c -> index.put(c, c.toLowerCase()));
+        categories.values().stream().flatMap(List::stream).forEach(c -> index.put(c, StringUtils.lowerCase(c.getCategory())));
+        for (final AzureSdkServiceEntity service : services) {
+            index.put(service, StringUtils.lowerCase(service.getName()));
+            for (final AzureSdkFeatureEntity feature : service.getContent()) {
+                final String artifacts = feature.getArtifacts().stream().map(a -> a.getGroupId() + ":" + a.getArtifactId()).collect(Collectors.joining(" "));
+                index.put(feature, StringUtils.lowerCase(feature.getName() + " " + artifacts));
+            }
+        }
+        return index;
+    }
+
     private void loadData(final Map<String, List<AzureSdkCategoryEntity>> categoryToServiceMap, final List<? extends AzureSdkServiceEntity> services, String... filters) {
         final DefaultMutableTreeNode root = (DefaultMutableTreeNode) this.model.getRoot();
         root.removeAllChildren();
@@ -181,16 +206,16 @@ public class AzureSdkTreePanel implements TextDocumentListenerAdapter {
                 continue;
             }
             // add features for current category
-            final MutableTreeNode categoryNode = new DefaultMutableTreeNode(category);
+            final DefaultMutableTreeNode categoryNode = new DefaultMutableTreeNode(category);
             final boolean categoryMatched = this.isMatchedFilters(category, filters);
             categoryToServiceMap.get(category)
                 .stream().sorted(Comparator.comparing(AzureSdkCategoryEntity::getServiceName))
                 .forEach(categoryService -> {
                     final AzureSdkServiceEntity service = serviceMap.get(getServiceKeyByName(categoryService.getServiceName()));
-                    AzureTaskManager.getInstance().runAndWait(() -> this.loadServiceData(service, categoryService, categoryNode, filters));
+                    this.loadServiceData(service, categoryService, categoryNode, filters);
                 });
             if (ArrayUtils.isEmpty(filters) || categoryMatched || categoryNode.getChildCount() > 0) {
-                this.model.insertNodeInto(categoryNode, root, root.getChildCount());
+                root.add(categoryNode);
             }
         }
         this.model.reload();
@@ -208,36 +233,46 @@ public class AzureSdkTreePanel implements TextDocumentListenerAdapter {
         return StringUtils.lowerCase(StringUtils.trim(name));
     }
 
-    private void loadServiceData(AzureSdkServiceEntity service, AzureSdkCategoryEntity categoryService, MutableTreeNode categoryNode, String... filters) {
+    private void loadServiceData(AzureSdkServiceEntity service, AzureSdkCategoryEntity categoryService, DefaultMutableTreeNode categoryNode, String... filters) {
         if (Objects.isNull(service) || CollectionUtils.isEmpty(service.getContent())) {
             return;
         }
-        final boolean categoryMatched = this.isMatchedFilters(categoryService.getCategory(), filters);
+        final boolean categoryMatched = this.isMatchedFilters(categoryService, filters);
         if (CollectionUtils.size(service.getContent()) == 1 && StringUtils.equals(service.getName(), service.getContent().get(0).getName())) {
             final AzureSdkFeatureEntity feature = service.getContent().get(0);
-            final boolean featureMatched = this.isMatchedFilters(feature.getName(), filters);
+            final boolean featureMatched = this.isMatchedFilters(feature, filters);
             if (ArrayUtils.isEmpty(filters) || categoryMatched || featureMatched) {
-                final DefaultMutableTreeNode featureNode = new DefaultMutableTreeNode(feature);
-                this.model.insertNodeInto(featureNode, categoryNode, categoryNode.getChildCount());
+                categoryNode.add(new DefaultMutableTreeNode(feature));
             }
             return;
         }
-        final MutableTreeNode serviceNode = new DefaultMutableTreeNode(service);
-        final boolean serviceMatched = this.isMatchedFilters(service.getName(), filters);
+        final DefaultMutableTreeNode serviceNode = new DefaultMutableTreeNode(service);
+        final boolean serviceMatched = this.isMatchedFilters(service, filters);
         for (final AzureSdkFeatureEntity feature : service.getContent()) {
-            final boolean featureMatched = this.isMatchedFilters(feature.getName(), filters);
+            final boolean featureMatched = this.isMatchedFilters(feature, filters);
             if (ArrayUtils.isEmpty(filters) || categoryMatched || serviceMatched || featureMatched) {
-                final DefaultMutableTreeNode featureNode = new DefaultMutableTreeNode(feature);
-                this.model.insertNodeInto(featureNode, serviceNode, serviceNode.getChildCount());
+                serviceNode.add(new DefaultMutableTreeNode(feature));
             }
         }
         if (ArrayUtils.isEmpty(filters) || categoryMatched || serviceMatched || serviceNode.getChildCount() > 0) {
-            this.model.insertNodeInto(serviceNode, categoryNode, categoryNode.getChildCount());
+            categoryNode.add(serviceNode);
         }
     }
 
-    private boolean isMatchedFilters(String content, String... filters) {
-        return Arrays.stream(filters).allMatch(f -> StringUtils.containsIgnoreCase(content, f));
+    /**
+     * @param filters lower-cased words, all of which must be found in the indexed text of {@code node}
+     */
+    private boolean isMatchedFilters(Object node, String... filters) {
+        if (ArrayUtils.isEmpty(filters)) {
+            return true;
+        }
+        final String text = StringUtils.defaultString(Optional.ofNullable(this.searchIndex.get(node)).orElseGet(() -> StringUtils.lowerCase(String.valueOf(node))));
+        for (final String filter : filters) {
+            if (!text.contains(filter)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private ActionToolbarImpl initToolbar() {
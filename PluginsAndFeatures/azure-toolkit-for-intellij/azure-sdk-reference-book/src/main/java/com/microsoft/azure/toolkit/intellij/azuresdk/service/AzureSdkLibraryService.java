@@ -29,9 +29,11 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -39,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -52,6 +55,8 @@ public class AzureSdkLibraryService {
     private static final String SDK_SPRING_SERVICES_BACKUP = "/spring-reference.yml";
     private static final String SPRING_SDK_METADATA_URL = "https://raw.githubusercontent.com/Azure/azure-sdk-for-java/master/sdk/spring/spring-reference.yml";
     private static final String CLIENT_MGMT_SDK_METADATA_URL = "https://raw.githubusercontent.com/Azure/azure-sdk/master/_data/releases/latest/java-packages.csv";
+    // urls to revalidate on next load regardless of the age of their cached files, i.e. refreshed by user
+    private static final Set<String> REVALIDATING = ConcurrentHashMap.newKeySet();
 
     @Preload
     @Cacheable(value = "sdk/services")
@@ -173,28 +178,42 @@ public class AzureSdkLibraryService {
                 .collect(Collectors.toList());
     }
 
-    @SneakyThrows(MalformedURLException.class)
     @Cacheable("sdk/packages/spring")
     @AzureOperation(name = "boundary/sdk.load_spring_libs_metadata")
     private static List<AzureSdkServiceEntity> loadSpringSDKEntities() {
-        final List<AzureSdkServiceEntity> remote = loadSpringSDKEntities(new URL(SPRING_SDK_METADATA_URL));
+        final List<AzureSdkServiceEntity> remote = Optional.ofNullable(getCachedFile(SPRING_SDK_METADATA_URL))
+            .map(AzureSdkLibraryService::toURL).map(AzureSdkLibraryService::loadSpringSDKEntities).orElse(null);
         if (CollectionUtils.isEmpty(remote)) {
             return loadSpringSDKEntities(AzureSdkLibraryService.class.getResource(SDK_SPRING_SERVICES_BACKUP));
         }
         return remote;
     }
 
-    @SneakyThrows(MalformedURLException.class)
     @Cacheable("sdk/packages")
     @AzureOperation(name = "boundary/sdk.load_java_libs_meta_data")
     public static List<AzureJavaSdkEntity> loadAzureSDKEntities() {
-        final List<AzureJavaSdkEntity> remote = loadAzureSDKEntities(new URL(CLIENT_MGMT_SDK_METADATA_URL));
+        final List<AzureJavaSdkEntity> remote = Optional.ofNullable(getCachedFile(CLIENT_MGMT_SDK_METADATA_URL))
+            .map(AzureSdkLibraryService::toURL).map(AzureSdkLibraryService::loadAzureSDKEntities).orElse(null);
         if (CollectionUtils.isEmpty(remote)) {
             return loadAzureSDKEntities(AzureSdkLibraryService.class.getResource(SDK_JAVA_PACKAGES_BACKUP));
         }
         return remote;
     }
 
+    /**
+     * @return the disk cached copy of the remote metadata file, see {@link SdkMetadataCache}
+     */
+    @Nullable
+    @SneakyThrows(MalformedURLException.class)
+    private static Path getCachedFile(@Nonnull String url) {
+        return SdkMetadataCache.get(new URL(url), REVALIDATING.remove(url));
+    }
+
+    @SneakyThrows(MalformedURLException.class)
+    private static URL toURL(@Nonnull Path path) {
+        return path.toUri().toURL();
+    }
+
     public static List<AzureSdkServiceEntity> loadSpringSDKEntities(final URL destination) {
         try {
             final ObjectReader reader = YML_MAPPER.readerFor(AzureSdkServiceEntity.class);
@@ -237,6 +256,8 @@ public class AzureSdkLibraryService {
     }
 
     public static void refresh() {
+        REVALIDATING.add(SPRING_SDK_METADATA_URL);
+        REVALIDATING.add(CLIENT_MGMT_SDK_METADATA_URL);
         try {
             CacheManager.evictCache("sdk/services", CacheEvict.ALL);
             CacheManager.evictCache("sdk/packages", CacheEvict.ALL);
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.azuresdk.service;
+
+import com.intellij.openapi.application.PathManager;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disk cache of the remote SDK metadata files, so that the reference book and the SDK checks work offline and don't
+ * download the metadata again on every start:
+ * <ul>
+ *     <li>a cached file checked within {@link #MAX_AGE_MS} is used as is, without any remote call.</li>
+ *     <li>an older cached file is revalidated with a conditional request (ETag/Last-Modified), and downloaded again only
+ *     if it's changed.</li>
+ *     <li>if the remote file can't be fetched, the cached file is used however old it is.</li>
+ * </ul>
+ */
+@Slf4j
+public class SdkMetadataCache {
+    private static final String CACHE_DIR = "azure-sdk-metadata";
+    private static final long MAX_AGE_MS = TimeUnit.HOURS.toMillis(12);
+    private static final int TIMEOUT_MS = 10_000;
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String CHECKED_AT = "checkedAt";
+
+    /**
+     * @param force revalidate the cached file even if it's checked recently, e.g. when refreshed by user
+     * @return the cached file of {@code url}, or null if it's never fetched and can't be fetched now
+     */
+    @Nullable
+    public static Path get(@Nonnull URL url, boolean force) {
+        final Path directory = Path.of(PathManager.getSystemPath(), CACHE_DIR);
+        final String name = DigestUtils.sha256Hex(url.toString());
+        final Path data = directory.resolve(name + ".data");
+        final Path meta = directory.resolve(name + ".properties");
+        final Properties properties = readProperties(meta);
+        final boolean cached = Files.isRegularFile(data);
+        final long checkedAt = NumberUtils.toLong(properties.getProperty(CHECKED_AT));
+        if (cached && !force && System.currentTimeMillis() - checkedAt < MAX_AGE_MS) {
+            return data;
+        }
+        try {
+            fetch(url, directory, data, meta, cached ? properties : new Properties());
+            return data;
+        } catch (final IOException e) {
+            log.warn(String.format("failed to fetch \"%s\", %s", url, cached ? "use the cached one" : "no cached one"), e);
+            return cached ? data : null;
+        }
+    }
+
+    private static void fetch(@Nonnull URL url, @Nonnull Path directory, @Nonnull Path data, @Nonnull Path meta, @Nonnull Properties properties) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setConnectTimeout(TIMEOUT_MS);
+            connection.setReadTimeout(TIMEOUT_MS);
+            if (StringUtils.isNotBlank(properties.getProperty(ETAG))) {
+                connection.setRequestProperty("If-None-Match", properties.getProperty(ETAG));
+            }
+            if (StringUtils.isNotBlank(properties.getProperty(LAST_MODIFIED))) {
+                connection.setRequestProperty("If-Modified-Since", properties.getProperty(LAST_MODIFIED));
+            }
+            final int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                properties.setProperty(CHECKED_AT, String.valueOf(System.currentTimeMillis()));
+                writeProperties(directory, meta, properties);
+                return;
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException(String.format("unexpected response: %d %s", responseCode, connection.getResponseMessage()));
+            }
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, data.getFileName().toString(), ".tmp");
+            try (final InputStream stream = connection.getInputStream()) {
+                Files.copy(stream, temp, StandardCopyOption.REPLACE_EXISTING);
+                move(temp, data);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            final Properties updated = new Properties();
+            if (Objects.nonNull(connection.getHeaderField("ETag"))) {
+                updated.setProperty(ETAG, connection.getHeaderField("ETag"));
+            }
+            if (Objects.nonNull(connection.getHeaderField("Last-Modified"))) {
+                updated.setProperty(LAST_MODIFIED, connection.getHeaderField("Last-Modified"));
+            }
+            updated.setProperty(CHECKED_AT, String.valueOf(System.currentTimeMillis()));
+            writeProperties(directory, meta, updated);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Nonnull
+    private static Properties readProperties(@Nonnull Path meta) {
+        final Properties properties = new Properties();
+        if (Files.isRegularFile(meta)) {
+            try (final InputStream stream = Files.newInputStream(meta)) {
+                properties.load(stream);
+            } catch (final IOException | IllegalArgumentException e) {
+                // a broken metadata file only costs a full download
+                log.warn("failed to read {}", meta, e);
+                return new Properties();
+            }
+        }
+        return properties;
+    }
+
+    private static void writeProperties(@Nonnull Path directory, @Nonnull Path meta, @Nonnull Properties properties) {
+        try {
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, meta.getFileName().toString(), ".tmp");
+            try (final OutputStream stream = Files.newOutputStream(temp)) {
+                properties.store(stream, null);
+            }
+            move(temp, meta);
+        } catch (final IOException e) {
+            log.warn("failed to write {}", meta, e);
+        }
+    }
+
+    private static void move(@Nonnull Path source, @Nonnull Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
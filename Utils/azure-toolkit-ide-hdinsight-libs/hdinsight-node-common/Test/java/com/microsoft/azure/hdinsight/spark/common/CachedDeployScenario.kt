@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common
+
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine
+import io.cucumber.java.After
+import io.cucumber.java.Before
+import io.cucumber.java.en.Given
+import io.cucumber.java.en.Then
+import org.assertj.core.api.Assertions.assertThat
+import rx.Observable
+import rx.Observer
+import rx.subjects.PublishSubject
+import java.io.File
+import java.nio.file.Files
+
+class CachedDeployScenario {
+    private val root = "wasbs://container@account.blob.core.windows.net/SparkSubmission/"
+
+    private lateinit var cache: DeploymentCache
+    private lateinit var storage: FakeStorage
+    private var artifact: File? = null
+    private var uploadedPath: String? = null
+
+    // uploads artifacts into a map as the remote storage
+    private inner class FakeStorage : Deployable {
+        val files = mutableMapOf<String, ByteArray>()
+        var deployCount = 0
+        var existsCount = 0
+
+        override fun deploy(src: File, logSubject: Observer<SparkLogLine>): Observable<String> {
+            deployCount++
+            val path = "$root${files.size}/${src.name}"
+            files[path] = src.readBytes()
+            return Observable.just(path)
+        }
+
+        override fun getDestinationRoot(): String = root
+
+        override fun exists(uploadedPath: String): Observable<Boolean> {
+            existsCount++
+            return Observable.just(files.containsKey(uploadedPath))
+        }
+    }
+
+    @Before
+    fun setUp() {
+        cache = DeploymentCache()
+        storage = FakeStorage()
+    }
+
+    @Given("^a local artifact '(.*)' with content '(.*)'$")
+    fun createArtifact(name: String, content: String) {
+        artifact = File(Files.createTempDirectory("cached-deploy").toFile(), name).apply {
+            writeText(content)
+        }
+    }
+
+    @Given("^deploy the local artifact with cache$")
+    fun deployArtifact() {
+        uploadedPath = CachedDeploy(storage, cache).deploy(artifact!!, PublishSubject.create()).toBlocking().single()
+    }
+
+    @Given("^the deployed artifact is removed from the storage$")
+    fun removeDeployedArtifact() {
+        storage.files.remove(uploadedPath)
+    }
+
+    @Then("^the storage should have been deployed (\\d+) times? and checked (\\d+) times?$")
+    fun checkDeployCount(deployCount: Int, existsCount: Int) {
+        assertThat(storage.deployCount).isEqualTo(deployCount)
+        assertThat(storage.existsCount).isEqualTo(existsCount)
+    }
+
+    @Then("^the deployed path should exist in the storage and the cache$")
+    fun checkDeployedPath() {
+        assertThat(storage.files).containsKey(uploadedPath)
+        assertThat(cache.getUploadedPath(root, cache.hash(artifact!!))).hasValue(uploadedPath)
+    }
+
+    @After
+    fun cleanUp() {
+        artifact?.parentFile?.deleteRecursively()
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common.log
+
+import io.cucumber.datatable.DataTable
+import io.cucumber.java.After
+import io.cucumber.java.en.Given
+import io.cucumber.java.en.Then
+import org.assertj.core.api.Assertions.assertThat
+import java.io.File
+import java.util.regex.Pattern
+
+class SparkLogFileIndexScenario {
+    private var logFile: File? = null
+    private var index: SparkLogFileIndex? = null
+
+    @Given("^a local log file with lines$")
+    fun createLocalLogFile(lines: DataTable) {
+        logFile = File.createTempFile("spark-log-index", ".log").apply {
+            deleteOnExit()
+            writeText(lines.asList().joinToString("\n") + "\n")
+        }
+    }
+
+    @Given("^build the index of the local log file$")
+    fun buildIndex() {
+        index = SparkLogFileIndex(logFile!!).apply {
+            buildIndex().toBlocking().last()
+        }
+    }
+
+    @Then("^the indexed log file should have (\\d+) lines$")
+    fun checkLineCount(expect: Int) {
+        assertThat(index!!.isIndexCompleted).isTrue()
+        assertThat(index!!.lineCount).isEqualTo(expect)
+    }
+
+    @Then("^the indexed log line (\\d+) should be '(.*)'$")
+    fun checkLine(line: Int, expect: String) {
+        assertThat(index!!.readLine(line)).isEqualTo(expect)
+    }
+
+    @Then("^the indexed log lines of levels '(.*)' should be '(.*)'$")
+    fun checkLevelFilter(levels: String, expect: String) {
+        val lines = index!!.filterByLevels(levels.split(",").toSet())
+
+        assertThat(lines.joinToString(",")).isEqualTo(expect)
+    }
+
+    @Then("^search '(.*)' from line (\\d+) (forward|backward) in the indexed log should get line (-?\\d+)$")
+    fun checkSearch(regex: String, fromLine: Int, direction: String, expect: Int) {
+        assertThat(index!!.search(Pattern.compile(regex), fromLine, direction == "forward")).isEqualTo(expect)
+    }
+
+    @After
+    fun cleanUp() {
+        index?.close()
+        logFile?.delete()
+    }
+}
@@ -0,0 +1,22 @@
+Feature: CachedDeploy Unit Tests
+
+  Background:
+    Given a local artifact 'app.jar' with content 'version 1'
+
+  Scenario: An artifact not deployed before is uploaded and cached
+    Given deploy the local artifact with cache
+    Then the storage should have been deployed 1 time and checked 0 times
+    Then the deployed path should exist in the storage and the cache
+
+  Scenario: An unchanged artifact still in the storage is reused
+    Given deploy the local artifact with cache
+    And deploy the local artifact with cache
+    Then the storage should have been deployed 1 time and checked 1 time
+    Then the deployed path should exist in the storage and the cache
+
+  Scenario: An unchanged artifact removed from the storage is evicted and uploaded again
+    Given deploy the local artifact with cache
+    And the deployed artifact is removed from the storage
+    And deploy the local artifact with cache
+    Then the storage should have been deployed 2 times and checked 1 time
+    Then the deployed path should exist in the storage and the cache
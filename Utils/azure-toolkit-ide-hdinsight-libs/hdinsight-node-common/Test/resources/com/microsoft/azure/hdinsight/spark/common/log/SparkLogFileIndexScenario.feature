@@ -0,0 +1,26 @@
+Feature: SparkLogFileIndex Unit Tests
+
+  Background:
+    Given a local log file with lines
+      | 24/01/01 10:00:00 INFO SparkContext: Running Spark version 3.3.0 |
+      | 24/01/01 10:00:01 WARN NativeCodeLoader: Unable to load native-hadoop library |
+      | 24/01/01 10:00:02 ERROR Executor: Exception in task 0.0 in stage 1.0          |
+      | java.lang.NullPointerException                                                |
+      | at sample.LogQuery$.main(LogQuery.scala:42)                                   |
+      | 24/01/01 10:00:03 INFO DAGScheduler: Job 0 finished                           |
+    And build the index of the local log file
+
+  Scenario: Lines can be read by line number
+    Then the indexed log file should have 6 lines
+    Then the indexed log line 3 should be 'java.lang.NullPointerException'
+    Then the indexed log line 5 should be '24/01/01 10:00:03 INFO DAGScheduler: Job 0 finished'
+
+  Scenario: Lines without level keyword inherit the previous level
+    Then the indexed log lines of levels 'ERROR' should be '2,3,4'
+    Then the indexed log lines of levels 'WARN,ERROR' should be '1,2,3,4'
+    Then the indexed log lines of levels 'INFO' should be '0,5'
+
+  Scenario: Search lines by regular expression
+    Then search 'Exception' from line 0 forward in the indexed log should get line 2
+    Then search 'Exception' from line 5 backward in the indexed log should get line 3
+    Then search 'NotExisted' from line 0 forward in the indexed log should get line -1
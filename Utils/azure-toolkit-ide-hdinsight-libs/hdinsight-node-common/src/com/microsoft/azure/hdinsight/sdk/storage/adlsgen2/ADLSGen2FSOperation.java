@@ -13,19 +13,27 @@ import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.message.BasicHeader;
 import rx.Observable;
+import rx.exceptions.Exceptions;
+import rx.schedulers.Schedulers;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.UnknownServiceException;
 import java.util.Collections;
 import java.util.List;
 
@@ -33,6 +41,8 @@ public class ADLSGen2FSOperation {
     public static final String DEFAULT_UMASK = "0000";
     public static final String PERMISSIONS_HEADER = "x-ms-permissions";
     public static final String UMASK_HEADER = "x-ms-umask";
+    public static final long DEFAULT_UPLOAD_BLOCK_SIZE = 8 * 1024 * 1024L;
+    public static final int DEFAULT_UPLOAD_PARALLELISM = 4;
 
     private HttpObservable http;
 
@@ -110,11 +120,61 @@ public class ADLSGen2FSOperation {
                 .map(ignore -> true);
     }
 
+    /**
+     * Check whether the file exists with the path properties
+     *
+     * @param filePath the file path
+     * @return Observable: true if it exists, false if not found
+     */
+    public Observable<Boolean> exists(String filePath) {
+        return http.request(new HttpHead(filePath), null, Collections.emptyList(), Collections.emptyList())
+                   .map(resp -> {
+                       final int statusCode = resp.getStatusLine().getStatusCode();
+                       HttpClientUtils.closeQuietly(resp);
+                       if (statusCode == HttpStatus.SC_NOT_FOUND) {
+                           return false;
+                       }
+
+                       if (statusCode != HttpStatus.SC_OK) {
+                           throw Exceptions.propagate(new UnknownServiceException(String.format(
+                                   "Get properties of %s with unexpected status code %d", filePath, statusCode)));
+                       }
+
+                       return true;
+                   });
+    }
+
     public Observable<Boolean> uploadData(String destFilePath, File src) {
         return appendData(destFilePath, src)
                 .flatMap(len -> flushData(destFilePath, len));
     }
 
+    /**
+     * Upload the file with blocks appended in parallel at their own positions, and flush them once all are appended
+     *
+     * @param destFilePath the created destination file
+     * @param src          the local file to upload
+     * @param blockSize    the size of each appended block, the file no larger than it is uploaded in one request
+     * @param parallelism  the max count of blocks uploading concurrently
+     * @return Observable: true if the data is flushed
+     */
+    public Observable<Boolean> uploadDataInParallel(String destFilePath, File src, long blockSize, int parallelism) {
+        final long fileLength = src.length();
+        if (fileLength <= blockSize || parallelism <= 1) {
+            return uploadData(destFilePath, src);
+        }
+
+        final int blockCount = (int) ((fileLength + blockSize - 1) / blockSize);
+        return Observable.range(0, blockCount)
+                .flatMap(index -> {
+                    final long offset = index * blockSize;
+                    return appendBlock(destFilePath, src, offset, (int) Math.min(blockSize, fileLength - offset))
+                            .subscribeOn(Schedulers.io());
+                }, parallelism)
+                .toList()
+                .flatMap(ignore -> flushData(destFilePath, fileLength));
+    }
+
     public Observable<RemoteFile> list(String rootPath, String relativePath) {
         this.listReqBuilder = new ADLSGen2ParamsBuilder()
                 .enableRecursive(false)
@@ -149,6 +209,33 @@ public class ADLSGen2FSOperation {
         }
     }
 
+    private Observable<Long> appendBlock(String filePath, File src, long offset, int length) {
+        return Observable.fromCallable(() -> {
+                    final byte[] block = new byte[length];
+                    try (RandomAccessFile file = new RandomAccessFile(src, "r")) {
+                        file.seek(offset);
+                        file.readFully(block);
+                    }
+
+                    return block;
+                })
+                .flatMap(block -> {
+                    final List<NameValuePair> blockAppendReqParams = new ADLSGen2ParamsBuilder()
+                            .setAction("append")
+                            .setPosition(offset)
+                            .build();
+
+                    return http.executeReqAndCheckStatus(new HttpPatch(filePath),
+                                                         new ByteArrayEntity(block, ContentType.APPLICATION_OCTET_STREAM),
+                                                         blockAppendReqParams,
+                                                         Collections.emptyList(),
+                                                         202);
+                })
+                // release the connection for other blocks
+                .doOnNext(HttpClientUtils::closeQuietly)
+                .map(ignore -> (long) length);
+    }
+
     private Observable<Boolean> flushData(String filePath, long flushLen) {
         HttpPatch req = new HttpPatch(filePath);
         List<NameValuePair> flushReqParams = this.flushReqParamsBuilder.setPosition(flushLen).build();
@@ -76,11 +76,28 @@ public class ADLSGen2Deploy implements Deployable, ILogger {
                  })
                  .doOnNext(ignore -> log().info(String.format("Create filesystem %s successfully.", dirPath)))
                  .flatMap(ignore -> op.createFile(filePath, "0755"))
-                 .flatMap(ignore -> op.uploadData(filePath, src))
+                 .flatMap(ignore -> op.uploadDataInParallel(filePath,
+                                                            src,
+                                                            ADLSGen2FSOperation.DEFAULT_UPLOAD_BLOCK_SIZE,
+                                                            ADLSGen2FSOperation.DEFAULT_UPLOAD_PARALLELISM))
                  .doOnNext(ignore -> log().info(String.format("Append data to file %s successfully.", filePath)))
                  .map(ignored -> AbfsUri.parse(filePath).getUri().toString());
     }
 
+    @NotNull
+    @Override
+    public String getDestinationRoot() {
+        return destinationRootPath;
+    }
+
+    @NotNull
+    @Override
+    public Observable<Boolean> exists(@NotNull String uploadedPath) {
+        // the uploaded path is in abfs form, check it with the https form
+        return Observable.fromCallable(() -> AbfsUri.parse(uploadedPath).getUrl().toString())
+                         .flatMap(filePath -> new ADLSGen2FSOperation(this.http).exists(filePath));
+    }
+
     public static String getForbiddenErrorHints(String fileSystemRootPath) {
         final String signInUserEmail = Azure.az(AzureAccount.class).account().getUsername();
         return " Please verify if\n"
@@ -9,6 +9,7 @@ import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import rx.Observable;
+import rx.functions.Action1;
 
 import java.io.File;
 import java.net.URI;
@@ -60,6 +61,13 @@ public class ArcadiaSparkBatchJob extends SparkBatchJob {
         return Observable.empty();
     }
 
+    // The driver log of the job isn't served by a Yarn log page, which SparkBatchJob downloads from
+    @NotNull
+    @Override
+    public Observable<File> downloadDriverLog(@NotNull String type, @NotNull File dest, @Nullable Action1<Long> onProgress) {
+        return Observable.error(new UnsupportedOperationException("Downloading driver log isn't supported for this job"));
+    }
+
     @NotNull
     @Override
     public Observable<SparkLogLine> getSubmissionLog() {
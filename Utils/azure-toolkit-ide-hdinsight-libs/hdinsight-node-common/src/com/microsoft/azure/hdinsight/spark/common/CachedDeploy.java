@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.microsoft.azure.hdinsight.common.MessageInfoType;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Observable;
+import rx.Observer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
+
+// skip uploading the artifact if the same content has been deployed into the same storage root and still exists there
+public class CachedDeploy implements Deployable, ILogger {
+    @NotNull
+    private final Deployable delegate;
+
+    @NotNull
+    private final DeploymentCache cache;
+
+    public CachedDeploy(@NotNull final Deployable delegate) {
+        this(delegate, DeploymentCache.getInstance());
+    }
+
+    public CachedDeploy(@NotNull final Deployable delegate, @NotNull final DeploymentCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @NotNull
+    public Deployable getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    @Nullable
+    public String getDestinationRoot() {
+        return delegate.getDestinationRoot();
+    }
+
+    @NotNull
+    @Override
+    public Observable<Boolean> exists(@NotNull final String uploadedPath) {
+        return delegate.exists(uploadedPath);
+    }
+
+    @Override
+    public Observable<String> deploy(final File src, final Observer<SparkLogLine> logSubject) {
+        final String destinationRoot = getDestinationRoot();
+        if (destinationRoot == null) {
+            return delegate.deploy(src, logSubject);
+        }
+
+        final String hash;
+        try {
+            hash = cache.hash(src);
+        } catch (final IOException ex) {
+            log().warn("Failed to compute the hash of artifact " + src + ", deploy it without cache.", ex);
+            return delegate.deploy(src, logSubject);
+        }
+
+        final Optional<String> uploadedPath = cache.getUploadedPath(destinationRoot, hash);
+        if (!uploadedPath.isPresent()) {
+            return deployAndCache(src, logSubject, destinationRoot, hash);
+        }
+
+        // the uploaded one may have been deleted or cleaned up from the storage since last deployment
+        return delegate.exists(uploadedPath.get())
+                       .onErrorReturn(err -> {
+                           log().warn("Failed to check the uploaded artifact " + uploadedPath.get(), err);
+                           return false;
+                       })
+                       .flatMap(exists -> {
+                           if (!exists) {
+                               cache.evict(destinationRoot, hash);
+                               return deployAndCache(src, logSubject, destinationRoot, hash);
+                           }
+
+                           logSubject.onNext(new SparkLogLine(TOOL, MessageInfoType.Info, String.format(
+                                   "Artifact %s is unchanged since last deployment, reuse the uploaded one %s",
+                                   src.getName(), uploadedPath.get())));
+                           return Observable.just(uploadedPath.get());
+                       });
+    }
+
+    private Observable<String> deployAndCache(final File src,
+                                              final Observer<SparkLogLine> logSubject,
+                                              @NotNull final String destinationRoot,
+                                              @NotNull final String hash) {
+        return delegate.deploy(src, logSubject)
+                       .doOnNext(path -> cache.putUploadedPath(destinationRoot, hash, path));
+    }
+}
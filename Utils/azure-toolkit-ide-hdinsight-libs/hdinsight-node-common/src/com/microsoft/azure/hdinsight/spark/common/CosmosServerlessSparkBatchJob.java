@@ -22,6 +22,7 @@ import org.apache.http.NameValuePair;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicNameValuePair;
 import rx.Observable;
+import rx.functions.Action1;
 
 import java.io.File;
 import java.io.IOException;
@@ -405,6 +406,13 @@ public class CosmosServerlessSparkBatchJob extends SparkBatchJob {
         return Observable.empty();
     }
 
+    // The driver log of the job isn't served by a Yarn log page, which SparkBatchJob downloads from
+    @NotNull
+    @Override
+    public Observable<File> downloadDriverLog(@NotNull String type, @NotNull File dest, @Nullable Action1<Long> onProgress) {
+        return Observable.error(new UnsupportedOperationException("Downloading driver log isn't supported for this job"));
+    }
+
     @Override
     public CosmosServerlessSparkBatchJob clone() {
         return new CosmosServerlessSparkBatchJob(
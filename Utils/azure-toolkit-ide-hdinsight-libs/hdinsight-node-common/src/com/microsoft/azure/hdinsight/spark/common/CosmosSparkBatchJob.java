@@ -12,6 +12,7 @@ import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.tuple.Pair;
 import rx.Observable;
+import rx.functions.Action1;
 
 import java.io.File;
 import java.net.URI;
@@ -113,6 +114,13 @@ public class CosmosSparkBatchJob extends SparkBatchJob {
         return Observable.empty();
     }
 
+    // The driver log of the job isn't served by a Yarn log page, which SparkBatchJob downloads from
+    @NotNull
+    @Override
+    public Observable<File> downloadDriverLog(@NotNull String type, @NotNull File dest, @Nullable Action1<Long> onProgress) {
+        return Observable.error(new UnsupportedOperationException("Downloading driver log isn't supported for this job"));
+    }
+
     @Override
     protected Observable<String> getSparkJobDriverLogUrlObservable() {
         return Observable.just(Objects.requireNonNull(getConnectUri()).toString() + "/" + getBatchId() + "/log");
@@ -6,6 +6,8 @@
 package com.microsoft.azure.hdinsight.spark.common;
 
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import rx.Observable;
 import rx.Observer;
 
@@ -21,4 +23,25 @@ public interface Deployable {
      * Observable Error: IOException;
      */
     Observable<String> deploy(File src, Observer<SparkLogLine> logSubject);
+
+    /**
+     * Get the storage root the artifacts are deployed into, which is used as the scope of {@link DeploymentCache}
+     *
+     * @return the storage root, or null if the deployed artifacts can't be reused
+     */
+    @Nullable
+    default String getDestinationRoot() {
+        return null;
+    }
+
+    /**
+     * Check whether an artifact deployed before still exists in the storage, before {@link CachedDeploy} reuses it
+     *
+     * @param uploadedPath the upload path returned by {@link #deploy(File, Observer)}
+     * @return Observable: true if it exists, false if it doesn't or the storage can't be checked
+     */
+    @NotNull
+    default Observable<Boolean> exists(@NotNull String uploadedPath) {
+        return Observable.just(false);
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the content hashes of the artifacts uploaded into each storage root, so that an unchanged artifact
+ * is not uploaded again when the same job is submitted repeatedly.
+ */
+public class DeploymentCache {
+    private static final DeploymentCache ourInstance = new DeploymentCache();
+
+    // storage root -> (artifact content hash -> uploaded path)
+    private final Map<String, Map<String, String>> uploadedArtifacts = new ConcurrentHashMap<>();
+
+    // local artifact path -> (last modified, length, content hash), to avoid re-hashing an unchanged file
+    private final Map<String, LocalArtifactHash> localHashes = new ConcurrentHashMap<>();
+
+    public static DeploymentCache getInstance() {
+        return ourInstance;
+    }
+
+    // package private for tests, use getInstance() otherwise
+    DeploymentCache() {
+    }
+
+    @NotNull
+    public String hash(@NotNull final File artifact) throws IOException {
+        final String key = artifact.getAbsolutePath();
+        final LocalArtifactHash cached = localHashes.get(key);
+        if (cached != null && cached.lastModified == artifact.lastModified() && cached.length == artifact.length()) {
+            return cached.hash;
+        }
+
+        final long lastModified = artifact.lastModified();
+        final long length = artifact.length();
+        try (final InputStream input = new FileInputStream(artifact)) {
+            final String hash = DigestUtils.sha256Hex(input);
+            localHashes.put(key, new LocalArtifactHash(lastModified, length, hash));
+            return hash;
+        }
+    }
+
+    @NotNull
+    public Optional<String> getUploadedPath(@NotNull final String destinationRoot, @NotNull final String hash) {
+        return Optional.ofNullable(uploadedArtifacts.get(normalizeRoot(destinationRoot)))
+                       .map(artifacts -> artifacts.get(hash));
+    }
+
+    public void putUploadedPath(@NotNull final String destinationRoot,
+                                @NotNull final String hash,
+                                @Nullable final String uploadedPath) {
+        if (StringUtils.isBlank(uploadedPath)) {
+            return;
+        }
+
+        uploadedArtifacts.computeIfAbsent(normalizeRoot(destinationRoot), root -> new ConcurrentHashMap<>())
+                         .put(hash, uploadedPath);
+    }
+
+    public void evict(@NotNull final String destinationRoot, @NotNull final String hash) {
+        Optional.ofNullable(uploadedArtifacts.get(normalizeRoot(destinationRoot)))
+                .ifPresent(artifacts -> artifacts.remove(hash));
+    }
+
+    public void invalidate(@NotNull final String destinationRoot) {
+        uploadedArtifacts.remove(normalizeRoot(destinationRoot));
+    }
+
+    public void invalidateAll() {
+        uploadedArtifacts.clear();
+    }
+
+    @NotNull
+    private static String normalizeRoot(@NotNull final String destinationRoot) {
+        return StringUtils.appendIfMissing(destinationRoot.trim(), "/");
+    }
+
+    private static class LocalArtifactHash {
+        private final long lastModified;
+        private final long length;
+        @NotNull
+        private final String hash;
+
+        LocalArtifactHash(final long lastModified, final long length, @NotNull final String hash) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+}
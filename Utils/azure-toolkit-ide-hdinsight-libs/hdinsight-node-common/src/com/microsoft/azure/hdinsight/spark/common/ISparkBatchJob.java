@@ -7,8 +7,11 @@ package com.microsoft.azure.hdinsight.spark.common;
 
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import rx.Observable;
+import rx.functions.Action1;
 
+import java.io.File;
 import java.net.URI;
 import java.util.AbstractMap;
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -93,6 +96,19 @@ public interface ISparkBatchJob extends Cloneable, SparkClientControlMessage {
     @NotNull
     Observable<AbstractMap.SimpleImmutableEntry<String, Long>> getContainerLog(@NotNull String containerLogUrl, @NotNull String type, long logOffset, int size);
 
+    /**
+     * Download the whole Spark job driver log into a local file, with byte ranges fetched concurrently
+     *
+     * @param type the log type, such as `stderr`, `stdout`
+     * @param dest the local file to save the log
+     * @param onProgress the callback with the downloaded length
+     * @return the downloaded file observable
+     */
+    @NotNull
+    default Observable<File> downloadDriverLog(@NotNull String type, @NotNull File dest, @Nullable Action1<Long> onProgress) {
+        return Observable.error(new UnsupportedOperationException("Downloading driver log isn't supported for this job"));
+    }
+
     /**
      * Get Spark job submission log observable
      *
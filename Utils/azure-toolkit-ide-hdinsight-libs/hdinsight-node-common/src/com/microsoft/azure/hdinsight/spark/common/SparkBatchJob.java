@@ -19,6 +19,7 @@ import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.AppAttempt;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.AppAttemptsResponse;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.AppResponse;
 import com.microsoft.azure.hdinsight.sdk.storage.model.IHDIStorageAccount;
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogDownloader;
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azure.hdinsight.spark.jobs.JobUtils;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
@@ -29,6 +30,7 @@ import org.htmlunit.Cache;
 import rx.Observable;
 import rx.Observer;
 import rx.Subscriber;
+import rx.functions.Action1;
 import rx.subjects.PublishSubject;
 
 import java.io.File;
@@ -468,6 +470,15 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
         return Observable.just(new SimpleImmutableEntry<>(logGot, logOffset));
     }
 
+    @NotNull
+    @Override
+    public Observable<File> downloadDriverLog(@NotNull String type, @NotNull File dest, @Nullable Action1<Long> onProgress) {
+        return getSparkJobDriverLogUrlObservable()
+                .first()
+                .flatMap(logUrl -> new SparkLogDownloader(getSubmission().getAuthCode())
+                        .download(logUrl, type, dest, onProgress));
+    }
+
     /**
      * Parse host from host:port combination string
      *
@@ -14,9 +14,13 @@ import com.microsoft.azure.hdinsight.spark.jobs.JobUtils;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.entity.BufferedHttpEntity;
@@ -71,6 +75,39 @@ public class WebHDFSDeploy implements Deployable, ILogger {
                 .resolve(JobUtils.getFormatPathByDate());
     }
 
+    @NotNull
+    @Override
+    public String getDestinationRoot() {
+        return destinationRootPath;
+    }
+
+    @NotNull
+    @Override
+    public Observable<Boolean> exists(@NotNull String uploadedPath) {
+        final URI file;
+        try {
+            file = new URIBuilder(uploadedPath).removeQuery().build();
+        } catch (final URISyntaxException ex) {
+            return Observable.error(new IllegalArgumentException("Can not get valid artifact path " + uploadedPath, ex));
+        }
+
+        return http.request(new HttpGet(file.toString()), null, new WebHdfsParamsBuilder("GETFILESTATUS").build(), null)
+                .map(resp -> {
+                    final int statusCode = resp.getStatusLine().getStatusCode();
+                    HttpClientUtils.closeQuietly(resp);
+                    if (statusCode == HttpStatus.SC_NOT_FOUND) {
+                        return false;
+                    }
+
+                    if (statusCode != HttpStatus.SC_OK) {
+                        throw Exceptions.propagate(new UnknownServiceException(String.format(
+                                "Get status of %s with unexpected status code %d using webHDFS storage type", file, statusCode)));
+                    }
+
+                    return true;
+                });
+    }
+
     @Override
     public Observable<String> deploy(File src,
                                      Observer<SparkLogLine> logSubject) {
@@ -79,6 +116,7 @@ public class WebHDFSDeploy implements Deployable, ILogger {
         // 2.put request to get 307 redirect uri from response
         // 3.put redirect request with file content as setEntity
         final URI dest = getUploadDir();
+        final URI destFile = dest.resolve(src.getName());
         final HttpPut req = new HttpPut(dest.toString());
         return http.request(req, null, this.createDirReqParams, null)
                 .doOnNext(
@@ -88,35 +126,53 @@ public class WebHDFSDeploy implements Deployable, ILogger {
                             }
                         }
                 )
-                .map(ignored -> new HttpPut(dest.resolve(src.getName()).toString()))
-                .flatMap(put -> http.request(put, null, this.uploadReqParams, null))
-                .map(resp -> resp.getFirstHeader("Location").getValue())
+                .flatMap(ignored -> uploadFile(destFile, src))
+                .map(ignored -> {
+                    try {
+                        return getArtifactUploadedPath(destFile.toString());
+                    } catch (final URISyntaxException ex) {
+                        throw new RuntimeException(new IllegalArgumentException("Can not get valid artifact upload path" + ex.toString()));
+                    }
+                });
+    }
+
+    private Observable<URI> uploadFile(URI destFile, File src) {
+        try {
+            InputStreamEntity reqEntity = new InputStreamEntity(
+                    new FileInputStream(src),
+                    -1,
+                    ContentType.APPLICATION_OCTET_STREAM);
+            reqEntity.setChunked(true);
+
+            return uploadEntity(destFile, new BufferedHttpEntity(reqEntity));
+        } catch (IOException ex) {
+            throw new RuntimeException(new IllegalArgumentException("Can not get local artifact when uploading" + ex.toString()));
+        }
+    }
+
+    private Observable<URI> uploadEntity(URI destFile, HttpEntity entity) {
+        return http.request(new HttpPut(destFile.toString()), null, this.uploadReqParams, null)
+                .map(resp -> {
+                    final String location = resp.getFirstHeader("Location").getValue();
+                    HttpClientUtils.closeQuietly(resp);
+                    return location;
+                })
                 .doOnNext(redirectedUri -> {
                     if (StringUtils.isBlank(redirectedUri)) {
                         Exceptions.propagate(new UnknownServiceException("Can not get valid redirect uri using webHDFS storage type"));
                     }
                 })
                 .map(HttpPut::new)
-                .flatMap(put -> {
-                    try {
-                        InputStreamEntity reqEntity = new InputStreamEntity(
-                                new FileInputStream(src),
-                                -1,
-                                ContentType.APPLICATION_OCTET_STREAM);
-                        reqEntity.setChunked(true);
-
-                        return http.request(put, new BufferedHttpEntity(reqEntity), URLEncodedUtils.parse(put.getURI(), "UTF-8"), null);
-                    } catch (IOException ex) {
-                        throw new RuntimeException(new IllegalArgumentException("Can not get local artifact when uploading" + ex.toString()));
+                .flatMap(put -> http.request(put, entity, URLEncodedUtils.parse(put.getURI(), "UTF-8"), null))
+                .doOnNext(resp -> {
+                    final int statusCode = resp.getStatusLine().getStatusCode();
+                    HttpClientUtils.closeQuietly(resp);
+                    if (statusCode >= 300) {
+                        throw Exceptions.propagate(new UnknownServiceException(String.format(
+                                "Upload %s with unexpected status code %d using webHDFS storage type", destFile, statusCode)));
                     }
                 })
-                .map(ignored -> {
-                    try {
-                        return getArtifactUploadedPath(dest.resolve(src.getName()).toString());
-                    } catch (final URISyntaxException ex) {
-                        throw new RuntimeException(new IllegalArgumentException("Can not get valid artifact upload path" + ex.toString()));
-                    }
-                });
+                .map(ignored -> destFile);
     }
 
     @Nullable
@@ -127,4 +183,3 @@ public class WebHDFSDeploy implements Deployable, ILogger {
         return uriBuilder.build().toString();
     }
 }
-
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common.log;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.jobs.JobUtils;
+import com.microsoft.azure.hdinsight.spark.jobs.JobUtils.YarnLogRange;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.htmlunit.WebClient;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.schedulers.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Download the whole Yarn container log into a local file, by fetching the log in byte ranges concurrently.
+ * The ranges are fetched wave by wave until the log length reported by the Yarn log page, or until an empty range if
+ * the page doesn't report it. A failed fetch is retried and fails the download, rather than taken as the log end.
+ */
+public class SparkLogDownloader implements ILogger {
+    public static final int DEFAULT_RANGE_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final int RANGE_RETRIES_MAX = 3;
+
+    private static final long RANGE_RETRY_INTERVAL_MS = 500;
+
+    // Fetch a few more bytes than a range, to get the multibyte character across the range end completely
+    private static final int RANGE_OVERLAP = 4;
+
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+    @Nullable
+    private final String authCode;
+
+    private final int rangeSize;
+
+    private final int parallelism;
+
+    public SparkLogDownloader(@Nullable final String authCode) {
+        this(authCode, DEFAULT_RANGE_SIZE, DEFAULT_PARALLELISM);
+    }
+
+    public SparkLogDownloader(@Nullable final String authCode, final int rangeSize, final int parallelism) {
+        this.authCode = authCode;
+        this.rangeSize = rangeSize;
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    /**
+     * Download the container log
+     *
+     * @param containerLogUrl the container log URL
+     * @param type            the log type, such as `stderr`, `stdout`
+     * @param dest            the local file to save the log
+     * @param onProgress      the callback with the downloaded length
+     * @return Observable: the downloaded file
+     * Observable Error: IOException;
+     */
+    @NotNull
+    public Observable<File> download(@NotNull final String containerLogUrl,
+                                     @NotNull final String type,
+                                     @NotNull final File dest,
+                                     @Nullable final Action1<Long> onProgress) {
+        return Observable.fromCallable(() -> {
+            // Download into a temp file beside, so that the concurrent downloads of the same log don't write into
+            // one file, and the log viewer never sees a partially downloaded file
+            final Path destDir = dest.getAbsoluteFile().toPath().getParent();
+            Files.createDirectories(destDir);
+            final Path temp = Files.createTempFile(destDir, "." + dest.getName() + ".", ".tmp");
+            try {
+                downloadRanges(containerLogUrl, type, temp, onProgress);
+                moveIntoPlace(temp, dest.toPath());
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            return dest;
+        }).subscribeOn(Schedulers.io());
+    }
+
+    private static void moveIntoPlace(@NotNull final Path source, @NotNull final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void downloadRanges(@NotNull final String containerLogUrl,
+                                @NotNull final String type,
+                                @NotNull final Path dest,
+                                @Nullable final Action1<Long> onProgress) throws IOException {
+        // The web client isn't thread safe, pool them to reuse the connections among the ranges
+        final BlockingQueue<WebClient> clients = new ArrayBlockingQueue<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            clients.add(JobUtils.createYarnLogWebClient(authCode));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try (final FileChannel out = FileChannel.open(dest, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long nextRangeStart = 0;
+            // The byte offset of the next character to write, always at a character boundary
+            long written = 0;
+            long totalLength = -1;
+            boolean isEnd = false;
+
+            while (!isEnd) {
+                final List<Future<YarnLogRange>> wave = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism; i++) {
+                    final long start = nextRangeStart + (long) i * rangeSize;
+                    if (totalLength >= 0 && start >= totalLength) {
+                        break;
+                    }
+
+                    wave.add(executor.submit(() -> fetchRange(clients, containerLogUrl, type, start)));
+                }
+
+                final List<YarnLogRange> ranges = new ArrayList<>(wave.size());
+                for (final Future<YarnLogRange> range : wave) {
+                    ranges.add(range.get());
+                }
+
+                for (final YarnLogRange range : ranges) {
+                    totalLength = Math.max(totalLength, range.getTotalLength());
+                }
+
+                isEnd = ranges.size() < parallelism;
+                for (int i = 0; i < ranges.size(); i++) {
+                    final long start = nextRangeStart + (long) i * rangeSize;
+                    YarnLogRange range = ranges.get(i);
+                    if (range.getText().isEmpty()) {
+                        final boolean isBeforeEnd = totalLength >= 0 ? start < totalLength : hasContentAfter(ranges, i);
+                        if (!isBeforeEnd) {
+                            isEnd = true;
+                            break;
+                        }
+
+                        // The server answered an empty page for a range inside the log, fetch it again
+                        range = retryEmptyRange(clients, containerLogUrl, type, start);
+                    }
+
+                    if (written < start) {
+                        throw new IOException(String.format("Got a short log range from %s before %d", containerLogUrl, start));
+                    }
+
+                    final CharSequence chars = takeRangeChars(range.getText(), written - start, start + rangeSize - written);
+                    final ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(chars));
+                    while (bytes.hasRemaining()) {
+                        written += out.write(bytes);
+                    }
+
+                    if (onProgress != null) {
+                        onProgress.call(written);
+                    }
+                }
+
+                nextRangeStart += (long) parallelism * rangeSize;
+            }
+
+            if (totalLength >= 0 && written < totalLength) {
+                throw new IOException(String.format("Log %s is truncated, got %d of %d bytes", containerLogUrl, written, totalLength));
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Downloading log " + containerLogUrl + " is interrupted");
+        } catch (final ExecutionException ex) {
+            throw new IOException("Failed to download log " + containerLogUrl, ex.getCause());
+        } finally {
+            executor.shutdownNow();
+            clients.forEach(WebClient::close);
+        }
+    }
+
+    /**
+     * The Yarn log page serves a range as text, decoded from the bytes [start, end + RANGE_OVERLAP) by the server,
+     * so a multibyte character across the range boundary is complete in the former range and broken in the latter.
+     * Take the characters starting in [start, end) only, and skip the broken ones at the head.
+     *
+     * @param text      the range text
+     * @param skipBytes the bytes at the head already written with the former range
+     * @param maxBytes  the bytes from the first character to write to the end of the range
+     * @return the characters to write
+     */
+    @NotNull
+    static CharSequence takeRangeChars(@NotNull final String text, final long skipBytes, final long maxBytes) {
+        int begin = 0;
+        // Each byte of a broken character is decoded into a replacement character
+        for (long skipped = 0; skipped < skipBytes && begin < text.length() && text.charAt(begin) == REPLACEMENT_CHAR; skipped++) {
+            begin++;
+        }
+
+        int end = begin;
+        long bytes = 0;
+        while (end < text.length() && bytes < maxBytes) {
+            final int codePoint = text.codePointAt(end);
+            bytes += utf8Length(codePoint);
+            end += Character.charCount(codePoint);
+        }
+
+        return text.subSequence(begin, end);
+    }
+
+    private static int utf8Length(final int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        }
+
+        return 4;
+    }
+
+    /**
+     * Fetch a range, retry it on failures, and throw after {@link #RANGE_RETRIES_MAX} retries
+     */
+    @NotNull
+    private YarnLogRange fetchRange(@NotNull final BlockingQueue<WebClient> clients,
+                                    @NotNull final String containerLogUrl,
+                                    @NotNull final String type,
+                                    final long start) throws InterruptedException, IOException {
+        IOException lastError = null;
+        for (int retries = 0; retries <= RANGE_RETRIES_MAX; retries++) {
+            if (retries > 0) {
+                Thread.sleep(RANGE_RETRY_INTERVAL_MS * retries);
+            }
+
+            final WebClient client = clients.take();
+            try {
+                return JobUtils.fetchYarnLogRange(client, containerLogUrl, type, start, start + rangeSize + RANGE_OVERLAP);
+            } catch (final IOException ex) {
+                lastError = ex;
+                log().warn(String.format("Failed to fetch log range from %s at %d, retry %d", containerLogUrl, start, retries), ex);
+            } finally {
+                clients.put(client);
+            }
+        }
+
+        throw new IOException(String.format("Failed to fetch log range from %s at %d", containerLogUrl, start), lastError);
+    }
+
+    @NotNull
+    private YarnLogRange retryEmptyRange(@NotNull final BlockingQueue<WebClient> clients,
+                                         @NotNull final String containerLogUrl,
+                                         @NotNull final String type,
+                                         final long start) throws InterruptedException, IOException {
+        for (int retries = 0; retries < RANGE_RETRIES_MAX; retries++) {
+            Thread.sleep(RANGE_RETRY_INTERVAL_MS * (retries + 1));
+            final YarnLogRange range = fetchRange(clients, containerLogUrl, type, start);
+            if (!range.getText().isEmpty()) {
+                return range;
+            }
+
+            log().warn(String.format("Got empty log range from %s at %d, retry %d", containerLogUrl, start, retries));
+        }
+
+        throw new IOException(String.format("Got empty log range from %s at %d inside the log", containerLogUrl, start));
+    }
+
+    private static boolean hasContentAfter(@NotNull final List<YarnLogRange> ranges, final int index) {
+        return ranges.subList(index + 1, ranges.size()).stream().anyMatch(range -> !range.getText().isEmpty());
+    }
+}
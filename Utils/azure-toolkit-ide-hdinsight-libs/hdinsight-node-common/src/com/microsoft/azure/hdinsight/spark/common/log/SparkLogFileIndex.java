@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common.log;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The line-offset and log4j level index of a local log file, which is memory-mapped rather than loaded into heap.
+ * The index is built in background by {@link #buildIndex()}, lines indexed so far can be read while building.
+ */
+public class SparkLogFileIndex implements Closeable, ILogger {
+    public static final byte LEVEL_UNKNOWN = -1;
+
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final int LEVEL_DETECTING_PREFIX_MAX = 256;
+    private static final int INITIAL_LINES_CAPACITY = 64 * 1024;
+    private static final int PROGRESS_LINES_INTERVAL = 100_000;
+
+    @NotNull
+    private final File file;
+
+    @NotNull
+    private final FileChannel channel;
+
+    @NotNull
+    private final MappedByteBuffer[] segments;
+
+    private final long length;
+
+    // Accessing guarded by the volatile lineCount: arrays are replaced before lineCount increased
+    private volatile long[] lineOffsets = new long[INITIAL_LINES_CAPACITY];
+    private volatile byte[] lineLevels = new byte[INITIAL_LINES_CAPACITY];
+    private volatile int lineCount = 0;
+    private volatile boolean isIndexCompleted = false;
+
+    public SparkLogFileIndex(@NotNull final File file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.length = channel.size();
+
+        final int segmentCount = (int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            final long position = i * SEGMENT_SIZE;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, length - position));
+        }
+    }
+
+    @NotNull
+    public File getFile() {
+        return file;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public boolean isIndexCompleted() {
+        return isIndexCompleted;
+    }
+
+    /**
+     * Build the line-offset and level index in background
+     *
+     * @return Observable: the count of lines indexed so far, emitted periodically and at completion
+     */
+    @NotNull
+    public Observable<Integer> buildIndex() {
+        return Observable.<Integer>create(ob -> {
+            long lineStart = 0;
+            byte currentLevel = LEVEL_UNKNOWN;
+
+            for (long pos = 0; pos < length && !ob.isUnsubscribed(); pos++) {
+                if (byteAt(pos) == '\n') {
+                    currentLevel = detectLevel(lineStart, pos + 1, currentLevel);
+                    appendLine(lineStart, currentLevel);
+                    lineStart = pos + 1;
+
+                    if (lineCount % PROGRESS_LINES_INTERVAL == 0) {
+                        ob.onNext(lineCount);
+                    }
+                }
+            }
+
+            if (ob.isUnsubscribed()) {
+                return;
+            }
+
+            if (lineStart < length) {
+                appendLine(lineStart, detectLevel(lineStart, length, currentLevel));
+            }
+
+            isIndexCompleted = true;
+            ob.onNext(lineCount);
+            ob.onCompleted();
+        }).subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Read the specified line without the line break
+     *
+     * @param line the line number starting from 0, which should be indexed already
+     * @return the line content
+     */
+    @NotNull
+    public String readLine(final int line) {
+        final int count = lineCount;
+        if (line < 0 || line >= count) {
+            throw new IndexOutOfBoundsException("Line " + line + " isn't indexed, indexed lines: " + count);
+        }
+
+        final long[] offsets = lineOffsets;
+        final long start = offsets[line];
+        final long end = line + 1 < count ? offsets[line + 1] : (isIndexCompleted ? length : findLineEnd(start));
+
+        return decode(start, trimLineBreak(start, end));
+    }
+
+    /**
+     * Get the log4j level of the specified line, lines without level keyword inherit the previous line's
+     *
+     * @param line the line number starting from 0
+     * @return the index of {@link SparkLogUtils#log4jAllLevels}, or {@link #LEVEL_UNKNOWN}
+     */
+    public byte getLevel(final int line) {
+        return lineLevels[line];
+    }
+
+    @Nullable
+    public String getLevelName(final int line) {
+        final byte level = getLevel(line);
+        return level == LEVEL_UNKNOWN ? null : SparkLogUtils.log4jAllLevels.get(level);
+    }
+
+    /**
+     * Get the lines with any of the levels specified, in the indexed lines so far
+     *
+     * @param levels the level names of {@link SparkLogUtils#log4jAllLevels}
+     * @return the sorted line numbers
+     */
+    @NotNull
+    public int[] filterByLevels(@NotNull final Set<String> levels) {
+        final boolean[] accepted = new boolean[SparkLogUtils.log4jAllLevels.size()];
+        for (int i = 0; i < accepted.length; i++) {
+            accepted[i] = levels.contains(SparkLogUtils.log4jAllLevels.get(i));
+        }
+
+        final int count = lineCount;
+        final byte[] levelsOfLines = lineLevels;
+        int[] matched = new int[Math.min(count, INITIAL_LINES_CAPACITY)];
+        int matchedCount = 0;
+        for (int line = 0; line < count; line++) {
+            final byte level = levelsOfLines[line];
+            if (level != LEVEL_UNKNOWN && accepted[level]) {
+                if (matchedCount == matched.length) {
+                    matched = Arrays.copyOf(matched, matched.length * 2);
+                }
+
+                matched[matchedCount++] = line;
+            }
+        }
+
+        return Arrays.copyOf(matched, matchedCount);
+    }
+
+    /**
+     * Search the lines matching the regular expression
+     *
+     * @param pattern  the pattern to search
+     * @param fromLine the line to start with, inclusive
+     * @param forward  true to search toward the end, false toward the beginning
+     * @return the first matched line number, or -1 if not found
+     */
+    public int search(@NotNull final Pattern pattern, final int fromLine, final boolean forward) {
+        final int count = lineCount;
+        final Matcher matcher = pattern.matcher("");
+        for (int line = fromLine; line >= 0 && line < count; line += forward ? 1 : -1) {
+            if (Thread.currentThread().isInterrupted()) {
+                return -1;
+            }
+
+            if (matcher.reset(readLine(line)).find()) {
+                return line;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void appendLine(final long start, final byte level) {
+        final int count = lineCount;
+        if (count == lineOffsets.length) {
+            final int capacity = count * 2;
+            lineOffsets = Arrays.copyOf(lineOffsets, capacity);
+            lineLevels = Arrays.copyOf(lineLevels, capacity);
+        }
+
+        lineOffsets[count] = start;
+        lineLevels[count] = level;
+        lineCount = count + 1;
+    }
+
+    private byte detectLevel(final long start, final long end, final byte previousLevel) {
+        final String prefix = decode(start, Math.min(end, start + LEVEL_DETECTING_PREFIX_MAX));
+        final Matcher matcher = SparkLogUtils.log4jLevelRegex.matcher(prefix);
+
+        if (matcher.find()) {
+            return (byte) SparkLogUtils.log4jAllLevels.indexOf(matcher.group("level").toUpperCase());
+        }
+
+        // No level keyword found, use the previous's level
+        return previousLevel;
+    }
+
+    private long findLineEnd(final long start) {
+        long pos = start;
+        while (pos < length && byteAt(pos) != '\n') {
+            pos++;
+        }
+
+        return pos;
+    }
+
+    private long trimLineBreak(final long start, final long end) {
+        long trimmed = end;
+        while (trimmed > start && (byteAt(trimmed - 1) == '\n' || byteAt(trimmed - 1) == '\r')) {
+            trimmed--;
+        }
+
+        return trimmed;
+    }
+
+    private byte byteAt(final long pos) {
+        return segments[(int) (pos / SEGMENT_SIZE)].get((int) (pos % SEGMENT_SIZE));
+    }
+
+    @NotNull
+    private String decode(final long start, final long end) {
+        final byte[] bytes = new byte[(int) (end - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = byteAt(start + i);
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -68,6 +68,7 @@ import org.apache.http.impl.client.HttpClients;
 import org.htmlunit.BrowserVersion;
 import org.htmlunit.Cache;
 import org.htmlunit.FailingHttpStatusCodeException;
+import org.htmlunit.Page;
 import org.htmlunit.WebClient;
 import org.htmlunit.html.*;
 import org.slf4j.Logger;
@@ -242,6 +243,16 @@ public class JobUtils {
                                                       @NotNull String type,
                                                       long start,
                                                       int size) {
+        return getInformationFromYarnLogDom(createYarnLogWebClient(authCode), baseUrl, type, start, size);
+    }
+
+    /**
+     * Create the web client to fetch Yarn log pages, which can be reused for the fetches of the same log
+     *
+     * @param authCode the authCode in request's Authorization header
+     * @return the web client, which isn't thread safe
+     */
+    public static WebClient createYarnLogWebClient(@Nullable String authCode) {
         final WebClient HTTP_WEB_CLIENT = new WebClient(BrowserVersion.CHROME);
         HTTP_WEB_CLIENT.getOptions().setUseInsecureSSL(HttpObservable.isSSLCertificateValidationDisabled());
         HTTP_WEB_CLIENT.setCache(globalCache);
@@ -250,10 +261,10 @@ public class JobUtils {
             HTTP_WEB_CLIENT.addRequestHeader(AUTHORIZATION, authCode);
         }
 
-        return getInformationFromYarnLogDom(HTTP_WEB_CLIENT, baseUrl, type, start, size);
+        return HTTP_WEB_CLIENT;
     }
 
-    private static String getInformationFromYarnLogDom(@NotNull WebClient client,
+    public static String getInformationFromYarnLogDom(@NotNull WebClient client,
                                                       @NotNull String baseUrl,
                                                       @NotNull String type,
                                                       long start,
@@ -266,42 +277,7 @@ public class JobUtils {
                             (size <= 0 ? "" : String.format("&&end=%d", start + size)));
             final HtmlPage htmlPage = client.getPage(url.toString());
 
-            final Iterator<DomElement> iterator = htmlPage.getElementById("navcell").getNextElementSibling().getChildElements().iterator();
-
-            final HashMap<String, String> logTypeMap = new HashMap<>();
-            final AtomicReference<String> logType = new AtomicReference<>();
-            String logs = "";
-
-            while (iterator.hasNext()) {
-                final DomElement node = iterator.next();
-
-                if (node instanceof HtmlParagraph) {
-                    // In history server, need to read log type paragraph in page
-                    final Pattern logTypePattern = Pattern.compile("Log Type:\\s+(\\S+)");
-
-                    Optional.ofNullable(node.getFirstChild())
-                            .map(DomNode::getTextContent)
-                            .map(String::trim)
-                            .map(logTypePattern::matcher)
-                            .filter(Matcher::matches)
-                            .map(matcher -> matcher.group(1))
-                            .ifPresent(logType::set);
-                } else if (node instanceof HtmlPreformattedText) {
-                    // In running, no log type paragraph in page
-                    logs = Optional.ofNullable(node.getFirstChild())
-                                .map(DomNode::getTextContent)
-                                .orElse("");
-
-                    if (logType.get() != null) {
-                        // Only get the first <pre>...</pre>
-                        logTypeMap.put(logType.get(), logs);
-
-                        logType.set(null);
-                    }
-                }
-            }
-
-            return logTypeMap.getOrDefault(type, logs);
+            return parseYarnLogPage(htmlPage, type).getText();
         } catch (final FailingHttpStatusCodeException httpError) {
             // If the URL is wrong, will get 200 response with content:
             //      Unable to locate 'xxx' log for container
@@ -323,6 +299,120 @@ public class JobUtils {
         return "";
     }
 
+    /**
+     * A range of a Yarn container log page
+     */
+    public static class YarnLogRange {
+        @NotNull
+        private final String text;
+
+        private final long totalLength;
+
+        YarnLogRange(@NotNull final String text, final long totalLength) {
+            this.text = text;
+            this.totalLength = totalLength;
+        }
+
+        @NotNull
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the total length in bytes of the log reported by the page, -1 if not reported
+         */
+        public long getTotalLength() {
+            return totalLength;
+        }
+    }
+
+    /**
+     * Fetch the bytes [start, end) of a Yarn container log. Unlike {@link #getInformationFromYarnLogDom}, a failed
+     * request is thrown instead of returned as an empty log, so that an empty range can be told as the end of the log.
+     *
+     * @param client the web client, see {@link #createYarnLogWebClient}
+     * @param baseUrl the container log URL
+     * @param type the log type, such as `stderr`, `stdout`
+     * @param start the start byte offset, inclusive
+     * @param end the end byte offset, exclusive
+     * @return the log range
+     * @throws IOException for HTTP errors, network errors and unexpected pages
+     */
+    @NotNull
+    public static YarnLogRange fetchYarnLogRange(@NotNull final WebClient client,
+                                                 @NotNull final String baseUrl,
+                                                 @NotNull final String type,
+                                                 final long start,
+                                                 final long end) throws IOException {
+        final URI url;
+        try {
+            url = new URI(baseUrl + "/").resolve(String.format("%s?start=%d&&end=%d", type, start, end));
+        } catch (final URISyntaxException e) {
+            throw new IOException("baseUrl has syntax error: " + baseUrl, e);
+        }
+
+        try {
+            final Page page = client.getPage(url.toString());
+            if (!(page instanceof HtmlPage)) {
+                throw new IOException("Unexpected response of " + url + ": " + page.getWebResponse().getContentType());
+            }
+
+            return parseYarnLogPage((HtmlPage) page, type);
+        } catch (final FailingHttpStatusCodeException httpError) {
+            throw new IOException("The GET request to " + url + " responded error: " + httpError.getMessage(), httpError);
+        } catch (final RuntimeException e) {
+            throw new IOException("Failed to parse the Yarn log page " + url, e);
+        }
+    }
+
+    @NotNull
+    private static YarnLogRange parseYarnLogPage(@NotNull final HtmlPage htmlPage, @NotNull final String type) {
+        final Iterator<DomElement> iterator = htmlPage.getElementById("navcell").getNextElementSibling().getChildElements().iterator();
+
+        final HashMap<String, YarnLogRange> logTypeMap = new HashMap<>();
+        final AtomicReference<String> logType = new AtomicReference<>();
+        final Pattern logTypePattern = Pattern.compile("Log Type:\\s+(\\S+)");
+        // Such as: Showing 4096 bytes of 12345 total. Click here for the full log.
+        final Pattern logLengthPattern = Pattern.compile("Showing\\s+\\d+\\s+bytes\\s+of\\s+(\\d+)\\s+total.*", Pattern.DOTALL);
+        long totalLength = -1;
+        YarnLogRange logs = new YarnLogRange("", -1);
+
+        while (iterator.hasNext()) {
+            final DomElement node = iterator.next();
+
+            if (node instanceof HtmlParagraph) {
+                // In history server, need to read log type paragraph in page
+                Optional.ofNullable(node.getFirstChild())
+                        .map(DomNode::getTextContent)
+                        .map(String::trim)
+                        .map(logTypePattern::matcher)
+                        .filter(Matcher::matches)
+                        .map(matcher -> matcher.group(1))
+                        .ifPresent(logType::set);
+
+                final Matcher lengthMatcher = logLengthPattern.matcher(node.getTextContent().trim());
+                if (lengthMatcher.matches()) {
+                    totalLength = Long.parseLong(lengthMatcher.group(1));
+                }
+            } else if (node instanceof HtmlPreformattedText) {
+                // In running, no log type paragraph in page
+                logs = new YarnLogRange(Optional.ofNullable(node.getFirstChild())
+                                                .map(DomNode::getTextContent)
+                                                .orElse(""), totalLength);
+                totalLength = -1;
+
+                if (logType.get() != null) {
+                    // Only get the first <pre>...</pre>
+                    logTypeMap.put(logType.get(), logs);
+
+                    logType.set(null);
+                }
+            }
+        }
+
+        return logTypeMap.getOrDefault(type, logs);
+    }
+
     /**
      * To create an Observable for specified Yarn container log type
      *
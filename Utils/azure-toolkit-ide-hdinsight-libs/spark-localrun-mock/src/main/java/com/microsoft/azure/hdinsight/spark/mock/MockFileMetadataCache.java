@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.mock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The local file metadata cache for the mocked file system, since the split planning of Spark jobs stats and lists
+ * the input files repeatedly. The entries are cached only for the directories watched by a {@link WatchService},
+ * which invalidates them once the directory content is changed outside. The changes by the mocked file system
+ * itself are invalidated synchronously by {@link #invalidate(File)}.
+ */
+class MockFileMetadataCache {
+    static final class Attributes {
+        final boolean isDirectory;
+        final long length;
+        final long lastModified;
+
+        private Attributes(BasicFileAttributes attrs) {
+            this.isDirectory = attrs.isDirectory();
+            this.length = attrs.size();
+            this.lastModified = attrs.lastModifiedTime().toMillis();
+        }
+
+        private Attributes(File file) {
+            this.isDirectory = file.isDirectory();
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+    }
+
+    // The placeholder for the files not existing, since ConcurrentHashMap doesn't accept null values
+    private static final Optional<Attributes> NOT_EXISTING = Optional.empty();
+    private static final String[] NOT_A_DIR = new String[0];
+
+    private static volatile MockFileMetadataCache instance;
+
+    private final Map<Path, Optional<Attributes>> attributes = new ConcurrentHashMap<>();
+    private final Map<Path, String[]> listings = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watchedDirs = new ConcurrentHashMap<>();
+    private final List<Consumer<Path>> watchListeners = new CopyOnWriteArrayList<>();
+
+    private WatchService watcher;
+
+    private Logger log() {
+        return LoggerFactory.getLogger(this.getClass());
+    }
+
+    static MockFileMetadataCache getInstance() {
+        if (instance == null) {
+            synchronized (MockFileMetadataCache.class) {
+                if (instance == null) {
+                    instance = new MockFileMetadataCache();
+                }
+            }
+        }
+
+        return instance;
+    }
+
+    private MockFileMetadataCache() {
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+
+            final Thread watchThread = new Thread(this::processEvents, "mock-fs-metadata-watcher");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        } catch (IOException | UnsupportedOperationException ex) {
+            log().warn("File system watching isn't supported, the file metadata won't be cached", ex);
+            watcher = null;
+        }
+    }
+
+    /**
+     * Get the file attributes
+     *
+     * @param file the local file
+     * @return the attributes, or null if the file doesn't exist
+     */
+    Attributes getAttributes(File file) {
+        final Path path = file.toPath().toAbsolutePath().normalize();
+        if (!watch(path.getParent())) {
+            return readAttributes(path).orElse(null);
+        }
+
+        return attributes.computeIfAbsent(path, MockFileMetadataCache::readAttributes).orElse(null);
+    }
+
+    /**
+     * List the names of the directory children
+     *
+     * @param dir the local directory
+     * @return the children names, or null if it isn't a directory
+     */
+    String[] list(File dir) {
+        final Path path = dir.toPath().toAbsolutePath().normalize();
+        if (!watch(path)) {
+            return dir.list();
+        }
+
+        final String[] names = listings.computeIfAbsent(path, p -> Optional.ofNullable(p.toFile().list())
+                                                                          .orElse(NOT_A_DIR));
+
+        return names == NOT_A_DIR ? null : names.clone();
+    }
+
+    /**
+     * Invalidate the cached metadata of the file, its descendants and its ancestors, since the missing ancestors
+     * may be created along with the file
+     *
+     * @param file the local file changed
+     */
+    void invalidate(File file) {
+        invalidate(file.toPath().toAbsolutePath().normalize());
+    }
+
+    void invalidateAll() {
+        attributes.clear();
+        listings.clear();
+    }
+
+    private void invalidate(Path path) {
+        attributes.remove(path);
+        listings.remove(path);
+
+        // The entries are cached only under the watched directories, no need to scan for other paths' descendants
+        if (watchedDirs.containsKey(path)) {
+            attributes.keySet().removeIf(cached -> cached.startsWith(path));
+            listings.keySet().removeIf(cached -> cached.startsWith(path));
+        }
+
+        for (Path ancestor = path.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+            attributes.remove(ancestor);
+            listings.remove(ancestor);
+        }
+    }
+
+    /**
+     * Add the listener called with the path invalidated by a watching event, after it's invalidated. The watched
+     * directory itself is passed for the events overflowed, when all entries are invalidated.
+     *
+     * @param listener the listener called on the watching thread
+     */
+    void addWatchListener(Consumer<Path> listener) {
+        watchListeners.add(listener);
+    }
+
+    void removeWatchListener(Consumer<Path> listener) {
+        watchListeners.remove(listener);
+    }
+
+    private boolean watch(Path dir) {
+        if (watcher == null || dir == null) {
+            return false;
+        }
+
+        if (watchedDirs.containsKey(dir)) {
+            return true;
+        }
+
+        try {
+            watchedDirs.computeIfAbsent(dir, d -> {
+                try {
+                    return d.register(watcher,
+                                      StandardWatchEventKinds.ENTRY_CREATE,
+                                      StandardWatchEventKinds.ENTRY_DELETE,
+                                      StandardWatchEventKinds.ENTRY_MODIFY);
+                } catch (IOException ex) {
+                    throw new WatchRegisterException(ex);
+                }
+            });
+
+            return true;
+        } catch (WatchRegisterException ex) {
+            // Such as the directory doesn't exist, or the watches limit of the OS reached
+            log().debug("Can't watch directory " + dir + ", skip caching its metadata", ex.getCause());
+            return false;
+        }
+    }
+
+    private void processEvents() {
+        try {
+            while (true) {
+                final WatchKey key = watcher.take();
+                final Path dir = (Path) key.watchable();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    final Path changed;
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        invalidateAll();
+                        changed = dir;
+                    } else {
+                        changed = dir.resolve((Path) event.context());
+                        invalidate(changed);
+                    }
+
+                    watchListeners.forEach(listener -> listener.accept(changed));
+                }
+
+                if (!key.reset()) {
+                    // The directory is deleted or inaccessible
+                    watchedDirs.remove(dir);
+                    invalidate(dir);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private static Optional<Attributes> readAttributes(Path path) {
+        try {
+            return Optional.of(new Attributes(Files.readAttributes(path, BasicFileAttributes.class)));
+        } catch (NoSuchFileException ex) {
+            return NOT_EXISTING;
+        } catch (IOException ex) {
+            // Fall back to java.io.File for the files can't be read by NIO, such as Windows reserved names
+            final File file = path.toFile();
+            return file.exists() ? Optional.of(new Attributes(file)) : NOT_EXISTING;
+        }
+    }
+
+    private static final class WatchRegisterException extends RuntimeException {
+        private WatchRegisterException(IOException cause) {
+            super(cause);
+        }
+    }
+}
@@ -9,6 +9,7 @@ package com.microsoft.azure.hdinsight.spark.mock;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.*;
 import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.util.Progressable;
 import org.apache.hadoop.util.Shell;
 import org.apache.hadoop.util.StringUtils;
 
@@ -16,66 +17,226 @@ import java.io.DataOutput;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 class MockRawLocalFileSystem extends RawLocalFileSystem {
+    static final String METADATA_CACHE_ENABLED_KEY = "fs.mockfs.metadata.cache.enabled";
+    static final String LIST_STATUS_NUM_THREADS_KEY = "fs.mockfs.list-status.num-threads";
+
+    // Only the large directories are worth to be listed in parallel
+    private static final int PARALLEL_LIST_STATUS_THRESHOLD = 1000;
+
+    // The pools shared by the file system instances, by the configured parallelism
+    private static final Map<Integer, ForkJoinPool> listStatusPools = new ConcurrentHashMap<>();
+
     private String authority;
     private String scheme = "wasb";
     private URI uri;
+    private MockFileMetadataCache metadataCache;
+    private int listStatusNumThreads = Math.min(Runtime.getRuntime().availableProcessors(), 8);
 
     @Override
     public FileStatus getFileStatus(Path f) throws IOException {
-        File path = pathToFile(f);
-        if (path.exists()) {
-            return new RawLocalFileStatus(pathToFile(f), getDefaultBlockSize(f), makeQualified(f));
-        } else {
+        FileStatus status = getLocalFileStatus(pathToFile(f), f);
+        if (status == null) {
             throw new FileNotFoundException("File " + f + " does not exist");
         }
+
+        return status;
     }
 
     @Override
     public FileStatus[] listStatus(Path f) throws IOException {
         File localf = pathToFile(f);
-        FileStatus[] results;
+        FileStatus localStatus = getLocalFileStatus(localf, f);
 
-        if (!localf.exists()) {
+        if (localStatus == null) {
             throw new FileNotFoundException("File " + f + " does not exist");
         }
-        if (localf.isFile()) {
-            return new FileStatus[] {
-                    new RawLocalFileStatus(localf, getDefaultBlockSize(f), makeQualified(f)) };
+        if (!localStatus.isDirectory()) {
+            return new FileStatus[] { localStatus };
         }
 
-        String[] names = localf.list();
+        String[] names = metadataCache != null ? metadataCache.list(localf) : localf.list();
         if (names == null) {
             return null;
         }
-        results = new FileStatus[names.length];
-        int j = 0;
-        for (int i = 0; i < names.length; i++) {
-            try {
+
+        IntFunction<FileStatus> childStatus =
                 // Assemble the path using the Path 3 arg constructor to make sure
                 // paths with colon are properly resolved on Linux
-                results[j] = getFileStatus(new Path(f, new Path(null, null, names[i])));
-                j++;
-            } catch (FileNotFoundException e) {
-                // ignore the files not found since the dir list may have have changed
-                // since the names[] list was generated.
+                i -> getLocalFileStatus(new File(localf, names[i]), new Path(f, new Path(null, null, names[i])));
+
+        FileStatus[] results;
+        if (names.length >= PARALLEL_LIST_STATUS_THRESHOLD && listStatusNumThreads > 1) {
+            try {
+                // The parallel stream runs in the pool which submitted to
+                results = getListStatusPool(listStatusNumThreads)
+                        .submit(() -> IntStream.range(0, names.length).parallel().mapToObj(childStatus).toArray(FileStatus[]::new))
+                        .get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Listing " + f + " is interrupted");
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to list " + f, e.getCause());
             }
+        } else {
+            results = IntStream.range(0, names.length).mapToObj(childStatus).toArray(FileStatus[]::new);
+        }
+
+        // ignore the files not found since the dir list may have have changed
+        // since the names[] list was generated.
+        return Arrays.stream(results)
+                .filter(Objects::nonNull)
+                .toArray(FileStatus[]::new);
+    }
+
+    /**
+     * Get the file status of the local file mapped from the path
+     *
+     * @param localf the local file
+     * @param f the path to qualify the status
+     * @return the file status, or null if the local file doesn't exist
+     */
+    private FileStatus getLocalFileStatus(File localf, Path f) {
+        if (metadataCache == null) {
+            return localf.exists() ? new RawLocalFileStatus(localf, getDefaultBlockSize(f), makeQualified(f)) : null;
+        }
+
+        MockFileMetadataCache.Attributes attrs = metadataCache.getAttributes(localf);
+        if (attrs == null) {
+            return null;
+        }
+
+        return new RawLocalFileStatus(
+                localf, attrs.length, attrs.isDirectory, attrs.lastModified, getDefaultBlockSize(f), makeQualified(f));
+    }
+
+    // The changes by the file system itself are invalidated at once, rather than waiting for the watching events
+
+    @Override
+    public FSDataOutputStream create(Path f, boolean overwrite, int bufferSize, short replication, long blockSize,
+                                     Progressable progress) throws IOException {
+        try {
+            return super.create(f, overwrite, bufferSize, replication, blockSize, progress);
+        } finally {
+            invalidateMetadata(f);
+        }
+    }
+
+    @Override
+    public FSDataOutputStream create(Path f, FsPermission permission, boolean overwrite, int bufferSize,
+                                     short replication, long blockSize, Progressable progress) throws IOException {
+        try {
+            return super.create(f, permission, overwrite, bufferSize, replication, blockSize, progress);
+        } finally {
+            invalidateMetadata(f);
+        }
+    }
+
+    @Override
+    public FSDataOutputStream createNonRecursive(Path f, FsPermission permission, EnumSet<CreateFlag> flags,
+                                                 int bufferSize, short replication, long blockSize,
+                                                 Progressable progress) throws IOException {
+        try {
+            return super.createNonRecursive(f, permission, flags, bufferSize, replication, blockSize, progress);
+        } finally {
+            invalidateMetadata(f);
+        }
+    }
+
+    @Override
+    public FSDataOutputStream append(Path f, int bufferSize, Progressable progress) throws IOException {
+        try {
+            return super.append(f, bufferSize, progress);
+        } finally {
+            invalidateMetadata(f);
+        }
+    }
+
+    @Override
+    public boolean rename(Path src, Path dst) throws IOException {
+        try {
+            return super.rename(src, dst);
+        } finally {
+            invalidateMetadata(src);
+            invalidateMetadata(dst);
+        }
+    }
+
+    @Override
+    public boolean delete(Path p, boolean recursive) throws IOException {
+        try {
+            return super.delete(p, recursive);
+        } finally {
+            invalidateMetadata(p);
+        }
+    }
+
+    @Override
+    public boolean mkdirs(Path f) throws IOException {
+        try {
+            return super.mkdirs(f);
+        } finally {
+            invalidateMetadata(f);
+        }
+    }
+
+    @Override
+    public boolean mkdirs(Path f, FsPermission permission) throws IOException {
+        try {
+            return super.mkdirs(f, permission);
+        } finally {
+            invalidateMetadata(f);
+        }
+    }
+
+    @Override
+    public boolean truncate(Path f, long newLength) throws IOException {
+        try {
+            return super.truncate(f, newLength);
+        } finally {
+            invalidateMetadata(f);
+        }
+    }
+
+    @Override
+    public void setTimes(Path p, long mtime, long atime) throws IOException {
+        try {
+            super.setTimes(p, mtime, atime);
+        } finally {
+            invalidateMetadata(p);
         }
-        if (j == names.length) {
-            return results;
+    }
+
+    private void invalidateMetadata(Path f) {
+        if (metadataCache == null) {
+            return;
         }
-        return Arrays.copyOf(results, j);
+
+        metadataCache.invalidate(pathToFile(f));
+    }
+
+    private static ForkJoinPool getListStatusPool(int parallelism) {
+        return listStatusPools.computeIfAbsent(parallelism, ForkJoinPool::new);
     }
 
     @Override
     public void initialize(URI uri, Configuration conf) throws IOException {
         super.initialize(uri, conf);
 
+        this.metadataCache = conf.getBoolean(METADATA_CACHE_ENABLED_KEY, true) ? MockFileMetadataCache.getInstance() : null;
+        this.listStatusNumThreads = conf.getInt(LIST_STATUS_NUM_THREADS_KEY, listStatusNumThreads);
+
         this.authority = uri.getAuthority();
         this.scheme = uri.getScheme();
 
@@ -119,6 +280,11 @@ class MockRawLocalFileSystem extends RawLocalFileSystem {
             this.file = f;
         }
 
+        RawLocalFileStatus(File f, long length, boolean isDir, long lastModified, long defaultBlockSize, Path p) {
+            super(length, isDir, 1, defaultBlockSize, lastModified, p);
+            this.file = f;
+        }
+
         @Override
         public FsPermission getPermission() {
             if (!isPermissionLoaded()) {
@@ -33,12 +33,16 @@ public class SparkLocalRunner {
     public static void main(String[] args) {
         SparkLocalRunner localRunner = new SparkLocalRunner();
 
+        final long setUpStart = System.currentTimeMillis();
         localRunner.setArguments(args);
         localRunner.setUp();
-        localRunner.runJobMain();
+        localRunner.log().info("Startup phase `set up mock file system` took "
+                + (System.currentTimeMillis() - setUpStart) + " ms");
+
+        localRunner.runJobMain(SparkLocalRunner.class.getClassLoader());
     }
 
-    private void setArguments(String[] args) {
+    void setArguments(String[] args) {
         // get master from `--master local[2]`
         master = args[0].split(" ")[1];
 
@@ -49,20 +53,28 @@ public class SparkLocalRunner {
         jobArguments = Arrays.asList(args).subList(2, args.length);
     }
 
-    private void runJobMain() {
+    void runJobMain(ClassLoader jobClassLoader) {
 
         log().info("HADOOP_HOME: " + System.getenv("HADOOP_HOME"));
         log().info("Hadoop user default directory: " + System.getProperty("user.dir"));
 
+        System.setProperty("spark.master", master);
+
         try {
-            final Class<?> jobClass = Class.forName(jobClassName);
+            final long loadStart = System.currentTimeMillis();
+            final Class<?> jobClass = Class.forName(jobClassName, true, jobClassLoader);
+            final Method jobMain = jobClass.getMethod("main", String[].class);
+            log().info("Startup phase `load job class` took " + (System.currentTimeMillis() - loadStart) + " ms");
 
             log().info("Run Spark Job: " + jobClass.getName());
 
-            final Method jobMain = jobClass.getMethod("main", String[].class);
-
+            final long runStart = System.currentTimeMillis();
             final Object[] jobArgs = new Object[]{ jobArguments.toArray(new String[0]) };
-            jobMain.invoke(null, jobArgs);
+            try {
+                jobMain.invoke(null, jobArgs);
+            } finally {
+                log().info("Phase `run job main` took " + (System.currentTimeMillis() - runStart) + " ms");
+            }
         } catch (ClassNotFoundException | IllegalAccessException | NoSuchMethodException e) {
             e.printStackTrace();
         } catch (InvocationTargetException e) {
@@ -71,7 +83,7 @@ public class SparkLocalRunner {
 
     }
 
-    private void setUp() {
+    void setUp() {
 
         new MockUp<FileSystem>() {
 
@@ -87,7 +99,5 @@ public class SparkLocalRunner {
             @Mock
             public void checkPath(Path path) {}
         };
-
-        System.setProperty("spark.master", master);
     }
 }
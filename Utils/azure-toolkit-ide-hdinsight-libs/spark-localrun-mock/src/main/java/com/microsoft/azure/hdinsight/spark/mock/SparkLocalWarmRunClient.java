@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.mock;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.microsoft.azure.hdinsight.spark.mock.SparkLocalWarmRunner.FRAME_EXIT;
+import static com.microsoft.azure.hdinsight.spark.mock.SparkLocalWarmRunner.FRAME_STDOUT;
+
+/**
+ * The lightweight client to request a run of {@link SparkLocalWarmRunner}, which forwards the run output and exits
+ * with the run's exit code. It needs only this module's jar in classpath, so it starts in a moment.
+ *
+ * Usage: SparkLocalWarmRunClient <port file> <job classpath> --master local[N] <job main class> [job args...]
+ */
+public class SparkLocalWarmRunClient {
+    private static final long STARTUP_TIMEOUT_MS = 120_000;
+    private static final long STARTUP_POLL_INTERVAL_MS = 100;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final File portFile = new File(args[0]);
+        final List<String> classpath = Arrays.asList(args[1].split(File.pathSeparator));
+        final List<String> runnerArgs = Arrays.asList(args).subList(2, args.length);
+
+        final SparkLocalWarmRunClient client = new SparkLocalWarmRunClient();
+        System.exit(client.run(client.waitForPort(portFile), classpath, runnerArgs));
+    }
+
+    private int waitForPort(File portFile) throws IOException, InterruptedException {
+        final long waitStart = System.currentTimeMillis();
+        if (!portFile.exists()) {
+            System.err.println("Waiting for warm Spark local runner to start...");
+        }
+
+        while (!portFile.exists()) {
+            if (System.currentTimeMillis() - waitStart > STARTUP_TIMEOUT_MS) {
+                throw new IOException("Warm Spark local runner isn't ready in " + STARTUP_TIMEOUT_MS + " ms, "
+                        + "check its log file beside " + portFile);
+            }
+
+            Thread.sleep(STARTUP_POLL_INTERVAL_MS);
+        }
+
+        final long waited = System.currentTimeMillis() - waitStart;
+        if (waited > STARTUP_POLL_INTERVAL_MS) {
+            System.err.println("Startup phase `warm up Spark driver JVM` waited " + waited + " ms");
+        }
+
+        return Integer.parseInt(new String(Files.readAllBytes(portFile.toPath()), StandardCharsets.UTF_8).trim());
+    }
+
+    private int run(int port, List<String> classpath, List<String> runnerArgs) throws IOException {
+        final long connectStart = System.currentTimeMillis();
+
+        try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            writeStrings(out, runnerArgs);
+            writeStrings(out, classpath);
+            out.flush();
+
+            System.err.println("Connected to warm Spark local runner in "
+                    + (System.currentTimeMillis() - connectStart) + " ms");
+
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            byte[] buffer = new byte[8192];
+            while (true) {
+                final byte type = in.readByte();
+                if (type == FRAME_EXIT) {
+                    return in.readInt();
+                }
+
+                final int length = in.readInt();
+                if (length > buffer.length) {
+                    buffer = new byte[length];
+                }
+
+                in.readFully(buffer, 0, length);
+
+                final PrintStream target = type == FRAME_STDOUT ? System.out : System.err;
+                target.write(buffer, 0, length);
+                target.flush();
+            }
+        } catch (EOFException ex) {
+            // Such as the job calls System.exit(), the warm runner will be restarted for the next run
+            System.err.println("Warm Spark local runner exited during the run");
+            return 1;
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String s : strings) {
+            out.writeUTF(s);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.mock;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The warm Spark local runner keeps a driver JVM alive between local runs. The mocked file system, Spark classes and
+ * the dependency jars on the runner's classpath are loaded once, and the job classpath sent with each run, such as the
+ * class directories, is loaded by a fresh class loader for each run. A runner must be restarted once any jar on its
+ * classpath is rebuilt, see {@link #getClasspathFingerprint(List)}.
+ *
+ * Usage: SparkLocalWarmRunner <port file>
+ *
+ * The listening port is written into the port file once the runner is ready, the runs are requested by
+ * {@link SparkLocalWarmRunClient} one by one. The runner exits after idle for `spark.localrun.warm.idleMinutes`.
+ */
+public class SparkLocalWarmRunner {
+    static final byte FRAME_STDOUT = 1;
+    static final byte FRAME_STDERR = 2;
+    static final byte FRAME_EXIT = 3;
+
+    private static final String IDLE_MINUTES_PROPERTY = "spark.localrun.warm.idleMinutes";
+    private static final long DEFAULT_IDLE_MINUTES = 30;
+
+    // The time for a stopped job to end after interrupted, before the runner exits to get rid of it
+    private static final long STOP_GRACE_MS = 30_000;
+
+    private final SwitchableOutputStream stdout = new SwitchableOutputStream(System.out);
+    private final SwitchableOutputStream stderr = new SwitchableOutputStream(System.err);
+
+    private int runCount = 0;
+
+    private File portFile;
+
+    private Logger log() {
+        return LoggerFactory.getLogger(this.getClass());
+    }
+
+    public static void main(String[] args) throws IOException {
+        new SparkLocalWarmRunner().serve(new File(args[0]));
+    }
+
+    private void serve(File portFile) throws IOException {
+        this.portFile = portFile;
+
+        // Replace the standard streams before Spark, log4j and Scala Console capture them,
+        // so that the output of all threads during a run can be forwarded to the run client
+        System.setOut(new PrintStream(stdout, true));
+        System.setErr(new PrintStream(stderr, true));
+
+        final long warmUpStart = System.currentTimeMillis();
+        final SparkLocalRunner mockSetUp = new SparkLocalRunner();
+        mockSetUp.setUp();
+        preloadSparkClasses();
+        log().info("Startup phase `warm up Spark driver JVM` took " + (System.currentTimeMillis() - warmUpStart) + " ms");
+
+        final long idleMillis = TimeUnit.MINUTES.toMillis(Long.getLong(IDLE_MINUTES_PROPERTY, DEFAULT_IDLE_MINUTES));
+
+        try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) idleMillis);
+
+            // Write to a temporary file first to avoid the client reading a partial port
+            final File tmpPortFile = new File(portFile.getPath() + ".tmp");
+            Files.write(tmpPortFile.toPath(), String.valueOf(server.getLocalPort()).getBytes(StandardCharsets.UTF_8));
+            if (!tmpPortFile.renameTo(portFile)) {
+                throw new IOException("Can't write the port file " + portFile);
+            }
+
+            while (true) {
+                try (final Socket client = server.accept()) {
+                    serveRun(client);
+                } catch (SocketTimeoutException ignored) {
+                    log().info("Warm Spark local runner exits since idle for " + idleMillis + " ms");
+                    break;
+                } catch (IOException ex) {
+                    log().warn("Failed to serve the local run", ex);
+                }
+            }
+        } finally {
+            portFile.delete();
+        }
+    }
+
+    private void serveRun(Socket client) throws IOException {
+        final DataInputStream in = new DataInputStream(client.getInputStream());
+        final DataOutputStream out = new DataOutputStream(client.getOutputStream());
+
+        final String[] runnerArgs = readStrings(in);
+        final String[] classpath = readStrings(in);
+
+        stdout.switchTo(new FrameOutputStream(out, FRAME_STDOUT));
+        stderr.switchTo(new FrameOutputStream(out, FRAME_STDERR));
+
+        int exitCode = 0;
+        final AtomicBoolean isStopped = new AtomicBoolean(false);
+        try {
+            final long classpathStart = System.currentTimeMillis();
+            final ClassLoader jobClassLoader = createJobClassLoader(classpath);
+            log().info("Startup phase `resolve classpath` took " + (System.currentTimeMillis() - classpathStart) + " ms");
+
+            final SparkLocalRunner runner = new SparkLocalRunner();
+            runner.setArguments(runnerArgs);
+
+            // Run the job in a new thread to avoid the inheritable thread locals leaked from the previous runs
+            final Thread jobThread = new Thread(() -> runner.runJobMain(jobClassLoader), "spark-local-run-" + ++runCount);
+            jobThread.setContextClassLoader(jobClassLoader);
+            jobThread.start();
+            watchClientDisconnect(in, jobThread, isStopped);
+            jobThread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            exitCode = 1;
+        } finally {
+            cleanUpRun();
+
+            stdout.switchBack();
+            stderr.switchBack();
+        }
+
+        if (isStopped.get()) {
+            // The client is gone, nothing to report
+            return;
+        }
+
+        synchronized (out) {
+            out.writeByte(FRAME_EXIT);
+            out.writeInt(exitCode);
+            out.flush();
+        }
+    }
+
+    /**
+     * Stop the job once the run client disconnects, such as the run is stopped in IDE, which kills the client only.
+     * The client sends nothing after the run request, so any read return means the connection is closed. The job is
+     * interrupted and its Spark context is stopped, and the runner exits if the job still doesn't end after
+     * {@link #STOP_GRACE_MS}, so that the next runs don't wait for it forever, such as a streaming job.
+     */
+    private void watchClientDisconnect(DataInputStream in, Thread jobThread, AtomicBoolean isStopped) {
+        final Thread watcher = new Thread(() -> {
+            try {
+                in.read();
+            } catch (IOException ignored) {
+                // Such as the connection is reset
+            }
+
+            if (!jobThread.isAlive()) {
+                return;
+            }
+
+            isStopped.set(true);
+            log().info("Run client disconnected, stop the job");
+            stopActiveSparkContext();
+            jobThread.interrupt();
+
+            try {
+                jobThread.join(STOP_GRACE_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (jobThread.isAlive()) {
+                log().warn("The stopped job doesn't end in " + STOP_GRACE_MS + " ms, exit the warm runner");
+                portFile.delete();
+                Runtime.getRuntime().halt(1);
+            }
+        }, jobThread.getName() + "-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private ClassLoader createJobClassLoader(String[] classpath) throws MalformedURLException {
+        final List<URL> urls = new ArrayList<>();
+        for (String path : classpath) {
+            final File file = new File(path);
+            if (file.exists()) {
+                urls.add(file.toURI().toURL());
+            }
+        }
+
+        // The job classpath is loaded freshly for each run to pick up the recompiled job classes
+        return new URLClassLoader(urls.toArray(new URL[0]), SparkLocalWarmRunner.class.getClassLoader());
+    }
+
+    /**
+     * Get the fingerprint of the jars on a warm runner's classpath, which changes once any of them is rebuilt, even at
+     * the same path. The classes of the jars are loaded by the runner's system class loader and can't be reloaded, so
+     * the fingerprint is a part of the key to reuse the runner.
+     *
+     * @param classpath the runner's classpath entries
+     * @return the fingerprint of the entries with their last modified time and length
+     */
+    public static String getClasspathFingerprint(List<String> classpath) {
+        final StringBuilder fingerprint = new StringBuilder();
+        for (String path : classpath) {
+            final File file = new File(path).getAbsoluteFile();
+            fingerprint.append(file.getPath())
+                    .append('|').append(file.lastModified())
+                    .append('|').append(file.length())
+                    .append(File.pathSeparatorChar);
+        }
+
+        return fingerprint.toString();
+    }
+
+    private void cleanUpRun() {
+        // Stop the Spark context left by the job, so that the next run can create a new one with its class loader
+        stopActiveSparkContext();
+
+        try {
+            FileSystem.closeAll();
+        } catch (IOException ex) {
+            log().warn("Failed to close file systems", ex);
+        }
+    }
+
+    private void stopActiveSparkContext() {
+        try {
+            final Class<?> sparkContextObject = Class.forName("org.apache.spark.SparkContext$");
+            final Object module = sparkContextObject.getField("MODULE$").get(null);
+            final Method getActive = sparkContextObject.getMethod("getActive");
+            final Object activeContext = getActive.invoke(module);
+            final Method isDefined = activeContext.getClass().getMethod("isDefined");
+
+            if ((Boolean) isDefined.invoke(activeContext)) {
+                final Object context = activeContext.getClass().getMethod("get").invoke(activeContext);
+                context.getClass().getMethod("stop").invoke(context);
+                log().info("Stopped the Spark context left by the job");
+            }
+        } catch (Exception ex) {
+            log().debug("Can't stop the active Spark context", ex);
+        }
+    }
+
+    private void preloadSparkClasses() {
+        for (String className : new String[] {
+                "org.apache.spark.SparkContext",
+                "org.apache.spark.SparkConf",
+                "org.apache.spark.sql.SparkSession" }) {
+            try {
+                Class.forName(className);
+            } catch (ClassNotFoundException | LinkageError ignored) {
+                // The class isn't on the classpath, such as Spark SQL for RDD only jobs
+            }
+        }
+    }
+
+    private static String[] readStrings(DataInputStream in) throws IOException {
+        final String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+
+        return strings;
+    }
+
+    private static final class SwitchableOutputStream extends OutputStream {
+        private final OutputStream original;
+        private volatile OutputStream current;
+
+        private SwitchableOutputStream(OutputStream original) {
+            this.original = original;
+            this.current = original;
+        }
+
+        void switchTo(OutputStream target) {
+            current = target;
+        }
+
+        void switchBack() {
+            current = original;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            current.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            current.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            current.flush();
+        }
+    }
+
+    private static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte type;
+
+        private FrameOutputStream(DataOutputStream out, byte type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+
+            synchronized (out) {
+                out.writeByte(type);
+                out.writeInt(len);
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (out) {
+                out.flush();
+            }
+        }
+    }
+}
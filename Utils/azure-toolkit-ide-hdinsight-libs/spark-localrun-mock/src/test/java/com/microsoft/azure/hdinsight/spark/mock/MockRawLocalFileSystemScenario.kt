@@ -22,16 +22,32 @@
 
 package com.microsoft.azure.hdinsight.spark.mock
 
+import io.cucumber.java.After
 import io.cucumber.java.en.Given
 import io.cucumber.java.en.Then
+import io.cucumber.java.en.When
 import org.apache.hadoop.conf.Configuration
 import org.apache.hadoop.fs.Path
 import org.assertj.core.api.Assertions.assertThat
 import java.io.File
+import java.net.URI
+import java.nio.file.Files
+import java.nio.file.Path as NioPath
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.function.Consumer
 import kotlin.test.assertNotNull
 
 class MockRawLocalFileSystemScenario {
     private var workDir = ""
+    private var tempDataRoot: File? = null
+    private val fs = MockRawLocalFileSystem()
+
+    @After
+    fun cleanUp() {
+        tempDataRoot?.deleteRecursively()
+    }
 
     @Given("^set mocked file system local working directory to '(.*)'")
     fun setWorkingDirectory(workDir: String) {
@@ -51,4 +67,67 @@ class MockRawLocalFileSystemScenario {
         fs.conf = Configuration()
         assertNotNull(fs.getFileStatus(Path(path)))
     }
-}
\ No newline at end of file
+
+    @Given("^set mocked file system local working directory to a temporary directory$")
+    fun setTemporaryWorkingDirectory() {
+        val dataRoot = Files.createTempDirectory("mockfs-data").toFile()
+        val userDefaultDir = dataRoot.resolve("__default__").resolve("user").resolve("current")
+        userDefaultDir.mkdirs()
+
+        tempDataRoot = dataRoot
+        setWorkingDirectory(userDefaultDir.path)
+    }
+
+    @Given("^initialize mocked file system with (\\d+) list status threads$")
+    fun initializeFileSystem(threads: Int) {
+        val conf = Configuration()
+        conf.setInt(MockRawLocalFileSystem.LIST_STATUS_NUM_THREADS_KEY, threads)
+        fs.initialize(URI.create("wasb:///"), conf)
+    }
+
+    @Given("^create (\\d+) local files in mocked directory '(.*)'$")
+    fun createLocalFiles(count: Int, dir: String) {
+        val localDir = fs.pathToFile(Path(dir))
+        localDir.mkdirs()
+
+        val existing = localDir.list()?.size ?: 0
+        (existing until existing + count).forEach { localDir.resolve("file-$it").writeText("content $it") }
+    }
+
+    @Given("^create (\\d+) local files in mocked directory '(.*)' and wait for the watching events$")
+    fun createLocalFilesAndWait(count: Int, dir: String) {
+        // The changes outside are invalidated by the file system watching events asynchronously
+        val localDir = fs.pathToFile(Path(dir)).toPath().toAbsolutePath().normalize()
+        val existing = localDir.toFile().list()?.size ?: 0
+        val expected = (existing until existing + count).map { localDir.resolve("file-$it") }.toSet()
+        val invalidated = ConcurrentHashMap.newKeySet<NioPath>()
+        val allInvalidated = CountDownLatch(1)
+        val listener = Consumer<NioPath> {
+            // The watched directory is passed when the events overflowed and all entries are invalidated
+            if (it == localDir || (it in expected && invalidated.add(it) && invalidated.size == expected.size)) {
+                allInvalidated.countDown()
+            }
+        }
+
+        val cache = MockFileMetadataCache.getInstance()
+        cache.addWatchListener(listener)
+        try {
+            createLocalFiles(count, dir)
+            assertThat(allInvalidated.await(10, TimeUnit.SECONDS))
+                    .describedAs("watching events of the files created in %s", localDir)
+                    .isTrue()
+        } finally {
+            cache.removeWatchListener(listener)
+        }
+    }
+
+    @When("^delete mocked file '(.*)'$")
+    fun deleteFile(path: String) {
+        assertThat(fs.delete(Path(path), false)).isTrue()
+    }
+
+    @Then("^list mocked directory '(.*)' should have (\\d+) files$")
+    fun verifyListStatus(dir: String, expected: Int) {
+        assertThat(fs.listStatus(Path(dir))).hasSize(expected)
+    }
+}
@@ -25,14 +25,33 @@ package com.microsoft.azure.hdinsight.spark.mock
 import com.microsoft.azure.hdinsight.spark.common.SparkLocalJvmProcess
 import com.microsoft.azure.hdinsight.spark.mock.jobapp.CatCmd
 import io.cucumber.datatable.DataTable
+import io.cucumber.java.After
 import io.cucumber.java.en.And
 import io.cucumber.java.en.Given
 import io.cucumber.java.en.Then
 import org.assertj.core.api.Assertions.*
+import java.io.File
+import java.nio.file.Files
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import javax.tools.ToolProvider
 
 class SparkLocalRunnerITScenario {
     private var sparkLocalJob: ProcessBuilder? = null
     private val jvmProcess = SparkLocalJvmProcess()
+    private var warmRunner: Process? = null
+    private val warmRunnerPortFile: File = File.createTempFile("warm-runner-", ".port").apply { delete() }
+    private val jobBuildDir: File = Files.createTempDirectory("warm-run-job-").toFile()
+    private val jobClassDir: File = File(jobBuildDir, "classes")
+    private val jobJar: File = File(jobBuildDir, "job.jar")
+    private var jobJarFingerprint: String? = null
+
+    @After
+    fun cleanUp() {
+        warmRunner?.destroy()
+        warmRunnerPortFile.delete()
+        jobBuildDir.deleteRecursively()
+    }
 
     @And("^enable Spark Job debugging")
     fun enableLocalJobDebug() {
@@ -46,6 +65,114 @@ class SparkLocalRunnerITScenario {
         sparkLocalJob = jvmProcess.createProcess("", SparkLocalRunner::class.java, args)
     }
 
+    @Given("^warm locally run job '(.*)' with args")
+    fun warmLocalRunJob(mainClass: String, jobArgs: List<String>) {
+        if (warmRunner?.isAlive != true) {
+            warmRunner = jvmProcess
+                    .createProcess("", SparkLocalWarmRunner::class.java, arrayOf(warmRunnerPortFile.path))
+                    .start()
+        }
+
+        // The job classes are on the warm runner's classpath already
+        val args = arrayOf(warmRunnerPortFile.path, "", "--master local[1]", mainClass) + jobArgs
+        sparkLocalJob = jvmProcess.createProcess("", SparkLocalWarmRunClient::class.java, args)
+    }
+
+    @Given("^job class '(.*)' printing '(.*)' is built$")
+    fun buildJobClass(className: String, message: String) {
+        compileJobClass(className, """
+            public class $className {
+                public static void main(String[] args) {
+                    System.out.println("$message");
+                }
+            }
+        """.trimIndent())
+    }
+
+    @Given("^job class '(.*)' running until stopped is built$")
+    fun buildEndlessJobClass(className: String) {
+        compileJobClass(className, """
+            public class $className {
+                public static void main(String[] args) throws InterruptedException {
+                    System.out.println("started");
+                    while (true) {
+                        Thread.sleep(1000);
+                    }
+                }
+            }
+        """.trimIndent())
+    }
+
+    private fun compileJobClass(className: String, source: String) {
+        val sourceFile = File(jobBuildDir, "src/$className.java").apply {
+            parentFile.mkdirs()
+            writeText(source)
+        }
+
+        jobClassDir.mkdirs()
+        val compiler = ToolProvider.getSystemJavaCompiler()
+        assertThat(compiler).describedAs("Java compiler is required to build the job class").isNotNull
+        assertThat(compiler.run(null, null, null, "-d", jobClassDir.path, sourceFile.path))
+                .describedAs("Failed to compile the job class")
+                .isEqualTo(0)
+    }
+
+    @Given("^job class '(.*)' printing '(.*)' is built into jar$")
+    fun buildJobJar(className: String, message: String) {
+        buildJobClass(className, message)
+
+        val isRebuilt = jobJar.exists()
+        JarOutputStream(jobJar.outputStream()).use { jar ->
+            jar.putNextEntry(JarEntry("$className.class"))
+            File(jobClassDir, "$className.class").inputStream().use { it.copyTo(jar) }
+            jar.closeEntry()
+        }
+
+        if (isRebuilt) {
+            // The modified time resolution is in seconds on some file systems, move it on as a later build would be
+            jobJar.setLastModified(jobJar.lastModified() + 2000)
+        }
+    }
+
+    @Given("^warm locally run the built job '(.*)'$")
+    fun warmLocalRunBuiltJob(mainClass: String) {
+        if (warmRunner?.isAlive != true) {
+            warmRunner = jvmProcess
+                    .createProcess("", SparkLocalWarmRunner::class.java, arrayOf(warmRunnerPortFile.path))
+                    .start()
+        }
+
+        // The job class directory is sent with each run as the IDE does, rather than on the runner's classpath
+        val args = arrayOf(warmRunnerPortFile.path, jobClassDir.path, "--master local[1]", mainClass)
+        sparkLocalJob = jvmProcess.createProcess("", SparkLocalWarmRunClient::class.java, args)
+    }
+
+    @Then("^the warm run is stopped once it's started$")
+    fun stopWarmRun() {
+        val job = sparkLocalJob!!
+        job.redirectOutput(ProcessBuilder.Redirect.PIPE)
+
+        val process = job.start()
+        assertThat(process.inputStream.bufferedReader().readLine())
+                .describedAs("The job should be started")
+                .isEqualTo("started")
+
+        // Stopping a run in IDE kills the run client only
+        process.destroyForcibly().waitFor()
+    }
+
+    @Then("^the warm runner classpath fingerprint of the built jar is recorded$")
+    fun recordJobJarFingerprint() {
+        jobJarFingerprint = SparkLocalWarmRunner.getClasspathFingerprint(listOf(jobJar.path))
+    }
+
+    @Then("^the warm runner classpath fingerprint of the built jar should be changed$")
+    fun checkJobJarFingerprintChanged() {
+        assertThat(SparkLocalWarmRunner.getClasspathFingerprint(listOf(jobJar.path)))
+                .describedAs("The warm runner must be restarted for the rebuilt jar")
+                .isNotEqualTo(jobJarFingerprint)
+    }
+
     private fun runToGetStdoutLines(job: ProcessBuilder): List<String> {
         job.redirectOutput(ProcessBuilder.Redirect.PIPE)
 
@@ -26,3 +26,13 @@ Feature: Mock File System Unit Test
   Scenario: Resources file exists
     Given set mocked file system local working directory to 'src/test/resources/data/__default__/user/current'
     Then mocked file 'my_words.txt' should exists
+
+  Scenario: Cached listing of a large directory
+    Given set mocked file system local working directory to a temporary directory
+    And initialize mocked file system with 4 list status threads
+    And create 1500 local files in mocked directory 'input'
+    Then list mocked directory 'input' should have 1500 files
+    Given create 10 local files in mocked directory 'input' and wait for the watching events
+    Then list mocked directory 'input' should have 1510 files
+    When delete mocked file 'input/file-0'
+    Then list mocked directory 'input' should have 1509 files
@@ -60,3 +60,50 @@ Feature: Spark Local Runner Integration Test
       | null | Michael |
       | 30   | Andy    |
       | 19   | Justin  |
+
+  Scenario: Warm run reuses the Spark driver JVM
+    Given warm locally run job 'com.microsoft.azure.hdinsight.spark.mock.jobapp.WordCountTest' with args
+      | my_words.txt |
+    Then locally run stand output should be
+      | a,1      |
+      | word,2   |
+      | is,1     |
+      | not,1    |
+      | My,1     |
+    Given warm locally run job 'com.microsoft.azure.hdinsight.spark.mock.jobapp.WordCountTest' with args
+      | /word_count_input.txt |
+    Then locally run stand output should be
+      | a,1      |
+      | mocked,1 |
+      | fs,1     |
+      | with,1   |
+      | Spark,1  |
+      | run,1    |
+      | Hello,1  |
+      | local,2  |
+      | world,1  |
+
+  Scenario: Warm run picks up the rebuilt job class
+    Given job class 'WarmRunRebuiltJob' printing 'built version 1' is built
+    And warm locally run the built job 'WarmRunRebuiltJob'
+    Then locally run stand output should be
+      | built version 1 |
+    Given job class 'WarmRunRebuiltJob' printing 'built version 2' is built
+    And warm locally run the built job 'WarmRunRebuiltJob'
+    Then locally run stand output should be
+      | built version 2 |
+
+  Scenario: Warm run stopped by killing the client doesn't block the next run
+    Given job class 'WarmRunStoppedJob' running until stopped is built
+    And warm locally run the built job 'WarmRunStoppedJob'
+    Then the warm run is stopped once it's started
+    Given job class 'WarmRunRebuiltJob' printing 'run after stop' is built
+    And warm locally run the built job 'WarmRunRebuiltJob'
+    Then locally run stand output should be
+      | run after stop |
+
+  Scenario: Warm runner is not reused once a classpath jar is rebuilt
+    Given job class 'WarmRunRebuiltJob' printing 'built version 1' is built into jar
+    Then the warm runner classpath fingerprint of the built jar is recorded
+    Given job class 'WarmRunRebuiltJob' printing 'built version 2' is built into jar
+    Then the warm runner classpath fingerprint of the built jar should be changed
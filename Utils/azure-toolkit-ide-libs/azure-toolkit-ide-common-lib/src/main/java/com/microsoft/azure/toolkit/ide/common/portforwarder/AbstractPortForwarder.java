@@ -6,35 +6,92 @@
 package com.microsoft.azure.toolkit.ide.common.portforwarder;
 
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import okhttp3.OkHttpClient;
 import okhttp3.WebSocket;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.AsynchronousCloseException;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
 public abstract class AbstractPortForwarder {
+    // share the connection pool and dispatcher threads among the forwarders
+    private static final OkHttpClient HTTP_CLIENT = new OkHttpClient();
+    public static final int DEFAULT_MAX_CONNECTIONS = 8;
+
     protected ServerSocketChannel server;
+    // the latest connection
     protected PortForwarderWebSocketListener listener;
+    protected final Set<PortForwarderWebSocketListener> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean multiClient = false;
+    private volatile Semaphore connectionSlots;
 
     public void initLocalSocket(final int port) throws IOException {
         stopForward();
         this.server = ServerSocketChannel.open().bind(new InetSocketAddress(port));
     }
 
+    /**
+     * Forward the first connection accepted by the local port, the forwarder stops once the connection closed.
+     */
     public void startForward(final int localPort) {
         try {
             if (Objects.isNull(this.server)) {
                 initLocalSocket(localPort);
             }
-            final OkHttpClient okHttpClient = new OkHttpClient();
-            this.listener = createWebSocketListener(server.accept());
-            final CompletableFuture<WebSocket> future = createSocketBuilder(okHttpClient).buildAsync(listener);
-            future.whenComplete((socket, throwable) -> Optional.ofNullable(throwable).ifPresent(t -> listener.onError(socket, t)));
+            forward(server.accept());
+        } catch (final IOException e) {
+            stopForward();
+            throw new AzureToolkitRuntimeException("Unable to start debugging.", e);
+        }
+    }
+
+    /**
+     * Forward all the connections accepted by the local port until the forwarder is stopped, e.g. the reconnections
+     * of debugger and the pooled connections of http clients. Each connection is forwarded through its own WebSocket,
+     * since the remote endpoint serves a single stream per WebSocket, and the accepting is paused while
+     * {@code maxConnections} connections are forwarding.
+     */
+    public void startMultiClientForward(final int localPort, final int maxConnections) {
+        this.multiClient = true;
+        this.connectionSlots = new Semaphore(Math.max(1, maxConnections));
+        try {
+            if (Objects.isNull(this.server)) {
+                initLocalSocket(localPort);
+            }
+            while (server.isOpen()) {
+                this.connectionSlots.acquire();
+                final SocketChannel client;
+                try {
+                    client = server.accept();
+                } catch (final IOException e) {
+                    this.connectionSlots.release();
+                    throw e;
+                }
+                try {
+                    forward(client);
+                } catch (final RuntimeException e) {
+                    // keep serving the other connections, e.g. failed to get the access token for this one
+                    AzureMessager.getMessager().error(e, "Failed to forward the connection.");
+                }
+            }
+        } catch (final AsynchronousCloseException e) {
+            // the forwarder is stopped
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopForward();
         } catch (final IOException e) {
             stopForward();
             throw new AzureToolkitRuntimeException("Unable to start debugging.", e);
@@ -49,11 +106,54 @@ public abstract class AbstractPortForwarder {
                 throw new AzureToolkitRuntimeException(e);
             }
         }
+        for (final PortForwarderWebSocketListener connection : new ArrayList<>(this.connections)) {
+            if (connection.isAlive()) {
+                connection.closeForwarder();
+            }
+        }
         if (Objects.nonNull(listener) && listener.isAlive()) {
             listener.closeForwarder();
         }
     }
 
+    /**
+     * @return the connections being forwarded, see {@link PortForwarderWebSocketListener#getBytesSent()} and
+     * {@link PortForwarderWebSocketListener#getBytesReceived()} for their traffic.
+     */
+    public List<PortForwarderWebSocketListener> getConnections() {
+        return Collections.unmodifiableList(new ArrayList<>(this.connections));
+    }
+
+    /**
+     * Called by the listener once its connection closed.
+     */
+    protected void onConnectionClosed(final PortForwarderWebSocketListener connection) {
+        if (!this.connections.remove(connection)) {
+            return;
+        }
+        if (!this.multiClient) {
+            stopForward();
+        } else {
+            Optional.ofNullable(this.connectionSlots).ifPresent(Semaphore::release);
+        }
+    }
+
+    private void forward(final SocketChannel client) throws IOException {
+        // debugger protocols exchange small packets, don't delay them for coalescing
+        client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        final PortForwarderWebSocketListener connection = createWebSocketListener(client);
+        this.listener = connection;
+        this.connections.add(connection);
+        final CompletableFuture<WebSocket> future;
+        try {
+            future = createSocketBuilder(HTTP_CLIENT).buildAsync(connection);
+        } catch (final RuntimeException e) {
+            connection.closeForwarder();
+            throw e;
+        }
+        future.whenComplete((socket, throwable) -> Optional.ofNullable(throwable).ifPresent(t -> connection.onError(socket, t)));
+    }
+
     protected abstract WebSocketBuilder createSocketBuilder(OkHttpClient httpClient);
 
     protected abstract PortForwarderWebSocketListener createWebSocketListener(final SocketChannel portForwarder);
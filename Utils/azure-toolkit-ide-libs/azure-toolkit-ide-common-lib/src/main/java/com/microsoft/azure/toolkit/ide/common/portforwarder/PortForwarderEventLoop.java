@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.ide.common.portforwarder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * The selector-driven event loop shared by all the port forwarders. It dispatches the readiness of the local sockets
+ * to their handlers, and polls the handlers paused by flow control, since the WebSocket doesn't notify its queue drained.
+ */
+@Slf4j
+public class PortForwarderEventLoop {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final long POLL_INTERVAL_MS = 5;
+
+    public interface Handler {
+        void onReadable();
+
+        void onWritable();
+
+        /**
+         * Called periodically on the event loop thread while the handler is polling, see {@link #startPolling(Handler)}
+         */
+        default void onPoll() {
+        }
+
+        void onError(@Nonnull Throwable t);
+    }
+
+    private static final class Holder {
+        private static final PortForwarderEventLoop INSTANCE = new PortForwarderEventLoop();
+    }
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Set<Handler> pollingHandlers = ConcurrentHashMap.newKeySet();
+    // Only accessed in the event loop thread, the read data is copied out before the next read
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final Selector selector;
+    private final Thread thread;
+
+    public static PortForwarderEventLoop getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private PortForwarderEventLoop() {
+        try {
+            this.selector = Selector.open();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Failed to open selector for port forwarding", e);
+        }
+        this.thread = new Thread(this::loop, "azure-port-forwarder");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Register the channel with the interested operations, the channel is switched into non-blocking mode.
+     */
+    public void register(@Nonnull final SelectableChannel channel, final int ops, @Nonnull final Handler handler) throws IOException {
+        channel.configureBlocking(false);
+        this.execute(() -> {
+            try {
+                channel.register(this.selector, ops, handler);
+            } catch (final ClosedChannelException e) {
+                handler.onError(e);
+            }
+        });
+    }
+
+    public void unregister(@Nonnull final SelectableChannel channel) {
+        this.execute(() -> {
+            final SelectionKey key = channel.keyFor(this.selector);
+            if (Objects.nonNull(key)) {
+                key.cancel();
+            }
+        });
+    }
+
+    public void setInterest(@Nonnull final SelectableChannel channel, final int op, final boolean enabled) {
+        this.execute(() -> {
+            final SelectionKey key = channel.keyFor(this.selector);
+            if (Objects.nonNull(key) && key.isValid()) {
+                key.interestOps(enabled ? key.interestOps() | op : key.interestOps() & ~op);
+            }
+        });
+    }
+
+    public void startPolling(@Nonnull final Handler handler) {
+        if (this.pollingHandlers.add(handler)) {
+            this.selector.wakeup();
+        }
+    }
+
+    public void stopPolling(@Nonnull final Handler handler) {
+        this.pollingHandlers.remove(handler);
+    }
+
+    /**
+     * Get the direct buffer to read into, it's only available in the event loop thread.
+     */
+    @Nonnull
+    public ByteBuffer getReadBuffer() {
+        if (Thread.currentThread() != this.thread) {
+            throw new IllegalStateException("The read buffer is only available in the event loop thread");
+        }
+        this.readBuffer.clear();
+        return this.readBuffer;
+    }
+
+    public boolean inEventLoop() {
+        return Thread.currentThread() == this.thread;
+    }
+
+    public void execute(@Nonnull final Runnable task) {
+        this.tasks.add(task);
+        if (!this.inEventLoop()) {
+            this.selector.wakeup();
+        }
+    }
+
+    private void loop() {
+        while (true) {
+            try {
+                if (!this.tasks.isEmpty()) {
+                    // the tasks submitted in the event loop thread don't wake up the selector
+                    this.selector.selectNow();
+                } else {
+                    this.selector.select(this.pollingHandlers.isEmpty() ? 0 : POLL_INTERVAL_MS);
+                }
+                this.runTasks();
+                this.processSelectedKeys();
+                this.pollingHandlers.forEach(handler -> this.dispatch(handler, Handler::onPoll));
+            } catch (final Throwable t) {
+                log.warn("Unexpected error in port forwarder event loop", t);
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void processSelectedKeys() {
+        final Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            final SelectionKey key = keys.next();
+            keys.remove();
+
+            final Handler handler = (Handler) key.attachment();
+            try {
+                if (key.isValid() && key.isReadable()) {
+                    this.dispatch(handler, Handler::onReadable);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    this.dispatch(handler, Handler::onWritable);
+                }
+            } catch (final CancelledKeyException ignored) {
+                // the forwarder is closed during the dispatching
+            }
+        }
+    }
+
+    private void dispatch(@Nonnull final Handler handler, @Nonnull final Consumer<Handler> event) {
+        try {
+            event.accept(handler);
+        } catch (final CancelledKeyException e) {
+            throw e;
+        } catch (final Throwable t) {
+            handler.onError(t);
+        }
+    }
+}
@@ -15,27 +15,55 @@ import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BooleanSupplier;
 
-public class PortForwarderWebSocketListener extends WebSocketListener {
+public class PortForwarderWebSocketListener extends WebSocketListener implements PortForwarderEventLoop.Handler {
+    // pause reading the local socket while too much data queued in WebSocket, which closes itself once over 16MB queued
+    protected static final long SEND_QUEUE_HIGH_WATERMARK = 1024 * 1024;
+    protected static final long SEND_QUEUE_LOW_WATERMARK = 256 * 1024;
+    // hold the WebSocket messages while too much data pending to write into the local socket
+    protected static final long PENDING_WRITE_HIGH_WATERMARK = 1024 * 1024;
+    protected static final long PENDING_WRITE_LOW_WATERMARK = 256 * 1024;
+
+    // for the channels can't be selected, pump them in blocking mode
+    private static final ExecutorService blockingPumperService = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r, "azure-port-forwarder-pumper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     protected volatile boolean opened;
     protected boolean more = true;
     protected final ReentrantLock lock = new ReentrantLock();
     protected final Condition moreRequested;
     protected final CompletableFuture<WebSocket> future;
-    protected final ExecutorService pumperService = Executors.newSingleThreadExecutor();
     protected final AtomicBoolean alive = new AtomicBoolean(true);
+    // bytes forwarded from local to remote, and from remote to local
+    protected final AtomicLong bytesSent = new AtomicLong();
+    protected final AtomicLong bytesReceived = new AtomicLong();
     protected final ReadableByteChannel in;
     protected final WritableByteChannel out;
     protected final AbstractPortForwarder forwarder;
+    protected final PortForwarderEventLoop eventLoop = PortForwarderEventLoop.getInstance();
+
+    private final Queue<ByteBuffer> pendingWrites = new ArrayDeque<>();
+    private long pendingWriteBytes = 0;
+    private boolean writeBlocked = false;
+    private volatile WebSocket webSocket;
 
     public PortForwarderWebSocketListener(ReadableByteChannel in, WritableByteChannel out, AbstractPortForwarder forwarder) {
         this.in = in;
@@ -55,11 +83,7 @@ public class PortForwarderWebSocketListener extends WebSocketListener {
             response.close();
         }
         if (!this.opened) {
-            if (response != null) {
-                future.completeExceptionally(t);
-            } else {
-                future.completeExceptionally(t);
-            }
+            future.completeExceptionally(t);
         } else {
             this.onError(webSocket, t);
         }
@@ -68,23 +92,22 @@ public class PortForwarderWebSocketListener extends WebSocketListener {
     @Override
     public void onOpen(@NotNull WebSocket webSocket, Response response) {
         this.opened = true;
+        this.webSocket = webSocket;
         if (response != null) {
             response.close();
         }
-        if (this.in != null) {
-            this.pumperService.execute(() -> {
-                try {
-                    pipe(this.in, webSocket, this.alive::get);
-                } catch (final InterruptedException | IOException e) {
-                    if (e instanceof InterruptedException) {
-                        Thread.currentThread().interrupt();
-                    }
-                    if (this.alive.get()) {
-                        this.closeWebSocket(webSocket, 1001, "Client error");
-                        AzureMessager.getMessager().error(e, "Error while forwarding data from client to remote.");
-                    }
-                }
-            });
+        try {
+            if (this.in instanceof SelectableChannel) {
+                this.eventLoop.register((SelectableChannel) this.in, SelectionKey.OP_READ, this);
+            } else if (this.in != null) {
+                blockingPumperService.execute(() -> this.pumpBlocking(webSocket));
+            }
+            if (this.out instanceof SelectableChannel && this.out != this.in) {
+                this.eventLoop.register((SelectableChannel) this.out, 0, this);
+            }
+        } catch (final IOException e) {
+            this.closeWebSocket(webSocket, 1001, "Client error");
+            AzureMessager.getMessager().error(e, "Error while forwarding data from client to remote.");
         }
         future.complete(webSocket);
     }
@@ -121,6 +144,88 @@ public class PortForwarderWebSocketListener extends WebSocketListener {
         return this.alive.get();
     }
 
+    public long getBytesSent() {
+        return this.bytesSent.get();
+    }
+
+    public long getBytesReceived() {
+        return this.bytesReceived.get();
+    }
+
+    /**
+     * the local socket is readable, forward the data read to remote, in the event loop thread.
+     */
+    @Override
+    public void onReadable() {
+        final WebSocket socket = this.webSocket;
+        try {
+            final ByteBuffer buffer = this.eventLoop.getReadBuffer();
+            final int read = readMessage(this.in, buffer);
+            if (read < 0) {
+                this.closeWebSocket(socket, 1000, "Client closed");
+                return;
+            }
+            if (read > 0) {
+                buffer.flip();
+                if (!socket.send(ByteString.of(buffer))) {
+                    // the WebSocket is closing or its queue is full
+                    this.closeForwarder();
+                    return;
+                }
+                this.bytesSent.addAndGet(read);
+                if (socket.queueSize() > SEND_QUEUE_HIGH_WATERMARK) {
+                    this.eventLoop.setInterest((SelectableChannel) this.in, SelectionKey.OP_READ, false);
+                    this.eventLoop.startPolling(this);
+                }
+            }
+        } catch (final IOException e) {
+            this.onError(e);
+        }
+    }
+
+    /**
+     * the local socket is writable, flush the pending data received from remote, in the event loop thread.
+     */
+    @Override
+    public void onWritable() {
+        try {
+            synchronized (this.pendingWrites) {
+                this.flushPendingWrites();
+                if (this.pendingWrites.isEmpty()) {
+                    this.eventLoop.setInterest((SelectableChannel) this.out, SelectionKey.OP_WRITE, false);
+                }
+                if (this.writeBlocked && this.pendingWriteBytes < PENDING_WRITE_LOW_WATERMARK) {
+                    this.writeBlocked = false;
+                    this.request();
+                }
+            }
+        } catch (final IOException e) {
+            this.onError(e);
+        }
+    }
+
+    /**
+     * resume reading the local socket once the WebSocket queue drained, in the event loop thread.
+     */
+    @Override
+    public void onPoll() {
+        final WebSocket socket = this.webSocket;
+        if (!this.alive.get()) {
+            this.eventLoop.stopPolling(this);
+        } else if (Objects.nonNull(socket) && socket.queueSize() < SEND_QUEUE_LOW_WATERMARK) {
+            this.eventLoop.stopPolling(this);
+            this.eventLoop.setInterest((SelectableChannel) this.in, SelectionKey.OP_READ, true);
+        }
+    }
+
+    @Override
+    public void onError(@NotNull Throwable t) {
+        if (this.alive.get()) {
+            this.closeWebSocket(this.webSocket, 1002, "Protocol error");
+            AzureMessager.getMessager().error(t, "Error while forwarding data between client and remote.");
+        }
+    }
+
     protected void request() {
         this.lock.lock();
         try {
@@ -143,6 +248,7 @@ public class PortForwarderWebSocketListener extends WebSocketListener {
 
     protected void closeForwarder() {
         this.alive.set(false);
+        this.eventLoop.stopPolling(this);
         if (this.in != null) {
             try {
                 this.in.close();
@@ -157,8 +263,13 @@ public class PortForwarderWebSocketListener extends WebSocketListener {
                 AzureMessager.getMessager().error(e, "Error while stop debugger.");
             }
         }
-        this.forwarder.stopForward();
-        this.pumperService.shutdownNow();
+        synchronized (this.pendingWrites) {
+            this.pendingWrites.clear();
+            this.pendingWriteBytes = 0;
+        }
+        // release the WebSocket reader thread waiting for the pending writes
+        this.request();
+        this.forwarder.onConnectionClosed(this);
     }
 
     protected void pipe(ReadableByteChannel in, WebSocket webSocket, BooleanSupplier isAlive) throws IOException, InterruptedException {
@@ -170,8 +281,7 @@ public class PortForwarderWebSocketListener extends WebSocketListener {
             if (read > 0) {
                 buffer.flip();
                 webSocket.send(ByteString.of(buffer));
-            } else if (read == 0) {
-                Thread.sleep(50L);
+                this.bytesSent.addAndGet(read);
             }
         } while (isAlive.getAsBoolean() && read >= 0);
     }
@@ -195,29 +305,69 @@ public class PortForwarderWebSocketListener extends WebSocketListener {
     }
 
     protected void writeMessage(WebSocket webSocket, ByteString bytes) {
+        if (this.out == null) {
+            return;
+        }
         final ByteBuffer buffer = bytes.asByteBuffer();
-        if (this.out != null) {
-            while (true) {
-                try {
-                    if (buffer.hasRemaining()) {
-                        final int written = this.out.write(buffer);
-                        if (written == 0) {
-                            Thread.sleep(50L);
-                        }
-                        continue;
+        this.bytesReceived.addAndGet(buffer.remaining());
+        try {
+            if (!(this.out instanceof SelectableChannel)) {
+                while (buffer.hasRemaining()) {
+                    this.out.write(buffer);
+                }
+                this.request();
+                return;
+            }
+            synchronized (this.pendingWrites) {
+                // write directly if nothing pending, and leave the rest to the event loop once the socket is writable
+                if (this.pendingWrites.isEmpty()) {
+                    while (buffer.hasRemaining() && this.out.write(buffer) > 0) {
+                        // write until the socket buffer is full
                     }
+                }
+                if (buffer.hasRemaining()) {
+                    this.pendingWrites.add(buffer);
+                    this.pendingWriteBytes += buffer.remaining();
+                    this.eventLoop.setInterest((SelectableChannel) this.out, SelectionKey.OP_WRITE, true);
+                }
+                if (this.pendingWriteBytes < PENDING_WRITE_HIGH_WATERMARK) {
                     this.request();
-                } catch (final InterruptedException | IOException e) {
-                    if (e instanceof InterruptedException) {
-                        Thread.currentThread().interrupt();
-                    }
-                    if (this.alive.get()) {
-                        this.closeWebSocket(webSocket, 1002, "Protocol error");
-                        AzureMessager.getMessager().error(e, "Error while forwarding data from remote to client.");
-                    }
+                } else {
+                    // hold the next message until the pending writes drained, see onWritable()
+                    this.writeBlocked = true;
                 }
+            }
+        } catch (final IOException e) {
+            if (this.alive.get()) {
+                this.closeWebSocket(webSocket, 1002, "Protocol error");
+                AzureMessager.getMessager().error(e, "Error while forwarding data from remote to client.");
+            }
+        }
+    }
+
+    private void flushPendingWrites() throws IOException {
+        ByteBuffer head;
+        while ((head = this.pendingWrites.peek()) != null) {
+            final int written = this.out.write(head);
+            this.pendingWriteBytes -= written;
+            if (head.hasRemaining()) {
                 return;
             }
+            this.pendingWrites.poll();
+        }
+    }
+
+    private void pumpBlocking(WebSocket webSocket) {
+        try {
+            pipe(this.in, webSocket, this.alive::get);
+        } catch (final InterruptedException | IOException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (this.alive.get()) {
+                this.closeWebSocket(webSocket, 1001, "Client error");
+                AzureMessager.getMessager().error(e, "Error while forwarding data from client to remote.");
+            }
         }
     }
 }
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.ide.common.portforwarder;
+
+import okhttp3.OkHttpClient;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the round-trip latency and the throughput of the port forwarder against a local WebSocket echo server.
+ * Usage: PortForwarderBenchmark [latency iterations] [throughput MB]
+ */
+public class PortForwarderBenchmark {
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int LATENCY_MESSAGE_SIZE = 64;
+    private static final int THROUGHPUT_CHUNK_SIZE = 64 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        final int megabytes = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+
+        try (final ServerSocket echoServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            final Thread echoThread = new Thread(() -> serveEcho(echoServer), "websocket-echo-server");
+            echoThread.setDaemon(true);
+            echoThread.start();
+
+            final int localPort = findFreePort();
+            final EchoPortForwarder forwarder = new EchoPortForwarder(echoServer.getLocalPort());
+            forwarder.initLocalSocket(localPort);
+            final Thread forwarderThread = new Thread(() -> forwarder.startForward(localPort), "port-forwarder");
+            forwarderThread.start();
+
+            try (final Socket client = new Socket(InetAddress.getLoopbackAddress(), localPort)) {
+                client.setTcpNoDelay(true);
+                forwarderThread.join();
+                forwarder.listener.getFuture().get(10, TimeUnit.SECONDS);
+
+                measureLatency(client, iterations);
+                measureThroughput(client, megabytes);
+            } finally {
+                forwarder.stopForward();
+            }
+        }
+    }
+
+    private static void measureLatency(Socket client, int iterations) throws IOException {
+        final byte[] message = new byte[LATENCY_MESSAGE_SIZE];
+        final byte[] echo = new byte[LATENCY_MESSAGE_SIZE];
+        final long[] nanos = new long[iterations];
+        final OutputStream out = client.getOutputStream();
+        final DataInputStream in = new DataInputStream(client.getInputStream());
+
+        for (int i = 0; i < iterations; i++) {
+            final long start = System.nanoTime();
+            out.write(message);
+            out.flush();
+            in.readFully(echo);
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+        System.out.printf("Latency of %d round trips (%d bytes): p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+            iterations, LATENCY_MESSAGE_SIZE,
+            nanos[iterations / 2] / 1e6, nanos[(int) (iterations * 0.99)] / 1e6, nanos[iterations - 1] / 1e6);
+    }
+
+    private static void measureThroughput(Socket client, int megabytes) throws Exception {
+        final long total = (long) megabytes * 1024 * 1024;
+        final CountDownLatch received = new CountDownLatch(1);
+        final InputStream in = client.getInputStream();
+
+        final Thread reader = new Thread(() -> {
+            final byte[] buffer = new byte[THROUGHPUT_CHUNK_SIZE];
+            long read = 0;
+            try {
+                while (read < total) {
+                    final int n = in.read(buffer);
+                    if (n < 0) {
+                        break;
+                    }
+                    read += n;
+                }
+            } catch (final IOException e) {
+                e.printStackTrace();
+            }
+            received.countDown();
+        }, "benchmark-reader");
+        reader.start();
+
+        final byte[] chunk = new byte[THROUGHPUT_CHUNK_SIZE];
+        final OutputStream out = client.getOutputStream();
+        final long start = System.nanoTime();
+        for (long sent = 0; sent < total; sent += chunk.length) {
+            out.write(chunk);
+        }
+        out.flush();
+        received.await();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Throughput of %d MB echoed: %.1f MB/s%n", megabytes, megabytes / seconds);
+    }
+
+    private static int findFreePort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static class EchoPortForwarder extends AbstractPortForwarder {
+        private final int echoPort;
+
+        private EchoPortForwarder(int echoPort) {
+            this.echoPort = echoPort;
+        }
+
+        @Override
+        protected WebSocketBuilder createSocketBuilder(OkHttpClient httpClient) {
+            return new WebSocketBuilder(httpClient).uri("ws://127.0.0.1:" + echoPort + "/");
+        }
+
+        @Override
+        protected PortForwarderWebSocketListener createWebSocketListener(SocketChannel portForwarder) {
+            return new PortForwarderWebSocketListener(portForwarder, portForwarder, this);
+        }
+    }
+
+    // A minimal RFC 6455 server which echoes the data frames back
+    private static void serveEcho(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                final Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                final Thread connection = new Thread(() -> echo(socket), "websocket-echo-connection");
+                connection.setDaemon(true);
+                connection.start();
+            } catch (final IOException e) {
+                return;
+            }
+        }
+    }
+
+    private static void echo(Socket socket) {
+        try (socket) {
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            final OutputStream out = socket.getOutputStream();
+            handshake(in, out);
+
+            while (true) {
+                final int first = in.readUnsignedByte();
+                final int second = in.readUnsignedByte();
+                final int opcode = first & 0x0F;
+                long length = second & 0x7F;
+                if (length == 126) {
+                    length = in.readUnsignedShort();
+                } else if (length == 127) {
+                    length = in.readLong();
+                }
+                final byte[] mask = new byte[4];
+                if ((second & 0x80) != 0) {
+                    in.readFully(mask);
+                }
+                final byte[] payload = new byte[(int) length];
+                in.readFully(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i % 4];
+                }
+
+                final int replyOpcode = opcode == 0x9 ? 0xA : opcode;
+                if (opcode != 0xA) {
+                    writeFrame(out, first & 0x80 | replyOpcode, payload);
+                }
+                if (opcode == 0x8) {
+                    return;
+                }
+            }
+        } catch (final IOException e) {
+            // the connection is closed
+        }
+    }
+
+    private static void handshake(DataInputStream in, OutputStream out) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new HeaderInputStream(in), StandardCharsets.ISO_8859_1));
+        String key = null;
+        String line;
+        while ((line = reader.readLine()) != null && !line.isEmpty()) {
+            if (line.toLowerCase().startsWith("sec-websocket-key:")) {
+                key = line.substring(line.indexOf(':') + 1).trim();
+            }
+        }
+
+        final String accept;
+        try {
+            accept = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-1")
+                .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.ISO_8859_1)));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        out.write(("HTTP/1.1 101 Switching Protocols\r\n" +
+            "Upgrade: websocket\r\n" +
+            "Connection: Upgrade\r\n" +
+            "Sec-WebSocket-Accept: " + accept + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+
+    private static void writeFrame(OutputStream out, int first, byte[] payload) throws IOException {
+        out.write(first);
+        if (payload.length < 126) {
+            out.write(payload.length);
+        } else if (payload.length < 65536) {
+            out.write(126);
+            out.write(payload.length >>> 8);
+            out.write(payload.length);
+        } else {
+            out.write(127);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) ((long) payload.length >>> shift));
+            }
+        }
+        out.write(payload);
+        out.flush();
+    }
+
+    // Read the HTTP header byte by byte, so that no frame data is buffered by the header reader
+    private static class HeaderInputStream extends InputStream {
+        private final InputStream in;
+        private int lastFour = 0;
+
+        private HeaderInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (lastFour == 0x0D0A0D0A) {
+                return -1;
+            }
+            final int b = in.read();
+            lastFour = (lastFour << 8) | (b & 0xFF);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final int c = read();
+            if (c < 0) {
+                return -1;
+            }
+            b[off] = (byte) c;
+            return 1;
+        }
+    }
+}
@@ -17,6 +17,8 @@ import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 import com.microsoft.azure.toolkit.lib.cosmos.CosmosDBAccount;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocument;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocumentContainer;
+import com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoCollection;
+import com.microsoft.azure.toolkit.lib.cosmos.sql.SqlContainer;
 import com.microsoft.azure.toolkit.lib.resource.ResourceGroup;
 
 public class CosmosActionsContributor implements IActionsContributor {
@@ -40,6 +42,7 @@ public class CosmosActionsContributor implements IActionsContributor {
     public static final Action.Id<CosmosDBAccount> COPY_CONNECTION_STRING = Action.Id.of("user/cosmos.copy_connection_string.account");
     public static final Action.Id<ICosmosDocumentContainer<?>> IMPORT_DOCUMENT = ICosmosDocumentContainer.IMPORT_DOCUMENT;
     public static final Action.Id<ICosmosDocumentContainer<?>> CREATE_DOCUMENT = ICosmosDocumentContainer.CREATE_DOCUMENT;
+    public static final Action.Id<ICosmosDocumentContainer<?>> EXPORT_DOCUMENTS = Action.Id.of("user/cosmos.export_documents.container");
     public static final Action.Id<ICosmosDocument> OPEN_DOCUMENT = Action.Id.of("user/cosmos.open_document.document");
     public static final Action.Id<ResourceGroup> GROUP_CREATE_COSMOS_SERVICE = Action.Id.of("user/cosmos.create_cosmos_db_account.group");
 
@@ -100,6 +103,13 @@ public class CosmosActionsContributor implements IActionsContributor {
             .visibleWhen(s -> s instanceof ICosmosDocumentContainer<?>)
             .enableWhen(s -> s.getFormalStatus().isConnected())
             .register(am);
+
+        new Action<>(EXPORT_DOCUMENTS)
+            .withLabel("Export Documents")
+            .withIdParam(AzResource::getName)
+            .visibleWhen(s -> s instanceof SqlContainer || s instanceof MongoCollection)
+            .enableWhen(s -> s.getFormalStatus().isConnected())
+            .register(am);
     }
 
     @Override
@@ -168,6 +178,7 @@ public class CosmosActionsContributor implements IActionsContributor {
             "---",
             CosmosActionsContributor.CREATE_DOCUMENT,
             CosmosActionsContributor.IMPORT_DOCUMENT,
+            CosmosActionsContributor.EXPORT_DOCUMENTS,
             "---",
             ResourceCommonActionsContributor.DELETE
         );
@@ -58,9 +58,11 @@ public class StorageActionsContributor implements IActionsContributor {
     public static final Action.Id<StorageFile> CREATE_FILE = StorageFile.CREATE_FILE;
     public static final Action.Id<StorageFile> CREATE_DIRECTORY = StorageFile.CREATE_DIRECTORY;
     public static final Action.Id<StorageFile> DOWNLOAD_FILE = Action.Id.of("user/storage.download_file.file");
+    public static final Action.Id<StorageFile> PREVIEW_FILE = Action.Id.of("user/storage.preview_file.file");
     public static final Action.Id<StorageFile> UPLOAD_FILES = StorageFile.UPLOAD_FILES;
     public static final Action.Id<StorageFile> UPLOAD_FILE = Action.Id.of("user/storage.upload_file.file");
     public static final Action.Id<StorageFile> UPLOAD_FOLDER = Action.Id.of("user/storage.upload_folder.dir");
+    public static final Action.Id<StorageFile> SYNC_FOLDER = Action.Id.of("user/storage.sync_folder.dir");
     public static final Action.Id<StorageFile> COPY_FILE_URL = Action.Id.of("user/storage.copy_file_url.file");
     public static final Action.Id<StorageFile> COPY_FILE_SAS_URL = Action.Id.of("user/storage.copy_file_sas_url.file");
     public static final Action.Id<StorageFile> DELETE_DIRECTORY = Action.Id.of("user/storage.delete_directory.dir");
@@ -158,6 +160,12 @@ public class StorageActionsContributor implements IActionsContributor {
             .visibleWhen(s -> s instanceof StorageFile)
             .register(am);
 
+        new Action<>(PREVIEW_FILE)
+            .withLabel("Preview")
+            .withIdParam(AzResource::getName)
+            .visibleWhen(s -> s instanceof StorageFile && !((StorageFile) s).isDirectory())
+            .register(am);
+
         new Action<>(CREATE_BLOB)
             .withLabel("Create Empty Blob")
             .withIcon(AzureIcons.Action.CREATE.getIconPath())
@@ -207,11 +215,18 @@ public class StorageActionsContributor implements IActionsContributor {
             .visibleWhen(s -> s instanceof StorageFile && ((StorageFile) s).isDirectory())
             .register(am);
 
+        new Action<>(SYNC_FOLDER)
+            .withLabel("Sync Local Folder")
+            .withIcon(AzureIcons.Action.UPLOAD.getIconPath())
+            .withIdParam(AzResource::getName)
+            .visibleWhen(s -> s instanceof StorageFile && ((StorageFile) s).isDirectory())
+            .register(am);
+
         new Action<>(DOWNLOAD_FILE)
             .withLabel("Download")
             .withIcon(AzureIcons.Action.DOWNLOAD.getIconPath())
             .withIdParam(AzResource::getName)
-            .visibleWhen(s -> s instanceof StorageFile && !((StorageFile) s).isDirectory())
+            .visibleWhen(s -> s instanceof StorageFile)
             .register(am);
 
         new Action<>(COPY_FILE_URL)
@@ -319,6 +334,7 @@ public class StorageActionsContributor implements IActionsContributor {
             StorageActionsContributor.CREATE_FILE,
             StorageActionsContributor.CREATE_DIRECTORY,
             "---",
+            StorageActionsContributor.PREVIEW_FILE,
             StorageActionsContributor.DOWNLOAD_FILE,
             "---",
             StorageActionsContributor.COPY_FILE_URL,
@@ -336,6 +352,8 @@ public class StorageActionsContributor implements IActionsContributor {
             StorageActionsContributor.CREATE_DIRECTORY,
             "---",
             StorageActionsContributor.UPLOAD_FILES,
+            StorageActionsContributor.UPLOAD_FOLDER,
+            StorageActionsContributor.SYNC_FOLDER,
             StorageActionsContributor.DOWNLOAD_FILE,
             "---",
             StorageActionsContributor.COPY_FILE_URL,
@@ -352,6 +370,7 @@ public class StorageActionsContributor implements IActionsContributor {
             StorageActionsContributor.CREATE_BLOB,
             StorageActionsContributor.UPLOAD_FILES,
             StorageActionsContributor.UPLOAD_FOLDER,
+            StorageActionsContributor.SYNC_FOLDER,
             "---",
             StorageActionsContributor.COPY_FILE_URL,
             StorageActionsContributor.COPY_FILE_SAS_URL,
@@ -368,6 +387,7 @@ public class StorageActionsContributor implements IActionsContributor {
             StorageActionsContributor.CREATE_DIRECTORY,
             StorageActionsContributor.UPLOAD_FILES,
             StorageActionsContributor.UPLOAD_FOLDER,
+            StorageActionsContributor.SYNC_FOLDER,
             "---",
             StorageActionsContributor.COPY_FILE_URL,
             StorageActionsContributor.COPY_FILE_SAS_URL,